@@ -1,5 +1,7 @@
 package com.github.streamshub.console.api;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -11,9 +13,11 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -35,6 +39,7 @@ import jakarta.ws.rs.core.UriInfo;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListTopicsOptions;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
@@ -48,23 +53,42 @@ import org.apache.kafka.common.security.oauthbearer.OAuthBearerLoginModule;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.logging.Logger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.streamshub.console.api.security.SaslJaasConfigCredential;
 import com.github.streamshub.console.api.service.MetricsService;
+import com.github.streamshub.console.api.support.ConsumerPool;
 import com.github.streamshub.console.api.support.Holder;
 import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.api.support.LatestRecordScans;
+import com.github.streamshub.console.api.support.LiveTailHub;
+import com.github.streamshub.console.api.support.OffsetBoundsCache;
+import com.github.streamshub.console.api.support.ProducerCache;
+import com.github.streamshub.console.api.support.RecordCache;
+import com.github.streamshub.console.api.support.SamplingConsumer;
+import com.github.streamshub.console.api.support.TimestampIndex;
+import com.github.streamshub.console.api.support.TopicMetadataCache;
+import com.github.streamshub.console.api.support.TopicStatusCache;
 import com.github.streamshub.console.api.support.TrustAllCertificateManager;
+import com.github.streamshub.console.api.support.serdes.ApicurioClient;
 import com.github.streamshub.console.api.support.serdes.RecordData;
+import com.github.streamshub.console.api.support.serdes.SchemaContentCache;
 import com.github.streamshub.console.config.ConsoleConfig;
 import com.github.streamshub.console.config.KafkaClusterConfig;
 import com.github.streamshub.console.config.SchemaRegistryConfig;
 
+import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.rest.client.RegistryClientFactory;
 import io.apicurio.registry.serde.SerdeConfig;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.security.identity.SecurityIdentity;
 import io.strimzi.api.kafka.model.kafka.Kafka;
 import io.strimzi.api.kafka.model.kafka.KafkaClusterSpec;
@@ -80,7 +104,10 @@ import io.strimzi.api.kafka.model.kafka.listener.ListenerStatus;
  * will lazily create a per-request client when accessed by
  * {@linkplain com.github.streamshub.console.api.service service code} which
  * will be usable for the duration of the request and closed by the disposer
- * methods in this class upon completion of the request.
+ * methods in this class upon completion of the request. Consumers and producers
+ * are the exception, they are borrowed from a {@linkplain ConsumerPool} or
+ * shared via a {@linkplain ProducerCache} held by each {@linkplain KafkaContext}
+ * and outlive the request.
  *
  * <p>Construction of a client is dependent on the presence of a {@code clusterId}
  * path parameter being present in the request URL as well as the existence of a
@@ -110,6 +137,9 @@ public class ClientFactory {
     @Inject
     ObjectMapper mapper;
 
+    @Inject
+    ManagedExecutor executor;
+
     @Inject
     ConsoleConfig consoleConfig;
 
@@ -122,6 +152,101 @@ public class ClientFactory {
     @Inject
     HttpHeaders headers;
 
+    @Inject
+    @ConfigProperty(name = "console.topics.records.consumer-pool.max-size", defaultValue = "10")
+    int consumerPoolMaxSize;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.consumer-pool.max-idle", defaultValue = "PT5M")
+    Duration consumerPoolMaxIdle;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.producer-cache.max-size", defaultValue = "10")
+    int producerCacheMaxSize;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.producer-cache.max-idle", defaultValue = "PT5M")
+    Duration producerCacheMaxIdle;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.live-tail.buffer-size", defaultValue = "500")
+    int liveTailBufferSize;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.live-tail.max-tails", defaultValue = "50")
+    int liveTailMaxTails;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.offset-bounds.ttl", defaultValue = "PT2S")
+    Duration offsetBoundsTtl;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.timestamp-index.max-partitions", defaultValue = "10000")
+    int timestampIndexMaxPartitions;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.timestamp-index.max-samples", defaultValue = "256")
+    int timestampIndexMaxSamples;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.cache.max-bytes", defaultValue = "67108864")
+    long recordCacheMaxBytes;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.latest.max-scans", defaultValue = "16")
+    int latestScansMaxSize;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.latest.max-bytes", defaultValue = "67108864")
+    long latestScansMaxBytes;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.latest.max-idle", defaultValue = "PT5M")
+    Duration latestScansMaxIdle;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.sample.max-partition-fetch-bytes", defaultValue = "65536")
+    int sampleMaxPartitionFetchBytes;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.metadata.refresh-interval", defaultValue = "PT30S")
+    Duration topicMetadataRefreshInterval;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.metadata.refresh-jitter", defaultValue = "0.2")
+    double topicMetadataRefreshJitter;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.summary.status-ttl", defaultValue = "PT30S")
+    Duration topicStatusTtl;
+
+    @Inject
+    @ConfigProperty(name = "console.schema-registries.content-cache.max-bytes", defaultValue = "8388608")
+    long schemaContentCacheMaxBytes;
+
+    @Inject
+    @ConfigProperty(name = "console.schema-registries.http.version", defaultValue = "HTTP_2")
+    HttpClient.Version schemaRegistryHttpVersion;
+
+    @Inject
+    @ConfigProperty(name = "console.schema-registries.http.max-concurrent-requests", defaultValue = "32")
+    int schemaRegistryMaxConcurrentRequests;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.export.max-poll-records", defaultValue = "2000")
+    int exportMaxPollRecords;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.export.max-partition-fetch-bytes", defaultValue = "8388608")
+    int exportMaxPartitionFetchBytes;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.export.fetch-min-bytes", defaultValue = "65536")
+    int exportFetchMinBytes;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
     @Inject
     UriInfo requestUri;
 
@@ -148,6 +273,64 @@ public class ClientFactory {
     @Inject
     MetricsService metricsService;
 
+    @Inject
+    Map<String, RegistryClient> registryClients;
+
+    /**
+     * HTTP clients keyed by the name of the configured schema registry, shared
+     * by the registry clients below and the schema resource.
+     */
+    @Produces
+    @ApplicationScoped
+    Map<String, ApicurioClient> produceRegistryHttpClients() {
+        Map<String, ApicurioClient> clients = new HashMap<>();
+
+        for (SchemaRegistryConfig registryConfig : consoleConfig.getSchemaRegistries()) {
+            clients.put(registryConfig.getName(), new ApicurioClient(registryConfig,
+                    schemaRegistryHttpVersion,
+                    schemaRegistryMaxConcurrentRequests));
+        }
+
+        return Collections.unmodifiableMap(clients);
+    }
+
+    /**
+     * Registry clients keyed by the name of the configured schema registry,
+     * shared by the clusters using the registry.
+     */
+    @Produces
+    @ApplicationScoped
+    Map<String, RegistryClient> produceRegistryClients(Map<String, ApicurioClient> httpClients) {
+        Map<String, RegistryClient> clients = new HashMap<>();
+        httpClients.forEach((name, httpClient) -> clients.put(name, RegistryClientFactory.create(httpClient)));
+        return Collections.unmodifiableMap(clients);
+    }
+
+    @Produces
+    @ApplicationScoped
+    SchemaContentCache produceSchemaContentCache() {
+        SchemaContentCache cache = new SchemaContentCache(schemaContentCacheMaxBytes);
+
+        Gauge.builder("console.schemas.cache.size", cache, SchemaContentCache::bytes)
+            .description("Size in bytes of the schema content held in the schema cache")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+
+        FunctionCounter.builder("console.schemas.cache.hits", cache, SchemaContentCache::hits)
+            .description("Number of schemas found in the schema cache")
+            .register(meterRegistry);
+
+        FunctionCounter.builder("console.schemas.cache.misses", cache, SchemaContentCache::misses)
+            .description("Number of schemas not found in the schema cache")
+            .register(meterRegistry);
+
+        FunctionCounter.builder("console.schemas.cache.evictions", cache, SchemaContentCache::evictions)
+            .description("Number of schemas evicted from the schema cache")
+            .register(meterRegistry);
+
+        return cache;
+    }
+
     @Produces
     @ApplicationScoped
     Map<String, KafkaContext> produceKafkaContexts(Function<Map<String, Object>, Admin> adminBuilder) {
@@ -275,6 +458,7 @@ public class ClientFactory {
             }
 
             SchemaRegistryConfig registryConfig = null;
+            RegistryClient registryClient = null;
 
             if (clusterConfig.getSchemaRegistry() != null) {
                 registryConfig = consoleConfig.getSchemaRegistries()
@@ -282,10 +466,73 @@ public class ClientFactory {
                         .filter(registry -> registry.getName().equals(clusterConfig.getSchemaRegistry()))
                         .findFirst()
                         .orElseThrow();
+                registryClient = registryClients.get(registryConfig.getName());
             }
 
             KafkaContext ctx = new KafkaContext(clusterConfig, kafkaResource.orElse(null), clientConfigs, admin);
-            ctx.schemaRegistryClient(registryConfig, mapper);
+            ctx.schemaRegistryClient(registryConfig, registryClient, mapper, executor);
+            Function<Map<String, Object>, Consumer<RecordData, RecordData>> recordConsumerFactory =
+                    configs -> new KafkaConsumer<>(
+                            configs,
+                            ctx.schemaRegistryContext().keyDeserializer(),
+                            ctx.schemaRegistryContext().valueDeserializer());
+            ctx.consumerPool(new ConsumerPool<>(clusterKey, recordConsumerFactory, consumerPoolMaxSize, consumerPoolMaxIdle));
+            ctx.rawConsumerPool(new ConsumerPool<>(clusterKey,
+                    configs -> new KafkaConsumer<>(configs, new ByteArrayDeserializer(), new ByteArrayDeserializer()),
+                    consumerPoolMaxSize,
+                    consumerPoolMaxIdle));
+            ctx.samplingConsumerPool(new ConsumerPool<>(clusterKey + " (sampling)",
+                    configs -> {
+                        Map<String, Object> samplingConfigs = new HashMap<>(configs);
+                        samplingConfigs.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, sampleMaxPartitionFetchBytes);
+                        return new KafkaConsumer<>(samplingConfigs, new ByteArrayDeserializer(), new ByteArrayDeserializer());
+                    },
+                    consumerPoolMaxSize,
+                    consumerPoolMaxIdle));
+            ctx.liveTails(new LiveTailHub<>(clusterKey, recordConsumerFactory, liveTailBufferSize, liveTailMaxTails));
+            ctx.offsetBounds(new OffsetBoundsCache(clusterKey, offsetBoundsTtl));
+            ctx.timestampIndex(new TimestampIndex(timestampIndexMaxPartitions, timestampIndexMaxSamples));
+            ctx.recordCache(new RecordCache(recordCacheMaxBytes));
+            ctx.latestRecordScans(new LatestRecordScans(latestScansMaxSize, latestScansMaxBytes, latestScansMaxIdle));
+            ctx.topicStatuses(new TopicStatusCache(topicStatusTtl));
+
+            if (admin != null) {
+                /*
+                 * Listings are only cached when loaded with the configured credentials,
+                 * they would otherwise be limited to the topics visible to one user.
+                 */
+                Admin metadataAdmin = admin;
+                TopicMetadataCache topicMetadata = new TopicMetadataCache(clusterKey,
+                        () -> metadataAdmin.listTopics(new ListTopicsOptions().listInternal(true))
+                            .listings()
+                            .toCompletionStage(),
+                        topicMetadataRefreshInterval,
+                        topicMetadataRefreshJitter,
+                        executor);
+                ctx.topicMetadata(topicMetadata);
+                topicMetadata.start();
+            }
+            ctx.producerCache(new ProducerCache<>(clusterKey,
+                    configs -> new KafkaProducer<>(
+                            configs,
+                            ctx.schemaRegistryContext().keySerializer(),
+                            ctx.schemaRegistryContext().valueSerializer()),
+                    producerCacheMaxSize,
+                    producerCacheMaxIdle));
+
+            /*
+             * Registration is idempotent, the gauge always reads the size from the
+             * current context for the cluster ID.
+             */
+            Gauge.builder("console.kafka.producers", contexts, ctxs -> Optional.ofNullable(ctxs.get(clusterId))
+                        .map(KafkaContext::producerCache)
+                        .map(ProducerCache::size)
+                        .orElse(0))
+                .description("Number of producers held in the cluster's producer cache")
+                .tag("clusterId", clusterId)
+                .register(meterRegistry);
+
+            registerRecordCacheMetrics(contexts, clusterId);
 
             if (clusterConfig.hasNamespace()) {
                 ctx.prometheus(metricsService.createClient(consoleConfig, clusterConfig));
@@ -501,33 +748,144 @@ public class ClientFactory {
         }
     }
 
+    /**
+     * Provides access to the consumers pooled by the {@linkplain KafkaContext}
+     * addressed by the current request. The consumer configuration, including any
+     * credentials provided by the client, is resolved once per request. Callers
+     * must close each {@linkplain ConsumerPool.Lease lease} obtained from the
+     * supplier to return the consumer to the pool.
+     *
+     * @return a supplier of leases on pooled consumers for the current request
+     */
+    @Produces
+    @RequestScoped
+    public Supplier<ConsumerPool.Lease<RecordData, RecordData>> consumerSupplier(SecurityIdentity identity, KafkaContext context) {
+        var configs = maybeAuthenticate(identity, context, Consumer.class);
+        var pool = context.consumerPool();
+
+        return () -> pool.borrow(configs);
+    }
+
+    /**
+     * Provides access to the pooled consumers of undecoded (raw) records for the
+     * {@linkplain KafkaContext} addressed by the current request. These are used
+     * where records are filtered before the (more costly) decoding of their keys
+     * and values. Callers must close each lease obtained from the supplier.
+     *
+     * @return a supplier of leases on pooled raw consumers for the current request
+     */
+    @Produces
+    @RequestScoped
+    public Supplier<ConsumerPool.Lease<byte[], byte[]>> rawConsumerSupplier(SecurityIdentity identity, KafkaContext context) {
+        var configs = maybeAuthenticate(identity, context, Consumer.class);
+        var pool = context.rawConsumerPool();
+
+        return () -> pool.borrow(configs);
+    }
+
+    /**
+     * Provides access to the pooled consumers of undecoded (raw) records used to
+     * sample the topics of the {@linkplain KafkaContext} addressed by the current
+     * request. Samples read short runs of records at many positions, so these
+     * consumers fetch little more than a run from each partition rather than the
+     * default of up to 1 MiB. Callers must close each lease obtained from the
+     * supplier.
+     *
+     * @return a supplier of leases on pooled sampling consumers for the current request
+     */
     @Produces
     @RequestScoped
-    public Consumer<RecordData, RecordData> consumerSupplier(SecurityIdentity identity, KafkaContext context) {
+    @SamplingConsumer
+    public Supplier<ConsumerPool.Lease<byte[], byte[]>> samplingConsumerSupplier(SecurityIdentity identity, KafkaContext context) {
         var configs = maybeAuthenticate(identity, context, Consumer.class);
+        var pool = context.samplingConsumerPool();
 
-        return new KafkaConsumer<>(
-                configs,
-                context.schemaRegistryContext().keyDeserializer(),
-                context.schemaRegistryContext().valueDeserializer());
+        return () -> pool.borrow(configs);
     }
 
-    public void disposeConsumer(@Disposes Consumer<RecordData, RecordData> consumer) {
-        consumer.close();
+    /**
+     * Provides dedicated consumers of undecoded (raw) records for exports from the
+     * {@linkplain KafkaContext} addressed by the current request. Exports read
+     * many more records than a page, so rather than borrowing from the pools these
+     * consumers are created for each export with fetch sizes favoring throughput
+     * over latency. Callers must close each consumer obtained from the supplier.
+     *
+     * @return a supplier of new raw consumers for the current request
+     */
+    @Produces
+    @RequestScoped
+    public Supplier<Consumer<byte[], byte[]>> exportConsumerSupplier(SecurityIdentity identity, KafkaContext context) {
+        Map<String, Object> configs = new HashMap<>(maybeAuthenticate(identity, context, Consumer.class));
+        configs.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, exportMaxPollRecords);
+        configs.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, exportMaxPartitionFetchBytes);
+        configs.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, exportFetchMinBytes);
+
+        return () -> new KafkaConsumer<>(configs, new ByteArrayDeserializer(), new ByteArrayDeserializer());
     }
 
+    /**
+     * Provides access to the shared producers cached by the
+     * {@linkplain KafkaContext} addressed by the current request. The producer
+     * configuration, including any credentials provided by the client, is resolved
+     * once per request. Callers must close each {@linkplain ProducerCache.Lease
+     * lease} obtained from the supplier when the producer is no longer needed.
+     *
+     * @return a supplier of leases on cached producers for the current request
+     */
     @Produces
     @RequestScoped
-    public Producer<RecordData, RecordData> producerSupplier(SecurityIdentity identity, KafkaContext context) {
+    public Supplier<ProducerCache.Lease<RecordData, RecordData>> producerSupplier(SecurityIdentity identity, KafkaContext context) {
         var configs = maybeAuthenticate(identity, context, Producer.class);
-        return new KafkaProducer<>(
-                configs,
-                context.schemaRegistryContext().keySerializer(),
-                context.schemaRegistryContext().valueSerializer());
+        var cache = context.producerCache();
+
+        return () -> cache.acquire(configs);
+    }
+
+    /**
+     * Provides subscriptions to the live tail of a topic (or single partition,
+     * when not null) using the topic tails shared by the {@linkplain KafkaContext}
+     * addressed by the current request. Callers must close each subscription when
+     * it is no longer needed.
+     *
+     * @return a function giving a live tail subscription for the current request
+     */
+    @Produces
+    @RequestScoped
+    public BiFunction<String, Integer, LiveTailHub.Subscription<RecordData, RecordData>> liveTailSubscriber(SecurityIdentity identity, KafkaContext context) {
+        var configs = maybeAuthenticate(identity, context, Consumer.class);
+        var tails = context.liveTails();
+
+        return (topicName, partition) -> tails.subscribe(configs, topicName, partition);
     }
 
-    public void disposeProducer(@Disposes Producer<RecordData, RecordData> producer) {
-        producer.close();
+    void registerRecordCacheMetrics(Map<String, KafkaContext> contexts, String clusterId) {
+        Function<Function<RecordCache, Number>, ToDoubleFunction<Map<String, KafkaContext>>> cacheValue =
+                value -> ctxs -> Optional.ofNullable(ctxs.get(clusterId))
+                        .map(KafkaContext::recordCache)
+                        .map(value)
+                        .orElse(0)
+                        .doubleValue();
+
+        Gauge.builder("console.kafka.records.cache.size", contexts, cacheValue.apply(RecordCache::bytes))
+            .description("Estimated size in bytes of the records held in the cluster's record cache")
+            .baseUnit("bytes")
+            .tag("clusterId", clusterId)
+            .register(meterRegistry);
+
+        FunctionCounter.builder("console.kafka.records.cache.hits", contexts, cacheValue.apply(RecordCache::hits))
+            .description("Number of records found in the cluster's record cache")
+            .tag("clusterId", clusterId)
+            .register(meterRegistry);
+
+        FunctionCounter.builder("console.kafka.records.cache.misses", contexts, cacheValue.apply(RecordCache::misses))
+            .description("Number of records not found in the cluster's record cache")
+            .tag("clusterId", clusterId)
+            .register(meterRegistry);
+
+        FunctionCounter.builder("console.kafka.records.cache.evictions", contexts, cacheValue.apply(RecordCache::evictions))
+            .description("Number of records evicted from the cluster's record cache")
+            .tag("clusterId", clusterId)
+            .register(meterRegistry);
     }
 
     Map<String, Object> maybeAuthenticate(SecurityIdentity identity, KafkaContext context, Class<?> clientType) {
@@ -1,28 +1,58 @@
 package com.github.streamshub.console.api;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.BeanParam;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotAcceptableException;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
 import jakarta.ws.rs.ext.RuntimeDelegate;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.Explode;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
@@ -31,7 +61,12 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponseSchema;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.ResponseHeader;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.model.Either;
+import com.github.streamshub.console.api.model.Error;
 import com.github.streamshub.console.api.model.KafkaRecord;
 import com.github.streamshub.console.api.model.RecordFilterParams;
 import com.github.streamshub.console.api.security.Authorized;
@@ -40,21 +75,62 @@ import com.github.streamshub.console.api.service.RecordService;
 import com.github.streamshub.console.api.support.ErrorCategory;
 import com.github.streamshub.console.api.support.FieldFilter;
 import com.github.streamshub.console.api.support.KafkaUuid;
+import com.github.streamshub.console.api.support.LiveTailHub;
+import com.github.streamshub.console.api.support.RecordExportFormat;
 import com.github.streamshub.console.api.support.StringEnumeration;
+import com.github.streamshub.console.api.support.ValidationProxy;
+import com.github.streamshub.console.api.support.serdes.RecordData;
 import com.github.streamshub.console.config.security.Privilege;
 
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
 @Path("/api/kafkas/{clusterId}/topics/{topicId}/records")
 @Tag(name = "Kafka Cluster Resources")
 public class RecordsResource {
 
     static final String FIELDS_PARAM = "fields[records]";
+    static final String LIVE_PARAM = "live";
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+    static final MediaType APPLICATION_NDJSON_TYPE = MediaType.valueOf(APPLICATION_NDJSON);
+
+    private static final byte[] NEWLINE = {'\n'};
+    private static final String SSE_DROPPED = "dropped";
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
 
     @Inject
     UriInfo uriInfo;
 
+    @Inject
+    HttpHeaders headers;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     @Inject
     RecordService recordService;
 
+    @Inject
+    ValidationProxy validationProxy;
+
+    @Inject
+    ManagedExecutor executor;
+
+    /**
+     * ThreadContext of the request thread. Server-sent events are converted
+     * on the worker threads of the {@link #executor} within the context of the
+     * request, since the records' relationships are taken from the request's
+     * {@code KafkaContext}.
+     */
+    @Inject
+    ThreadContext threadContext;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.produce.max-batch-size", defaultValue = "10000")
+    int produceMaxBatchSize;
+
     /**
      * Allows the value of {@link FieldFilter#requestedFields} to be set for
      * the request.
@@ -64,10 +140,41 @@ public class RecordsResource {
     Consumer<List<String>> requestedFields;
 
     @GET
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, APPLICATION_NDJSON })
     @Operation(
         summary = "Consume records from a topic",
-        description = "Consume a limited number of records from a topic, optionally specifying a partition and an absolute offset or timestamp as the starting point for message retrieval.")
+        description = """
+            Consume a limited number of records from a topic, optionally specifying a partition and an absolute offset or timestamp as the starting point for message retrieval.
+
+            Clients accepting `application/x-ndjson` or `text/event-stream` (in preference to `application/json`) receive
+            each record as soon as it has been consumed, either as one JSON object per line or as one server-sent event per record.
+            Streamed records are given in the order they are consumed from each partition rather than sorted by timestamp.
+
+            With `live=true`, a `text/event-stream` response is required and remains open, delivering records as they are
+            written to the topic (or to the partition given by `filter[partition]`). The offset, timestamp and page size
+            parameters do not apply. Viewers of the same topic share a single consumer. A viewer that does not keep up skips
+            the oldest undelivered records, the number skipped being sent as a `dropped` event. A comment is sent when no
+            records have been written within 15 seconds, keeping the connection open through idle proxies.
+
+            Any of `filter[key]`, `filter[value]`, or `filter[header]` search the topic for records with matching content,
+            returning up to the page size of matches in timestamp order. Partitions are scanned in parallel from the
+            given offset or timestamp (or the beginning) up to their end offsets at the time of the request. A search
+            that stops before reaching the end of every partition, because enough matches were found or the server's
+            scan limits were reached, gives a `meta.search.cursor` that may be passed as `search[cursor]` to continue.
+            Searches are only available with an `application/json` response. A search for a key using the `eq`
+            operator reads only the partition holding the key, returning the newest matches first.
+
+            With `view=latest`, only the latest record of each key is returned (e.g. the current state of a compacted topic),
+            reading each partition from its end towards its beginning. A `meta.view.cursor` is given when the view is
+            incomplete, to be passed as `view[cursor]` to continue. With `view=sample`, short runs of records are read from
+            positions chosen at random across the topic, giving a quick look at its content without a full scan.
+            Views are only available with an `application/json` response.
+
+            With `export[format]`, all records in a range of offsets or timestamps (optionally of a single partition)
+            are downloaded as newline-delimited JSON, CSV, or undecoded binary records, without the page size limit.
+            The records are read by a consumer dedicated to the export and are written as they are consumed,
+            in offset order within each partition. See `export[format]` for the details of each format.
+            """)
     @APIResponseSchema(
         value = KafkaRecord.KafkaRecordDataList.class,
         responseDescription = "List of records matching the request query parameters.")
@@ -126,10 +233,64 @@ public class RecordsResource {
                                 KafkaRecord.Fields.KEY_SCHEMA,
                                 KafkaRecord.Fields.VALUE_SCHEMA,
                             }))
-            List<String> fields) {
+            List<String> fields,
+
+            @QueryParam(LIVE_PARAM)
+            @DefaultValue("false")
+            @Parameter(description = "Deliver records as they are written to the topic. Requires media type text/event-stream.")
+            boolean live) {
 
         requestedFields.accept(fields);
         CacheControl noStore = RuntimeDelegate.getInstance().createHeaderDelegate(CacheControl.class).fromString("no-store");
+        MediaType streamingType = streamingType(headers.getAcceptableMediaTypes());
+
+        if (params.isExport()) {
+            if (live) {
+                throw new BadRequestException("Parameter `" + LIVE_PARAM + "` may not be used with `export[format]`");
+            }
+
+            return exportRecords(topicId, params, fields, noStore);
+        }
+
+        if (params.getView() != null) {
+            if (live || streamingType != null) {
+                throw new NotAcceptableException("Parameter `view` requires media type " + MediaType.APPLICATION_JSON);
+            }
+
+            if (params.isSampleView()) {
+                return sampleRecords(topicId, params, fields, noStore);
+            }
+
+            return latestRecords(topicId, params, fields, noStore);
+        }
+
+        if (params.isSearch()) {
+            if (live || streamingType != null) {
+                throw new NotAcceptableException("Record content filters require media type " + MediaType.APPLICATION_JSON);
+            }
+
+            return searchRecords(topicId, params, fields, noStore);
+        }
+
+        if (live) {
+            throw new NotAcceptableException("Parameter `" + LIVE_PARAM + "` requires media type " + MediaType.SERVER_SENT_EVENTS);
+        }
+
+        if (streamingType != null) {
+            var records = recordService.streamRecords(
+                    topicId,
+                    params.getPartition(),
+                    params.getOffset(),
+                    params.getTimestamp(),
+                    params.getLimit(),
+                    fields,
+                    params.getMaxValueLength());
+
+            return Response.ok(streamRecords(records), streamingType)
+                    .cacheControl(noStore)
+                    .build();
+        }
+
         var records = recordService.consumeRecords(
                 topicId,
                 params.getPartition(),
@@ -144,6 +305,372 @@ public class RecordsResource {
                 .build();
     }
 
+    /**
+     * Records consumed from a topic as server-sent events, one event per record.
+     * Documented with {@link #consumeRecords consumeRecords}, which serves the
+     * same requests for the other media types. The events are written as the
+     * records are consumed, or as they are written to the topic with
+     * {@code live=true}.
+     */
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(hidden = true)
+    @ResponseHeader(name = HttpHeaders.CACHE_CONTROL, value = "no-store")
+    @Blocking
+    @Authorized
+    @ResourcePrivilege(Privilege.LIST)
+    public Multi<OutboundSseEvent> consumeRecordEvents(
+            @PathParam("clusterId")
+            String clusterId,
+
+            @PathParam("topicId")
+            @KafkaUuid(payload = ErrorCategory.ResourceNotFound.class, message = "No such topic")
+            String topicId,
+
+            @Valid
+            @BeanParam
+            RecordFilterParams params,
+
+            @QueryParam(FIELDS_PARAM)
+            @DefaultValue(KafkaRecord.Fields.DEFAULT)
+            @StringEnumeration(
+                    source = FIELDS_PARAM,
+                    allowedValues = {
+                        KafkaRecord.Fields.PARTITION,
+                        KafkaRecord.Fields.OFFSET,
+                        KafkaRecord.Fields.TIMESTAMP,
+                        KafkaRecord.Fields.TIMESTAMP_TYPE,
+                        KafkaRecord.Fields.HEADERS,
+                        KafkaRecord.Fields.KEY,
+                        KafkaRecord.Fields.VALUE,
+                        KafkaRecord.Fields.SIZE,
+                        KafkaRecord.Fields.KEY_SCHEMA,
+                        KafkaRecord.Fields.VALUE_SCHEMA,
+                    },
+                    payload = ErrorCategory.InvalidQueryParameter.class)
+            List<String> fields,
+
+            @QueryParam(LIVE_PARAM)
+            @DefaultValue("false")
+            boolean live,
+
+            @Context
+            Sse sse) {
+
+        requestedFields.accept(fields);
+
+        if (params.isExport()) {
+            throw new NotAcceptableException("Parameter `export[format]` may not be used with media type " + MediaType.SERVER_SENT_EVENTS);
+        }
+
+        if (params.getView() != null) {
+            throw new NotAcceptableException("Parameter `view` requires media type " + MediaType.APPLICATION_JSON);
+        }
+
+        if (params.isSearch()) {
+            throw new NotAcceptableException("Record content filters require media type " + MediaType.APPLICATION_JSON);
+        }
+
+        Executor requestContext = threadContext.currentContextExecutor();
+        Executor worker = task -> executor.execute(() -> requestContext.execute(task));
+
+        if (live) {
+            var subscriber = recordService.tailRecords(topicId, params.getPartition());
+            return tailRecords(subscriber, topicId, fields, params.getMaxValueLength(), sse, worker);
+        }
+
+        var records = recordService.streamRecords(
+                topicId,
+                params.getPartition(),
+                params.getOffset(),
+                params.getTimestamp(),
+                params.getLimit(),
+                fields,
+                params.getMaxValueLength());
+
+        return Multi.createFrom().resource(records, stream -> Multi.createFrom().iterable(stream::iterator))
+                .withFinalizer(Stream::close)
+                .map(rec -> recordEvent(sse, rec))
+                .runSubscriptionOn(worker);
+    }
+
+    Response searchRecords(String topicId, RecordFilterParams params, List<String> fields, CacheControl cacheControl) {
+        String keyLookup = params.getKeyLookup();
+        RecordService.SearchResult result;
+
+        if (keyLookup != null) {
+            result = recordService.lookupRecordsByKey(
+                    topicId,
+                    keyLookup,
+                    params.getPartition(),
+                    params.getOffset(),
+                    params.getTimestamp(),
+                    params.getSearchCursor(),
+                    params.getLimit(),
+                    params.getContentPredicates(),
+                    fields,
+                    params.getMaxValueLength());
+        } else {
+            result = recordService.searchRecords(
+                    topicId,
+                    params.getPartition(),
+                    params.getOffset(),
+                    params.getTimestamp(),
+                    params.getSearchCursor(),
+                    params.getLimit(),
+                    params.getContentPredicates(),
+                    fields,
+                    params.getMaxValueLength());
+        }
+
+        Map<String, Object> searchMeta = new LinkedHashMap<>();
+        searchMeta.put("complete", result.complete());
+        searchMeta.put("scannedRecords", result.scannedRecords());
+        searchMeta.put("scannedBytes", result.scannedBytes());
+
+        if (!result.complete()) {
+            searchMeta.put("cursor", RecordFilterParams.searchCursor(result.resumeOffsets()));
+        }
+
+        var response = new KafkaRecord.KafkaRecordDataList(result.records());
+        response.addMeta("search", searchMeta);
+
+        return Response.ok(response)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    Response latestRecords(String topicId, RecordFilterParams params, List<String> fields, CacheControl cacheControl) {
+        var result = recordService.latestRecordsByKey(
+                topicId,
+                params.getPartition(),
+                params.getViewCursor(),
+                params.getLimit(),
+                params.isFlagTombstones(),
+                fields,
+                params.getMaxValueLength());
+
+        Map<String, Object> viewMeta = new LinkedHashMap<>();
+        viewMeta.put("complete", result.complete());
+        viewMeta.put("scannedRecords", result.scannedRecords());
+        viewMeta.put("scannedBytes", result.scannedBytes());
+
+        if (result.truncated()) {
+            viewMeta.put("truncated", true);
+        } else if (!result.complete()) {
+            viewMeta.put("cursor", result.cursor());
+        }
+
+        var response = new KafkaRecord.KafkaRecordDataList(result.records());
+        response.addMeta("view", viewMeta);
+
+        return Response.ok(response)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    Response sampleRecords(String topicId, RecordFilterParams params, List<String> fields, CacheControl cacheControl) {
+        Long requestedSeed = params.getViewSeed();
+        long seed = requestedSeed != null ? requestedSeed : ThreadLocalRandom.current().nextLong();
+        var records = recordService.sampleRecords(
+                topicId,
+                params.getPartition(),
+                params.getViewPoints(),
+                params.getLimit(),
+                seed,
+                fields,
+                params.getMaxValueLength());
+
+        var response = new KafkaRecord.KafkaRecordDataList(records);
+        // As a string, the seed may exceed the precision of a JavaScript number
+        response.addMeta("view", Map.of("seed", Long.toString(seed)));
+
+        return Response.ok(response)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    Response exportRecords(String topicId, RecordFilterParams params, List<String> fields, CacheControl cacheControl) {
+        var format = params.getExportFormat();
+        var batches = recordService.exportRecords(
+                topicId,
+                params.getPartition(),
+                params.getOffset(),
+                params.getTimestamp(),
+                params.getEndOffset(),
+                params.getEndTimestamp());
+
+        return Response.ok(exportRecords(batches, topicId, format, fields, params.getMaxValueLength()), format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"%s.%s\"".formatted(topicId, format.fileExtension()))
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    /**
+     * Write the batches of exported records to the response in the requested
+     * format, flushing after each batch. Without a content length, the response
+     * uses chunked transfer encoding. As with {@link #streamRecords streamRecords},
+     * writes block while the connection is not writable, so only the current batch
+     * is held in memory. A failed write (the client has disconnected) closes the
+     * stream, ending the export and closing its consumer. An export that is not
+     * complete by its deadline fails, ending the response without the final chunk
+     * so that the client does not mistake the records received for a complete
+     * export.
+     */
+    StreamingOutput exportRecords(Stream<List<ConsumerRecord<byte[], byte[]>>> batches,
+            String topicId,
+            RecordExportFormat format,
+            List<String> fields,
+            Integer maxValueLength) {
+
+        final List<String> columns = RecordExportFormat.csvColumns(fields);
+
+        return output -> {
+            try (batches) {
+                var exportOutput = new DataOutputStream(new BufferedOutputStream(output, EXPORT_BUFFER_SIZE));
+                Iterator<List<ConsumerRecord<byte[], byte[]>>> cursor = batches.iterator();
+
+                if (format == RecordExportFormat.CSV) {
+                    RecordExportFormat.writeCsvHeader(exportOutput, columns);
+                }
+
+                while (cursor.hasNext() && !Thread.currentThread().isInterrupted()) {
+                    var batch = cursor.next();
+
+                    if (format.decoded()) {
+                        for (var rec : recordService.decodeItems(batch, topicId, fields, maxValueLength)) {
+                            if (format == RecordExportFormat.CSV) {
+                                RecordExportFormat.writeCsv(exportOutput, columns, rec, this::headersJson);
+                            } else {
+                                writeRecord(exportOutput, rec);
+                            }
+                        }
+                    } else {
+                        for (var rec : batch) {
+                            RecordExportFormat.writeBinary(exportOutput, rec);
+                        }
+                    }
+
+                    exportOutput.flush();
+                }
+
+                exportOutput.flush();
+            }
+        };
+    }
+
+    String headersJson(Map<String, String> recordHeaders) {
+        try {
+            return objectMapper.writeValueAsString(recordHeaders);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Determine whether the client prefers newline-delimited JSON over a JSON
+     * document. Wildcards are satisfied by JSON, the default. Clients preferring
+     * server-sent events are served by {@link #consumeRecordEvents consumeRecordEvents}.
+     *
+     * @return the streaming media type preferred by the client, or null when
+     *         the records should be returned as a single JSON document
+     */
+    static MediaType streamingType(List<MediaType> acceptableTypes) {
+        for (MediaType type : acceptableTypes) {
+            if (type.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+                return null;
+            }
+            if (type.isCompatible(APPLICATION_NDJSON_TYPE)) {
+                return APPLICATION_NDJSON_TYPE;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Write each record to the response as it is consumed. Writes block while the
+     * connection is not writable, in turn pausing consumption from Kafka, so the
+     * records held in memory are limited to those of the current poll. The
+     * consumer is only taken once the response is written, and is returned
+     * when the stream of records is closed.
+     */
+    StreamingOutput streamRecords(Supplier<Stream<KafkaRecord>> consumer) {
+        return output -> {
+            try (var records = consumer.get()) {
+                Iterator<KafkaRecord> cursor = records.iterator();
+
+                while (cursor.hasNext()) {
+                    writeRecord(output, cursor.next());
+                    output.flush();
+                }
+            }
+        };
+    }
+
+    /**
+     * Deliver the records of a live tail subscription as server-sent events
+     * until the client disconnects, cancelling the stream and closing the
+     * subscription. No thread is held while waiting for records: each batch is
+     * requested once the previous batch has been written and is converted on a
+     * worker thread once available. A comment is sent when no records arrive
+     * within the heartbeat interval.
+     */
+    Multi<OutboundSseEvent> tailRecords(Supplier<LiveTailHub.Subscription<RecordData, RecordData>> subscriber,
+            String topicId,
+            List<String> fields,
+            Integer maxValueLength,
+            Sse sse,
+            Executor worker) {
+
+        return Multi.createFrom().resource(subscriber, subscription -> Multi.createBy().repeating()
+                    .uni(() -> Uni.createFrom().completionStage(() -> subscription.available().thenApply(ignored -> Boolean.TRUE))
+                            .ifNoItem().after(HEARTBEAT_INTERVAL).recoverWithItem(Boolean.FALSE)
+                            .emitOn(worker)
+                            .map(ignored -> tailEvents(subscription, topicId, fields, maxValueLength, sse)))
+                    .indefinitely()
+                    .onItem().transformToIterable(events -> events))
+                .withFinalizer(LiveTailHub.Subscription::close)
+                .runSubscriptionOn(worker);
+    }
+
+    List<OutboundSseEvent> tailEvents(LiveTailHub.Subscription<RecordData, RecordData> subscription,
+            String topicId,
+            List<String> fields,
+            Integer maxValueLength,
+            Sse sse) {
+
+        var records = subscription.take();
+        long dropped = subscription.takeDropped();
+        List<OutboundSseEvent> events = new ArrayList<>(records.size() + 1);
+
+        if (dropped > 0) {
+            events.add(sse.newEventBuilder().name(SSE_DROPPED).data(Long.toString(dropped)).build());
+        } else if (records.isEmpty()) {
+            events.add(sse.newEventBuilder().comment("").build());
+        }
+
+        for (var rec : records) {
+            events.add(recordEvent(sse, recordService.getItems(rec, topicId, fields, maxValueLength)));
+        }
+
+        return events;
+    }
+
+    OutboundSseEvent recordEvent(Sse sse, KafkaRecord rec) {
+        try {
+            return sse.newEventBuilder().data(objectMapper.writeValueAsString(rec)).build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeRecord(OutputStream output, KafkaRecord rec) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(rec));
+        output.write(NEWLINE);
+    }
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
@@ -184,4 +711,74 @@ public class RecordsResource {
                         .build())
                 .build();
     }
+
+    @POST
+    @Consumes(APPLICATION_NDJSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Send a batch of records to a topic",
+        description = """
+            Produce (write) a batch of records to a topic. The request body contains one record resource object per line,
+            in the same form as the records given by a `ndjson` export, allowing records exported from a topic to be sent
+            again. Read-only attributes such as `offset` are ignored.
+
+            The records are sent together rather than waiting for each to be acknowledged before sending the next.
+            The response gives the result for each record in the order given: either the record sent or an error
+            object describing why it was not sent. The order of the records is only retained within each partition.
+            """)
+    @APIResponseSchema(
+        value = KafkaRecord.KafkaRecordResultList.class,
+        responseDescription = "Result of sending each record, the record sent or an error")
+    @APIResponse(responseCode = "400", ref = "BadRequest")
+    @APIResponse(responseCode = "404", ref = "NotFound")
+    @APIResponse(responseCode = "500", ref = "ServerError")
+    @APIResponse(responseCode = "504", ref = "ServerTimeout")
+    @Authorized
+    @ResourcePrivilege(Privilege.CREATE)
+    public Response produceRecords(
+            @Parameter(description = "Cluster identifier")
+            @PathParam("clusterId")
+            String clusterId,
+
+            @PathParam("topicId")
+            @KafkaUuid(payload = ErrorCategory.ResourceNotFound.class, message = "No such topic")
+            @Parameter(description = "Topic identifier")
+            String topicId,
+
+            InputStream body) throws IOException {
+
+        requestedFields.accept(KafkaRecord.Fields.ALL);
+
+        List<Either<KafkaRecord, Error>> results = new ArrayList<>();
+        List<KafkaRecord> inputs = new ArrayList<>();
+
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (results.size() >= produceMaxBatchSize) {
+                    throw new BadRequestException("Batch exceeds the maximum of " + produceMaxBatchSize + " records");
+                }
+
+                try {
+                    KafkaRecord input = validationProxy.validate(objectMapper.readValue(line, KafkaRecord.class));
+                    inputs.add(input);
+                    // Placeholder, replaced by the result of sending the record
+                    results.add(null);
+                } catch (JsonProcessingException | ConstraintViolationException e) {
+                    results.add(Either.ofAlternate(Error.forThrowable(e, "Invalid record")));
+                }
+            }
+        }
+
+        Iterator<Either<KafkaRecord, Throwable>> sent = recordService.produceRecords(topicId, inputs).iterator();
+        results.replaceAll(result -> result != null ? result : sent.next()
+                .<KafkaRecord, Error>ifPrimaryOrElse(Either::of, thrown -> Error.forThrowable(thrown, "Unable to send record")));
+
+        return Response.ok(new KafkaRecord.KafkaRecordResultList(results)).build();
+    }
 }
@@ -1,7 +1,11 @@
 package com.github.streamshub.console.api;
 
-import java.util.Collections;
-import java.util.Optional;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
@@ -9,6 +13,9 @@ import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -19,20 +26,20 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.support.serdes.ApicurioClient;
 import com.github.streamshub.console.api.support.serdes.ArtifactReferences;
-import com.github.streamshub.console.api.support.serdes.MultiformatSchemaParser;
-import com.github.streamshub.console.config.ConsoleConfig;
-import com.github.streamshub.console.config.SchemaRegistryConfig;
-
-import io.apicurio.registry.resolver.DefaultSchemaResolver;
-import io.apicurio.registry.resolver.SchemaResolver;
-import io.apicurio.registry.rest.client.RegistryClient;
-import io.apicurio.registry.rest.client.RegistryClientFactory;
+import com.github.streamshub.console.api.support.serdes.SchemaContentCache;
 
 @Path("/api/registries/{registryId}/schemas/{schemaId}")
 @Tag(name = "Schema Registry Resources")
 public class SchemasResource {
 
+    /**
+     * Max age (one year) of schema content that never changes, i.e. identified by
+     * a global ID, content ID, or explicit version.
+     */
+    static final int IMMUTABLE_MAX_AGE = 31_536_000;
+
     @Inject
     Logger logger;
 
@@ -40,7 +47,13 @@ public class SchemasResource {
     ObjectMapper objectMapper;
 
     @Inject
-    ConsoleConfig consoleConfig;
+    Map<String, ApicurioClient> registryClients;
+
+    @Inject
+    SchemaContentCache contentCache;
+
+    @Inject
+    HttpHeaders headers;
 
     /**
      * Retrieve the schema content from the identified/named registry.
@@ -49,14 +62,22 @@ public class SchemasResource {
      * Although opaque to the client, the schemaId is a base-64 encoded, JSON-ified
      * {@link io.apicurio.registry.resolver.strategy.ArtifactReference ArtifactReference}
      * which will be parsed with {@link ArtifactReferences#fromSchemaId}.
+     *
+     * <p>
+     * Schema content that never changes is served from the shared
+     * {@link SchemaContentCache} and sent with a strong entity tag and an
+     * {@code immutable} cache control directive, allowing clients to skip
+     * re-fetching it altogether. Content not cached is retrieved from the
+     * registry without blocking the request thread.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @APIResponse(responseCode = "200", ref = "Configurations", content = @Content())
+    @APIResponse(responseCode = "304", description = "Schema content matches the entity tag given by `If-None-Match`")
     @APIResponse(responseCode = "404", ref = "NotFound")
     @APIResponse(responseCode = "500", ref = "ServerError")
     @APIResponse(responseCode = "504", ref = "ServerTimeout")
-    public Response getSchemaContent(
+    public CompletionStage<Response> getSchemaContent(
             @Parameter(description = "Schema registry identifier (name)")
             @PathParam("registryId")
             String registryId,
@@ -65,29 +86,70 @@ public class SchemasResource {
             @PathParam("schemaId")
             String schemaId) {
 
-        SchemaRegistryConfig registryConfig = consoleConfig.getSchemaRegistries()
-                .stream()
-                .filter(config -> config.getName().equals(registryId))
-                .findFirst()
-                .orElseThrow(() -> new NotFoundException("Unknown registry"));
+        ApicurioClient registryClient = registryClients.get(registryId);
 
-        RegistryClient registryClient = RegistryClientFactory.create(registryConfig.getUrl());
-
-        @SuppressWarnings("resource")
-        SchemaResolver<Object, ?> schemaResolver = new DefaultSchemaResolver<>();
-        schemaResolver.setClient(registryClient);
-        schemaResolver.configure(Collections.emptyMap(), new MultiformatSchemaParser<>(Collections.emptySet()));
+        if (registryClient == null) {
+            throw new NotFoundException("Unknown registry");
+        }
 
         var reference = ArtifactReferences.fromSchemaId(schemaId, objectMapper);
-        var schema = schemaResolver.resolveSchemaByArtifactReference(reference);
-
-        var response = Optional.ofNullable(schema)
-                .map(s -> s.getParsedSchema())
-                .map(s -> s.getRawSchema())
-                .map(Response::ok)
-                .orElseThrow(() -> new NotFoundException("No such schema"));
+        var key = SchemaContentCache.Key.of(registryId, reference);
+        var entry = contentCache.get(key);
+        CompletionStage<SchemaContentCache.Entry> pendingEntry;
+
+        if (entry != null) {
+            pendingEntry = CompletableFuture.completedStage(entry);
+        } else {
+            pendingEntry = registryClient.getSchemaContent(reference)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+
+                    if (cause instanceof io.apicurio.registry.rest.client.exception.NotFoundException) {
+                        throw new NotFoundException("No such schema");
+                    }
+                    throw error instanceof CompletionException ce ? ce : new CompletionException(error);
+                })
+                .thenApply(content -> {
+                    var fetched = SchemaContentCache.Entry.of(content);
+                    contentCache.put(key, fetched);
+                    return fetched;
+                });
+        }
+
+        // Read on the request thread, the response may be built on the registry client's thread
+        List<String> ifNoneMatch = headers.getRequestHeader(HttpHeaders.IF_NONE_MATCH);
+
+        return pendingEntry.thenApply(schema -> {
+            EntityTag etag = new EntityTag(schema.etag());
+            var response = matches(ifNoneMatch, etag) ? Response.notModified() : Response.ok(schema.content());
+            response.tag(etag);
+
+            if (key.immutable()) {
+                CacheControl cacheControl = new CacheControl();
+                cacheControl.setPrivate(true);
+                cacheControl.setMaxAge(IMMUTABLE_MAX_AGE);
+                cacheControl.getCacheExtension().put("immutable", null);
+                response.cacheControl(cacheControl);
+            }
+
+            return response.build();
+        });
+    }
 
-        return response.build();
+    /**
+     * Whether any entity tag of the {@code If-None-Match} header matches, using
+     * the weak comparison required for the header.
+     */
+    static boolean matches(List<String> ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        return ifNoneMatch.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .map(value -> value.startsWith("W/") ? value.substring(2) : value)
+                .anyMatch(value -> "*".equals(value) || value.equals("\"" + etag.getValue() + "\""));
     }
 
 }
@@ -38,6 +38,7 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
 import com.github.streamshub.console.api.model.ConsumerGroup;
 import com.github.streamshub.console.api.model.ListFetchParams;
+import com.github.streamshub.console.api.model.RecordCountParams;
 import com.github.streamshub.console.api.model.NewTopic;
 import com.github.streamshub.console.api.model.Topic;
 import com.github.streamshub.console.api.model.TopicFilterParams;
@@ -254,6 +255,7 @@ public class TopicsResource {
                         Topic.Fields.TOTAL_LEADER_LOG_BYTES,
                         Topic.Fields.CONSUMER_GROUPS,
                         Topic.Fields.STATUS,
+                        Topic.Fields.RECORD_COUNTS,
                     },
                     payload = ErrorCategory.InvalidQueryParameter.class)
             @Parameter(
@@ -272,6 +274,7 @@ public class TopicsResource {
                                 Topic.Fields.TOTAL_LEADER_LOG_BYTES,
                                 Topic.Fields.CONSUMER_GROUPS,
                                 Topic.Fields.STATUS,
+                                Topic.Fields.RECORD_COUNTS,
                             }))
             List<String> fields,
 
@@ -286,11 +289,15 @@ public class TopicsResource {
                         @ExampleObject(ref = "MaxTimestamp"),
                         @ExampleObject(ref = "LiteralTimestamp")
                     })
-            String offsetSpec) {
+            String offsetSpec,
+
+            @BeanParam
+            @Valid
+            RecordCountParams countParams) {
 
         requestedFields.accept(fields);
 
-        return topicService.describeTopic(topicId, fields, offsetSpec)
+        return topicService.describeTopic(topicId, fields, offsetSpec, countParams)
                 .thenApply(Topic.SingleResponse::new)
                 .thenApply(Response::ok)
                 .thenApply(Response.ResponseBuilder::build);
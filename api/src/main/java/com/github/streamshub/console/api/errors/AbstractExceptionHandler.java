@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 
@@ -47,6 +48,7 @@ public abstract class AbstractExceptionHandler<T extends Throwable> implements S
         Status status = maxOccurringStatus(errors, category::getHttpStatus);
 
         return Response.status(status)
+                .type(MediaType.APPLICATION_JSON_TYPE)
                 .entity(new ErrorResponse(errors))
                 .build();
     }
@@ -8,6 +8,7 @@ import java.util.Optional;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.ext.ExceptionMapper;
@@ -51,6 +52,7 @@ abstract class UnwrappingExceptionHandler<T extends Throwable> implements Except
         Status status = maxOccurringStatus(errors, () -> Status.INTERNAL_SERVER_ERROR);
 
         return Response.status(status)
+                .type(MediaType.APPLICATION_JSON_TYPE)
                 .entity(new ErrorResponse(errors))
                 .build();
     }
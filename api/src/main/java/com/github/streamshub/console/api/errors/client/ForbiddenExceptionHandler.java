@@ -2,6 +2,7 @@ package com.github.streamshub.console.api.errors.client;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
 
@@ -24,6 +25,7 @@ public class ForbiddenExceptionHandler extends AbstractClientExceptionHandler<Fo
     @Override
     public Response toResponse(ForbiddenException exception) {
         var responseBuilder = Response.status(category.getHttpStatus())
+                .type(MediaType.APPLICATION_JSON_TYPE)
                 .entity(new ErrorResponse(buildErrors(exception)));
 
         exception.getResponse().getHeaders().forEach((k, v) ->
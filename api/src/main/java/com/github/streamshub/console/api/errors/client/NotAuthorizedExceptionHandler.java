@@ -2,6 +2,7 @@ package com.github.streamshub.console.api.errors.client;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
 
@@ -24,6 +25,7 @@ public class NotAuthorizedExceptionHandler extends AbstractClientExceptionHandle
     @Override
     public Response toResponse(NotAuthorizedException exception) {
         var responseBuilder = Response.status(category.getHttpStatus())
+                .type(MediaType.APPLICATION_JSON_TYPE)
                 .entity(new ErrorResponse(buildErrors(exception)));
 
         exception.getResponse().getHeaders().forEach((k, v) ->
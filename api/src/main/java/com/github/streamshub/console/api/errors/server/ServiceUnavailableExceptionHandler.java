@@ -0,0 +1,22 @@
+package com.github.streamshub.console.api.errors.server;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import com.github.streamshub.console.api.support.ErrorCategory;
+
+@Provider
+@ApplicationScoped
+public class ServiceUnavailableExceptionHandler extends AbstractServerExceptionHandler<ServiceUnavailableException> implements ExceptionMapper<ServiceUnavailableException> {
+
+    public ServiceUnavailableExceptionHandler() {
+        super(ErrorCategory.ServiceUnavailable.class);
+    }
+
+    @Override
+    public boolean handlesException(Throwable thrown) {
+        return thrown instanceof ServiceUnavailableException;
+    }
+}
@@ -79,6 +79,18 @@ public class KafkaRecord extends RelatableResource<KafkaRecord.Attributes, Kafka
         }
     }
 
+    /**
+     * Results of sending a batch of records, in the order the records were given.
+     * Each entry is either the record sent or an error describing why the record
+     * was not sent.
+     */
+    @Schema(name = "KafkaRecordResultList")
+    public static final class KafkaRecordResultList extends DataList<Either<KafkaRecord, Error>> {
+        public KafkaRecordResultList(List<Either<KafkaRecord, Error>> data) {
+            super(data);
+        }
+    }
+
     @Schema(name = "KafkaRecordData")
     public static final class KafkaRecordData extends DataSingleton<KafkaRecord> {
         @JsonCreator
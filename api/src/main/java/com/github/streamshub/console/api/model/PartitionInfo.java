@@ -113,7 +113,7 @@ public class PartitionInfo {
             .orElse(null);
     }
 
-    Optional<Long> getOffset(String key) {
+    public Optional<Long> getOffset(String key) {
         return Optional.ofNullable(offsets)
             .map(o -> o.get(key))
             .flatMap(Either::getOptionalPrimary)
@@ -0,0 +1,75 @@
+package com.github.streamshub.console.api.model;
+
+import java.time.Duration;
+
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.QueryParam;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+
+import com.github.streamshub.console.api.support.ErrorCategory;
+
+import io.xlate.validation.constraints.Expression;
+import io.xlate.validation.constraints.Expression.ExceptionalValue;
+
+/**
+ * Parameters of the record counts of a topic, given when the
+ * {@linkplain Topic.Fields#RECORD_COUNTS recordCounts} field is requested.
+ */
+public class RecordCountParams {
+
+    static final String INTERVAL_PARAM = "recordCounts[interval]";
+    static final String BUCKETS_PARAM = "recordCounts[buckets]";
+    static final String INTERVAL_DEFAULT = "PT1H";
+    static final int BUCKETS_DEFAULT = 168;
+    static final int BUCKETS_MAX = 1000;
+
+    @QueryParam(INTERVAL_PARAM)
+    @DefaultValue(INTERVAL_DEFAULT)
+    @Parameter(
+        description = """
+            Length of each interval of the `recordCounts` field, as an ISO-8601 duration of
+            at least one minute. Intervals are aligned to multiples of their length since
+            the epoch, e.g. to the hour for `PT1H`.
+            """,
+        schema = @Schema(implementation = String.class, defaultValue = INTERVAL_DEFAULT))
+    @Expression(
+        when = "self != null",
+        classImports = "java.time.Duration",
+        value = "Duration.parse(self) >= Duration.ofMinutes(1)",
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "must be an ISO-8601 duration of at least `PT1M`",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = INTERVAL_PARAM)
+    String interval;
+
+    @QueryParam(BUCKETS_PARAM)
+    @DefaultValue(BUCKETS_DEFAULT + "")
+    @Parameter(
+        description = """
+            Number of intervals of the `recordCounts` field, ending with the interval
+            containing the time of the request.
+            """,
+        schema = @Schema(
+                implementation = Integer.class,
+                minimum = "1",
+                maximum = BUCKETS_MAX + "",
+                defaultValue = BUCKETS_DEFAULT + ""))
+    @Expression(
+        when = "self != null",
+        value = "val = Integer.parseInt(self); val >= 1 && val <= " + BUCKETS_MAX,
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "must be an integer between 1 and " + BUCKETS_MAX + ", inclusive",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = BUCKETS_PARAM)
+    String buckets;
+
+    public Duration getInterval() {
+        return Duration.parse(interval != null ? interval : INTERVAL_DEFAULT);
+    }
+
+    public int getBuckets() {
+        return buckets != null ? Integer.parseInt(buckets) : BUCKETS_DEFAULT;
+    }
+}
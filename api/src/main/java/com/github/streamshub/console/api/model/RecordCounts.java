@@ -0,0 +1,29 @@
+package com.github.streamshub.console.api.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * Number of records written to a topic in each of a series of consecutive time
+ * intervals, derived from the offsets of the topic's partitions at the start of
+ * each interval.
+ *
+ * @param interval the length of each interval, as an ISO-8601 duration
+ * @param buckets  the intervals, oldest first
+ */
+@Schema(name = "RecordCounts")
+public record RecordCounts(String interval, List<Bucket> buckets) {
+
+    /**
+     * @param start the start of the interval, inclusive
+     * @param end   the end of the interval, exclusive. The end of the latest
+     *              interval is the time of the request.
+     * @param count the difference between the offsets at the end and the start
+     *              of the interval, summed over the partitions
+     */
+    @Schema(name = "RecordCountsBucket")
+    public record Bucket(Instant start, Instant end, long count) {
+    }
+}
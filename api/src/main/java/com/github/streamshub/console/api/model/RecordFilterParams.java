@@ -1,8 +1,18 @@
 package com.github.streamshub.console.api.model;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Function;
 
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.JsonNumber;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.QueryParam;
 
@@ -12,6 +22,8 @@ import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 
 import com.github.streamshub.console.api.support.ErrorCategory;
+import com.github.streamshub.console.api.support.RecordContentPredicate;
+import com.github.streamshub.console.api.support.RecordExportFormat;
 
 import io.xlate.validation.constraints.Expression;
 import io.xlate.validation.constraints.Expression.ExceptionalValue;
@@ -22,6 +34,66 @@ import io.xlate.validation.constraints.Expression.ExceptionalValue;
     node = RecordFilterParams.FILTER_OFFSET,
     message = "Parameter `filter[offset]` must not be used when `filter[timestamp]` is present.",
     payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.keyFilter != null",
+    value = "self.isValidContentFilter('KEY', self.keyFilter)",
+    message = RecordFilterParams.CONTENT_FILTER_MESSAGE,
+    node = RecordFilterParams.FILTER_KEY,
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.valueFilter != null",
+    value = "self.isValidContentFilter('VALUE', self.valueFilter)",
+    message = RecordFilterParams.CONTENT_FILTER_MESSAGE,
+    node = RecordFilterParams.FILTER_VALUE,
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.headerFilter != null",
+    value = "self.isValidContentFilter('HEADER', self.headerFilter)",
+    message = RecordFilterParams.CONTENT_FILTER_MESSAGE,
+    node = RecordFilterParams.FILTER_HEADER,
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.rawSearchCursor != null",
+    value = "self.searchCursor != null",
+    message = "Parameter value missing or invalid",
+    node = RecordFilterParams.SEARCH_CURSOR,
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.rawEndTimestamp != null",
+    value = "self.rawEndOffset == null",
+    node = RecordFilterParams.EXPORT_END_OFFSET,
+    message = "Parameter `export[endOffset]` must not be used when `export[endTimestamp]` is present.",
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.rawEndOffset != null || self.rawEndTimestamp != null",
+    value = "self.rawExportFormat != null",
+    node = RecordFilterParams.EXPORT_FORMAT,
+    message = "Parameter `export[format]` is required when `export[endOffset]` or `export[endTimestamp]` is present.",
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.rawExportFormat != null",
+    value = "self.keyFilter == null && self.valueFilter == null && self.headerFilter == null",
+    node = RecordFilterParams.EXPORT_FORMAT,
+    message = "Parameter `export[format]` must not be used with record content filters.",
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.view != null",
+    value = "self.rawOffset == null && self.rawTimestamp == null && self.keyFilter == null && self.valueFilter == null && self.headerFilter == null && self.rawExportFormat == null && self.rawSearchCursor == null",
+    node = RecordFilterParams.VIEW,
+    message = "Parameter `view` must not be used with `filter[offset]`, `filter[timestamp]`, record content filters, `search[cursor]`, or `export[format]`.",
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.viewTombstones != null || self.viewCursor != null",
+    value = "self.view == 'latest'",
+    node = RecordFilterParams.VIEW,
+    message = "Parameter `view=latest` is required when `view[tombstones]` or `view[cursor]` is present.",
+    payload = ErrorCategory.InvalidQueryParameter.class)
+@Expression(
+    when = "self.rawViewPoints != null || self.rawViewSeed != null",
+    value = "self.view == 'sample'",
+    node = RecordFilterParams.VIEW,
+    message = "Parameter `view=sample` is required when `view[points]` or `view[seed]` is present.",
+    payload = ErrorCategory.InvalidQueryParameter.class)
 public class RecordFilterParams {
 
     static final String FILTER_PARTITION = "filter[partition]";
@@ -29,6 +101,24 @@ public class RecordFilterParams {
     static final String FILTER_TIMESTAMP = "filter[timestamp]";
     static final String PAGE_SIZE = "page[size]";
     static final String MAX_VALUE_LENGTH = "maxValueLength";
+    static final String FILTER_KEY = "filter[key]";
+    static final String FILTER_VALUE = "filter[value]";
+    static final String FILTER_HEADER = "filter[header]";
+    static final String SEARCH_CURSOR = "search[cursor]";
+    static final String EXPORT_FORMAT = "export[format]";
+    static final String EXPORT_END_OFFSET = "export[endOffset]";
+    static final String EXPORT_END_TIMESTAMP = "export[endTimestamp]";
+    static final String VIEW = "view";
+    static final String VIEW_TOMBSTONES = "view[tombstones]";
+    static final String VIEW_CURSOR = "view[cursor]";
+    static final String VIEW_POINTS = "view[points]";
+    static final String VIEW_SEED = "view[seed]";
+    static final String VIEW_LATEST = "latest";
+    static final String VIEW_SAMPLE = "sample";
+    static final int VIEW_POINTS_DEFAULT = 10;
+    static final int VIEW_POINTS_MAX = 100;
+    static final String TOMBSTONES_FLAG = "flag";
+    static final String CONTENT_FILTER_MESSAGE = "unsupported filter operator or invalid operands, supported operators: [ 'contains', 're', 'jsonpath', 'eq' (key only) ]";
 
     @QueryParam(FILTER_PARTITION)
     @Parameter(
@@ -178,6 +268,232 @@ public class RecordFilterParams {
         node = MAX_VALUE_LENGTH)
     String maxValueLength;
 
+    @QueryParam(FILTER_KEY)
+    @Parameter(
+        description = """
+        Search for records with a key matching this filter. The format of this parameter's
+        value is `[ <operator>,<operand>... ]` where the supported operators are
+
+        - `contains` - the key includes the operand as a substring
+        - `re` - the key contains a match for the operand regular expression
+        - `jsonpath` - the key is a JSON document where the value at the simple JSON path
+          given by the first operand (e.g. `$.customer.id`) equals the second operand
+        - `eq` - the key equals the operand. Rather than scanning every partition, only the
+          partition to which the default partitioner assigns the key (or the partition given by
+          `filter[partition]`) is searched, backwards from its end (or from the position given by
+          `search[cursor]`) and no earlier than `filter[offset]` or `filter[timestamp]`. The newest
+          `page[size]` matches are returned, newest first, and a `cursor` is given when older records
+          remain to be searched. The key is serialized as given, so keys written with a schema must
+          be found using `filter[partition]`.
+
+        When any of `filter[key]`, `filter[value]`, or `filter[header]` is present, the
+        request searches the topic, scanning forward from the position given by
+        `filter[offset]`, `filter[timestamp]`, or `search[cursor]` (or the beginning of
+        each partition) up to the end of the partitions at the time of the request.
+        Scanning stops once `page[size]` matches are found or the server's scan limits are
+        reached. The response `meta.search` object then includes a `cursor` that may be
+        given as `search[cursor]` to resume the search.
+        """,
+        schema = @Schema(implementation = String[].class, minItems = 2),
+        explode = Explode.FALSE,
+        examples = {
+            @ExampleObject(
+                name = "Keys containing 'order-'",
+                value = "[ \"contains\",\"order-\" ]")
+        })
+    FetchFilter keyFilter;
+
+    @QueryParam(FILTER_VALUE)
+    @Parameter(
+        description = """
+        Search for records with a value matching this filter. The format and operators
+        are the same as for `filter[key]`.
+        """,
+        schema = @Schema(implementation = String[].class, minItems = 2),
+        explode = Explode.FALSE,
+        examples = {
+            @ExampleObject(
+                name = "Values where customer ID is 42",
+                value = "[ \"jsonpath\",\"$.customer.id\",\"42\" ]")
+        })
+    FetchFilter valueFilter;
+
+    @QueryParam(FILTER_HEADER)
+    @Parameter(
+        description = """
+        Search for records having a header matching this filter. The format is the same
+        as for `filter[key]` except that the header name is given as the first operand,
+        e.g. `[ <operator>,<header name>,<operand>... ]`.
+        """,
+        schema = @Schema(implementation = String[].class, minItems = 3),
+        explode = Explode.FALSE)
+    FetchFilter headerFilter;
+
+    @QueryParam(SEARCH_CURSOR)
+    @Parameter(
+        description = """
+        Cursor returned in the `meta.search.cursor` of a previous search response, used
+        to resume the search where the previous response stopped. Must be used with the
+        same filters as the previous request.
+        """)
+    String searchCursor;
+
+    Map<Integer, Long> searchCursorParsed;
+
+    @QueryParam(EXPORT_FORMAT)
+    @Parameter(
+        description = """
+        Export the records in the given format rather than returning a page of records. The
+        export includes every record from the position given by `filter[offset]` or
+        `filter[timestamp]` (or the beginning of each partition) up to the position given by
+        `export[endOffset]` or `export[endTimestamp]` (or the end of each partition at the
+        time of the request), limited to the partition given by `filter[partition]` when
+        present. `page[size]` does not apply. Records are written as they are consumed, in
+        offset order within each partition.
+
+        - `ndjson` - one JSON record per line, with the fields given by `fields[records]`
+        - `csv` - one row per record with a header row, with columns for the fields given by
+          `fields[records]` other than the key and value schemas. Headers are given as a JSON object.
+        - `binary` - the undecoded records, each given by a 32-bit length followed by the
+          partition (32-bit), offset (64-bit), timestamp (64-bit), key and value (each as a 32-bit
+          length, -1 for null, followed by the bytes), and the headers (a 32-bit count, then the
+          length-prefixed name and value of each). All integers are big-endian.
+        """,
+        schema = @Schema(implementation = String.class, enumeration = { "ndjson", "csv", "binary" }))
+    @Expression(
+        when = "self != null",
+        value = "self == 'ndjson' || self == 'csv' || self == 'binary'",
+        message = "must be one of [ 'ndjson', 'csv', 'binary' ]",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = EXPORT_FORMAT)
+    String exportFormat;
+
+    @QueryParam(EXPORT_END_OFFSET)
+    @Parameter(
+        description = """
+        Offset at which the export of each partition ends, exclusive. Partitions ending
+        earlier are exported up to their end. Requires `export[format]` and may not be used
+        with `export[endTimestamp]`.
+        """,
+        schema = @Schema(implementation = Long.class, minimum = "0"))
+    @Expression(
+        when = "self != null",
+        value = "val = Long.parseLong(self); val >= 0 && val <= Long.MAX_VALUE",
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "must be an integer between 0 and " + Long.MAX_VALUE + ", inclusive",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = EXPORT_END_OFFSET)
+    String endOffset;
+
+    @QueryParam(EXPORT_END_TIMESTAMP)
+    @Parameter(
+        description = """
+        RFC 3339 date-time at which the export of each partition ends, exclusive. Each
+        partition is exported up to (excluding) its earliest record with a timestamp at or
+        after this time. Requires `export[format]` and may not be used with `export[endOffset]`.
+        """,
+        schema = @Schema(implementation = String.class, format = "date-time"))
+    @Expression(
+        when = "self != null",
+        classImports = "java.time.Instant",
+        value = "Instant.parse(self) >= Instant.EPOCH",
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "must be a valid RFC 3339 date-time no earlier than `1970-01-01T00:00:00Z`",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = EXPORT_END_TIMESTAMP)
+    String endTimestamp;
+
+    @QueryParam(VIEW)
+    @Parameter(
+        description = """
+        Give a view of the records rather than the records as written, one of
+
+        - `latest` - only the latest record of each key, i.e. the current state of the
+          keys of a topic using `cleanup.policy=compact`. Each partition (or only the
+          partition given by `filter[partition]`) is read from its end towards its
+          beginning, in order of partition number, and the first record read for each key
+          is returned. Records are given newest first within each partition, and records
+          without a key are omitted. Reading stops once `page[size]` records are found or
+          the server's scan limits are reached. The response `meta.view` object then
+          includes a `cursor` that may be given as `view[cursor]` to continue. A partition
+          holding more keys than the server is able to track ends the view, with
+          `meta.view.truncated` set to `true` and no `cursor`.
+        - `sample` - a sample of the records, read from `view[points]` positions chosen at
+          random among all the offsets of the partitions (or of the partition given by
+          `filter[partition]`). Each position is followed by an equal share of `page[size]`
+          records. Records are given in partition and offset order. The response
+          `meta.view.seed` gives the seed used to choose the positions, which may be
+          given as `view[seed]` to repeat the sample.
+        """,
+        schema = @Schema(implementation = String.class, enumeration = { VIEW_LATEST, VIEW_SAMPLE }))
+    @Expression(
+        when = "self != null",
+        value = "self == '" + VIEW_LATEST + "' || self == '" + VIEW_SAMPLE + "'",
+        message = "must be one of [ '" + VIEW_LATEST + "', '" + VIEW_SAMPLE + "' ]",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = VIEW)
+    String view;
+
+    @QueryParam(VIEW_TOMBSTONES)
+    @Parameter(
+        description = """
+        Handling of keys where the latest record is a tombstone (a record with a null
+        value, marking the key as deleted): `hide` to omit them (the default), or `flag`
+        to include them with `meta.tombstone` set to `true`.
+        """,
+        schema = @Schema(implementation = String.class, enumeration = { "hide", TOMBSTONES_FLAG }))
+    @Expression(
+        when = "self != null",
+        value = "self == 'hide' || self == '" + TOMBSTONES_FLAG + "'",
+        message = "must be one of [ 'hide', '" + TOMBSTONES_FLAG + "' ]",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = VIEW_TOMBSTONES)
+    String viewTombstones;
+
+    @QueryParam(VIEW_CURSOR)
+    @Parameter(
+        description = """
+        Cursor returned in the `meta.view.cursor` of a previous response, used to continue
+        the view where the previous response stopped. Must be used with the same parameters
+        as the previous request. A cursor may be used only once and expires when not used
+        within a time limit set by the server.
+        """)
+    String viewCursor;
+
+    @QueryParam(VIEW_POINTS)
+    @Parameter(
+        description = "Number of positions from which a sample is read. Limited to `page[size]`.",
+        schema = @Schema(
+                implementation = Integer.class,
+                minimum = "1",
+                maximum = VIEW_POINTS_MAX + "",
+                defaultValue = VIEW_POINTS_DEFAULT + ""))
+    @Expression(
+        when = "self != null",
+        value = "val = Integer.parseInt(self); val >= 1 && val <= " + VIEW_POINTS_MAX,
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "must be an integer between 1 and " + VIEW_POINTS_MAX + ", inclusive",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = VIEW_POINTS)
+    String viewPoints;
+
+    @QueryParam(VIEW_SEED)
+    @Parameter(
+        description = """
+        Seed used to choose the positions from which a sample is read. When not given, a
+        random seed is used and returned in `meta.view.seed`.
+        """,
+        schema = @Schema(implementation = Long.class))
+    @Expression(
+        when = "self != null",
+        // Any value parsed is valid, a value that fails to parse is not
+        value = "Long.parseLong(self); true",
+        exceptionalValue = ExceptionalValue.FALSE,
+        message = "must be a 64-bit signed integer",
+        payload = ErrorCategory.InvalidQueryParameter.class,
+        node = VIEW_SEED)
+    String viewSeed;
+
     public String getRawOffset() {
         return FetchFilter.rawFilter(offset);
     }
@@ -206,6 +522,173 @@ public class RecordFilterParams {
         return parse(maxValueLength, Integer::parseInt);
     }
 
+    public FetchFilter getKeyFilter() {
+        return keyFilter;
+    }
+
+    public FetchFilter getValueFilter() {
+        return valueFilter;
+    }
+
+    public FetchFilter getHeaderFilter() {
+        return headerFilter;
+    }
+
+    /**
+     * The key to look up when the key filter uses the {@code eq} operator.
+     *
+     * @return the key, or null when not a key lookup
+     */
+    public String getKeyLookup() {
+        if (keyFilter != null && RecordContentPredicate.EQUALS.equals(keyFilter.getOperator())) {
+            return String.join(",", keyFilter.getOperands());
+        }
+        return null;
+    }
+
+    public boolean isSearch() {
+        return keyFilter != null || valueFilter != null || headerFilter != null;
+    }
+
+    public List<RecordContentPredicate> getContentPredicates() {
+        List<RecordContentPredicate> predicates = new ArrayList<>(3);
+
+        if (keyFilter != null) {
+            predicates.add(RecordContentPredicate.of(RecordContentPredicate.Target.KEY, keyFilter));
+        }
+        if (valueFilter != null) {
+            predicates.add(RecordContentPredicate.of(RecordContentPredicate.Target.VALUE, valueFilter));
+        }
+        if (headerFilter != null) {
+            predicates.add(RecordContentPredicate.of(RecordContentPredicate.Target.HEADER, headerFilter));
+        }
+
+        return predicates;
+    }
+
+    public boolean isValidContentFilter(String target, FetchFilter filter) {
+        try {
+            RecordContentPredicate.of(RecordContentPredicate.Target.valueOf(target), filter);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public String getRawExportFormat() {
+        return exportFormat;
+    }
+
+    public String getRawEndOffset() {
+        return endOffset;
+    }
+
+    public String getRawEndTimestamp() {
+        return endTimestamp;
+    }
+
+    public boolean isExport() {
+        return exportFormat != null;
+    }
+
+    public RecordExportFormat getExportFormat() {
+        return parse(exportFormat, RecordExportFormat::fromValue);
+    }
+
+    public Long getEndOffset() {
+        return parse(endOffset, Long::parseLong);
+    }
+
+    public Instant getEndTimestamp() {
+        return parse(endTimestamp, Instant::parse);
+    }
+
+    public String getView() {
+        return view;
+    }
+
+    public boolean isLatestView() {
+        return VIEW_LATEST.equals(view);
+    }
+
+    public boolean isFlagTombstones() {
+        return TOMBSTONES_FLAG.equals(viewTombstones);
+    }
+
+    public String getViewTombstones() {
+        return viewTombstones;
+    }
+
+    public String getViewCursor() {
+        return viewCursor;
+    }
+
+    public boolean isSampleView() {
+        return VIEW_SAMPLE.equals(view);
+    }
+
+    public String getRawViewPoints() {
+        return viewPoints;
+    }
+
+    public String getRawViewSeed() {
+        return viewSeed;
+    }
+
+    public int getViewPoints() {
+        return viewPoints != null ? Integer.parseInt(viewPoints) : VIEW_POINTS_DEFAULT;
+    }
+
+    public Long getViewSeed() {
+        return parse(viewSeed, Long::parseLong);
+    }
+
+    public String getRawSearchCursor() {
+        return searchCursor;
+    }
+
+    /**
+     * The search cursor, mapping partitions to the offset where the search of each
+     * will resume. Partitions not present in the cursor have been searched
+     * completely.
+     *
+     * @return the parsed cursor, or null when not present or invalid
+     */
+    public Map<Integer, Long> getSearchCursor() {
+        if (searchCursorParsed == null && searchCursor != null) {
+            searchCursorParsed = parseSearchCursor(searchCursor);
+        }
+
+        return searchCursorParsed;
+    }
+
+    static Map<Integer, Long> parseSearchCursor(String cursor) {
+        try (var reader = Json.createReader(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            Map<Integer, Long> offsets = new TreeMap<>();
+
+            for (var entry : reader.readObject().entrySet()) {
+                int partition = Integer.parseInt(entry.getKey());
+                long offset = ((JsonNumber) entry.getValue()).longValueExact();
+
+                if (partition < 0 || offset < 0) {
+                    return null;
+                }
+
+                offsets.put(partition, offset);
+            }
+
+            return offsets;
+        } catch (IllegalArgumentException | ClassCastException | ArithmeticException | JsonException e) {
+            return null;
+        }
+    }
+
+    public static String searchCursor(Map<Integer, Long> offsets) {
+        var cursor = Json.createObjectBuilder();
+        offsets.forEach((partition, offset) -> cursor.add(partition.toString(), offset));
+        return Base64.getUrlEncoder().encodeToString(cursor.build().toString().getBytes(StandardCharsets.UTF_8));
+    }
+
     static <R, T> T parse(R value, Function<R, T> parser) {
         return value != null ? parser.apply(value) : null;
     }
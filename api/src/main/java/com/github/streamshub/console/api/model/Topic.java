@@ -46,6 +46,7 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
         public static final String TOTAL_LEADER_LOG_BYTES = "totalLeaderLogBytes";
         public static final String CONSUMER_GROUPS = "consumerGroups";
         public static final String STATUS = "status";
+        public static final String RECORD_COUNTS = "recordCounts";
         static final Pattern CONFIG_KEY = Pattern.compile("^configs\\.\"([^\"]+)\"$");
 
         static final Comparator<Topic> ID_COMPARATOR =
@@ -147,6 +148,18 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
         @Schema(implementation = Object.class, oneOf = { ConfigEntry.ConfigEntryMap.class, Error.class })
         Either<Map<String, ConfigEntry>, Error> configs;
 
+        @JsonProperty
+        @Schema(
+            implementation = Object.class,
+            oneOf = { RecordCounts.class, Error.class },
+            description = """
+                Number of records written in each of a series of intervals, computed from the
+                offsets found for the start of each interval. Records removed by retention are not
+                counted, and for compacted topics the counts include the offsets of records since
+                removed by compaction.
+                """)
+        Either<RecordCounts, Error> recordCounts;
+
         Attributes(String name, boolean internal) {
             this.name = name;
             this.internal = internal;
@@ -335,6 +348,12 @@ public class Topic extends RelatableResource<Topic.Attributes, Topic.Relationshi
                 thrown -> Error.forThrowable(thrown, "Unable to describe topic configs"));
     }
 
+    public void addRecordCounts(Either<RecordCounts, Throwable> recordCounts) {
+        attributes.recordCounts = recordCounts.ifPrimaryOrElse(
+                Either::of,
+                thrown -> Error.forThrowable(thrown, "Unable to count topic records"));
+    }
+
     public String name() {
         return attributes.name;
     }
@@ -98,18 +98,18 @@ public class TopicFilterParams {
     public List<Predicate<Topic>> buildPredicates() {
         List<Predicate<Topic>> predicates = new ArrayList<>(3);
 
-        predicates.add(new FetchFilterPredicate<>(visibilityFilter, Topic::visibility));
+        predicates.add(new FetchFilterPredicate<>("filter[visibility]", visibilityFilter, Topic::visibility));
 
         if (nameFilter != null) {
-            predicates.add(new FetchFilterPredicate<>(nameFilter, Topic::name));
+            predicates.add(new FetchFilterPredicate<>("filter[name]", nameFilter, Topic::name));
         }
 
         if (idFilter != null) {
-            predicates.add(new FetchFilterPredicate<>(idFilter, Topic::getId));
+            predicates.add(new FetchFilterPredicate<>("filter[id]", idFilter, Topic::getId));
         }
 
         if (statusFilter != null) {
-            predicates.add(new FetchFilterPredicate<>(statusFilter, Topic::status));
+            predicates.add(new FetchFilterPredicate<>("filter[status]", statusFilter, Topic::status));
         }
 
         return predicates;
@@ -26,6 +26,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
 import org.apache.kafka.clients.admin.ConsumerGroupListing;
 import org.apache.kafka.clients.admin.DescribeConsumerGroupsOptions;
 import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
@@ -33,7 +34,6 @@ import org.apache.kafka.clients.admin.ListConsumerGroupsOptions;
 import org.apache.kafka.clients.admin.ListOffsetsResult;
 import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
 import org.apache.kafka.clients.admin.OffsetSpec;
-import org.apache.kafka.clients.admin.TopicListing;
 import org.apache.kafka.common.ConsumerGroupState;
 import org.apache.kafka.common.TopicCollection;
 import org.apache.kafka.common.TopicPartition;
@@ -364,7 +364,10 @@ public class ConsumerGroupService {
 
     CompletionStage<ConsumerGroup> alterConsumerGroupOffsetsDryRun(Admin adminClient, String groupId,
             Map<TopicPartition, org.apache.kafka.clients.consumer.OffsetAndMetadata> alterRequest) {
-        var pendingTopicsIds = fetchTopicIdMap();
+        var pendingTopicsIds = topicService.topicIdsForNames(alterRequest.keySet()
+                .stream()
+                .map(TopicPartition::topic)
+                .toList());
 
         return describeConsumerGroups(adminClient, List.of(groupId), Collections.emptyList())
             .thenApply(groups -> groups.get(groupId))
@@ -496,10 +499,10 @@ public class ConsumerGroupService {
             Collection<String> groupIds,
             List<String> includes) {
 
+        final Executor requestExecutor = threadContext.currentContextExecutor();
+        Map<String, Either<ConsumerGroupDescription, Throwable>> descriptions = new LinkedHashMap<>(groupIds.size());
         Map<String, Either<ConsumerGroup, Throwable>> result = new LinkedHashMap<>(groupIds.size());
 
-        var pendingTopicsIds = fetchTopicIdMap();
-
         var pendingDescribes = adminClient.describeConsumerGroups(groupIds,
                 new DescribeConsumerGroupsOptions()
                     .includeAuthorizedOperations(includes.contains(ConsumerGroup.Fields.AUTHORIZED_OPERATIONS)))
@@ -509,13 +512,13 @@ public class ConsumerGroupService {
                 .map(entry ->
                     entry.getValue()
                         .toCompletionStage()
-                        .thenCombineAsync(pendingTopicsIds, (description, topicIds) -> {
+                        .thenApplyAsync(description -> {
                             permissionService.assertPermitted(ConsumerGroup.API_TYPE, Privilege.GET, description.groupId());
-                            return ConsumerGroup.fromKafkaModel(description, topicIds);
-                        }, threadContext.currentContextExecutor())
-                        .<Void>handle((consumerGroup, error) -> {
-                            result.put(entry.getKey(), Either.of(
-                                    Optional.ofNullable(consumerGroup),
+                            return description;
+                        }, requestExecutor)
+                        .<Void>handle((description, error) -> {
+                            descriptions.put(entry.getKey(), Either.of(
+                                    Optional.ofNullable(description),
                                     /*
                                      * If an error exists and has a non-null cause, unwrap it (CompletionException).
                                      * Otherwise, just pass the error, possibly null if no exception raised.
@@ -532,10 +535,23 @@ public class ConsumerGroupService {
                 .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getPrimary()));
 
         return CompletableFuture.allOf(pendingDescribes)
-                .thenCompose(nothing -> pendingTopicsIds)
+                .thenComposeAsync(nothing -> topicService.topicIdsForNames(descriptions.values()
+                        .stream()
+                        .filter(Either::isPrimaryPresent)
+                        .map(Either::getPrimary)
+                        .map(ConsumerGroupDescription::members)
+                        .flatMap(Collection::stream)
+                        .map(member -> member.assignment().topicPartitions())
+                        .flatMap(Collection::stream)
+                        .map(TopicPartition::topic)
+                        .toList()), requestExecutor)
                 .thenCompose(topicIds -> {
+                    descriptions.forEach((groupId, description) -> result.put(groupId, description.ifPrimaryOrElse(
+                            group -> Either.of(ConsumerGroup.fromKafkaModel(group, topicIds)),
+                            Function.identity())));
+
                     if (includes.contains(ConsumerGroup.Fields.OFFSETS)) {
-                        return fetchOffsets(adminClient, availableGroups.get(), topicIds)
+                        return fetchOffsets(adminClient, availableGroups.get(), requestExecutor)
                                 .thenApply(nothing -> result);
                     }
 
@@ -543,13 +559,13 @@ public class ConsumerGroupService {
                 });
     }
 
-    private CompletableFuture<Map<String, String>> fetchTopicIdMap() {
-        return topicService.listTopics(true, true)
-            .thenApply(topics -> topics.stream()
-                .collect(Collectors.toMap(TopicListing::name, l -> l.topicId().toString())));
-    }
-
-    private CompletableFuture<Void> fetchOffsets(Admin adminClient, Map<String, ConsumerGroup> groups, Map<String, String> topicIds) {
+    /**
+     * Add the committed offsets of each group, with the end offset and lag of
+     * each partition. The IDs of the groups' topics are looked up only once the
+     * offsets give the names of the topics, and only the topics the user may
+     * list are included.
+     */
+    private CompletableFuture<Void> fetchOffsets(Admin adminClient, Map<String, ConsumerGroup> groups, Executor requestExecutor) {
         var groupOffsetsRequest = groups.keySet()
                 .stream()
                 .collect(Collectors.toMap(Function.identity(), key -> ALL_GROUP_PARTITIONS));
@@ -570,8 +586,20 @@ public class ConsumerGroupService {
                     }))
             .toArray(CompletableFuture[]::new);
 
+        Map<String, String> topicIds = new HashMap<>();
+
         return CompletableFuture.allOf(pendingGroupOps)
-            .thenApply(nothing -> {
+            .thenComposeAsync(nothing -> topicService.topicIdsForNames(groupOffsets.values()
+                    .stream()
+                    .filter(Either::isPrimaryPresent)
+                    .map(Either::getPrimary)
+                    .map(Map::keySet)
+                    .flatMap(Collection::stream)
+                    .map(TopicPartition::topic)
+                    .toList()), requestExecutor)
+            .thenApply(groupTopicIds -> {
+                topicIds.putAll(groupTopicIds);
+
                 var topicOffsetsRequest = groupOffsets.values()
                         .stream()
                         .filter(Either::isPrimaryPresent)
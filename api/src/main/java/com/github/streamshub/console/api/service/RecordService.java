@@ -2,10 +2,13 @@ package com.github.streamshub.console.api.service;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -14,15 +17,25 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -33,48 +46,1107 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.InvalidPartitionsException;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.apache.kafka.common.errors.UnknownTopicIdException;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.utils.Utils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.eclipse.microprofile.context.ThreadContext;
 import org.jboss.logging.Logger;
 
+import com.github.streamshub.console.api.model.Either;
 import com.github.streamshub.console.api.model.Identifier;
 import com.github.streamshub.console.api.model.JsonApiRelationship;
 import com.github.streamshub.console.api.model.KafkaRecord;
+import com.github.streamshub.console.api.support.ConsumerPool;
+import com.github.streamshub.console.api.support.DecodableRecord;
 import com.github.streamshub.console.api.support.KafkaContext;
-import com.github.streamshub.console.api.support.SizeLimitedSortedSet;
+import com.github.streamshub.console.api.support.LatestRecordScans;
+import com.github.streamshub.console.api.support.LiveTailHub;
+import com.github.streamshub.console.api.support.LongHashSet;
+import com.github.streamshub.console.api.support.OffsetBoundsCache;
+import com.github.streamshub.console.api.support.PartitionMerge;
+import com.github.streamshub.console.api.support.ProducerCache;
+import com.github.streamshub.console.api.support.RecordCache;
+import com.github.streamshub.console.api.support.RecordContentPredicate;
+import com.github.streamshub.console.api.support.SamplingConsumer;
+import com.github.streamshub.console.api.support.TimestampIndex;
 import com.github.streamshub.console.api.support.serdes.RecordData;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import static java.util.Objects.requireNonNullElse;
 
-@ApplicationScoped
-public class RecordService {
+@ApplicationScoped
+public class RecordService {
+
+    /**
+     * Number of records preceding the end of the partition read by the first
+     * window of a key lookup.
+     */
+    static final int KEY_LOOKUP_INITIAL_WINDOW = 1000;
+
+    /**
+     * Maximum number of offsets read by each window of a scan for the latest
+     * record of each key. The records of a window are held undecoded until the
+     * window has been read, windows are made smaller when the records of a
+     * window exceed half of the search limits remaining.
+     */
+    static final int LATEST_VIEW_WINDOW = 5000;
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.poll-timeout", defaultValue = "PT5S")
+    Duration pollTimeout;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.export.max-duration", defaultValue = "PT1H")
+    Duration exportMaxDuration;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.search.max-records", defaultValue = "100000")
+    long searchMaxRecords;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.search.max-bytes", defaultValue = "104857600")
+    long searchMaxBytes;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.search.max-duration", defaultValue = "PT10S")
+    Duration searchMaxDuration;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.search.parallelism", defaultValue = "4")
+    int searchParallelism;
+
+    @Inject
+    @ConfigProperty(name = "console.topics.records.decode.parallelism", defaultValue = "4")
+    int decodeParallelism;
+
+    @Inject
+    KafkaContext kafkaContext;
+
+    @Inject
+    Supplier<ConsumerPool.Lease<RecordData, RecordData>> consumerSupplier;
+
+    @Inject
+    Supplier<ProducerCache.Lease<RecordData, RecordData>> producerSupplier;
+
+    @Inject
+    Supplier<ConsumerPool.Lease<byte[], byte[]>> rawConsumerSupplier;
+
+    @Inject
+    @SamplingConsumer
+    Supplier<ConsumerPool.Lease<byte[], byte[]>> samplingConsumerSupplier;
+
+    @Inject
+    Supplier<Consumer<byte[], byte[]>> exportConsumerSupplier;
+
+    @Inject
+    ManagedExecutor executor;
+
+    @Inject
+    BiFunction<String, Integer, LiveTailHub.Subscription<RecordData, RecordData>> liveTailSubscriber;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    ThreadContext threadContext;
+
+    @Inject
+    TopicDescribeService topicService;
+
+    public List<KafkaRecord> consumeRecords(String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Integer limit,
+            List<String> include,
+            Integer maxValueLength) {
+
+        String topicName = topicNameForId(topicId);
+
+        try (var lease = rawConsumerSupplier.get()) {
+            return consumeRecords(lease.consumer(), topicName, topicId, partition, offset, timestamp, limit, include, maxValueLength);
+        }
+    }
+
+    /**
+     * Consume records from the topic, writing each to the returned stream as soon
+     * as it has been polled and decoded rather than collecting the full result
+     * first. Unlike {@link #consumeRecords(String, Integer, Long, Instant, Integer, List, Integer) consumeRecords},
+     * records are given in the order they are received from the partitions
+     * (ascending offset within each partition) and the overall number of records
+     * is limited to {@code limit}.
+     *
+     * <p>The topic is resolved before returning, so that errors may still be
+     * reported to the client, but a consumer is only taken from the pool once the
+     * returned supplier is called, by the response being written. The caller must
+     * close the stream to return the consumer to the pool.
+     */
+    public Supplier<Stream<KafkaRecord>> streamRecords(String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Integer limit,
+            List<String> include,
+            Integer maxValueLength) {
+
+        String topicName = topicNameForId(topicId);
+
+        return () -> {
+            var lease = consumerSupplier.get();
+
+            try {
+                return pollRecords(lease.consumer(), topicName, topicId, partition, offset, timestamp, limit)
+                        .limit(limit)
+                        .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                        .onClose(lease::close);
+            } catch (RuntimeException e) {
+                lease.close();
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Export the records of the topic (or a single partition) from the given start
+     * position (offset, timestamp, or the beginning of each partition) up to the
+     * given end position (offset, timestamp, or the end of each partition at the
+     * time of the request), exclusive. The records are read by a consumer
+     * dedicated to the export and are given undecoded, in the batches polled, so
+     * that only a single batch is held in memory at any time. Use
+     * {@link #decodeItems decodeItems} to decode and convert the records of each
+     * batch when required.
+     *
+     * <p>The topic is resolved and the start and end positions are found before
+     * returning, so that errors may still be reported to the client. The caller
+     * must close the stream to close the consumer, e.g. when the client
+     * disconnects before the export is complete. The stream fails with a
+     * {@link TimeoutException} when the end positions are not reached within
+     * the export's maximum duration, so that an incomplete export is not
+     * mistaken for a complete one.
+     */
+    public Stream<List<ConsumerRecord<byte[], byte[]>>> exportRecords(String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Long endOffset,
+            Instant endTimestamp) {
+
+        String topicName = topicNameForId(topicId);
+        var consumer = exportConsumerSupplier.get();
+
+        try {
+            var ranges = exportRanges(consumer, topicName, topicId, partition, offset, timestamp, endOffset, endTimestamp);
+            var batches = new ExportIterator(consumer, ranges.endOffsets(), Instant.now().plus(exportMaxDuration));
+            batches.timestampTrackers = ranges.timestampTrackers();
+            Iterable<List<ConsumerRecord<byte[], byte[]>>> poll = () -> batches;
+
+            return StreamSupport.stream(poll.spliterator(), false)
+                    .onClose(consumer::close);
+        } catch (RuntimeException e) {
+            consumer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Decode a batch of exported records, converting each to the API model.
+     */
+    public List<KafkaRecord> decodeItems(List<ConsumerRecord<byte[], byte[]>> records,
+            String topicId,
+            List<String> include,
+            Integer maxValueLength) {
+
+        return decodeRecords(records).stream()
+                .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                .toList();
+    }
+
+    /**
+     * The offset at which the export of each partition ends, and the trackers
+     * adding the records exported to the timestamp index when the export starts
+     * from a timestamp.
+     */
+    record ExportRanges(Map<TopicPartition, Long> endOffsets, Map<TopicPartition, TimestampIndex.Tracker> timestampTrackers) {
+    }
+
+    /**
+     * Assign and position the consumer at the start of the export in each
+     * partition, returning the offset at which the export of each ends. Partitions
+     * having no records in the range are not assigned.
+     */
+    ExportRanges exportRanges(Consumer<byte[], byte[]> consumer,
+            String topicName,
+            String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Long endOffset,
+            Instant endTimestamp) {
+
+        List<TopicPartition> assignments = consumer.partitionsFor(topicName).stream()
+                .filter(p -> partition == null || partition.equals(p.partition()))
+                .map(p -> new TopicPartition(p.topic(), p.partition()))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (assignments.isEmpty()) {
+            return new ExportRanges(Map.of(), Map.of());
+        }
+
+        var bounds = offsetBounds(consumer, topicId, assignments);
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>(bounds.size());
+        Map<TopicPartition, Long> endOffsets = new HashMap<>(bounds.size());
+        bounds.forEach((p, b) -> {
+            beginningOffsets.put(p, b.beginning());
+            endOffsets.put(p, endOffset != null ? Math.min(b.end(), endOffset) : b.end());
+        });
+
+        consumer.assign(assignments);
+        Map<TopicPartition, TimestampIndex.Tracker> timestampTrackers = Map.of();
+
+        if (timestamp != null) {
+            timestampTrackers = seekToTimestamp(consumer, topicId, assignments, beginningOffsets, timestamp);
+        } else {
+            long startOffset = requireNonNullElse(offset, 0L);
+            assignments.forEach(p -> consumer.seek(p, Math.max(beginningOffsets.get(p), startOffset)));
+        }
+
+        if (endTimestamp != null && !assignments.isEmpty()) {
+            long tsMillis = endTimestamp.toEpochMilli();
+            Map<TopicPartition, Long> timestampsToSearch = assignments.stream()
+                    .collect(Collectors.toMap(Function.identity(), p -> tsMillis));
+
+            consumer.offsetsForTimes(timestampsToSearch).forEach((p, tsOffset) -> {
+                // No offset means no records at or after the timestamp, export to the end
+                if (tsOffset != null) {
+                    endOffsets.merge(p, tsOffset.offset(), Math::min);
+                }
+            });
+        }
+
+        Map<TopicPartition, Long> ranges = new LinkedHashMap<>(assignments.size());
+
+        for (TopicPartition p : assignments) {
+            long end = endOffsets.get(p);
+
+            if (consumer.position(p) < end) {
+                ranges.put(p, end);
+            }
+        }
+
+        consumer.assign(ranges.keySet());
+        return new ExportRanges(ranges, timestampTrackers);
+    }
+
+    /**
+     * Subscribe to the records written to the topic (or a single partition) from
+     * now on. The consumer is shared with all other subscribers viewing the same
+     * topic and partition with the same credentials, each record being
+     * deserialized only once. Use {@link #getItems getItems} to convert the
+     * records received.
+     *
+     * <p>The topic is resolved before returning, so that errors may still be
+     * reported to the client, but the subscription is only made once the
+     * returned supplier is called, by the response being written. The caller
+     * must close the subscription.
+     */
+    public Supplier<LiveTailHub.Subscription<RecordData, RecordData>> tailRecords(String topicId, Integer partition) {
+        String topicName = topicNameForId(topicId);
+        return () -> liveTailSubscriber.apply(topicName, partition);
+    }
+
+    /**
+     * Result of a search, with the matching records and the progress made.
+     *
+     * @param records        matching records, in timestamp order
+     * @param resumeOffsets  offsets at which the search of each incomplete
+     *                       partition would resume, empty when the search is
+     *                       complete
+     * @param scannedRecords number of records examined
+     * @param scannedBytes   serialized size of the records examined
+     */
+    public record SearchResult(List<KafkaRecord> records, Map<Integer, Long> resumeOffsets, long scannedRecords, long scannedBytes) {
+        public boolean complete() {
+            return resumeOffsets.isEmpty();
+        }
+    }
+
+    /**
+     * Search the topic for records matching all of the given predicates. The
+     * partitions are scanned in parallel from their starting positions (the
+     * resume offsets of a previous search, the requested offset or timestamp, or
+     * the beginning of the partition) up to their end offsets at the time of the
+     * request. The search stops early once {@code limit} matches are found or the
+     * configured scan budget (records, bytes, and duration) is exhausted.
+     *
+     * <p>Records are consumed undecoded, and only the content needed by the
+     * predicates and the matching records are decoded.
+     */
+    public SearchResult searchRecords(String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Map<Integer, Long> resumeOffsets,
+            int limit,
+            List<? extends Predicate<RecordContentPredicate.Candidate>> predicates,
+            List<String> include,
+            Integer maxValueLength) {
+
+        String topicName = topicNameForId(topicId);
+        Map<TopicPartition, Long> startOffsets;
+        Map<TopicPartition, Long> endOffsets;
+
+        try (var lease = rawConsumerSupplier.get()) {
+            var consumer = lease.consumer();
+            List<TopicPartition> partitions = consumer.partitionsFor(topicName)
+                    .stream()
+                    .filter(p -> partition == null || partition.equals(p.partition()))
+                    .map(p -> new TopicPartition(p.topic(), p.partition()))
+                    .toList();
+
+            endOffsets = consumer.endOffsets(partitions);
+            startOffsets = searchStartOffsets(consumer, partitions, offset, timestamp, resumeOffsets);
+        }
+
+        startOffsets.entrySet().removeIf(e -> e.getValue() >= endOffsets.get(e.getKey()));
+
+        var keyDeserializer = kafkaContext.schemaRegistryContext().keyDeserializer();
+        var valueDeserializer = kafkaContext.schemaRegistryContext().valueDeserializer();
+        Predicate<RecordContentPredicate.Candidate> matcher = candidate -> predicates.stream().allMatch(p -> p.test(candidate));
+
+        SearchBudget budget = new SearchBudget(searchMaxRecords, searchMaxBytes, Instant.now().plus(searchMaxDuration), limit);
+        List<List<TopicPartition>> groups = partitionGroups(startOffsets.keySet(), searchParallelism);
+        List<ConsumerPool.Lease<byte[], byte[]>> leases = new ArrayList<>(groups.size());
+        List<PartitionScan> scans;
+
+        try {
+            // Leases are obtained on the request thread, the supplier is request-scoped
+            groups.forEach(group -> leases.add(rawConsumerSupplier.get()));
+            List<CompletableFuture<PartitionScan>> pending = new ArrayList<>(groups.size());
+
+            for (int i = 0; i < groups.size(); i++) {
+                var consumer = leases.get(i).consumer();
+                var group = groups.get(i);
+                pending.add(CompletableFuture.supplyAsync(() -> {
+                    var scan = new PartitionScan(consumer, group, startOffsets, endOffsets, budget);
+                    scan.run(rec -> matcher.test(new RecordContentPredicate.Candidate(rec, keyDeserializer, valueDeserializer, budget.deadline)));
+                    return scan;
+                }, executor));
+            }
+
+            scans = pending.stream().map(CompletableFuture::join).toList();
+        } finally {
+            leases.forEach(ConsumerPool.Lease::close);
+        }
+
+        Map<Integer, Long> nextOffsets = new TreeMap<>();
+
+        for (PartitionScan scan : scans) {
+            scan.positions.forEach((p, position) -> {
+                if (position < endOffsets.get(p)) {
+                    nextOffsets.put(p.partition(), position);
+                }
+            });
+        }
+
+        List<ConsumerRecord<byte[], byte[]>> matches = selectMatches(scans, limit, nextOffsets);
+
+        List<KafkaRecord> results = decodeRecords(matches)
+                .stream()
+                .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                .toList();
+
+        return new SearchResult(results, nextOffsets, budget.records.get(), budget.bytes.get());
+    }
+
+    /**
+     * Select up to {@code limit} of the matches found by the scans in timestamp
+     * order. Each partition's matches are taken in offset order, so that the
+     * matches selected from a partition precede every match of the partition
+     * left to be found again when the search is resumed. The next offset of such
+     * a partition is set to its first match not selected, i.e. the search
+     * resumes after the last match returned. Where the timestamps of a partition
+     * are not in offset order, the selection is only approximately the earliest
+     * matches.
+     *
+     * @return the matches selected, in timestamp order
+     */
+    static List<ConsumerRecord<byte[], byte[]>> selectMatches(List<PartitionScan> scans, int limit, Map<Integer, Long> nextOffsets) {
+        Comparator<ConsumerRecord<byte[], byte[]>> order = Comparator.<ConsumerRecord<byte[], byte[]>>comparingLong(ConsumerRecord::timestamp)
+                .thenComparingInt(ConsumerRecord::partition)
+                .thenComparingLong(ConsumerRecord::offset);
+        PriorityQueue<Deque<ConsumerRecord<byte[], byte[]>>> heads = new PriorityQueue<>(
+                (m1, m2) -> order.compare(m1.peekFirst(), m2.peekFirst()));
+
+        for (PartitionScan scan : scans) {
+            // Matches are consumed, and so listed, in offset order within each partition
+            scan.matches.stream()
+                    .collect(Collectors.groupingBy(ConsumerRecord::partition, Collectors.toCollection(ArrayDeque::new)))
+                    .values()
+                    .forEach(heads::add);
+        }
+
+        List<ConsumerRecord<byte[], byte[]>> selected = new ArrayList<>(limit);
+
+        while (!heads.isEmpty() && selected.size() < limit) {
+            var partitionMatches = heads.remove();
+            selected.add(partitionMatches.removeFirst());
+
+            if (!partitionMatches.isEmpty()) {
+                heads.add(partitionMatches);
+            }
+        }
+
+        for (var remaining : heads) {
+            var next = remaining.peekFirst();
+            nextOffsets.put(next.partition(), next.offset());
+        }
+
+        selected.sort(order);
+        return selected;
+    }
+
+    /**
+     * Search for the newest records with the given key. Only a single partition is
+     * searched: the one given, or the partition to which the producer's default
+     * partitioner assigns the key once serialized by the cluster's key
+     * serializer. The partition is scanned backwards from its end (or the resume
+     * offset) in windows that double in size, each window read forwards, until
+     * {@code limit} matches are found, the beginning of the partition (or the
+     * position given by {@code offset} or {@code timestamp}) is reached, or the
+     * search limits are exhausted. Each window may use no more than half of the
+     * search limits remaining, a window exceeding them is read again with half
+     * the number of records read, so that large records do not prevent the
+     * search from progressing.
+     *
+     * @return the matching records, newest first. When incomplete, the resume
+     *         offset of the partition is the offset before which the search
+     *         would continue.
+     */
+    public SearchResult lookupRecordsByKey(String topicId,
+            String key,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Map<Integer, Long> resumeOffsets,
+            int limit,
+            List<? extends Predicate<RecordContentPredicate.Candidate>> predicates,
+            List<String> include,
+            Integer maxValueLength) {
+
+        String topicName = topicNameForId(topicId);
+        var keyDeserializer = kafkaContext.schemaRegistryContext().keyDeserializer();
+        var valueDeserializer = kafkaContext.schemaRegistryContext().valueDeserializer();
+        SearchBudget budget = new SearchBudget(searchMaxRecords, searchMaxBytes, Instant.now().plus(searchMaxDuration), Integer.MAX_VALUE);
+        Predicate<ConsumerRecord<byte[], byte[]>> matcher = rec -> {
+            var candidate = new RecordContentPredicate.Candidate(rec, keyDeserializer, valueDeserializer, budget.deadline);
+            return predicates.stream().allMatch(p -> p.test(candidate));
+        };
+        List<ConsumerRecord<byte[], byte[]>> matches = new ArrayList<>();
+        Map<Integer, Long> nextOffsets = new TreeMap<>();
+
+        try (var lease = rawConsumerSupplier.get()) {
+            var consumer = lease.consumer();
+            List<PartitionInfo> partitions = consumer.partitionsFor(topicName);
+            final int target;
+
+            if (partition != null) {
+                target = partition;
+            } else {
+                byte[] serializedKey = kafkaContext.schemaRegistryContext()
+                        .keySerializer()
+                        .serialize(topicName, new RecordHeaders(), new RecordData(key));
+                target = partitionForKey(serializedKey, partitions.size());
+            }
+
+            if (partitions.stream().noneMatch(p -> p.partition() == target)) {
+                return new SearchResult(List.of(), Map.of(), 0, 0);
+            }
+
+            var tp = new TopicPartition(topicName, target);
+            long lowerBound = searchStartOffsets(consumer, List.of(tp), offset, timestamp, null)
+                    .getOrDefault(tp, Long.MAX_VALUE);
+            long upperBound = consumer.endOffsets(List.of(tp)).get(tp);
+
+            if (resumeOffsets != null) {
+                // Absent from the cursor, the partition has already been searched completely
+                upperBound = Math.min(upperBound, resumeOffsets.getOrDefault(target, -1L));
+            }
+
+            long windowEnd = upperBound;
+            long window = Math.max(limit, KEY_LOOKUP_INITIAL_WINDOW);
+
+            while (windowEnd > lowerBound && matches.size() < limit && !budget.exhausted()) {
+                long windowStart = Math.max(lowerBound, windowEnd - window);
+                var windowBudget = budget.window();
+                var scan = new PartitionScan(consumer, List.of(tp), Map.of(tp, windowStart), Map.of(tp, windowEnd), windowBudget);
+                scan.run(matcher);
+                budget.charge(windowBudget);
+
+                if (scan.positions.get(tp) < windowEnd) {
+                    /*
+                     * Window too large for the search limits. Matches found in the window
+                     * may not be the newest remaining, search a smaller window ending at the
+                     * same offset, either now or when resumed. A window of a single record
+                     * is always read while any budget remains.
+                     */
+                    window = Math.max(1, (scan.positions.get(tp) - windowStart) / 2);
+                    continue;
+                }
+
+                for (int i = scan.matches.size() - 1; i >= 0; i--) {
+                    matches.add(scan.matches.get(i));
+                }
+
+                windowEnd = windowStart;
+                window = Math.min(window * 2, Integer.MAX_VALUE);
+            }
+
+            if (matches.size() >= limit) {
+                // Older matches are found again when the search is resumed
+                windowEnd = matches.get(limit - 1).offset();
+            }
+
+            if (windowEnd > lowerBound) {
+                nextOffsets.put(target, windowEnd);
+            }
+        }
+
+        List<KafkaRecord> results = decodeRecords(matches.subList(0, Math.min(limit, matches.size())))
+                .stream()
+                .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                .toList();
+
+        return new SearchResult(results, nextOffsets, budget.records.get(), budget.bytes.get());
+    }
+
+    /**
+     * Result of a view of the records of a topic.
+     *
+     * @param records        records in the view
+     * @param cursor         cursor from which the view would continue, null when
+     *                       the view is complete or can not continue
+     * @param truncated      whether the view can not continue, having reached
+     *                       a partition holding more keys than may be tracked
+     * @param scannedRecords number of records examined
+     * @param scannedBytes   serialized size of the records examined
+     */
+    public record ViewResult(List<KafkaRecord> records, String cursor, boolean truncated, long scannedRecords, long scannedBytes) {
+        public boolean complete() {
+            return cursor == null && !truncated;
+        }
+    }
+
+    /**
+     * Find the latest record of each key, e.g. the current state of a compacted
+     * topic. Each partition (or only the one given) is read from its end towards
+     * its beginning, in order of partition number, in windows that are each read
+     * forwards and then examined newest record first. The first record examined
+     * for each key is the latest, later records with the same key are skipped.
+     * Records without a key are skipped. Tombstones (records with a null value)
+     * are the latest record of their key, but are only returned when
+     * {@code includeTombstones} is set, flagged by {@code meta.tombstone}.
+     *
+     * <p>Keys are tracked by the 64-bit hash of their serialized form, held in a
+     * {@linkplain LongHashSet} for the partition being read. When {@code limit}
+     * records are found or the search limits are exhausted, the scan is saved
+     * with the context's {@linkplain LatestRecordScans} and the returned cursor
+     * identifies it to continue the view. The view is truncated, without a
+     * cursor, when a partition holds more keys than the scan may track.
+     *
+     * @throws BadRequestException when the cursor is unknown or has expired
+     */
+    public ViewResult latestRecordsByKey(String topicId,
+            Integer partition,
+            String cursor,
+            int limit,
+            boolean includeTombstones,
+            List<String> include,
+            Integer maxValueLength) {
+
+        String topicName = topicNameForId(topicId);
+        var scans = kafkaContext.latestRecordScans();
+        SearchBudget budget = new SearchBudget(searchMaxRecords, searchMaxBytes, Instant.now().plus(searchMaxDuration), Integer.MAX_VALUE);
+        List<ConsumerRecord<byte[], byte[]>> latest = new ArrayList<>();
+        LatestRecordScans.Scan scan;
+        boolean truncated = false;
+
+        try (var lease = rawConsumerSupplier.get()) {
+            var consumer = lease.consumer();
+
+            if (cursor != null) {
+                scan = scans.take(cursor, topicId);
+
+                if (scan == null) {
+                    throw new BadRequestException("Parameter `view[cursor]` is unknown or has expired");
+                }
+            } else {
+                List<TopicPartition> partitions = consumer.partitionsFor(topicName)
+                        .stream()
+                        .filter(p -> partition == null || partition.equals(p.partition()))
+                        .map(p -> new TopicPartition(p.topic(), p.partition()))
+                        .toList();
+                Map<Integer, Long> upperOffsets = new HashMap<>();
+                consumer.endOffsets(partitions).forEach((p, end) -> upperOffsets.put(p.partition(), end));
+                scan = scans.start(topicId, upperOffsets);
+            }
+
+            long windowSize = LATEST_VIEW_WINDOW;
+
+            while (!scan.complete() && !truncated && latest.size() < limit && !budget.exhausted()) {
+                var tp = new TopicPartition(topicName, scan.partition());
+                long lowerBound = consumer.beginningOffsets(List.of(tp)).get(tp);
+                long windowEnd = scan.upperOffset();
+
+                if (windowEnd <= lowerBound) {
+                    scan.nextPartition();
+                    continue;
+                }
+
+                long windowStart = Math.max(lowerBound, windowEnd - windowSize);
+                var windowBudget = budget.window();
+                var window = new PartitionScan(consumer, List.of(tp), Map.of(tp, windowStart), Map.of(tp, windowEnd), windowBudget);
+                window.run(rec -> true);
+                budget.charge(windowBudget);
+
+                if (window.positions.get(tp) < windowEnd) {
+                    /*
+                     * Window too large for the search limits, read a smaller window ending at
+                     * the same offset, either now or when resumed. A window of a single
+                     * record is always read while any budget remains.
+                     */
+                    windowSize = Math.max(1, (window.positions.get(tp) - windowStart) / 2);
+                    continue;
+                }
+
+                windowSize = Math.min(windowSize * 2, LATEST_VIEW_WINDOW);
+
+                long nextWindowEnd = windowStart;
+
+                for (int i = window.matches.size() - 1; i >= 0; i--) {
+                    var rec = window.matches.get(i);
+
+                    if (latest.size() >= limit) {
+                        // Continue from this record when resumed
+                        nextWindowEnd = rec.offset() + 1;
+                        break;
+                    }
+
+                    if (scan.full()) {
+                        // No further keys may be tracked, the view ends here
+                        truncated = true;
+                        break;
+                    }
+
+                    if (rec.key() != null
+                            && scan.firstSeen(LongHashSet.hash(rec.key()))
+                            && (rec.value() != null || includeTombstones)) {
+                        latest.add(rec);
+                    }
+                }
+
+                if (nextWindowEnd > lowerBound) {
+                    scan.upperOffset(nextWindowEnd);
+                } else {
+                    scan.nextPartition();
+                }
+            }
+        }
+
+        String nextCursor = scan.complete() || truncated ? null : scans.save(scan);
+        var decoded = decodeRecords(latest);
+        List<KafkaRecord> results = new ArrayList<>(decoded.size());
+
+        for (int i = 0; i < decoded.size(); i++) {
+            var item = getItems(decoded.get(i), topicId, include, maxValueLength);
+
+            if (latest.get(i).value() == null) {
+                item.addMeta("tombstone", true);
+            }
+
+            results.add(item);
+        }
+
+        return new ViewResult(results, nextCursor, truncated, budget.records.get(), budget.bytes.get());
+    }
+
+    /**
+     * Sample the records of the topic (or of the partition given) by reading short
+     * runs of records from positions chosen at random, giving a quick view of the
+     * content of the topic without reading it in full. Up to {@code points}
+     * positions are chosen (no more than {@code limit}), each followed by an
+     * equal share of the {@code limit} records. Runs are read in parallel using
+     * the sampling consumers, which fetch little more than a run from each
+     * partition. The same seed gives the same positions while the beginning and
+     * end offsets of the partitions are unchanged.
+     *
+     * @return the records read, in partition and offset order
+     */
+    public List<KafkaRecord> sampleRecords(String topicId,
+            Integer partition,
+            int points,
+            int limit,
+            long seed,
+            List<String> include,
+            Integer maxValueLength) {
+
+        String topicName = topicNameForId(topicId);
+        Map<TopicPartition, TreeMap<Long, Long>> ranges;
+
+        try (var lease = samplingConsumerSupplier.get()) {
+            var consumer = lease.consumer();
+            List<TopicPartition> partitions = consumer.partitionsFor(topicName)
+                    .stream()
+                    .filter(p -> partition == null || partition.equals(p.partition()))
+                    .map(p -> new TopicPartition(p.topic(), p.partition()))
+                    .sorted(Comparator.comparingInt(TopicPartition::partition))
+                    .toList();
+
+            int runs = Math.min(points, limit);
+            ranges = sampleRanges(partitions, offsetBounds(consumer, topicId, partitions), runs, limit / runs, new Random(seed));
+        }
+
+        SearchBudget budget = new SearchBudget(searchMaxRecords, searchMaxBytes, Instant.now().plus(searchMaxDuration), Integer.MAX_VALUE);
+        List<List<TopicPartition>> groups = partitionGroups(ranges.keySet(), searchParallelism);
+        List<ConsumerPool.Lease<byte[], byte[]>> leases = new ArrayList<>(groups.size());
+        List<ConsumerRecord<byte[], byte[]>> sample = new ArrayList<>();
+
+        try {
+            // Leases are obtained on the request thread, the supplier is request-scoped
+            groups.forEach(group -> leases.add(samplingConsumerSupplier.get()));
+            List<CompletableFuture<List<ConsumerRecord<byte[], byte[]>>>> pending = new ArrayList<>(groups.size());
+
+            for (int i = 0; i < groups.size(); i++) {
+                var consumer = leases.get(i).consumer();
+                var group = groups.get(i);
+                pending.add(CompletableFuture.supplyAsync(() -> readRuns(consumer, group, ranges, budget), executor));
+            }
+
+            pending.stream().map(CompletableFuture::join).forEach(sample::addAll);
+        } finally {
+            leases.forEach(ConsumerPool.Lease::close);
+        }
+
+        sample.sort(Comparator.<ConsumerRecord<byte[], byte[]>>comparingInt(ConsumerRecord::partition)
+                .thenComparingLong(ConsumerRecord::offset));
+
+        return decodeRecords(sample)
+                .stream()
+                .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                .toList();
+    }
+
+    /**
+     * Read the runs of the given partitions, with each round reading the next run
+     * of every partition having runs remaining.
+     */
+    static List<ConsumerRecord<byte[], byte[]>> readRuns(Consumer<byte[], byte[]> consumer,
+            List<TopicPartition> partitions,
+            Map<TopicPartition, TreeMap<Long, Long>> ranges,
+            SearchBudget budget) {
+
+        Map<TopicPartition, Iterator<Map.Entry<Long, Long>>> remaining = new HashMap<>();
+        partitions.forEach(p -> remaining.put(p, ranges.get(p).entrySet().iterator()));
+        List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+
+        while (!remaining.isEmpty() && !budget.exhausted()) {
+            Map<TopicPartition, Long> startOffsets = new HashMap<>();
+            Map<TopicPartition, Long> endOffsets = new HashMap<>();
+
+            remaining.forEach((p, runs) -> {
+                var run = runs.next();
+                startOffsets.put(p, run.getKey());
+                endOffsets.put(p, run.getValue());
+            });
+
+            remaining.values().removeIf(runs -> !runs.hasNext());
+
+            var scan = new PartitionScan(consumer, List.copyOf(startOffsets.keySet()), startOffsets, endOffsets, budget);
+            scan.run(rec -> true);
+            records.addAll(scan.matches);
+        }
+
+        return records;
+    }
+
+    /**
+     * Choose the ranges of offsets read by a sample. Each of the {@code points}
+     * positions is chosen uniformly at random among the offsets of all the
+     * partitions, so that larger partitions are sampled more often, and is
+     * followed by a run of up to {@code runLength} offsets. Runs are kept within
+     * their partition and overlapping runs are merged.
+     *
+     * @return for each partition sampled, its runs as a map of start offset
+     *         (inclusive) to end offset (exclusive)
+     */
+    static Map<TopicPartition, TreeMap<Long, Long>> sampleRanges(List<TopicPartition> partitions,
+            Map<TopicPartition, OffsetBoundsCache.Bounds> bounds,
+            int points,
+            int runLength,
+            Random random) {
+
+        long total = partitions.stream()
+                .map(bounds::get)
+                .mapToLong(b -> Math.max(0, b.end() - b.beginning()))
+                .sum();
+
+        Map<TopicPartition, TreeMap<Long, Long>> ranges = new LinkedHashMap<>();
+
+        if (total == 0) {
+            return ranges;
+        }
+
+        for (int i = 0; i < points; i++) {
+            long position = random.nextLong(total);
+
+            for (TopicPartition p : partitions) {
+                var b = bounds.get(p);
+                long size = Math.max(0, b.end() - b.beginning());
+
+                if (position < size) {
+                    long start = Math.max(b.beginning(), Math.min(b.beginning() + position, b.end() - runLength));
+                    long end = Math.min(b.end(), start + runLength);
+                    ranges.computeIfAbsent(p, k -> new TreeMap<>()).merge(start, end, Math::max);
+                    break;
+                }
+
+                position -= size;
+            }
+        }
+
+        ranges.replaceAll((p, runs) -> {
+            TreeMap<Long, Long> merged = new TreeMap<>();
+
+            runs.forEach((start, end) -> {
+                var last = merged.lastEntry();
+
+                if (last != null && start <= last.getValue()) {
+                    merged.put(last.getKey(), Math.max(last.getValue(), end));
+                } else {
+                    merged.put(start, end);
+                }
+            });
+
+            return merged;
+        });
 
-    @Inject
-    Logger logger;
+        return ranges;
+    }
 
-    @Inject
-    @ConfigProperty(name = "console.topics.records.poll-timeout", defaultValue = "PT5S")
-    Duration pollTimeout;
+    /**
+     * The partition to which the producer's default partitioner assigns a
+     * record with the given serialized key.
+     */
+    static int partitionForKey(byte[] serializedKey, int partitionCount) {
+        return Utils.toPositive(Utils.murmur2(serializedKey)) % partitionCount;
+    }
 
-    @Inject
-    KafkaContext kafkaContext;
+    Map<TopicPartition, Long> searchStartOffsets(Consumer<?, ?> consumer,
+            List<TopicPartition> partitions,
+            Long offset,
+            Instant timestamp,
+            Map<Integer, Long> resumeOffsets) {
+
+        Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> startOffsets = new HashMap<>();
+
+        if (resumeOffsets != null) {
+            // Partitions absent from the cursor have already been searched completely
+            partitions.stream()
+                .filter(p -> resumeOffsets.containsKey(p.partition()))
+                .forEach(p -> startOffsets.put(p, Math.max(beginningOffsets.get(p), resumeOffsets.get(p.partition()))));
+        } else if (timestamp != null) {
+            long tsMillis = timestamp.toEpochMilli();
+            consumer.offsetsForTimes(partitions.stream().collect(Collectors.toMap(Function.identity(), p -> tsMillis)))
+                .forEach((p, tsOffset) -> {
+                    if (tsOffset != null) {
+                        startOffsets.put(p, tsOffset.offset());
+                    }
+                });
+        } else {
+            partitions.forEach(p -> startOffsets.put(p, Math.max(beginningOffsets.get(p), requireNonNullElse(offset, 0L))));
+        }
 
-    @Inject
-    Consumer<RecordData, RecordData> consumer;
+        return startOffsets;
+    }
 
-    @Inject
-    Producer<RecordData, RecordData> producer;
+    static List<List<TopicPartition>> partitionGroups(Collection<TopicPartition> partitions, int parallelism) {
+        int groupCount = Math.min(Math.max(parallelism, 1), partitions.size());
+        List<List<TopicPartition>> groups = new ArrayList<>(groupCount);
 
-    @Inject
-    ThreadContext threadContext;
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ArrayList<>());
+        }
 
-    @Inject
-    TopicDescribeService topicService;
+        int i = 0;
+        for (TopicPartition p : partitions) {
+            groups.get(i++ % groupCount).add(p);
+        }
 
-    public List<KafkaRecord> consumeRecords(String topicId,
+        return groups;
+    }
+
+    /**
+     * Limits shared by the partition scans of a single search.
+     */
+    static class SearchBudget {
+        final AtomicLong records = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+        final AtomicInteger matches = new AtomicInteger();
+        final long maxRecords;
+        final long maxBytes;
+        final Instant deadline;
+        final int maxMatches;
+
+        SearchBudget(long maxRecords, long maxBytes, Instant deadline, int maxMatches) {
+            this.maxRecords = maxRecords;
+            this.maxBytes = maxBytes;
+            this.deadline = deadline;
+            this.maxMatches = maxMatches;
+        }
+
+        boolean exhausted() {
+            return matches.get() >= maxMatches
+                    || records.get() >= maxRecords
+                    || bytes.get() >= maxBytes
+                    || !Instant.now().isBefore(deadline);
+        }
+
+        boolean tryConsume(long size) {
+            if (exhausted()) {
+                return false;
+            }
+            records.incrementAndGet();
+            bytes.addAndGet(size);
+            return true;
+        }
+
+        /**
+         * Budget for a single window of a scan, limited to half of the records and
+         * bytes remaining. A window found to be too large for its budget is read
+         * again as a smaller window, for which budget then remains. The usage of
+         * the window must be {@linkplain #charge(SearchBudget) charged} to this
+         * budget once read.
+         */
+        SearchBudget window() {
+            return new SearchBudget(
+                    Math.max(1, (maxRecords - records.get()) / 2),
+                    Math.max(1, (maxBytes - bytes.get()) / 2),
+                    deadline,
+                    maxMatches - matches.get());
+        }
+
+        void charge(SearchBudget window) {
+            records.addAndGet(window.records.get());
+            bytes.addAndGet(window.bytes.get());
+            matches.addAndGet(window.matches.get());
+        }
+    }
+
+    /**
+     * Scan of a group of partitions by a single consumer, tracking the position
+     * at which the scan of each partition stopped.
+     */
+    static class PartitionScan {
+        private static final Duration MAX_POLL_TIME = Duration.ofMillis(100);
+
+        final Consumer<byte[], byte[]> consumer;
+        final Map<TopicPartition, Long> endOffsets;
+        final Map<TopicPartition, Long> positions = new HashMap<>();
+        final SearchBudget budget;
+        final List<ConsumerRecord<byte[], byte[]>> matches = new ArrayList<>();
+
+        PartitionScan(Consumer<byte[], byte[]> consumer,
+                List<TopicPartition> partitions,
+                Map<TopicPartition, Long> startOffsets,
+                Map<TopicPartition, Long> endOffsets,
+                SearchBudget budget) {
+            this.consumer = consumer;
+            this.endOffsets = endOffsets;
+            this.budget = budget;
+            partitions.forEach(p -> positions.put(p, startOffsets.get(p)));
+        }
+
+        void run(Predicate<ConsumerRecord<byte[], byte[]>> matcher) {
+            Set<TopicPartition> active = new HashSet<>(positions.keySet());
+            consumer.assign(active);
+            // Partitions keep their paused state when assigned again, e.g. by the next window of a scan
+            consumer.resume(active);
+            positions.forEach(consumer::seek);
+
+            while (!active.isEmpty() && !budget.exhausted()) {
+                var records = consumer.poll(MAX_POLL_TIME);
+
+                for (var rec : records) {
+                    var partition = new TopicPartition(rec.topic(), rec.partition());
+
+                    if (!active.contains(partition)) {
+                        continue;
+                    }
+
+                    if (rec.offset() >= endOffsets.get(partition)) {
+                        active.remove(partition);
+                        continue;
+                    }
+
+                    if (!budget.tryConsume(sizeOf(rec))) {
+                        return;
+                    }
+
+                    boolean matched;
+
+                    try {
+                        matched = matcher.test(rec);
+                    } catch (RecordContentPredicate.DeadlineExceededException e) {
+                        // Tested again from the start when the search is resumed
+                        return;
+                    }
+
+                    positions.put(partition, rec.offset() + 1);
+
+                    if (matched) {
+                        matches.add(rec);
+                        budget.matches.incrementAndGet();
+                    }
+                }
+
+                // Positions may pass the end without a record, e.g. transaction markers
+                active.removeIf(p -> {
+                    if (consumer.position(p) >= endOffsets.get(p)) {
+                        positions.put(p, endOffsets.get(p));
+                        return true;
+                    }
+                    return positions.get(p) >= endOffsets.get(p);
+                });
+
+                consumer.pause(consumer.assignment().stream().filter(p -> !active.contains(p)).toList());
+            }
+        }
+    }
+
+    /**
+     * Consume a page of records. The records are consumed undecoded and the page
+     * is selected using only the record metadata, so that only the records
+     * included in the result are decoded.
+     *
+     * <p>When the context's record cache holds every record that would be
+     * consumed from a partition, the partition is not read and the cached
+     * (decoded) records are used instead. Records read from the other
+     * partitions are taken from the cache when present, otherwise decoded and
+     * added to the cache.
+     */
+    List<KafkaRecord> consumeRecords(Consumer<byte[], byte[]> consumer,
+            String topicName,
+            String topicId,
             Integer partition,
             Long offset,
             Instant timestamp,
@@ -82,7 +1154,236 @@ public class RecordService {
             List<String> include,
             Integer maxValueLength) {
 
-        String topicName = topicNameForId(topicId);
+        var merge = new PartitionMerge<ConsumerRecord<?, ?>>(buildComparator(timestamp, offset), limit);
+        var batches = pollBatches(consumer, topicName, topicId, partition, offset, timestamp, limit);
+        var cache = recordCache();
+        Set<TopicPartition> cachedPartitions = new HashSet<>();
+        Map<TopicPartition, ConsumedOffsets> consumedOffsets = new HashMap<>();
+
+        if (cache != null) {
+            for (TopicPartition p : batches.assignments()) {
+                var cached = cachedRecords(cache, topicId, p, consumer.position(p), batches.endOffset(p), limit);
+
+                if (cached != null) {
+                    merge.addAll(p, cached);
+                    cachedPartitions.add(p);
+                }
+            }
+
+            batches.complete(cachedPartitions);
+            batches.complete(merge.trim());
+        }
+
+        while (batches.hasNext()) {
+            var records = batches.next();
+
+            for (var p : records.partitions()) {
+                var partitionRecords = records.records(p);
+                merge.addAll(p, partitionRecords);
+
+                if (cache != null) {
+                    var consumed = consumedOffsets.computeIfAbsent(p, k -> new ConsumedOffsets());
+                    partitionRecords.forEach(rec -> consumed.add(rec.offset()));
+                }
+            }
+
+            // Stop reading partitions that can no longer contribute to the result
+            batches.complete(merge.trim());
+        }
+
+        List<ConsumerRecord<?, ?>> result = merge.result();
+        List<ConsumerRecord<RecordData, RecordData>> page = new ArrayList<>(result.size());
+        Map<Integer, ConsumerRecord<byte[], byte[]>> undecoded = new LinkedHashMap<>();
+
+        for (int i = 0; i < result.size(); i++) {
+            var rec = result.get(i);
+            var p = new TopicPartition(rec.topic(), rec.partition());
+            ConsumerRecord<RecordData, RecordData> decoded = null;
+
+            if (cachedPartitions.contains(p)) {
+                decoded = cast(rec);
+            } else if (cache != null) {
+                var entry = cache.get(new RecordCache.Key(topicId, rec.partition(), rec.offset()));
+                decoded = entry != null ? entry.rec() : null;
+            }
+
+            if (decoded == null) {
+                undecoded.put(i, cast(rec));
+            }
+
+            page.add(decoded);
+        }
+
+        var decodedRecords = decodeRecords(List.copyOf(undecoded.values())).iterator();
+
+        for (var pending : undecoded.entrySet()) {
+            var rec = decodedRecords.next();
+            page.set(pending.getKey(), rec);
+
+            if (cache != null) {
+                var p = new TopicPartition(rec.topic(), rec.partition());
+                long nextOffset = consumedOffsets.get(p).next(rec.offset(), batches.endOffset(p));
+                cache.put(topicId, rec, nextOffset);
+            }
+        }
+
+        return page.stream()
+                .map(rec -> getItems(rec, topicId, include, maxValueLength))
+                .toList();
+    }
+
+    /**
+     * The context's record cache, only used when every request uses the same
+     * credentials (those in the cluster's configuration). Otherwise, records
+     * cached for one user could be given to another not permitted to read them.
+     */
+    RecordCache recordCache() {
+        return kafkaContext.applicationScoped() ? kafkaContext.recordCache() : null;
+    }
+
+    /**
+     * Get the records that would be consumed from the partition from the cache,
+     * following the offset of each cached record to the next.
+     *
+     * @return the cached records, or null when any of the records is not cached
+     */
+    static List<ConsumerRecord<RecordData, RecordData>> cachedRecords(RecordCache cache,
+            String topicId,
+            TopicPartition partition,
+            long startOffset,
+            long endOffset,
+            int limit) {
+
+        List<ConsumerRecord<RecordData, RecordData>> records = new ArrayList<>();
+        long offset = startOffset;
+
+        while (records.size() < limit && offset < endOffset) {
+            if (offset == RecordCache.UNKNOWN_OFFSET) {
+                return null;
+            }
+
+            var entry = cache.get(new RecordCache.Key(topicId, partition.partition(), offset));
+
+            if (entry == null) {
+                return null;
+            }
+
+            records.add(entry.rec());
+            offset = entry.nextOffset();
+        }
+
+        return records;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T cast(Object object) {
+        return (T) object;
+    }
+
+    /**
+     * The offsets consumed from a single partition, held as ranges of
+     * consecutive offsets.
+     */
+    static class ConsumedOffsets {
+        private final List<long[]> ranges = new ArrayList<>();
+
+        void add(long offset) {
+            long[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+
+            if (last != null && last[1] + 1 == offset) {
+                last[1] = offset;
+            } else if (last == null || last[1] < offset) {
+                ranges.add(new long[] { offset, offset });
+            }
+        }
+
+        /**
+         * The offset following the given consumed offset: the next offset consumed,
+         * or the end offset when the offset precedes it. Otherwise, the following
+         * offset is not known.
+         */
+        long next(long offset, long endOffset) {
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+
+                if (offset >= range[0] && offset < range[1]) {
+                    return offset + 1;
+                }
+
+                if (offset == range[1]) {
+                    if (i + 1 < ranges.size()) {
+                        return ranges.get(i + 1)[0];
+                    }
+                    return offset + 1 >= endOffset ? offset + 1 : RecordCache.UNKNOWN_OFFSET;
+                }
+            }
+
+            return RecordCache.UNKNOWN_OFFSET;
+        }
+    }
+
+    /**
+     * Decode the keys and values of the given raw records using the cluster's
+     * multi-format deserializers, retaining the order of the records. Larger
+     * lists are split into contiguous groups that are decoded in parallel.
+     */
+    List<ConsumerRecord<RecordData, RecordData>> decodeRecords(List<ConsumerRecord<byte[], byte[]>> records) {
+        var keyDeserializer = kafkaContext.schemaRegistryContext().keyDeserializer();
+        var valueDeserializer = kafkaContext.schemaRegistryContext().valueDeserializer();
+        Function<ConsumerRecord<byte[], byte[]>, ConsumerRecord<RecordData, RecordData>> decoder =
+                rec -> new DecodableRecord(rec, keyDeserializer, valueDeserializer).decoded();
+
+        int groupCount = Math.min(Math.max(decodeParallelism, 1), records.size());
+
+        if (groupCount < 2) {
+            return records.stream().map(decoder).toList();
+        }
+
+        int groupSize = (records.size() + groupCount - 1) / groupCount;
+        List<CompletableFuture<List<ConsumerRecord<RecordData, RecordData>>>> pending = new ArrayList<>(groupCount);
+
+        for (int start = 0; start < records.size(); start += groupSize) {
+            var group = records.subList(start, Math.min(start + groupSize, records.size()));
+            pending.add(CompletableFuture.supplyAsync(() -> group.stream().map(decoder).toList(), executor));
+        }
+
+        return pending.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Assign and position the consumer for the request, returning a lazy stream
+     * of the records polled. Polling only takes place as the stream is consumed.
+     */
+    Stream<ConsumerRecord<RecordData, RecordData>> pollRecords(Consumer<RecordData, RecordData> consumer,
+            String topicName,
+            String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Integer limit) {
+
+        var batches = pollBatches(consumer, topicName, topicId, partition, offset, timestamp, limit);
+        Iterable<ConsumerRecords<RecordData, RecordData>> poll = () -> batches;
+
+        return StreamSupport.stream(poll.spliterator(), false)
+                .flatMap(records -> StreamSupport.stream(records.spliterator(), false));
+    }
+
+    /**
+     * Assign and position the consumer for the request, returning an iterator of
+     * the batches of records polled.
+     */
+    <K, V> ConsumerRecordsIterator<K, V> pollBatches(Consumer<K, V> consumer,
+            String topicName,
+            String topicId,
+            Integer partition,
+            Long offset,
+            Instant timestamp,
+            Integer limit) {
+
         List<PartitionInfo> partitions = consumer.partitionsFor(topicName);
         List<TopicPartition> assignments = partitions.stream()
                 .filter(p -> partition == null || partition.equals(p.partition()))
@@ -90,11 +1391,17 @@ public class RecordService {
                 .collect(Collectors.toCollection(ArrayList::new));
 
         if (assignments.isEmpty()) {
-            return Collections.emptyList();
+            return ConsumerRecordsIterator.empty(consumer);
         }
 
-        var beginningOffsets = consumer.beginningOffsets(assignments);
-        var endOffsets = consumer.endOffsets(assignments);
+        var bounds = offsetBounds(consumer, topicId, assignments);
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>(bounds.size());
+        Map<TopicPartition, Long> endOffsets = new HashMap<>(bounds.size());
+        bounds.forEach((p, b) -> {
+            beginningOffsets.put(p, b.beginning());
+            endOffsets.put(p, b.end());
+        });
+
         // End offset of zero means the partition has not been written to - don't bother reading them
         assignments.removeIf(assignment -> {
             long endOffset = endOffsets.get(assignment);
@@ -108,19 +1415,20 @@ public class RecordService {
         });
 
         if (assignments.isEmpty()) {
-            return Collections.emptyList();
+            return ConsumerRecordsIterator.empty(consumer);
         }
 
         consumer.assign(assignments);
+        Map<TopicPartition, TimestampIndex.Tracker> timestampTrackers = Map.of();
 
         if (timestamp != null) {
-            seekToTimestamp(consumer, assignments, timestamp);
+            timestampTrackers = seekToTimestamp(consumer, topicId, assignments, beginningOffsets, timestamp);
         } else {
             seekToOffset(consumer, assignments, beginningOffsets, endOffsets, offset, limit);
         }
 
         if (assignments.isEmpty()) {
-            return Collections.emptyList();
+            return ConsumerRecordsIterator.empty(consumer);
         }
 
         /*
@@ -129,31 +1437,101 @@ public class RecordService {
          */
         consumer.assign(assignments);
 
-        Iterable<ConsumerRecords<RecordData, RecordData>> poll =
-                () -> new ConsumerRecordsIterator<>(consumer, endOffsets, limit, Instant.now().plus(pollTimeout));
-        var limitSet = new SizeLimitedSortedSet<ConsumerRecord<RecordData, RecordData>>(buildComparator(timestamp, offset), limit);
+        var iterator = new ConsumerRecordsIterator<>(consumer, assignments, endOffsets, limit, Instant.now().plus(pollTimeout));
+        iterator.offsetBounds = kafkaContext.offsetBounds();
+        iterator.topicId = topicId;
+        iterator.timestampTrackers = timestampTrackers;
+        return iterator;
+    }
 
-        return StreamSupport.stream(poll.spliterator(), false)
-                .flatMap(records -> StreamSupport.stream(records.spliterator(), false))
-                .collect(Collectors.toCollection(() -> limitSet))
-                .stream()
-                .map(rec -> getItems(rec, topicId, include, maxValueLength))
-                .toList();    }
+    /**
+     * Get the beginning and end offsets of the partitions, shared with other
+     * requests for the same cluster via the context's offset bounds cache.
+     */
+    Map<TopicPartition, OffsetBoundsCache.Bounds> offsetBounds(Consumer<?, ?> consumer, String topicId, List<TopicPartition> partitions) {
+        return kafkaContext.offsetBounds().get(topicId, partitions, missing -> {
+            var beginningOffsets = consumer.beginningOffsets(missing);
+            var endOffsets = consumer.endOffsets(missing);
+
+            return missing.stream().collect(Collectors.toMap(
+                    Function.identity(),
+                    p -> new OffsetBoundsCache.Bounds(beginningOffsets.get(p), endOffsets.get(p))));
+        });
+    }
 
     public KafkaRecord produceRecord(String topicId, KafkaRecord input) {
         String topicName = topicNameForId(topicId);
 
-        List<PartitionInfo> partitions = producer.partitionsFor(topicName);
-        Integer partition = input.partition();
+        try (var lease = producerSupplier.get()) {
+            Producer<RecordData, RecordData> producer = lease.producer();
+            List<PartitionInfo> partitions = producer.partitionsFor(topicName);
+            Integer partition = input.partition();
+
+            if (partition != null && partitions.stream().noneMatch(p -> partition.equals(p.partition()))) {
+                throw invalidPartition(topicId, partition);
+            }
 
-        if (partition != null && partitions.stream().noneMatch(p -> partition.equals(p.partition()))) {
-            throw invalidPartition(topicId, partition);
+            return send(topicName, input, producer);
         }
+    }
+
+    /**
+     * Send a batch of records to the topic. Every record is handed to the producer
+     * without waiting for the acknowledgement of the previous one, allowing the
+     * producer to batch the records sent to each partition (subject to its
+     * {@code linger.ms} and {@code batch.size}). The acknowledgements are then
+     * awaited together.
+     *
+     * @return the result of sending each record, in the order given: either the
+     *         record sent or the reason it was not sent
+     */
+    public List<Either<KafkaRecord, Throwable>> produceRecords(String topicId, List<KafkaRecord> inputs) {
+        String topicName = topicNameForId(topicId);
+
+        try (var lease = producerSupplier.get()) {
+            Producer<RecordData, RecordData> producer = lease.producer();
+            Set<Integer> partitions = producer.partitionsFor(topicName)
+                    .stream()
+                    .map(PartitionInfo::partition)
+                    .collect(Collectors.toSet());
+
+            List<Map.Entry<ProducerRecord<RecordData, RecordData>, CompletableFuture<RecordMetadata>>> pending =
+                    new ArrayList<>(inputs.size());
+
+            for (KafkaRecord input : inputs) {
+                Integer partition = input.partition();
+                var request = producerRecord(topicName, input);
+
+                if (partition != null && !partitions.contains(partition)) {
+                    pending.add(Map.entry(request, CompletableFuture.failedFuture(invalidPartition(topicId, partition))));
+                } else {
+                    pending.add(Map.entry(request, sendAsync(request, producer)));
+                }
+            }
 
-        return send(topicName, input, producer);
+            return pending.stream()
+                    .map(sent -> {
+                        try {
+                            return Either.<KafkaRecord, Throwable>of(sendResult(sent.getKey(), sent.getValue().join()));
+                        } catch (CompletionException e) {
+                            return Either.<KafkaRecord, Throwable>ofAlternate(e.getCause());
+                        }
+                    })
+                    .toList();
+        }
     }
 
     KafkaRecord send(String topicName, KafkaRecord input, Producer<RecordData, RecordData> producer) {
+        var request = producerRecord(topicName, input);
+
+        try {
+            return sendResult(request, sendAsync(request, producer).join());
+        } catch (CompletionException e) {
+            throw new CompletionException("Error occurred while sending record to Kafka cluster", e.getCause());
+        }
+    }
+
+    ProducerRecord<RecordData, RecordData> producerRecord(String topicName, KafkaRecord input) {
         List<Header> headers = Optional.ofNullable(input.headers())
             .orElseGet(Collections::emptyMap)
             .entrySet()
@@ -179,24 +1557,55 @@ public class RecordService {
         var value = new RecordData(input.value());
         setSchemaMeta(input.valueSchema(), value);
 
-        ProducerRecord<RecordData, RecordData> request = new ProducerRecord<>(topicName,
+        return new ProducerRecord<>(topicName,
                 input.partition(),
                 timestamp,
                 key,
                 value,
                 headers);
+    }
 
-        RecordMetadata meta;
+    /**
+     * Hand the record to the producer without waiting for it to be sent. Errors
+     * raised by the producer before sending, e.g. when the record can not be
+     * serialized, fail the returned future rather than being thrown.
+     */
+    CompletableFuture<RecordMetadata> sendAsync(ProducerRecord<RecordData, RecordData> request,
+            Producer<RecordData, RecordData> producer) {
+
+        CompletableFuture<RecordMetadata> result = new CompletableFuture<>();
+        Timer.Sample sendTimer = Timer.start(meterRegistry);
 
         try {
-            meta = producer.send(request).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new CompletionException("Error occurred while sending record to Kafka cluster", e);
-        } catch (Exception e) {
-            throw new CompletionException("Error occurred while sending record to Kafka cluster", e);
+            producer.send(request, (meta, exception) -> {
+                stopSendTimer(sendTimer, exception == null);
+
+                if (exception != null) {
+                    result.completeExceptionally(exception);
+                } else {
+                    result.complete(meta);
+                }
+            });
+        } catch (RuntimeException e) {
+            stopSendTimer(sendTimer, false);
+            result.completeExceptionally(e);
         }
 
+        return result;
+    }
+
+    void stopSendTimer(Timer.Sample sendTimer, boolean success) {
+        sendTimer.stop(Timer.builder("console.kafka.producer.send")
+                .description("Time taken to send a record and receive the acknowledgement from the Kafka cluster")
+                .tag("clusterId", kafkaContext.clusterId())
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry));
+    }
+
+    KafkaRecord sendResult(ProducerRecord<RecordData, RecordData> request, RecordMetadata meta) {
+        var key = request.key();
+        var value = request.value();
+
         KafkaRecord result = new KafkaRecord();
         result.partition(meta.partition());
 
@@ -239,16 +1648,51 @@ public class RecordService {
     }
 
     String topicNameForId(String topicId) {
-        return topicService.topicNameForId(topicId)
+        return topicService.currentTopicNameForId(topicId)
             .thenApply(topic -> topic.orElseThrow(() -> noSuchTopic(topicId)))
             .toCompletableFuture()
             .join();
     }
 
-    void seekToTimestamp(Consumer<RecordData, RecordData> consumer, List<TopicPartition> assignments, Instant timestamp) {
-        Long tsMillis = timestamp.toEpochMilli();
-        Map<TopicPartition, Long> timestampsToSearch = assignments.stream()
-                .collect(Collectors.toMap(Function.identity(), p -> tsMillis));
+    /**
+     * Seek each of the assigned partitions to the earliest record at or after the
+     * timestamp. Offsets known to the context's timestamp index are used without
+     * a request to the broker, the remainder are looked up with
+     * {@linkplain Consumer#offsetsForTimes(Map) offsetsForTimes} and added to the
+     * index.
+     *
+     * @return trackers to be given the records subsequently consumed from each
+     *         partition, adding further samples to the timestamp index
+     */
+    Map<TopicPartition, TimestampIndex.Tracker> seekToTimestamp(Consumer<?, ?> consumer,
+            String topicId,
+            List<TopicPartition> assignments,
+            Map<TopicPartition, Long> beginningOffsets,
+            Instant timestamp) {
+
+        long tsMillis = timestamp.toEpochMilli();
+        var index = kafkaContext.timestampIndex();
+        Map<TopicPartition, TimestampIndex.Tracker> trackers = new HashMap<>(assignments.size());
+        Map<TopicPartition, Long> timestampsToSearch = new HashMap<>(assignments.size());
+
+        for (TopicPartition p : assignments) {
+            var indexOffset = index.offsetForTime(topicId, p.partition(), tsMillis, beginningOffsets.get(p));
+
+            if (indexOffset.isPresent()) {
+                if (logger.isDebugEnabled()) {
+                    logger.debugf("Seeking to indexed offset %d in topic %s/partition %d for search timestamp %d",
+                            indexOffset.getAsLong(), p.topic(), p.partition(), tsMillis);
+                }
+                consumer.seek(p, indexOffset.getAsLong());
+                trackers.put(p, index.track(topicId, p.partition(), tsMillis, indexOffset.getAsLong()));
+            } else {
+                timestampsToSearch.put(p, tsMillis);
+            }
+        }
+
+        if (timestampsToSearch.isEmpty()) {
+            return trackers;
+        }
 
         consumer.offsetsForTimes(timestampsToSearch)
             .forEach((p, tsOffset) -> {
@@ -258,6 +1702,8 @@ public class RecordService {
                                 tsOffset.offset(), tsOffset.timestamp(), p.topic(), p.partition(), tsMillis);
                     }
                     consumer.seek(p, tsOffset.offset());
+                    index.put(topicId, p.partition(), tsMillis, tsOffset.offset(), tsOffset.timestamp());
+                    trackers.put(p, index.track(topicId, p.partition(), tsMillis, tsOffset.offset()));
                 } else {
                     /*
                      * No offset for the time-stamp (future date?), remove the assignment
@@ -271,9 +1717,11 @@ public class RecordService {
                     assignments.remove(p);
                 }
             });
+
+        return trackers;
     }
 
-    void seekToOffset(Consumer<RecordData, RecordData> consumer, List<TopicPartition> assignments,
+    void seekToOffset(Consumer<?, ?> consumer, List<TopicPartition> assignments,
             Map<TopicPartition, Long> beginningOffsets,
             Map<TopicPartition, Long> endOffsets,
             Long offset, int limit) {
@@ -304,9 +1752,9 @@ public class RecordService {
         }
     }
 
-    Comparator<ConsumerRecord<RecordData, RecordData>> buildComparator(Instant timestamp, Long offset) {
-        Comparator<ConsumerRecord<RecordData, RecordData>> comparator = Comparator
-                .<ConsumerRecord<RecordData, RecordData>>comparingLong(ConsumerRecord::timestamp)
+    Comparator<ConsumerRecord<?, ?>> buildComparator(Instant timestamp, Long offset) {
+        Comparator<ConsumerRecord<?, ?>> comparator = Comparator
+                .<ConsumerRecord<?, ?>>comparingLong(ConsumerRecord::timestamp)
                 .thenComparingInt(ConsumerRecord::partition)
                 .thenComparingLong(ConsumerRecord::offset);
 
@@ -318,7 +1766,7 @@ public class RecordService {
         return comparator;
     }
 
-    KafkaRecord getItems(ConsumerRecord<RecordData, RecordData> rec, String topicId, List<String> include, Integer maxValueLength) {
+    public KafkaRecord getItems(ConsumerRecord<RecordData, RecordData> rec, String topicId, List<String> include, Integer maxValueLength) {
         KafkaRecord item = new KafkaRecord(topicId);
 
         setProperty(KafkaRecord.Fields.PARTITION, include, rec::partition, item::partition);
@@ -423,6 +1871,88 @@ public class RecordService {
         return new InvalidPartitionsException("Partition " + partition + " is not valid for topic " + topicId);
     }
 
+    /**
+     * Iterates the batches of records polled for an export, excluding records at
+     * or beyond the end offset of each partition. A partition is complete once the
+     * consumer's position reaches its end offset, whether or not a record exists
+     * at the offset preceding it (e.g. compacted topics or transaction markers).
+     * Polling continues until every partition is complete, however long the
+     * consumer waits for records, up to the deadline of the export. Reaching the
+     * deadline first fails the iteration rather than ending it, since the records
+     * exported are incomplete.
+     */
+    static class ExportIterator implements Iterator<List<ConsumerRecord<byte[], byte[]>>> {
+        private static final Logger LOGGER = Logger.getLogger(ExportIterator.class);
+        private static final Duration MAX_POLL_TIME = Duration.ofMillis(100);
+
+        private final Consumer<byte[], byte[]> consumer;
+        private final Map<TopicPartition, Long> endOffsets;
+        private final Instant deadline;
+        private long recordsExported = 0;
+        Map<TopicPartition, TimestampIndex.Tracker> timestampTrackers = Map.of();
+
+        ExportIterator(Consumer<byte[], byte[]> consumer, Map<TopicPartition, Long> endOffsets, Instant deadline) {
+            this.consumer = consumer;
+            this.endOffsets = new HashMap<>(endOffsets);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean moreRecords = !endOffsets.isEmpty();
+
+            if (!moreRecords && LOGGER.isDebugEnabled()) {
+                LOGGER.debugf("Total exported records: %d", recordsExported);
+            }
+
+            return moreRecords;
+        }
+
+        /**
+         * Poll the next non-empty batch of records, or an empty batch when the
+         * final partitions were completed without receiving further records.
+         */
+        @Override
+        public List<ConsumerRecord<byte[], byte[]>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            List<ConsumerRecord<byte[], byte[]>> batch = new ArrayList<>();
+
+            while (batch.isEmpty() && !endOffsets.isEmpty()) {
+                if (Instant.now().isAfter(deadline)) {
+                    LOGGER.warnf("Export of partitions %s not complete by %s after %d records, failing export",
+                            endOffsets.keySet(), deadline, recordsExported);
+                    throw new TimeoutException("Export not complete by " + deadline);
+                }
+
+                var records = consumer.poll(MAX_POLL_TIME);
+
+                for (var partition : records.partitions()) {
+                    long endOffset = endOffsets.getOrDefault(partition, -1L);
+                    var tracker = timestampTrackers.get(partition);
+
+                    for (var rec : records.records(partition)) {
+                        if (tracker != null) {
+                            tracker.observe(rec.offset(), rec.timestamp());
+                        }
+                        if (rec.offset() < endOffset) {
+                            batch.add(rec);
+                        }
+                    }
+                }
+
+                if (endOffsets.keySet().removeIf(p -> consumer.position(p) >= endOffsets.get(p))) {
+                    consumer.assign(endOffsets.keySet());
+                }
+            }
+
+            recordsExported += batch.size();
+            return batch;
+        }
+    }
+
     static class ConsumerRecordsIterator<K, V> implements Iterator<ConsumerRecords<K, V>> {
         private static final Logger LOGGER = Logger.getLogger(ConsumerRecordsIterator.class);
         private static final Duration MAX_POLL_TIME = Duration.ofMillis(100);
@@ -434,10 +1964,17 @@ public class RecordService {
         private final Set<TopicPartition> assignments;
         private final Map<TopicPartition, Long> endOffsets;
         private final int limit;
-
-        public ConsumerRecordsIterator(Consumer<K, V> consumer, Map<TopicPartition, Long> endOffsets, int limit, Instant timeout) {
+        OffsetBoundsCache offsetBounds;
+        String topicId;
+        Map<TopicPartition, TimestampIndex.Tracker> timestampTrackers = Map.of();
+
+        public ConsumerRecordsIterator(Consumer<K, V> consumer,
+                Collection<TopicPartition> assignments,
+                Map<TopicPartition, Long> endOffsets,
+                int limit,
+                Instant timeout) {
             this.consumer = consumer;
-            this.assignments = new HashSet<>(consumer.assignment());
+            this.assignments = new HashSet<>(assignments);
             this.endOffsets = endOffsets;
             this.limit = limit;
             this.timeout = timeout;
@@ -473,19 +2010,27 @@ public class RecordService {
                 int consumed = partitionRecords.size();
                 pollSize += consumed;
                 int total = partitionConsumed.compute(partition, (k, v) -> requireNonNullElse(v, 0) + consumed);
+                long maxOffset = partitionRecords.stream().mapToLong(ConsumerRecord::offset).max().orElse(-1) + 1;
+
+                if (offsetBounds != null && consumed > 0) {
+                    // The partition's end offset is at least the offset following the last record received
+                    offsetBounds.observeEnd(topicId, partition, maxOffset);
+                }
+
+                var tracker = timestampTrackers.get(partition);
+
+                if (tracker != null) {
+                    partitionRecords.forEach(rec -> tracker.observe(rec.offset(), rec.timestamp()));
+                }
 
                 if (total >= limit) {
                     // Consumed `limit` records for this partition
                     LOGGER.tracef("Consumed %d records (more than limit %d) from partition %s", total, limit, partition);
                     assignments.remove(partition);
-                } else if (consumed > 0) {
-                    long maxOffset = partitionRecords.stream().mapToLong(ConsumerRecord::offset).max().getAsLong() + 1;
-
-                    if (maxOffset >= endOffsets.get(partition)) {
-                        // Reached the end of the partition
-                        LOGGER.tracef("Reached end of partition %s at offset %s", partition, maxOffset);
-                        assignments.remove(partition);
-                    }
+                } else if (consumed > 0 && maxOffset >= endOffsets.get(partition)) {
+                    // Reached the end of the partition
+                    LOGGER.tracef("Reached end of partition %s at offset %s", partition, maxOffset);
+                    assignments.remove(partition);
                 }
             }
 
@@ -504,6 +2049,31 @@ public class RecordService {
             return records;
         }
 
+        static <K, V> ConsumerRecordsIterator<K, V> empty(Consumer<K, V> consumer) {
+            return new ConsumerRecordsIterator<>(consumer, Set.of(), Map.of(), 0, Instant.now());
+        }
+
+        /**
+         * The partitions still being read.
+         */
+        Set<TopicPartition> assignments() {
+            return Set.copyOf(assignments);
+        }
+
+        long endOffset(TopicPartition partition) {
+            return endOffsets.get(partition);
+        }
+
+        /**
+         * Stop reading the given partitions, records already polled from them are
+         * unaffected.
+         */
+        void complete(Collection<TopicPartition> partitions) {
+            if (!partitions.isEmpty() && assignments.removeAll(partitions)) {
+                consumer.assign(assignments);
+            }
+        }
+
         ConsumerRecords<K, V> poll() {
             var timeRemaining = Duration.between(Instant.now(), timeout);
             Duration pollTimeout;
@@ -1,5 +1,6 @@
 package com.github.streamshub.console.api.service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -14,6 +15,8 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -34,8 +37,13 @@ import org.apache.kafka.clients.admin.ListTopicsOptions;
 import org.apache.kafka.clients.admin.OffsetSpec;
 import org.apache.kafka.clients.admin.TopicListing;
 import org.apache.kafka.common.TopicCollection;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.Uuid;
 import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.TopicAuthorizationException;
+import org.apache.kafka.common.errors.UnknownTopicIdException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ThreadContext;
 import org.jboss.logging.Logger;
 
@@ -44,12 +52,18 @@ import com.github.streamshub.console.api.model.Identifier;
 import com.github.streamshub.console.api.model.OffsetInfo;
 import com.github.streamshub.console.api.model.PartitionId;
 import com.github.streamshub.console.api.model.PartitionInfo;
+import com.github.streamshub.console.api.model.RecordCountParams;
+import com.github.streamshub.console.api.model.RecordCounts;
 import com.github.streamshub.console.api.model.ReplicaLocalStorage;
 import com.github.streamshub.console.api.model.Topic;
 import com.github.streamshub.console.api.security.PermissionService;
+import com.github.streamshub.console.api.support.FetchFilterPredicate;
 import com.github.streamshub.console.api.support.KafkaContext;
 import com.github.streamshub.console.api.support.KafkaOffsetSpec;
 import com.github.streamshub.console.api.support.ListRequestContext;
+import com.github.streamshub.console.api.support.TimestampIndex;
+import com.github.streamshub.console.api.support.TopicMetadataCache;
+import com.github.streamshub.console.api.support.TopicStatusCache;
 import com.github.streamshub.console.api.support.UnknownTopicIdPatch;
 import com.github.streamshub.console.config.security.Privilege;
 
@@ -71,6 +85,11 @@ public class TopicDescribeService {
             Topic.Fields.AUTHORIZED_OPERATIONS,
             Topic.Fields.TOTAL_LEADER_LOG_BYTES,
             Topic.Fields.STATUS);
+    /**
+     * Sort keys and filters using only the data in a topic's listing.
+     */
+    private static final Set<String> LISTING_SORT_KEYS = Set.of("id", Topic.Fields.NAME);
+    private static final Set<String> LISTING_FILTERS = Set.of("filter[id]", "filter[name]", "filter[visibility]");
     private static final Set<String> REQUIRE_PARTITIONS = Set.of(
             Topic.Fields.PARTITIONS,
             Topic.Fields.NUM_PARTITIONS,
@@ -80,6 +99,10 @@ public class TopicDescribeService {
     @Inject
     Logger logger;
 
+    @Inject
+    @ConfigProperty(name = "console.topics.record-counts.timeout", defaultValue = "PT5S")
+    Duration recordCountsTimeout;
+
     /**
      * ThreadContext of the request thread. This is used to execute asynchronous
      * tasks to allow access to request-scoped beans such as an injected
@@ -115,45 +138,186 @@ public class TopicDescribeService {
         }
 
         Admin adminClient = kafkaContext.admin();
+        final Executor requestExecutor = threadContext.currentContextExecutor();
+        final Summary summary = new Summary();
+
+        listSupport.meta().put("summary", summary.meta());
+
+        CompletionStage<List<Topic>> pendingPage;
+
+        if (listingOrderOnly(listSupport)) {
+            pendingPage = listPageFirst(adminClient, fetchList, offsetSpec, listSupport, summary);
+        } else {
+            pendingPage = listTopicModels()
+                .thenComposeAsync(
+                        list -> augmentList(adminClient, list, fetchList, offsetSpec),
+                        requestExecutor)
+                .thenApply(list -> selectPage(list.stream()
+                        .filter(listSupport)
+                        .map(summary::tally), listSupport));
+        }
+
+        return pendingPage.thenApplyAsync(
+                topics -> topics.stream().map(this::setManaged).toList(),
+                requestExecutor);
+    }
+
+    /**
+     * Whether the filters and sort order of the request only use the fields of
+     * a topic's listing, i.e. the page of topics can be selected before any of
+     * the topics are described.
+     */
+    static boolean listingOrderOnly(ListRequestContext<Topic> listSupport) {
+        return LISTING_SORT_KEYS.containsAll(listSupport.getSortNames())
+                && listSupport.filters()
+                    .stream()
+                    .allMatch(filter -> filter instanceof FetchFilterPredicate<?, ?> fetchFilter
+                            && LISTING_FILTERS.contains(fetchFilter.name()));
+    }
+
+    private CompletableFuture<List<Topic>> listTopicModels() {
+        return listTopics(true, true)
+            .thenApply(list -> list.stream().map(Topic::fromTopicListing).toList());
+    }
+
+    /**
+     * Select the requested page from the topics matching the request's filters,
+     * counting the topics for the list's metadata.
+     */
+    private static List<Topic> selectPage(Stream<Topic> topics, ListRequestContext<Topic> listSupport) {
+        return topics
+                .map(listSupport::tally)
+                .filter(listSupport::betweenCursors)
+                .sorted(listSupport.getSortComparator())
+                .dropWhile(listSupport::beforePageBegin)
+                .takeWhile(listSupport::pageCapacityAvailable)
+                .toList();
+    }
+
+    /**
+     * List the topics by selecting the requested page from the topic listings,
+     * then describing only the topics on the page. The summary of the list
+     * covers all topics matching the filters, so when it includes the topics'
+     * partitions the topics not on the page are summarized using the statuses
+     * of the context's {@linkplain TopicStatusCache}. Only the topics without a
+     * cached status are described in addition to the page, and without the
+     * offsets, log directories, configurations, and consumer groups requested
+     * for the topics on the page.
+     */
+    private CompletionStage<List<Topic>> listPageFirst(Admin adminClient,
+            List<String> fields,
+            String offsetSpec,
+            ListRequestContext<Topic> listSupport,
+            Summary summary) {
+
+        final Executor requestExecutor = threadContext.currentContextExecutor();
+
+        return listTopicModels()
+            .thenApply(list -> list.stream().filter(listSupport).toList())
+            .thenComposeAsync(topics -> {
+                List<Topic> page = selectPage(topics.stream(), listSupport);
+
+                if (REQUIRE_PARTITIONS.stream().noneMatch(fields::contains)) {
+                    topics.forEach(summary::tally);
+                    return augmentList(adminClient, page, fields, offsetSpec);
+                }
+
+                return describeForSummary(adminClient, topics, page, fields, summary)
+                    .thenComposeAsync(
+                            descriptions -> augmentPage(adminClient, page, descriptions, fields, offsetSpec),
+                            requestExecutor);
+            }, requestExecutor);
+    }
+
+    /**
+     * Describe the topics of the page and the topics not on the page without a
+     * cached status, then tally the summary of all topics. The statuses of the
+     * topics described replace those cached. Cached statuses are only used for
+     * topics the user may get, the same as those described.
+     */
+    private CompletableFuture<Map<Uuid, Either<Topic, Throwable>>> describeForSummary(Admin adminClient,
+            List<Topic> topics,
+            List<Topic> page,
+            List<String> fields,
+            Summary summary) {
+
+        TopicStatusCache statusCache = kafkaContext.topicStatuses();
+        Map<Uuid, Topic> described = new HashMap<>();
+        Map<Uuid, Topic> offPage = new HashMap<>();
+
+        page.forEach(topic -> described.put(Uuid.fromString(topic.getId()), topic));
+
+        for (Topic topic : topics) {
+            Uuid id = Uuid.fromString(topic.getId());
+
+            if (!described.containsKey(id) && permissionService.permitted(Topic.API_TYPE, Privilege.GET, topic.name())) {
+                offPage.put(id, topic);
+            }
+        }
+
+        Map<Uuid, TopicStatusCache.Status> cached = statusCache != null
+                ? statusCache.get(offPage.keySet())
+                : Collections.emptyMap();
+
+        offPage.forEach((id, topic) -> {
+            if (!cached.containsKey(id)) {
+                described.put(id, topic);
+            }
+        });
+
+        return addDescriptions(adminClient, described, fields)
+            .thenApply(descriptions -> {
+                for (Topic topic : topics) {
+                    Uuid id = Uuid.fromString(topic.getId());
+                    TopicStatusCache.Status status = cached.get(id);
+
+                    if (status != null) {
+                        summary.tally(status.status(), status.numPartitions());
+                    } else {
+                        summary.tally(topic);
+
+                        if (statusCache != null && described.containsKey(id) && topic.getAttributes().numPartitions() != null) {
+                            statusCache.put(id, new TopicStatusCache.Status(topic.status(), topic.getAttributes().numPartitions()));
+                        }
+                    }
+                }
+
+                return descriptions;
+            });
+    }
+
+    /**
+     * The summary of a list of topics: the number of topics with each status and
+     * the total number of partitions, of all topics matching the filters.
+     */
+    private static class Summary {
         final Map<String, Integer> statuses = new HashMap<>();
         final AtomicInteger partitionCount = new AtomicInteger(0);
 
-        listSupport.meta().put("summary", Map.of(
-                "statuses", statuses,
-                "totalPartitions", partitionCount));
+        Map<String, Object> meta() {
+            return Map.of(
+                    "statuses", statuses,
+                    "totalPartitions", partitionCount);
+        }
 
-        return listTopics(true, true)
-            .thenApply(list -> list.stream().map(Topic::fromTopicListing).toList())
-            .thenComposeAsync(
-                    list -> augmentList(adminClient, list, fetchList, offsetSpec),
-                    threadContext.currentContextExecutor())
-            .thenApply(list -> list.stream()
-                    .filter(listSupport)
-                    .map(topic -> tallySummary(statuses, partitionCount, topic))
-                    .map(listSupport::tally)
-                    .filter(listSupport::betweenCursors)
-                    .sorted(listSupport.getSortComparator())
-                    .dropWhile(listSupport::beforePageBegin)
-                    .takeWhile(listSupport::pageCapacityAvailable))
-            .thenApplyAsync(
-                    topics -> topics.map(this::setManaged).toList(),
-                    threadContext.currentContextExecutor());
-    }
-
-    private Topic tallySummary(Map<String, Integer> statuses, AtomicInteger partitionCount, Topic topic) {
-        statuses.compute(topic.status(), (k, v) -> v == null ? 1 : v + 1);
-
-        Integer numPartitions = topic.getAttributes().numPartitions();
-        //numPartitions may be null if it was not included in the requested fields
-        if (numPartitions != null) {
-            partitionCount.addAndGet(numPartitions);
+        Topic tally(Topic topic) {
+            //numPartitions may be null if it was not included in the requested fields
+            tally(topic.status(), topic.getAttributes().numPartitions());
+            return topic;
         }
 
-        return topic;
+        void tally(String status, Integer numPartitions) {
+            statuses.compute(status, (k, v) -> v == null ? 1 : v + 1);
+
+            if (numPartitions != null) {
+                partitionCount.addAndGet(numPartitions);
+            }
+        }
     }
 
     CompletableFuture<List<TopicListing>> listTopics(boolean listInternal, boolean checkAuthorization) {
         Admin adminClient = kafkaContext.admin();
+        TopicMetadataCache topicMetadata = kafkaContext.topicMetadata();
         Predicate<TopicListing> authorizationFilter;
 
         if (checkAuthorization) {
@@ -166,24 +330,140 @@ public class TopicDescribeService {
             .listTopics(new ListTopicsOptions().listInternal(listInternal))
             .listings()
             .toCompletionStage()
-            .thenApplyAsync(topics -> topics.stream()
+            .thenApplyAsync(topics -> {
+                if (listInternal && topicMetadata != null) {
+                    // A complete listing is as good as a refresh of the cached listings
+                    topicMetadata.update(topics);
+                }
+                return topics.stream()
                     .filter(authorizationFilter)
-                    .toList(), threadContext.currentContextExecutor())
+                    .toList();
+            }, threadContext.currentContextExecutor())
             .toCompletableFuture();
     }
 
+    /**
+     * Map the given topic names to the IDs of the topics the user may list, e.g.
+     * the topics of a consumer group's offsets. The IDs are taken from the
+     * context's cached topic listings when present, and only the topics missing
+     * from the listings (e.g. created after the listings were loaded) are
+     * described. Topics that do not exist, or that the user may not list, are
+     * absent from the result.
+     */
+    public CompletionStage<Map<String, String>> topicIdsForNames(Collection<String> topicNames) {
+        TopicMetadataCache topicMetadata = kafkaContext.topicMetadata();
+        List<String> permittedNames = topicNames.stream()
+                .distinct()
+                .filter(name -> permissionService.permitted(Topic.API_TYPE, Privilege.LIST, name))
+                .toList();
+
+        if (permittedNames.isEmpty()) {
+            return CompletableFuture.completedStage(Collections.emptyMap());
+        }
+
+        CompletionStage<TopicMetadataCache.Snapshot> pendingSnapshot = topicMetadata != null
+                ? topicMetadata.snapshot()
+                : CompletableFuture.completedStage(null);
+
+        return pendingSnapshot.thenCompose(snapshot -> {
+            Map<String, String> topicIds = new ConcurrentHashMap<>(permittedNames.size());
+            List<String> missing = new ArrayList<>();
+
+            for (String name : permittedNames) {
+                Optional.ofNullable(snapshot)
+                    .flatMap(s -> s.byName(name))
+                    .ifPresentOrElse(
+                            listing -> topicIds.put(name, listing.topicId().toString()),
+                            () -> missing.add(name));
+            }
+
+            if (missing.isEmpty()) {
+                return CompletableFuture.completedStage(topicIds);
+            }
+
+            var pendingDescribes = kafkaContext.admin()
+                    .describeTopics(TopicCollection.ofTopicNames(missing))
+                    .topicNameValues()
+                    .values()
+                    .stream()
+                    .map(description -> description.toCompletionStage()
+                            .thenAccept(d -> topicIds.put(d.name(), d.topicId().toString()))
+                            .exceptionally(error -> {
+                                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+
+                                if (cause instanceof UnknownTopicOrPartitionException
+                                        || cause instanceof TopicAuthorizationException) {
+                                    // e.g. a group's offsets for a deleted topic
+                                    return null;
+                                }
+
+                                throw error instanceof CompletionException ce ? ce : new CompletionException(cause);
+                            })
+                            .toCompletableFuture())
+                    .toArray(CompletableFuture[]::new);
+
+            return CompletableFuture.allOf(pendingDescribes).thenApply(nothing -> topicIds);
+        });
+    }
+
+    /**
+     * Find the name of the topic with the given ID. The name is taken from the
+     * context's cached topic listings when present, otherwise (e.g. the topic
+     * was created after the listings were loaded) the topic is described
+     * directly. The cached name may belong to a new topic when the topic with
+     * the ID has since been deleted by another client, so operations on the
+     * topic or its records use {@link #currentTopicNameForId(String)}.
+     */
     public CompletionStage<Optional<String>> topicNameForId(String topicId) {
         Uuid kafkaTopicId = Uuid.fromString(topicId);
+        TopicMetadataCache topicMetadata = kafkaContext.topicMetadata();
+
+        if (topicMetadata == null) {
+            return describeTopicName(kafkaTopicId);
+        }
 
-        return listTopics(true, false)
-            .thenApply(listings -> listings.stream()
-                    .filter(topic -> kafkaTopicId.equals(topic.topicId()))
-                    .findFirst()
-                    .map(TopicListing::name));
+        return topicMetadata.snapshot()
+            .thenCompose(snapshot -> snapshot.byId(kafkaTopicId)
+                    .map(TopicListing::name)
+                    .map(name -> CompletableFuture.completedStage(Optional.of(name)))
+                    .orElseGet(() -> describeTopicName(kafkaTopicId)));
+    }
+
+    /**
+     * Find the name of the topic with the given ID by describing the topic,
+     * without using the cached topic listings. Verifying a cached name against
+     * the ID of the topic currently having the name would take the same
+     * request.
+     */
+    public CompletionStage<Optional<String>> currentTopicNameForId(String topicId) {
+        return describeTopicName(Uuid.fromString(topicId));
+    }
+
+    private CompletionStage<Optional<String>> describeTopicName(Uuid topicId) {
+        return kafkaContext.admin()
+            .describeTopics(TopicCollection.ofTopicIds(List.of(topicId)))
+            .topicIdValues()
+            .get(topicId)
+            .toCompletionStage()
+            .thenApply(description -> Optional.of(description.name()))
+            .exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+
+                if (cause instanceof UnknownTopicIdException) {
+                    return Optional.empty();
+                }
+
+                throw error instanceof CompletionException ce ? ce : new CompletionException(cause);
+            });
     }
 
     public CompletionStage<Topic> describeTopic(String topicId, List<String> fields, String offsetSpec) {
+        return describeTopic(topicId, fields, offsetSpec, new RecordCountParams());
+    }
+
+    public CompletionStage<Topic> describeTopic(String topicId, List<String> fields, String offsetSpec, RecordCountParams countParams) {
         Admin adminClient = kafkaContext.admin();
+        TimestampIndex timestampIndex = kafkaContext.timestampIndex();
         Uuid id = Uuid.fromString(topicId);
 
         CompletableFuture<Topic> describePromise = describeTopics(adminClient, List.of(id), fields, offsetSpec)
@@ -197,7 +477,8 @@ public class TopicDescribeService {
 
             return CompletableFuture.allOf(
                     maybeDescribeConfigs(adminClient, topics, fields),
-                    maybeFetchConsumerGroups(topics, fields))
+                    maybeFetchConsumerGroups(topics, fields),
+                    maybeCountRecords(adminClient, timestampIndex, topic, fields, countParams))
                 .thenApply(nothing -> topic);
         }, threadContext.currentContextExecutor());
     }
@@ -239,6 +520,30 @@ public class TopicDescribeService {
                 .thenApply(nothing -> list);
     }
 
+    /**
+     * Complete the topics of a page already given their descriptions, adding the
+     * partition offsets and log directories of only the page's topics.
+     */
+    CompletionStage<List<Topic>> augmentPage(Admin adminClient,
+            List<Topic> page,
+            Map<Uuid, Either<Topic, Throwable>> descriptions,
+            List<String> fields,
+            String offsetSpec) {
+
+        Map<Uuid, Topic> topics = page.stream().collect(Collectors.toMap(t -> Uuid.fromString(t.getId()), Function.identity()));
+        Map<Uuid, Either<Topic, Throwable>> pageDescriptions = descriptions.entrySet()
+                .stream()
+                .filter(e -> topics.containsKey(e.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        CompletableFuture<Void> configPromise = maybeDescribeConfigs(adminClient, topics, fields);
+        CompletableFuture<Void> partitionsPromise = describePartitions(adminClient, pageDescriptions, offsetSpec);
+        CompletableFuture<Void> consumerGroupPromise = maybeFetchConsumerGroups(topics, fields);
+
+        return CompletableFuture.allOf(configPromise, partitionsPromise, consumerGroupPromise)
+                .thenApply(nothing -> page);
+    }
+
     CompletableFuture<Void> maybeDescribeConfigs(Admin adminClient, Map<Uuid, Topic> topics, List<String> fields) {
         if (fields.contains(Topic.Fields.CONFIGS)) {
             Map<String, Uuid> topicIds = new HashMap<>();
@@ -262,28 +567,217 @@ public class TopicDescribeService {
 
     private CompletableFuture<Void> maybeDescribeTopics(Admin adminClient, Map<Uuid, Topic> topics, List<String> fields, String offsetSpec) {
         if (REQUIRE_DESCRIBE.stream().anyMatch(fields::contains)) {
-            Collection<Uuid> topicIds = topics.entrySet().stream()
-                    .filter(e -> permissionService.permitted(Topic.API_TYPE, Privilege.GET, e.getValue().name()))
-                    .map(Map.Entry::getKey)
-                    .toList();
+            return addDescriptions(adminClient, topics, fields)
+                .thenCompose(descriptions -> describePartitions(adminClient, descriptions, offsetSpec));
+        }
 
-            return describeTopics(adminClient, topicIds, fields, offsetSpec)
-                .<Void>thenApply(descriptions -> {
-                    descriptions.forEach((id, either) -> {
-                        if (REQUIRE_PARTITIONS.stream().anyMatch(fields::contains)) {
-                            topics.get(id).addPartitions(either);
-                        }
-                        if (fields.contains(Topic.Fields.AUTHORIZED_OPERATIONS)) {
-                            topics.get(id).addAuthorizedOperations(either);
-                        }
-                    });
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Describe the topics the user may get, adding the partitions and authorized
+     * operations requested to each topic. The partitions are shared with the
+     * descriptions returned, so offsets and log directories later added to the
+     * descriptions' partitions are also given to the topics.
+     */
+    private CompletableFuture<Map<Uuid, Either<Topic, Throwable>>> addDescriptions(Admin adminClient, Map<Uuid, Topic> topics, List<String> fields) {
+        Collection<Uuid> topicIds = topics.entrySet().stream()
+                .filter(e -> permissionService.permitted(Topic.API_TYPE, Privilege.GET, e.getValue().name()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        return describeTopicMetadata(adminClient, topicIds, fields)
+            .thenApply(descriptions -> {
+                descriptions.forEach((id, either) -> {
+                    if (REQUIRE_PARTITIONS.stream().anyMatch(fields::contains)) {
+                        topics.get(id).addPartitions(either);
+                    }
+                    if (fields.contains(Topic.Fields.AUTHORIZED_OPERATIONS)) {
+                        topics.get(id).addAuthorizedOperations(either);
+                    }
+                });
+
+                return descriptions;
+            });
+    }
+
+    /**
+     * Count the records written to the topic in each of a series of intervals
+     * ending with the interval containing the current time, without reading any
+     * records. The offset of each partition at the start of each interval is found
+     * using a {@linkplain OffsetSpec#forTimestamp(long) timestamp} offset lookup.
+     * The end of the latest interval uses the latest offsets already listed for
+     * the topic, and intervals starting after the maximum timestamp listed for a
+     * partition need no lookup since they contain none of its records.
+     *
+     * <p>A request lists offsets for a single timestamp per partition, so the
+     * lookups are {@linkplain #lookupRounds(Map) packed} into as few requests as
+     * that allows, each holding the next lookup of every partition having one
+     * remaining, rather than one request per interval.
+     *
+     * <p>Intervals are aligned to multiples of their length, so the start of most
+     * intervals remains the same as time passes. The offsets found are kept in
+     * the cluster's {@linkplain TimestampIndex}, and only the starts of intervals
+     * not found there are requested.
+     */
+    CompletableFuture<Void> maybeCountRecords(Admin adminClient,
+            TimestampIndex timestampIndex,
+            Topic topic,
+            List<String> fields,
+            RecordCountParams countParams) {
+
+        if (!fields.contains(Topic.Fields.RECORD_COUNTS)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var partitions = topic.partitions().getOptionalPrimary().orElseGet(Collections::emptyList);
+        Map<Integer, Long> earliest = new HashMap<>();
+        Map<Integer, Long> latest = new HashMap<>();
+        Map<Integer, Instant> maxTimestamps = new HashMap<>();
+
+        for (PartitionInfo partition : partitions) {
+            var earliestOffset = partition.getOffset(KafkaOffsetSpec.EARLIEST);
+            var latestOffset = partition.getOffset(KafkaOffsetSpec.LATEST);
+
+            if (earliestOffset.isEmpty() || latestOffset.isEmpty()) {
+                topic.addRecordCounts(Either.ofAlternate(new IllegalStateException(
+                        "Offsets of partition " + partition.getPartition() + " are not available")));
+                return CompletableFuture.completedFuture(null);
+            }
+
+            earliest.put(partition.getPartition(), earliestOffset.get());
+            latest.put(partition.getPartition(), latestOffset.get());
+            Optional.ofNullable(partition.getOffsets())
+                .map(offsets -> offsets.get(KafkaOffsetSpec.MAX_TIMESTAMP))
+                .flatMap(Either::getOptionalPrimary)
+                .map(OffsetInfo::timestamp)
+                .ifPresent(timestamp -> maxTimestamps.put(partition.getPartition(), timestamp));
+        }
+
+        long intervalMs = countParams.getInterval().toMillis();
+        int bucketCount = countParams.getBuckets();
+        long now = System.currentTimeMillis();
+        long[] starts = new long[bucketCount];
+
+        for (int i = 0; i < bucketCount; i++) {
+            starts[i] = (Math.floorDiv(now, intervalMs) - (bucketCount - 1 - i)) * intervalMs;
+        }
+
+        // Offsets of each partition at the start of each interval, then the latest offset
+        Map<Integer, long[]> offsets = new HashMap<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        latest.forEach((partition, latestOffset) -> {
+            long[] partitionOffsets = new long[bucketCount + 1];
+            partitionOffsets[bucketCount] = latestOffset;
+            offsets.put(partition, partitionOffsets);
+        });
+
+        // Intervals of each partition whose starting offset must be requested
+        Map<Integer, List<Integer>> lookups = new HashMap<>();
+
+        offsets.forEach((partition, partitionOffsets) -> {
+            Instant maxTimestamp = maxTimestamps.get(partition);
+            List<Integer> buckets = new ArrayList<>();
+
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                if (maxTimestamp != null && starts[bucket] > maxTimestamp.toEpochMilli()) {
+                    // No record at or after the start of the interval
+                    partitionOffsets[bucket] = partitionOffsets[bucketCount];
+                    continue;
+                }
+
+                var known = timestampIndex.offsetForTime(topic.getId(), partition, starts[bucket], earliest.get(partition));
+
+                if (known.isPresent()) {
+                    partitionOffsets[bucket] = known.getAsLong();
+                } else {
+                    buckets.add(bucket);
+                }
+            }
+
+            if (!buckets.isEmpty()) {
+                lookups.put(partition, buckets);
+            }
+        });
+
+        var options = new ListOffsetsOptions().timeoutMs((int) recordCountsTimeout.toMillis());
+
+        for (Map<Integer, Integer> round : lookupRounds(lookups)) {
+            Map<TopicPartition, OffsetSpec> request = new HashMap<>(round.size());
+            round.forEach((partition, bucket) ->
+                request.put(new TopicPartition(topic.name(), partition), OffsetSpec.forTimestamp(starts[bucket])));
+
+            pending.add(adminClient.listOffsets(request, options)
+                    .all()
+                    .toCompletionStage()
+                    .<Void>thenApply(results -> {
+                        results.forEach((partition, result) -> {
+                            int bucket = round.get(partition.partition());
+                            long[] partitionOffsets = offsets.get(partition.partition());
+
+                            if (result.offset() < 0) {
+                                // No record at or after the start of the interval
+                                partitionOffsets[bucket] = partitionOffsets[bucketCount];
+                            } else {
+                                partitionOffsets[bucket] = result.offset();
+                                timestampIndex.put(topic.getId(), partition.partition(), starts[bucket], result.offset(), result.timestamp());
+                            }
+                        });
+                        return null;
+                    })
+                    .toCompletableFuture());
+        }
 
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .handle((nothing, error) -> {
+                    if (error != null) {
+                        topic.addRecordCounts(Either.ofAlternate(error));
+                    } else {
+                        topic.addRecordCounts(Either.of(recordCounts(countParams.getInterval(), starts, now, offsets)));
+                    }
                     return null;
-                })
-                .toCompletableFuture();
+                });
+    }
+
+    /**
+     * Pack the timestamp lookups of each partition into the requests listing their
+     * offsets. A request holds a single lookup per partition, so request {@code n}
+     * holds the {@code n}th lookup of each partition having at least {@code n + 1}.
+     *
+     * @param lookups the intervals whose starting offset is looked up, by partition
+     * @return the interval looked up by each request, by partition
+     */
+    static List<Map<Integer, Integer>> lookupRounds(Map<Integer, List<Integer>> lookups) {
+        List<Map<Integer, Integer>> rounds = new ArrayList<>();
+
+        lookups.forEach((partition, buckets) -> {
+            for (int n = 0; n < buckets.size(); n++) {
+                if (rounds.size() == n) {
+                    rounds.add(new HashMap<>());
+                }
+                rounds.get(n).put(partition, buckets.get(n));
+            }
+        });
+
+        return rounds;
+    }
+
+    static RecordCounts recordCounts(Duration interval, long[] starts, long now, Map<Integer, long[]> offsets) {
+        List<RecordCounts.Bucket> buckets = new ArrayList<>(starts.length);
+
+        for (int i = 0; i < starts.length; i++) {
+            long count = 0;
+
+            for (long[] partitionOffsets : offsets.values()) {
+                count += Math.max(0, partitionOffsets[i + 1] - partitionOffsets[i]);
+            }
+
+            long end = i + 1 < starts.length ? starts[i + 1] : now;
+            buckets.add(new RecordCounts.Bucket(Instant.ofEpochMilli(starts[i]), Instant.ofEpochMilli(end), count));
         }
 
-        return CompletableFuture.completedFuture(null);
+        return new RecordCounts(interval.toString(), buckets);
     }
 
     private CompletableFuture<Void> maybeFetchConsumerGroups(Map<Uuid, Topic> topics, List<String> fields) {
@@ -321,6 +815,16 @@ public class TopicDescribeService {
             List<String> fields,
             String offsetSpec) {
 
+        return describeTopicMetadata(adminClient, topicIds, fields)
+                .thenCompose(result -> describePartitions(adminClient, result, offsetSpec)
+                        .thenApply(nothing -> result));
+    }
+
+    private CompletableFuture<Map<Uuid, Either<Topic, Throwable>>> describeTopicMetadata(
+            Admin adminClient,
+            Collection<Uuid> topicIds,
+            List<String> fields) {
+
         Map<Uuid, Either<Topic, Throwable>> result = new LinkedHashMap<>(topicIds.size());
         TopicCollection request = TopicCollection.ofTopicIds(topicIds);
         DescribeTopicsOptions options = new DescribeTopicsOptions()
@@ -348,13 +852,23 @@ public class TopicDescribeService {
                 .toArray(CompletableFuture[]::new);
 
         return CompletableFuture.allOf(pendingDescribes)
-                .thenCompose(nothing -> CompletableFuture.allOf(
-                        listOffsets(adminClient, result, offsetSpec).toCompletableFuture(),
-                        describeLogDirs(adminClient, result).toCompletableFuture()
-                ))
                 .thenApply(nothing -> result);
     }
 
+    /**
+     * Add the offsets and the leader's log directory storage to the partitions of
+     * the described topics.
+     */
+    private CompletableFuture<Void> describePartitions(Admin adminClient, Map<Uuid, Either<Topic, Throwable>> topics, String offsetSpec) {
+        if (topics.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.allOf(
+                listOffsets(adminClient, topics, offsetSpec).toCompletableFuture(),
+                describeLogDirs(adminClient, topics).toCompletableFuture());
+    }
+
     private CompletionStage<Void> listOffsets(Admin adminClient, Map<Uuid, Either<Topic, Throwable>> topics, String offsetSpec) {
         Map<String, Uuid> topicIds = new HashMap<>(topics.size());
         var onlineTopics = topics.entrySet()
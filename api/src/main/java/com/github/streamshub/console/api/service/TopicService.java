@@ -29,12 +29,14 @@ import org.eclipse.microprofile.context.ThreadContext;
 import org.jboss.logging.Logger;
 
 import com.github.streamshub.console.api.model.NewTopic;
+import com.github.streamshub.console.api.model.RecordCountParams;
 import com.github.streamshub.console.api.model.Topic;
 import com.github.streamshub.console.api.model.TopicPatch;
 import com.github.streamshub.console.api.security.PermissionService;
 import com.github.streamshub.console.api.support.KafkaContext;
 import com.github.streamshub.console.api.support.KafkaOffsetSpec;
 import com.github.streamshub.console.api.support.ListRequestContext;
+import com.github.streamshub.console.api.support.TopicMetadataCache;
 import com.github.streamshub.console.api.support.TopicValidation;
 import com.github.streamshub.console.api.support.ValidationProxy;
 import com.github.streamshub.console.config.security.Privilege;
@@ -111,7 +113,12 @@ public class TopicService {
                 .createTopics(List.of(newTopic), new CreateTopicsOptions().validateOnly(validateOnly));
 
         return result.all()
-                .thenApply(nothing -> NewTopic.fromKafkaModel(topicName, result))
+                .thenApply(nothing -> {
+                    if (!validateOnly) {
+                        invalidateTopicMetadata();
+                    }
+                    return NewTopic.fromKafkaModel(topicName, result);
+                })
                 .toCompletionStage()
                 .toCompletableFuture()
                 .join();
@@ -125,6 +132,10 @@ public class TopicService {
         return topicDescribe.describeTopic(topicId, fields, offsetSpec);
     }
 
+    public CompletionStage<Topic> describeTopic(String topicId, List<String> fields, String offsetSpec, RecordCountParams countParams) {
+        return topicDescribe.describeTopic(topicId, fields, offsetSpec, countParams);
+    }
+
     /**
      * Apply the provided topic patch request to an existing topic, its configurations,
      * and its replica assignments. The following operations may be performed depending on
@@ -152,18 +163,27 @@ public class TopicService {
         Admin adminClient = kafkaContext.admin();
         Uuid id = Uuid.fromString(topicId);
 
-        return topicDescribe.topicNameForId(topicId).thenComposeAsync(topicName -> {
+        return topicDescribe.currentTopicNameForId(topicId).thenComposeAsync(topicName -> {
             if (topicName.isPresent()) {
                 return adminClient.deleteTopics(TopicCollection.ofTopicIds(List.of(id)))
                         .topicIdValues()
                         .get(id)
-                        .toCompletionStage();
+                        .toCompletionStage()
+                        .thenRun(() -> {
+                            invalidateTopicMetadata();
+                            Optional.ofNullable(kafkaContext.recordCache())
+                                .ifPresent(cache -> cache.invalidate(topicId));
+                        });
             }
 
             throw new UnknownTopicIdException("No such topic: " + topicId);
         }, threadContext.currentContextExecutor());
     }
 
+    private void invalidateTopicMetadata() {
+        Optional.ofNullable(kafkaContext.topicMetadata()).ifPresent(TopicMetadataCache::invalidate);
+    }
+
     // Modifications disabled for now
     private CompletionStage<Void> patchManagedTopic(/*KafkaTopic topic, TopicPatch patch, boolean validateOnly*/) {
         return CompletableFuture.completedStage(null);
@@ -0,0 +1,303 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.jboss.logging.Logger;
+
+/**
+ * A pool of {@linkplain Consumer Kafka consumers} belonging to a single
+ * {@linkplain KafkaContext}. Creating a consumer requires a new connection
+ * (with TLS and SASL handshakes, if applicable) and a metadata bootstrap, which
+ * may dominate the time taken to browse a small number of records. Consumers
+ * are instead borrowed from the pool via a {@linkplain Lease} and returned to
+ * the pool when the lease is closed.
+ *
+ * <p>Consumers are keyed by the identity of the credentials they were created
+ * with, i.e. the SASL JAAS configuration. When the cluster's configuration
+ * provides the credentials, all consumers share the same key. When clients
+ * provide their own credentials with each request, a consumer will only be
+ * re-used by requests carrying the same credentials.
+ *
+ * <p>The assignment of a consumer is reset when it is returned to the pool.
+ * Idle consumers are closed once they have not been used for the configured
+ * {@code maxIdle} duration, checked each time a consumer is borrowed or
+ * returned. The total number of consumers (idle or leased) is limited by
+ * {@code maxSize}. When the pool is exhausted, an idle consumer held for other
+ * credentials will be closed to make room or, if all consumers are in use, a
+ * consumer will be created outside of the pool and closed when its lease ends.
+ *
+ * @param <K> consumer key type
+ * @param <V> consumer value type
+ */
+public class ConsumerPool<K, V> implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ConsumerPool.class);
+
+    private final String name;
+    private final Function<Map<String, Object>, Consumer<K, V>> factory;
+    private final int maxSize;
+    private final Duration maxIdle;
+    private final Supplier<Instant> clock;
+
+    /**
+     * Idle consumers by credential key. Most recently returned consumers are at
+     * the head of each deque.
+     */
+    private final Map<String, Deque<PooledConsumer<K, V>>> idle = new HashMap<>();
+    private int size = 0;
+    private boolean closed = false;
+
+    public ConsumerPool(String name, Function<Map<String, Object>, Consumer<K, V>> factory, int maxSize, Duration maxIdle) {
+        this(name, factory, maxSize, maxIdle, Instant::now);
+    }
+
+    ConsumerPool(String name,
+            Function<Map<String, Object>, Consumer<K, V>> factory,
+            int maxSize,
+            Duration maxIdle,
+            Supplier<Instant> clock) {
+        this.name = name;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxIdle = maxIdle;
+        this.clock = clock;
+    }
+
+    /**
+     * Borrow a consumer from the pool, creating a new one when no idle consumer
+     * is available for the credentials in the given configuration. The caller
+     * must close the returned lease once it has finished using the consumer.
+     *
+     * @param configs the consumer configuration, including any credentials
+     *                provided by the client
+     * @return a lease holding the borrowed consumer
+     */
+    public Lease<K, V> borrow(Map<String, Object> configs) {
+        final String key = credentialKey(configs);
+        final Instant now = clock.get();
+        final List<PooledConsumer<K, V>> expired = new ArrayList<>();
+        PooledConsumer<K, V> pooled = null;
+        boolean pooledCreate = false;
+
+        synchronized (this) {
+            removeExpired(now, expired);
+
+            if (!closed) {
+                Deque<PooledConsumer<K, V>> available = idle.get(key);
+
+                if (available != null) {
+                    pooled = available.pollFirst();
+
+                    if (available.isEmpty()) {
+                        idle.remove(key);
+                    }
+                } else if (size < maxSize || removeLeastRecentlyUsed(expired)) {
+                    size++;
+                    pooledCreate = true;
+                }
+            }
+        }
+
+        closeAll(expired);
+
+        if (pooled != null) {
+            LOGGER.tracef("Re-using pooled consumer for %s", name);
+            return new Lease<>(this, pooled);
+        }
+
+        Consumer<K, V> consumer;
+
+        try {
+            consumer = factory.apply(configs);
+        } catch (RuntimeException e) {
+            if (pooledCreate) {
+                synchronized (this) {
+                    size--;
+                }
+            }
+            throw e;
+        }
+
+        if (pooledCreate) {
+            LOGGER.debugf("Created pooled consumer for %s", name);
+            return new Lease<>(this, new PooledConsumer<>(key, consumer));
+        }
+
+        LOGGER.debugf("Consumer pool for %s is exhausted (maxSize=%d), created un-pooled consumer", name, maxSize);
+        return new Lease<>(null, new PooledConsumer<>(key, consumer));
+    }
+
+    /**
+     * Number of consumers currently managed by the pool, both idle and leased.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        List<PooledConsumer<K, V>> closing = new ArrayList<>();
+
+        synchronized (this) {
+            closed = true;
+            idle.values().forEach(closing::addAll);
+            size -= closing.size();
+            idle.clear();
+        }
+
+        closeAll(closing);
+    }
+
+    void release(PooledConsumer<K, V> pooled) {
+        boolean reusable;
+
+        try {
+            // Reset the assignment (and positions) so the next borrower starts fresh
+            pooled.consumer.unsubscribe();
+            reusable = true;
+        } catch (RuntimeException e) {
+            LOGGER.infof("Discarding pooled consumer for %s, reset failed: %s", name, e.getMessage());
+            reusable = false;
+        }
+
+        final Instant now = clock.get();
+        final List<PooledConsumer<K, V>> expired = new ArrayList<>();
+
+        synchronized (this) {
+            if (reusable && !closed) {
+                pooled.lastUsed = now;
+                idle.computeIfAbsent(pooled.key, k -> new ArrayDeque<>()).addFirst(pooled);
+            } else {
+                size--;
+                expired.add(pooled);
+            }
+
+            removeExpired(now, expired);
+        }
+
+        closeAll(expired);
+    }
+
+    private void removeExpired(Instant now, List<PooledConsumer<K, V>> expired) {
+        Instant idleLimit = now.minus(maxIdle);
+        Iterator<Deque<PooledConsumer<K, V>>> cursor = idle.values().iterator();
+
+        while (cursor.hasNext()) {
+            Deque<PooledConsumer<K, V>> available = cursor.next();
+
+            // Least recently used consumers are at the tail
+            while (!available.isEmpty() && available.peekLast().lastUsed.isBefore(idleLimit)) {
+                expired.add(available.pollLast());
+                size--;
+            }
+
+            if (available.isEmpty()) {
+                cursor.remove();
+            }
+        }
+    }
+
+    private boolean removeLeastRecentlyUsed(List<PooledConsumer<K, V>> evicted) {
+        Deque<PooledConsumer<K, V>> oldest = null;
+
+        for (Deque<PooledConsumer<K, V>> available : idle.values()) {
+            if (oldest == null || available.peekLast().lastUsed.isBefore(oldest.peekLast().lastUsed)) {
+                oldest = available;
+            }
+        }
+
+        if (oldest == null) {
+            return false;
+        }
+
+        PooledConsumer<K, V> victim = oldest.pollLast();
+
+        if (oldest.isEmpty()) {
+            idle.remove(victim.key);
+        }
+
+        evicted.add(victim);
+        size--;
+        return true;
+    }
+
+    private void closeAll(List<PooledConsumer<K, V>> consumers) {
+        for (PooledConsumer<K, V> pooled : consumers) {
+            try {
+                pooled.consumer.close();
+            } catch (Exception e) {
+                LOGGER.infof("Exception closing pooled consumer for %s: %s", name, e.getMessage());
+            }
+        }
+    }
+
+    static String credentialKey(Map<String, Object> configs) {
+        return Objects.toString(configs.get(SaslConfigs.SASL_JAAS_CONFIG), "");
+    }
+
+    static class PooledConsumer<K, V> {
+        final String key;
+        final Consumer<K, V> consumer;
+        Instant lastUsed;
+
+        PooledConsumer(String key, Consumer<K, V> consumer) {
+            this.key = key;
+            this.consumer = consumer;
+        }
+    }
+
+    /**
+     * Exclusive use of a consumer borrowed from a {@linkplain ConsumerPool}.
+     * Closing the lease returns the consumer to the pool, or closes the
+     * consumer when it was created outside of the pool.
+     *
+     * @param <K> consumer key type
+     * @param <V> consumer value type
+     */
+    public static class Lease<K, V> implements AutoCloseable {
+        private final ConsumerPool<K, V> pool;
+        private PooledConsumer<K, V> pooled;
+
+        Lease(ConsumerPool<K, V> pool, PooledConsumer<K, V> pooled) {
+            this.pool = pool;
+            this.pooled = pooled;
+        }
+
+        public Consumer<K, V> consumer() {
+            if (pooled == null) {
+                throw new IllegalStateException("Lease has been closed");
+            }
+            return pooled.consumer;
+        }
+
+        @Override
+        public void close() {
+            PooledConsumer<K, V> released = pooled;
+            pooled = null;
+
+            if (released == null) {
+                return;
+            }
+
+            if (pool != null) {
+                pool.release(released);
+            } else {
+                released.consumer.close();
+            }
+        }
+    }
+}
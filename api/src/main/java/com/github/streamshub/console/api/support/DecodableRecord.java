@@ -0,0 +1,102 @@
+package com.github.streamshub.console.api.support;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import com.github.streamshub.console.api.support.serdes.RecordData;
+
+/**
+ * A raw record consumed from a topic, with its key and value decoded on first
+ * use and at most once. Records are consumed undecoded so that only those
+ * needed are decoded: the records included in a page of results, and the
+ * records whose decoded content is tested by a search.
+ */
+public class DecodableRecord {
+
+    /**
+     * Header name prefix used by the Apicurio serializers to carry schema
+     * references.
+     */
+    private static final String SCHEMA_HEADER_PREFIX = "apicurio.";
+    private static final byte SCHEMA_MAGIC_BYTE = 0;
+
+    final ConsumerRecord<byte[], byte[]> rec;
+    private final Deserializer<RecordData> keyDeserializer;
+    private final Deserializer<RecordData> valueDeserializer;
+    private final boolean schemaHeaders;
+    private RecordData key;
+    private RecordData value;
+    private boolean keyDecoded;
+    private boolean valueDecoded;
+
+    public DecodableRecord(ConsumerRecord<byte[], byte[]> rec,
+            Deserializer<RecordData> keyDeserializer,
+            Deserializer<RecordData> valueDeserializer) {
+        this.rec = rec;
+        this.keyDeserializer = keyDeserializer;
+        this.valueDeserializer = valueDeserializer;
+
+        boolean found = false;
+        for (Header header : rec.headers()) {
+            if (header.key().startsWith(SCHEMA_HEADER_PREFIX)) {
+                found = true;
+                break;
+            }
+        }
+        this.schemaHeaders = found;
+    }
+
+    /**
+     * Whether the key may be encoded with a schema, i.e. must be decoded before
+     * its content is meaningful.
+     */
+    boolean keyEncoded() {
+        return encoded(rec.key());
+    }
+
+    /**
+     * Whether the value may be encoded with a schema, i.e. must be decoded before
+     * its content is meaningful.
+     */
+    boolean valueEncoded() {
+        return encoded(rec.value());
+    }
+
+    private boolean encoded(byte[] data) {
+        return data != null && (schemaHeaders || data.length > 0 && data[0] == SCHEMA_MAGIC_BYTE);
+    }
+
+    public RecordData key() {
+        if (!keyDecoded) {
+            key = keyDeserializer.deserialize(rec.topic(), rec.headers(), rec.key());
+            keyDecoded = true;
+        }
+        return key;
+    }
+
+    public RecordData value() {
+        if (!valueDecoded) {
+            value = valueDeserializer.deserialize(rec.topic(), rec.headers(), rec.value());
+            valueDecoded = true;
+        }
+        return value;
+    }
+
+    /**
+     * The record with its key and value decoded.
+     */
+    public ConsumerRecord<RecordData, RecordData> decoded() {
+        return new ConsumerRecord<>(rec.topic(),
+                rec.partition(),
+                rec.offset(),
+                rec.timestamp(),
+                rec.timestampType(),
+                rec.serializedKeySize(),
+                rec.serializedValueSize(),
+                key(),
+                value(),
+                rec.headers(),
+                rec.leaderEpoch());
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import org.apache.kafka.clients.admin.Admin;
@@ -16,15 +17,14 @@ import org.apache.kafka.common.config.SaslConfigs;
 import org.jboss.logging.Logger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.streamshub.console.api.support.serdes.ApicurioClient;
 import com.github.streamshub.console.api.support.serdes.ForceCloseable;
 import com.github.streamshub.console.api.support.serdes.MultiformatDeserializer;
 import com.github.streamshub.console.api.support.serdes.MultiformatSerializer;
+import com.github.streamshub.console.api.support.serdes.RecordData;
 import com.github.streamshub.console.config.KafkaClusterConfig;
 import com.github.streamshub.console.config.SchemaRegistryConfig;
 
 import io.apicurio.registry.rest.client.RegistryClient;
-import io.apicurio.registry.rest.client.RegistryClientFactory;
 import io.strimzi.api.kafka.model.kafka.Kafka;
 import io.strimzi.api.kafka.model.kafka.KafkaClusterSpec;
 import io.strimzi.api.kafka.model.kafka.KafkaSpec;
@@ -45,6 +45,17 @@ public class KafkaContext implements Closeable {
     boolean applicationScoped;
     SchemaRegistryContext schemaRegistryContext;
     PrometheusAPI prometheus;
+    ConsumerPool<RecordData, RecordData> consumerPool;
+    ConsumerPool<byte[], byte[]> rawConsumerPool;
+    ConsumerPool<byte[], byte[]> samplingConsumerPool;
+    ProducerCache<RecordData, RecordData> producerCache;
+    LiveTailHub<RecordData, RecordData> liveTails;
+    OffsetBoundsCache offsetBounds;
+    TimestampIndex timestampIndex;
+    RecordCache recordCache;
+    LatestRecordScans latestRecordScans;
+    TopicMetadataCache topicMetadata;
+    TopicStatusCache topicStatuses;
 
     public KafkaContext(KafkaClusterConfig clusterConfig, Kafka resource, Map<Class<?>, Map<String, Object>> configs, Admin admin) {
         this.clusterConfig = clusterConfig;
@@ -59,6 +70,17 @@ public class KafkaContext implements Closeable {
         this.applicationScoped = false;
         this.schemaRegistryContext = other.schemaRegistryContext;
         this.prometheus = other.prometheus;
+        this.consumerPool = other.consumerPool;
+        this.rawConsumerPool = other.rawConsumerPool;
+        this.samplingConsumerPool = other.samplingConsumerPool;
+        this.producerCache = other.producerCache;
+        this.liveTails = other.liveTails;
+        this.offsetBounds = other.offsetBounds;
+        this.timestampIndex = other.timestampIndex;
+        this.recordCache = other.recordCache;
+        this.latestRecordScans = other.latestRecordScans;
+        this.topicMetadata = other.topicMetadata;
+        this.topicStatuses = other.topicStatuses;
     }
 
     public static String clusterId(KafkaClusterConfig clusterConfig, Optional<Kafka> kafkaResource) {
@@ -102,6 +124,25 @@ public class KafkaContext implements Closeable {
                 LOGGER.warnf("Exception closing schema registry context: %s", e.getMessage());
             }
         }
+        // Pooled clients are shared with request-scoped contexts, same as the registry context
+        if (applicationScoped && consumerPool != null) {
+            consumerPool.close();
+        }
+        if (applicationScoped && rawConsumerPool != null) {
+            rawConsumerPool.close();
+        }
+        if (applicationScoped && samplingConsumerPool != null) {
+            samplingConsumerPool.close();
+        }
+        if (applicationScoped && producerCache != null) {
+            producerCache.close();
+        }
+        if (applicationScoped && liveTails != null) {
+            liveTails.close();
+        }
+        if (applicationScoped && topicMetadata != null) {
+            topicMetadata.close();
+        }
     }
 
     public String clusterId() {
@@ -132,8 +173,8 @@ public class KafkaContext implements Closeable {
         return applicationScoped;
     }
 
-    public void schemaRegistryClient(SchemaRegistryConfig config, ObjectMapper objectMapper) {
-        schemaRegistryContext = new SchemaRegistryContext(config, objectMapper);
+    public void schemaRegistryClient(SchemaRegistryConfig config, RegistryClient registryClient, ObjectMapper objectMapper, Executor executor) {
+        schemaRegistryContext = new SchemaRegistryContext(config, registryClient, objectMapper, executor);
     }
 
     public SchemaRegistryContext schemaRegistryContext() {
@@ -148,6 +189,99 @@ public class KafkaContext implements Closeable {
         return prometheus;
     }
 
+    public void consumerPool(ConsumerPool<RecordData, RecordData> consumerPool) {
+        this.consumerPool = consumerPool;
+    }
+
+    public ConsumerPool<RecordData, RecordData> consumerPool() {
+        return consumerPool;
+    }
+
+    public void rawConsumerPool(ConsumerPool<byte[], byte[]> rawConsumerPool) {
+        this.rawConsumerPool = rawConsumerPool;
+    }
+
+    public ConsumerPool<byte[], byte[]> rawConsumerPool() {
+        return rawConsumerPool;
+    }
+
+    public void samplingConsumerPool(ConsumerPool<byte[], byte[]> samplingConsumerPool) {
+        this.samplingConsumerPool = samplingConsumerPool;
+    }
+
+    public ConsumerPool<byte[], byte[]> samplingConsumerPool() {
+        return samplingConsumerPool;
+    }
+
+    public void producerCache(ProducerCache<RecordData, RecordData> producerCache) {
+        this.producerCache = producerCache;
+    }
+
+    public ProducerCache<RecordData, RecordData> producerCache() {
+        return producerCache;
+    }
+
+    public void liveTails(LiveTailHub<RecordData, RecordData> liveTails) {
+        this.liveTails = liveTails;
+    }
+
+    public LiveTailHub<RecordData, RecordData> liveTails() {
+        return liveTails;
+    }
+
+    public void offsetBounds(OffsetBoundsCache offsetBounds) {
+        this.offsetBounds = offsetBounds;
+    }
+
+    public OffsetBoundsCache offsetBounds() {
+        return offsetBounds;
+    }
+
+    public void timestampIndex(TimestampIndex timestampIndex) {
+        this.timestampIndex = timestampIndex;
+    }
+
+    public TimestampIndex timestampIndex() {
+        return timestampIndex;
+    }
+
+    public void recordCache(RecordCache recordCache) {
+        this.recordCache = recordCache;
+    }
+
+    public RecordCache recordCache() {
+        return recordCache;
+    }
+
+    public void latestRecordScans(LatestRecordScans latestRecordScans) {
+        this.latestRecordScans = latestRecordScans;
+    }
+
+    public LatestRecordScans latestRecordScans() {
+        return latestRecordScans;
+    }
+
+    public void topicMetadata(TopicMetadataCache topicMetadata) {
+        this.topicMetadata = topicMetadata;
+    }
+
+    /**
+     * Cache of the cluster's topic listings, or null when the context has no
+     * application-scoped admin client to load them, i.e. when each request
+     * provides its own credentials.
+     */
+    public TopicMetadataCache topicMetadata() {
+        return topicMetadata;
+    }
+
+    public void topicStatuses(TopicStatusCache topicStatuses) {
+        this.topicStatuses = topicStatuses;
+    }
+
+    public TopicStatusCache topicStatuses() {
+        return topicStatuses;
+    }
+
     public String saslMechanism(Class<?> clientType) {
         return configs(clientType).get(SaslConfigs.SASL_MECHANISM) instanceof String auth ? auth : "";
     }
@@ -173,11 +307,12 @@ public class KafkaContext implements Closeable {
     }
 
     /**
-     * The SchemaRegistryContext contains a per-Kafka registry client
-     * and key/value SerDes classes to be used to handle message browsing.
+     * The SchemaRegistryContext contains the registry client shared by all
+     * clusters using the same registry and per-Kafka key/value SerDes classes
+     * to be used to handle message browsing.
      *
-     * The client and SerDes instances will be kept open and reused until
-     * the parent KafkaContext is disposed of at application shutdown.
+     * The SerDes instances will be kept open and reused until the parent
+     * KafkaContext is disposed of at application shutdown.
      */
     public class SchemaRegistryContext implements Closeable {
         private final SchemaRegistryConfig config;
@@ -187,14 +322,9 @@ public class KafkaContext implements Closeable {
         private final MultiformatSerializer keySerializer;
         private final MultiformatSerializer valueSerializer;
 
-        SchemaRegistryContext(SchemaRegistryConfig config, ObjectMapper objectMapper) {
+        SchemaRegistryContext(SchemaRegistryConfig config, RegistryClient registryClient, ObjectMapper objectMapper, Executor executor) {
             this.config = config;
-
-            if (config != null) {
-                registryClient = RegistryClientFactory.create(new ApicurioClient(config));
-            } else {
-                registryClient = null;
-            }
+            this.registryClient = registryClient;
 
             keyDeserializer = new MultiformatDeserializer(registryClient, objectMapper);
             keyDeserializer.configure(configs(Consumer.class), true);
@@ -202,10 +332,10 @@ public class KafkaContext implements Closeable {
             valueDeserializer = new MultiformatDeserializer(registryClient, objectMapper);
             valueDeserializer.configure(configs(Consumer.class), false);
 
-            keySerializer = new MultiformatSerializer(registryClient, objectMapper);
+            keySerializer = new MultiformatSerializer(registryClient, objectMapper, executor);
             keySerializer.configure(configs(Producer.class), true);
 
-            valueSerializer = new MultiformatSerializer(registryClient, objectMapper);
+            valueSerializer = new MultiformatSerializer(registryClient, objectMapper, executor);
             valueSerializer.configure(configs(Producer.class), false);
         }
 
@@ -0,0 +1,223 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Incomplete scans for the latest record of each key in the topics belonging to
+ * a single {@linkplain KafkaContext}, held so that a scan may be resumed by a
+ * later request. A scan reads each partition from its end towards its
+ * beginning, so resuming requires the keys already seen in the newer part of
+ * the partition. Those keys are held as 64-bit hashes in a
+ * {@linkplain LongHashSet}, with no record content. Two distinct keys having
+ * the same 64-bit hash are not told apart: the latest record of the second key
+ * seen is taken to be an older record of the first and is not returned. The
+ * chance of this is small (for a partition of a million keys, about one in 37
+ * million) but should be kept in mind for partitions holding billions of keys.
+ *
+ * <p>Each saved scan is identified by a random token given to the client as
+ * the scan's cursor. A token may be used once: resuming a scan removes it, and
+ * a scan still incomplete is saved again with a new token. The number of scans
+ * held is limited to {@code maxScans} and the size of their key hash tables to
+ * {@code maxBytes} in total, evicting the least recently saved, and scans not
+ * resumed within {@code maxIdle} are discarded. A single scan may hold no more
+ * keys than fit within {@code maxBytes}, its view can not continue beyond a
+ * partition holding more keys.
+ */
+public class LatestRecordScans {
+
+    /**
+     * State of a scan for the latest record of each key in a topic.
+     */
+    public static class Scan {
+        final String topicId;
+        final SortedMap<Integer, Long> upperOffsets;
+        final int maxKeys;
+        LongHashSet seenKeys;
+        Instant saved;
+
+        /**
+         * @param topicId      the ID of the topic scanned
+         * @param upperOffsets the partitions to scan (scanned in order of
+         *                     partition number), each with the offset
+         *                     (exclusive) before which the scan of the
+         *                     partition begins
+         * @param maxKeys      maximum number of keys tracked for a single
+         *                     partition
+         */
+        Scan(String topicId, Map<Integer, Long> upperOffsets, int maxKeys) {
+            this.topicId = topicId;
+            this.upperOffsets = new TreeMap<>(upperOffsets);
+            this.maxKeys = maxKeys;
+            this.seenKeys = new LongHashSet(0, maxKeys);
+        }
+
+        public String topicId() {
+            return topicId;
+        }
+
+        /**
+         * The partition currently being scanned, or null when the scan is
+         * complete.
+         */
+        public Integer partition() {
+            return upperOffsets.isEmpty() ? null : upperOffsets.firstKey();
+        }
+
+        /**
+         * The offset (exclusive) before which the scan of the current partition
+         * continues.
+         */
+        public long upperOffset() {
+            return upperOffsets.get(partition());
+        }
+
+        public void upperOffset(long offset) {
+            upperOffsets.put(partition(), offset);
+        }
+
+        /**
+         * Record that the key with the given hash has been seen in the current
+         * partition.
+         *
+         * @return true when the key had not been seen before, i.e. this is the
+         *         latest record of the key
+         * @throws IllegalStateException when the key had not been seen before
+         *                               and the scan is {@linkplain #full()
+         *                               full}
+         */
+        public boolean firstSeen(long keyHash) {
+            return seenKeys.add(keyHash);
+        }
+
+        /**
+         * Whether the scan holds the maximum number of keys for the current
+         * partition, no further keys may be seen.
+         */
+        public boolean full() {
+            return seenKeys.full();
+        }
+
+        /**
+         * Complete the scan of the current partition, moving to the next. Keys are
+         * assigned to a single partition, so the keys seen are discarded.
+         */
+        public void nextPartition() {
+            upperOffsets.remove(partition());
+            seenKeys = new LongHashSet(0, maxKeys);
+        }
+
+        long bytes() {
+            return seenKeys.tableBytes();
+        }
+
+        public boolean complete() {
+            return upperOffsets.isEmpty();
+        }
+    }
+
+    private final long maxBytes;
+    private final Duration maxIdle;
+    private final Map<String, Scan> scans;
+    private long bytes;
+
+    public LatestRecordScans(int maxScans, long maxBytes, Duration maxIdle) {
+        this.maxBytes = maxBytes;
+        this.maxIdle = maxIdle;
+        this.scans = new LinkedHashMap<>(16, 0.75f, false) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Scan> eldest) {
+                if (size() > maxScans) {
+                    bytes -= eldest.getValue().bytes();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Begin a new scan.
+     *
+     * @param topicId      the ID of the topic scanned
+     * @param upperOffsets the partitions to scan, each with the offset
+     *                     (exclusive) before which the scan of the partition
+     *                     begins
+     */
+    public Scan start(String topicId, Map<Integer, Long> upperOffsets) {
+        // The hash table of a full set is at most 32 bytes per key
+        int maxKeys = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes / 32));
+        return new Scan(topicId, upperOffsets, maxKeys);
+    }
+
+    /**
+     * Save an incomplete scan to be resumed later, evicting the least recently
+     * saved scans as required to remain within the limits.
+     *
+     * @return the token identifying the scan
+     */
+    public synchronized String save(Scan scan) {
+        String token = UUID.randomUUID().toString();
+        scan.saved = Instant.now();
+        scans.put(token, scan);
+        bytes += scan.bytes();
+
+        var eldest = scans.entrySet().iterator();
+
+        while (bytes > maxBytes && eldest.hasNext()) {
+            var evicted = eldest.next().getValue();
+
+            if (evicted != scan) {
+                bytes -= evicted.bytes();
+                eldest.remove();
+            }
+        }
+
+        return token;
+    }
+
+    /**
+     * Remove and return the scan identified by the token.
+     *
+     * @return the scan, or null when the token is unknown, has expired, or
+     *         belongs to the scan of a different topic
+     */
+    public synchronized Scan take(String token, String topicId) {
+        Instant expiry = Instant.now().minus(maxIdle);
+        scans.values().removeIf(scan -> {
+            if (scan.saved.isBefore(expiry)) {
+                bytes -= scan.bytes();
+                return true;
+            }
+            return false;
+        });
+
+        Scan scan = scans.get(token);
+
+        if (scan == null || !scan.topicId.equals(topicId)) {
+            return null;
+        }
+
+        scans.remove(token);
+        bytes -= scan.bytes();
+        return scan;
+    }
+
+    public synchronized int size() {
+        return scans.size();
+    }
+
+    /**
+     * Size of the key hash tables of the scans held.
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+}
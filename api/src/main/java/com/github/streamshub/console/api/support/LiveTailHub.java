@@ -0,0 +1,370 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InvalidPartitionsException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.jboss.logging.Logger;
+
+/**
+ * Fan-out of newly written records to any number of "live tail" viewers of a
+ * topic belonging to a single {@linkplain KafkaContext}. One consumer (and
+ * polling thread) is held for each distinct combination of credentials, topic,
+ * and partition being viewed, regardless of the number of viewers. Records are
+ * deserialized once by that consumer and handed to the bounded buffer of each
+ * {@linkplain Subscription subscription}. Subscribers are notified when
+ * records are {@linkplain Subscription#available() available} rather than
+ * waiting for them, so no thread is held for a viewer between records.
+ *
+ * <p>A subscriber that does not keep up loses the oldest records in its buffer
+ * rather than slowing delivery to the other subscribers. The number of records
+ * dropped is available from {@linkplain Subscription#takeDropped()}. The
+ * consumer is closed when the last subscription for it is closed.
+ *
+ * <p>At most {@code maxTails} topic tails are held at once, each polling on
+ * one of the hub's threads. Subscribing to a topic tail not already held fails
+ * with a {@link ServiceUnavailableException} when the limit is reached.
+ * Subscriptions to the topic tails already held are not limited. The polling
+ * threads are not taken from the application's worker pool since each blocks
+ * in poll for as long as its tail is held, and idle threads are released.
+ *
+ * @param <K> consumer key type
+ * @param <V> consumer value type
+ */
+public class LiveTailHub<K, V> implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(LiveTailHub.class);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final String name;
+    private final Function<Map<String, Object>, Consumer<K, V>> factory;
+    private final int bufferSize;
+    private final int maxTails;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<TailKey, Tail<K, V>> tails = new HashMap<>();
+    private boolean closed = false;
+
+    public LiveTailHub(String name, Function<Map<String, Object>, Consumer<K, V>> factory, int bufferSize, int maxTails) {
+        this.name = name;
+        this.factory = factory;
+        this.bufferSize = bufferSize;
+        this.maxTails = maxTails;
+        // A stopped tail's thread may still be closing its consumer, its successor waits in the queue
+        this.executor = new ThreadPoolExecutor(maxTails, maxTails, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "live-tail-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Subscribe to records written to the topic (or a single partition of the
+     * topic) after this method returns. The caller must close the subscription
+     * when it no longer requires records.
+     *
+     * @param configs   the consumer configuration, including any credentials
+     *                  provided by the client
+     * @param topic     name of the topic
+     * @param partition partition to subscribe to, or null for all partitions
+     * @return the new subscription
+     * @throws ServiceUnavailableException if a new topic tail is required and
+     *                                     the maximum number are already held
+     */
+    public Subscription<K, V> subscribe(Map<String, Object> configs, String topic, Integer partition) {
+        final TailKey key = new TailKey(ConsumerPool.credentialKey(configs), topic, partition);
+        final Tail<K, V> tail;
+        final Subscription<K, V> subscription;
+
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Live tail for " + name + " is closed");
+            }
+
+            if (!tails.containsKey(key) && tails.size() >= maxTails) {
+                LOGGER.debugf("Live tail of %s in %s rejected, %d tails held", topic, name, tails.size());
+                throw new ServiceUnavailableException("Maximum number of live tails reached, try again later");
+            }
+
+            tail = tails.computeIfAbsent(key, k -> new Tail<>(this, k));
+            subscription = new Subscription<>(this, tail, bufferSize);
+            tail.subscriptions.add(subscription);
+        }
+
+        try {
+            tail.start(configs);
+        } catch (RuntimeException e) {
+            subscription.close();
+            throw e;
+        }
+
+        return subscription;
+    }
+
+    /**
+     * Number of topic tails (i.e. consumers) currently held.
+     */
+    public synchronized int size() {
+        return tails.size();
+    }
+
+    @Override
+    public void close() {
+        List<Tail<K, V>> stopping;
+
+        synchronized (this) {
+            closed = true;
+            stopping = new ArrayList<>(tails.values());
+            tails.clear();
+        }
+
+        for (Tail<K, V> tail : stopping) {
+            tail.stop();
+            var error = new IllegalStateException("Live tail for " + name + " is closed");
+            tail.subscriptions.forEach(s -> s.fail(error));
+        }
+
+        executor.shutdown();
+    }
+
+    void unsubscribe(Subscription<K, V> subscription) {
+        Tail<K, V> tail = subscription.tail;
+        boolean stop;
+
+        synchronized (this) {
+            tail.subscriptions.remove(subscription);
+            stop = tail.subscriptions.isEmpty() && tails.remove(tail.key, tail);
+        }
+
+        if (stop) {
+            LOGGER.debugf("Last subscription closed, stopping live tail of %s in %s", tail.key.topic(), name);
+            tail.stop();
+        }
+    }
+
+    void failed(Tail<K, V> tail, Exception error) {
+        synchronized (this) {
+            tails.remove(tail.key, tail);
+        }
+
+        tail.subscriptions.forEach(s -> s.fail(error));
+    }
+
+    record TailKey(String credentials, String topic, Integer partition) {
+    }
+
+    static class Tail<K, V> {
+        final LiveTailHub<K, V> hub;
+        final TailKey key;
+        final List<Subscription<K, V>> subscriptions = new CopyOnWriteArrayList<>();
+        Consumer<K, V> consumer;
+        volatile boolean running = false;
+        boolean stopped = false;
+
+        Tail(LiveTailHub<K, V> hub, TailKey key) {
+            this.hub = hub;
+            this.key = key;
+        }
+
+        synchronized void start(Map<String, Object> configs) {
+            if (stopped) {
+                // e.g. the hub was closed after the subscription was added to this tail
+                throw new IllegalStateException("Live tail of " + key.topic() + " in " + hub.name + " is stopped");
+            }
+
+            if (consumer != null) {
+                return;
+            }
+
+            Consumer<K, V> newConsumer = hub.factory.apply(configs);
+
+            try {
+                List<TopicPartition> assignments = newConsumer.partitionsFor(key.topic())
+                        .stream()
+                        .filter(p -> key.partition() == null || key.partition().equals(p.partition()))
+                        .map(p -> new TopicPartition(p.topic(), p.partition()))
+                        .toList();
+
+                if (assignments.isEmpty() && key.partition() != null) {
+                    throw new InvalidPartitionsException("Partition " + key.partition() + " is not valid for topic " + key.topic());
+                }
+
+                newConsumer.assign(assignments);
+                newConsumer.seekToEnd(assignments);
+                // Resolve the end positions now, only records written after subscribing are delivered
+                assignments.forEach(newConsumer::position);
+            } catch (RuntimeException e) {
+                newConsumer.close();
+                throw e;
+            }
+
+            consumer = newConsumer;
+            running = true;
+            hub.executor.execute(this::run);
+            LOGGER.debugf("Started live tail of %s in %s", key.topic(), hub.name);
+        }
+
+        void run() {
+            try {
+                while (running) {
+                    ConsumerRecords<K, V> records = consumer.poll(POLL_TIMEOUT);
+
+                    for (ConsumerRecord<K, V> rec : records) {
+                        for (Subscription<K, V> subscription : subscriptions) {
+                            subscription.offer(rec);
+                        }
+                    }
+                }
+            } catch (WakeupException e) {
+                // stopped
+            } catch (Exception e) {
+                LOGGER.warnf("Live tail of %s in %s failed: %s", key.topic(), hub.name, e.getMessage());
+                hub.failed(this, e);
+            } finally {
+                consumer.close();
+            }
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            running = false;
+
+            if (consumer != null) {
+                consumer.wakeup();
+            }
+        }
+    }
+
+    /**
+     * A single viewer's subscription to a topic tail, buffering up to
+     * {@code bufferSize} records that have not yet been taken by the viewer.
+     *
+     * @param <K> consumer key type
+     * @param <V> consumer value type
+     */
+    public static class Subscription<K, V> implements AutoCloseable {
+        private final LiveTailHub<K, V> hub;
+        private final Tail<K, V> tail;
+        private final BlockingQueue<ConsumerRecord<K, V>> buffer;
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Exception failure;
+        private CompletableFuture<Void> waiting;
+
+        Subscription(LiveTailHub<K, V> hub, Tail<K, V> tail, int bufferSize) {
+            this.hub = hub;
+            this.tail = tail;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(ConsumerRecord<K, V> rec) {
+            while (!buffer.offer(rec)) {
+                // Slow subscriber, discard the oldest record to make room
+                if (buffer.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+
+            signal();
+        }
+
+        void fail(Exception error) {
+            failure = error;
+            signal();
+        }
+
+        /**
+         * Get a stage that completes once records are buffered for this
+         * subscription, immediately when records are already buffered. The stage
+         * also completes when the topic tail has failed or the subscription is
+         * closed. The records are then given by {@link #take()}.
+         */
+        public synchronized CompletionStage<Void> available() {
+            if (!buffer.isEmpty() || failure != null || closed.get()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            if (waiting == null) {
+                waiting = new CompletableFuture<>();
+            }
+
+            return waiting;
+        }
+
+        /**
+         * Take all records buffered for this subscription, without waiting.
+         *
+         * @return the buffered records, empty if none are buffered
+         * @throws CompletionException if the topic tail has failed
+         */
+        public List<ConsumerRecord<K, V>> take() {
+            checkFailure();
+
+            List<ConsumerRecord<K, V>> records = new ArrayList<>(buffer.size());
+            buffer.drainTo(records);
+            return records;
+        }
+
+        /**
+         * Number of records dropped from this subscription's buffer since the
+         * previous call to this method.
+         */
+        public long takeDropped() {
+            return dropped.getAndSet(0);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                hub.unsubscribe(this);
+                buffer.clear();
+                signal();
+            }
+        }
+
+        private void signal() {
+            CompletableFuture<Void> signalled;
+
+            synchronized (this) {
+                signalled = waiting;
+                waiting = null;
+            }
+
+            if (signalled != null) {
+                signalled.complete(null);
+            }
+        }
+
+        private void checkFailure() {
+            Exception error = failure;
+
+            if (error != null) {
+                throw new CompletionException("Error occurred while consuming records from Kafka cluster", error);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.streamshub.console.api.support;
+
+/**
+ * Set of {@code long} values using open addressing with linear probing over a
+ * primitive array, e.g. to track the 64-bit hashes of the record keys seen by a
+ * scan. Each value occupies 8 bytes of the table, without the per-entry objects
+ * of a {@code HashSet<Long>} or {@code HashSet<String>}, so the memory used is
+ * predictable: the table is at most twice the size required for the values
+ * held, rounded up to a power of two. The number of values held may be limited
+ * by {@code maxSize}, the table then never exceeding {@code 32 * maxSize}
+ * bytes. Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int maxSize;
+    private long[] table;
+    private int size;
+    private boolean containsEmpty;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        this(expectedSize, MAX_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize number of values for which the table is initially
+     *                     sized
+     * @param maxSize      maximum number of values held
+     */
+    public LongHashSet(int expectedSize, int maxSize) {
+        this.maxSize = Math.min(maxSize, MAX_CAPACITY / 2);
+        table = new long[tableSize(Math.min(expectedSize, this.maxSize))];
+    }
+
+    static int tableSize(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+
+        while (capacity < expectedSize * 2L && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Add a value to the set.
+     *
+     * @return true when the value was not already present
+     * @throws IllegalStateException when the value is not present and the set
+     *                               is {@linkplain #full() full}
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            requireCapacity();
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+
+        int mask = table.length - 1;
+        int slot = (int) mix(value) & mask;
+
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        requireCapacity();
+        table[slot] = value;
+        size++;
+
+        if (size * 2L > table.length && table.length < MAX_CAPACITY) {
+            resize();
+        }
+
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+
+        int mask = table.length - 1;
+        int slot = (int) mix(value) & mask;
+
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the set holds its maximum number of values, no further values may
+     * be added.
+     */
+    public boolean full() {
+        return size >= maxSize;
+    }
+
+    /**
+     * Remove every value, releasing the table when it has grown.
+     */
+    public void clear() {
+        table = new long[MIN_CAPACITY];
+        size = 0;
+        containsEmpty = false;
+    }
+
+    /**
+     * Approximate number of bytes used by the table.
+     */
+    public long tableBytes() {
+        return table.length * 8L;
+    }
+
+    private void requireCapacity() {
+        if (full()) {
+            throw new IllegalStateException("Set is full, holding " + size + " values");
+        }
+    }
+
+    private void resize() {
+        long[] previous = table;
+        table = new long[previous.length << 1];
+        int mask = table.length - 1;
+
+        for (long value : previous) {
+            if (value != EMPTY) {
+                int slot = (int) mix(value) & mask;
+
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+
+                table[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * 64-bit hash of the given bytes (FNV-1a, with the murmur3 finalizer applied
+     * to spread the low bits).
+     */
+    public static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        return mix(hash);
+    }
+
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
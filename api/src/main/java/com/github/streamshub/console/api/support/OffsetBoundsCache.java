@@ -0,0 +1,196 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.apache.kafka.common.TopicPartition;
+import org.jboss.logging.Logger;
+
+/**
+ * Cache of the beginning and end offsets of the partitions belonging to a single
+ * {@linkplain KafkaContext}. Looking up the offset bounds of a partition
+ * requires two requests to the partition leader, made before any records can be
+ * fetched. The bounds are instead shared by all requests browsing the same
+ * partitions for a short time (the {@code ttl}).
+ *
+ * <p>When several requests find the bounds of a partition missing or expired at
+ * the same time, only the first loads them and the others wait for the result.
+ * A failed load is reported to every waiting request and is not cached.
+ *
+ * <p>The end offset of a partition is advanced without a reload whenever records
+ * beyond the cached end are {@linkplain #observeEnd(String, TopicPartition, long)
+ * observed} by a consumer. Expired entries are removed each time the cache is
+ * accessed.
+ *
+ * <p>Entries are keyed by topic ID as well as partition, so that the bounds of
+ * a topic deleted and re-created with the same name are never given for the new
+ * topic.
+ */
+public class OffsetBoundsCache {
+
+    private static final Logger LOGGER = Logger.getLogger(OffsetBoundsCache.class);
+
+    /**
+     * The offset bounds of a partition.
+     *
+     * @param beginning the offset of the first record in the partition
+     * @param end       the offset following the last record in the partition
+     */
+    public record Bounds(long beginning, long end) {
+    }
+
+    private record PartitionKey(String topicId, TopicPartition partition) {
+    }
+
+    private final String name;
+    private final Duration ttl;
+    private final Map<PartitionKey, Entry> entries = new HashMap<>();
+
+    public OffsetBoundsCache(String name, Duration ttl) {
+        this.name = name;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Get the offset bounds of the given partitions. Bounds missing from the cache,
+     * or expired, are obtained from the loader, which is called at most once and
+     * only with the partitions not already being loaded by another caller.
+     *
+     * @param topicId    the ID of the topic the partitions belong to
+     * @param partitions the partitions for which to get the bounds
+     * @param loader     function giving the current bounds of a collection of
+     *                   partitions, e.g. using the beginning and end offsets
+     *                   given by a consumer
+     * @return the bounds of each of the given partitions, in the same order
+     */
+    public Map<TopicPartition, Bounds> get(String topicId, Collection<TopicPartition> partitions,
+            Function<Collection<TopicPartition>, Map<TopicPartition, Bounds>> loader) {
+
+        final Instant now = Instant.now();
+        Map<TopicPartition, Entry> pending = new LinkedHashMap<>();
+        Map<TopicPartition, Entry> loading = new LinkedHashMap<>();
+
+        synchronized (this) {
+            entries.values().removeIf(e -> e.expired(now));
+
+            for (TopicPartition partition : partitions) {
+                PartitionKey key = new PartitionKey(topicId, partition);
+                Entry entry = entries.get(key);
+
+                if (entry == null) {
+                    entry = new Entry(now.plus(ttl));
+                    entries.put(key, entry);
+                    loading.put(partition, entry);
+                }
+
+                pending.put(partition, entry);
+            }
+        }
+
+        if (!loading.isEmpty()) {
+            load(topicId, loading, loader);
+        }
+
+        Map<TopicPartition, Bounds> result = new LinkedHashMap<>(pending.size());
+
+        try {
+            pending.forEach((partition, entry) -> result.put(partition, entry.current()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        return result;
+    }
+
+    private void load(String topicId, Map<TopicPartition, Entry> loading,
+            Function<Collection<TopicPartition>, Map<TopicPartition, Bounds>> loader) {
+
+        LOGGER.tracef("Loading offset bounds for %d partitions of %s", loading.size(), name);
+        Map<TopicPartition, Bounds> loaded;
+
+        try {
+            loaded = loader.apply(loading.keySet());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading.forEach((partition, entry) -> entries.remove(new PartitionKey(topicId, partition), entry));
+            }
+            loading.values().forEach(entry -> entry.bounds.completeExceptionally(e));
+            return;
+        }
+
+        loading.forEach((partition, entry) -> {
+            Bounds bounds = loaded.get(partition);
+
+            if (bounds != null) {
+                entry.bounds.complete(bounds);
+            } else {
+                synchronized (this) {
+                    entries.remove(new PartitionKey(topicId, partition), entry);
+                }
+                entry.bounds.completeExceptionally(new IllegalStateException("No offsets loaded for partition " + partition));
+            }
+        });
+    }
+
+    /**
+     * Record that the end offset of the partition is at least the given offset,
+     * e.g. because a consumer has received the record preceding it. Has no effect
+     * when the partition is not cached or its cached end offset is already
+     * greater.
+     *
+     * @param topicId   the ID of the topic the partition belongs to
+     * @param partition the partition
+     * @param endOffset the offset following the last record observed
+     */
+    public synchronized void observeEnd(String topicId, TopicPartition partition, long endOffset) {
+        Entry entry = entries.get(new PartitionKey(topicId, partition));
+
+        if (entry != null) {
+            entry.advanceEnd(endOffset);
+        }
+    }
+
+    /**
+     * Number of partitions cached, including those being loaded.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    static class Entry {
+        final CompletableFuture<Bounds> bounds = new CompletableFuture<>();
+        final Instant expiry;
+        long observedEnd = -1;
+
+        Entry(Instant expiry) {
+            this.expiry = expiry;
+        }
+
+        boolean expired(Instant now) {
+            // Entries being loaded remain until the load completes, successfully or not
+            return bounds.isDone() && !now.isBefore(expiry);
+        }
+
+        synchronized void advanceEnd(long endOffset) {
+            observedEnd = Math.max(observedEnd, endOffset);
+        }
+
+        Bounds current() {
+            Bounds loaded = bounds.join();
+
+            synchronized (this) {
+                return observedEnd > loaded.end() ? new Bounds(loaded.beginning(), observedEnd) : loaded;
+            }
+        }
+    }
+}
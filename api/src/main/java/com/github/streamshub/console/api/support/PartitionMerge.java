@@ -0,0 +1,282 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Selects the first {@code limit} elements, in the order given by a
+ * {@linkplain Comparator}, from the records consumed from a number of
+ * partitions. This is useful for building paged data sets from a topic without
+ * sorting every record consumed.
+ *
+ * <p>Each partition's records are held in a separate buffer of at most
+ * {@code limit} elements. Records consumed from a partition usually arrive
+ * already ordered by the comparator (or in the reverse order), so each buffer is
+ * a sorted run that is only appended to. The runs are combined with a k-way heap
+ * merge, both for the {@linkplain #result() final result} and when the buffers
+ * are {@linkplain #trim() trimmed}. Trimming discards every buffered element
+ * ordered after the current {@code limit}th element (the threshold), so the
+ * number of elements retained stays close to {@code limit} rather than growing
+ * to {@code limit} for each partition.
+ *
+ * <p>When a partition's records have so far arrived in comparator order and the
+ * last of them is not before the threshold, no later record from the partition
+ * is expected to be included in the result. Such partitions are reported by
+ * {@linkplain #trim()} so that the caller may stop reading them.
+ *
+ * @param <E> the type of elements merged
+ */
+public class PartitionMerge<E> {
+
+    private final Comparator<? super E> order;
+    private final int limit;
+    private final Map<TopicPartition, Run<E>> runs = new HashMap<>();
+    private final Set<TopicPartition> completed = new HashSet<>();
+    private E threshold;
+
+    public PartitionMerge(Comparator<? super E> order, int limit) {
+        this.order = order;
+        this.limit = limit;
+    }
+
+    /**
+     * Add records consumed from a partition, in the order they were consumed.
+     * Records ordered after the current threshold are discarded immediately.
+     *
+     * @param partition the partition the records were consumed from
+     * @param records   records consumed from the partition
+     */
+    public void addAll(TopicPartition partition, Collection<? extends E> records) {
+        Run<E> run = runs.computeIfAbsent(partition, k -> new Run<>(order, limit));
+
+        for (E rec : records) {
+            if (threshold != null && order.compare(rec, threshold) >= 0) {
+                run.rejected();
+            } else {
+                run.add(rec);
+            }
+        }
+    }
+
+    /**
+     * Discard buffered elements that can no longer be included in the result,
+     * i.e. those ordered after the current {@code limit}th element.
+     *
+     * @return partitions that became complete since the previous call, i.e. no
+     *         later records consumed from them are expected to be included in the
+     *         result
+     */
+    public Set<TopicPartition> trim() {
+        E nth = null;
+        int count = 0;
+
+        for (Iterator<E> merged = merge(); merged.hasNext() && count < limit; count++) {
+            nth = merged.next();
+        }
+
+        if (count < limit) {
+            // Fewer than `limit` elements buffered, nothing to discard
+            return Set.of();
+        }
+
+        threshold = nth;
+        Set<TopicPartition> newlyCompleted = new HashSet<>();
+
+        runs.forEach((partition, run) -> {
+            run.trim(threshold);
+
+            if (run.complete() && completed.add(partition)) {
+                newlyCompleted.add(partition);
+            }
+        });
+
+        return newlyCompleted;
+    }
+
+    /**
+     * The number of elements currently buffered across all partitions.
+     */
+    public int size() {
+        return runs.values().stream().mapToInt(r -> r.buffer.size()).sum();
+    }
+
+    /**
+     * The first {@code limit} elements added, in order.
+     */
+    public List<E> result() {
+        List<E> result = new ArrayList<>(Math.min(limit, size()));
+
+        for (Iterator<E> merged = merge(); merged.hasNext() && result.size() < limit;) {
+            result.add(merged.next());
+        }
+
+        return result;
+    }
+
+    private Iterator<E> merge() {
+        PriorityQueue<Head<E>> heads = new PriorityQueue<>(Math.max(runs.size(), 1), (h1, h2) -> order.compare(h1.element, h2.element));
+
+        for (Run<E> run : runs.values()) {
+            Iterator<E> source = run.iterator();
+
+            if (source.hasNext()) {
+                heads.add(new Head<>(source.next(), source));
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                Head<E> head = heads.remove();
+                E next = head.element;
+
+                if (head.source.hasNext()) {
+                    head.element = head.source.next();
+                    heads.add(head);
+                }
+
+                return next;
+            }
+        };
+    }
+
+    private static class Head<E> {
+        E element;
+        final Iterator<E> source;
+
+        Head(E element, Iterator<E> source) {
+            this.element = element;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Buffer of the elements from a single partition. Appended elements are
+     * expected to arrive in comparator order ({@code ASCENDING}) or the reverse
+     * ({@code DESCENDING}). Anything else leaves the run {@code UNSORTED} until it
+     * is next iterated.
+     */
+    static class Run<E> {
+        enum Direction {
+            UNKNOWN,
+            ASCENDING,
+            DESCENDING,
+            UNSORTED
+        }
+
+        final Comparator<? super E> order;
+        final int limit;
+        final Deque<E> buffer = new ArrayDeque<>();
+        Direction direction = Direction.UNKNOWN;
+        boolean inOrder = true;
+        boolean passedThreshold = false;
+
+        Run(Comparator<? super E> order, int limit) {
+            this.order = order;
+            this.limit = limit;
+        }
+
+        void add(E element) {
+            if (!buffer.isEmpty()) {
+                if (passedThreshold) {
+                    // Record arrived after one already beyond the threshold
+                    inOrder = false;
+                }
+
+                int cmp = order.compare(element, buffer.peekLast());
+                Direction arrival = cmp >= 0 ? Direction.ASCENDING : Direction.DESCENDING;
+
+                if (direction == Direction.UNKNOWN) {
+                    direction = arrival;
+                } else if (direction != arrival && direction != Direction.UNSORTED) {
+                    direction = Direction.UNSORTED;
+                }
+
+                if (arrival != Direction.ASCENDING) {
+                    inOrder = false;
+                }
+            }
+
+            buffer.addLast(element);
+
+            if (buffer.size() > limit) {
+                removeLargest();
+            }
+        }
+
+        void rejected() {
+            passedThreshold = true;
+        }
+
+        boolean complete() {
+            return inOrder && (passedThreshold || buffer.size() >= limit);
+        }
+
+        void trim(E threshold) {
+            sort();
+
+            if (direction == Direction.DESCENDING) {
+                while (!buffer.isEmpty() && order.compare(buffer.peekFirst(), threshold) > 0) {
+                    buffer.removeFirst();
+                    passedThreshold = true;
+                }
+            } else {
+                while (!buffer.isEmpty() && order.compare(buffer.peekLast(), threshold) > 0) {
+                    buffer.removeLast();
+                    passedThreshold = true;
+                }
+            }
+
+            if (!buffer.isEmpty() && order.compare(direction == Direction.DESCENDING ? buffer.peekFirst() : buffer.peekLast(), threshold) == 0) {
+                // This run holds the threshold element itself, later arrivals are ordered after it
+                passedThreshold = true;
+            }
+        }
+
+        Iterator<E> iterator() {
+            sort();
+            return direction == Direction.DESCENDING ? buffer.descendingIterator() : buffer.iterator();
+        }
+
+        private void removeLargest() {
+            sort();
+
+            if (direction == Direction.DESCENDING) {
+                buffer.removeFirst();
+            } else {
+                buffer.removeLast();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void sort() {
+            if (direction != Direction.UNSORTED) {
+                return;
+            }
+
+            E[] elements = (E[]) buffer.toArray();
+            Arrays.sort(elements, order);
+            buffer.clear();
+            buffer.addAll(Arrays.asList(elements));
+            direction = Direction.ASCENDING;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.jboss.logging.Logger;
+
+/**
+ * A cache of long-lived, shared {@linkplain Producer Kafka producers} belonging
+ * to a single {@linkplain KafkaContext}. Unlike consumers, producers are
+ * thread-safe and a single instance is shared by all requests using the same
+ * credentials. When the cluster's configuration provides the credentials, this
+ * means one producer for the cluster.
+ *
+ * <p>Producers created with credentials provided by clients are keyed by the
+ * SASL JAAS configuration (see {@linkplain ConsumerPool}). The number of
+ * producers held is limited by {@code maxSize} and producers not used for the
+ * configured {@code maxIdle} duration are closed, checked each time a producer
+ * is acquired or released. A producer is never closed while a
+ * {@linkplain Lease lease} on it is open. When the cache is full and every
+ * producer is in use, a producer is created outside of the cache and closed
+ * when its lease ends.
+ *
+ * @param <K> producer key type
+ * @param <V> producer value type
+ */
+public class ProducerCache<K, V> implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ProducerCache.class);
+
+    private final String name;
+    private final Function<Map<String, Object>, Producer<K, V>> factory;
+    private final int maxSize;
+    private final Duration maxIdle;
+    private final Supplier<Instant> clock;
+
+    private final Map<String, CachedProducer<K, V>> producers = new LinkedHashMap<>();
+    private boolean closed = false;
+
+    public ProducerCache(String name, Function<Map<String, Object>, Producer<K, V>> factory, int maxSize, Duration maxIdle) {
+        this(name, factory, maxSize, maxIdle, Instant::now);
+    }
+
+    ProducerCache(String name,
+            Function<Map<String, Object>, Producer<K, V>> factory,
+            int maxSize,
+            Duration maxIdle,
+            Supplier<Instant> clock) {
+        this.name = name;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxIdle = maxIdle;
+        this.clock = clock;
+    }
+
+    /**
+     * Acquire a lease on the shared producer for the credentials in the given
+     * configuration, creating the producer if necessary. Concurrent requests for
+     * the same credentials wait for a single producer to be created. The caller
+     * must close the returned lease once the producer is no longer needed.
+     *
+     * @param configs the producer configuration, including any credentials
+     *                provided by the client
+     * @return a lease on the shared producer
+     */
+    public Lease<K, V> acquire(Map<String, Object> configs) {
+        final String key = ConsumerPool.credentialKey(configs);
+        final Instant now = clock.get();
+        final List<CachedProducer<K, V>> evicted = new ArrayList<>();
+        CachedProducer<K, V> entry = null;
+
+        synchronized (this) {
+            removeExpired(now, evicted);
+
+            if (!closed) {
+                entry = producers.get(key);
+
+                if (entry == null && (producers.size() < maxSize || removeLeastRecentlyUsed(evicted))) {
+                    entry = new CachedProducer<>(key, now);
+                    producers.put(key, entry);
+                }
+
+                if (entry != null) {
+                    entry.leases++;
+                }
+            }
+        }
+
+        closeAll(evicted);
+
+        if (entry == null) {
+            LOGGER.debugf("Producer cache for %s is full (maxSize=%d), created un-cached producer", name, maxSize);
+            CachedProducer<K, V> uncached = new CachedProducer<>(key, now);
+            uncached.producer = factory.apply(configs);
+            return new Lease<>(null, uncached);
+        }
+
+        try {
+            entry.initialize(configs, factory);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entry.leases--;
+                if (entry.producer == null && entry.leases == 0) {
+                    producers.remove(key, entry);
+                }
+            }
+            throw e;
+        }
+
+        return new Lease<>(this, entry);
+    }
+
+    /**
+     * Number of producers currently held by the cache.
+     */
+    public synchronized int size() {
+        return producers.size();
+    }
+
+    @Override
+    public void close() {
+        List<CachedProducer<K, V>> closing = new ArrayList<>();
+
+        synchronized (this) {
+            closed = true;
+            Iterator<CachedProducer<K, V>> cursor = producers.values().iterator();
+
+            while (cursor.hasNext()) {
+                CachedProducer<K, V> entry = cursor.next();
+
+                if (entry.leases == 0) {
+                    closing.add(entry);
+                    cursor.remove();
+                }
+            }
+        }
+
+        closeAll(closing);
+    }
+
+    void release(CachedProducer<K, V> entry) {
+        final Instant now = clock.get();
+        final List<CachedProducer<K, V>> expired = new ArrayList<>();
+
+        synchronized (this) {
+            entry.leases--;
+            entry.lastUsed = now;
+
+            if (closed && entry.leases == 0) {
+                producers.remove(entry.key, entry);
+                expired.add(entry);
+            }
+
+            removeExpired(now, expired);
+        }
+
+        closeAll(expired);
+    }
+
+    private void removeExpired(Instant now, List<CachedProducer<K, V>> expired) {
+        Instant idleLimit = now.minus(maxIdle);
+        Iterator<CachedProducer<K, V>> cursor = producers.values().iterator();
+
+        while (cursor.hasNext()) {
+            CachedProducer<K, V> entry = cursor.next();
+
+            if (entry.leases == 0 && entry.lastUsed.isBefore(idleLimit)) {
+                expired.add(entry);
+                cursor.remove();
+            }
+        }
+    }
+
+    private boolean removeLeastRecentlyUsed(List<CachedProducer<K, V>> evicted) {
+        CachedProducer<K, V> oldest = null;
+
+        for (CachedProducer<K, V> entry : producers.values()) {
+            if (entry.leases == 0 && (oldest == null || entry.lastUsed.isBefore(oldest.lastUsed))) {
+                oldest = entry;
+            }
+        }
+
+        if (oldest == null) {
+            return false;
+        }
+
+        producers.remove(oldest.key);
+        evicted.add(oldest);
+        return true;
+    }
+
+    private void closeAll(List<CachedProducer<K, V>> entries) {
+        for (CachedProducer<K, V> entry : entries) {
+            entry.close(name);
+        }
+    }
+
+    static class CachedProducer<K, V> {
+        final String key;
+        Producer<K, V> producer;
+        int leases = 0;
+        Instant lastUsed;
+
+        CachedProducer(String key, Instant lastUsed) {
+            this.key = key;
+            this.lastUsed = lastUsed;
+        }
+
+        synchronized void initialize(Map<String, Object> configs, Function<Map<String, Object>, Producer<K, V>> factory) {
+            if (producer == null) {
+                producer = factory.apply(configs);
+            }
+        }
+
+        synchronized void close(String name) {
+            if (producer != null) {
+                try {
+                    producer.close();
+                } catch (Exception e) {
+                    LOGGER.infof("Exception closing cached producer for %s: %s", name, e.getMessage());
+                }
+                producer = null;
+            }
+        }
+    }
+
+    /**
+     * Shared use of a producer held by a {@linkplain ProducerCache}. The producer
+     * remains open at least until the lease is closed.
+     *
+     * @param <K> producer key type
+     * @param <V> producer value type
+     */
+    public static class Lease<K, V> implements AutoCloseable {
+        private final ProducerCache<K, V> cache;
+        private CachedProducer<K, V> entry;
+
+        Lease(ProducerCache<K, V> cache, CachedProducer<K, V> entry) {
+            this.cache = cache;
+            this.entry = entry;
+        }
+
+        public Producer<K, V> producer() {
+            if (entry == null) {
+                throw new IllegalStateException("Lease has been closed");
+            }
+            return entry.producer;
+        }
+
+        @Override
+        public void close() {
+            CachedProducer<K, V> released = entry;
+            entry = null;
+
+            if (released == null) {
+                return;
+            }
+
+            if (cache != null) {
+                cache.release(released);
+            } else {
+                released.close("un-cached producer");
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import com.github.streamshub.console.api.support.serdes.RecordData;
+
+/**
+ * Cache of the decoded records of the topics belonging to a single
+ * {@linkplain KafkaContext}, keyed by topic ID, partition, and offset. Records
+ * never change once written, so paging back and forth through a topic may be
+ * served from the cache without fetching and decoding the records again.
+ * Keying by topic ID means the records of a deleted topic are never returned for
+ * a re-created topic with the same name.
+ *
+ * <p>Along with each record, the cache holds the offset of the following record
+ * in the partition when it is known. Offsets are not always contiguous (e.g.
+ * compacted topics or transaction markers), so this allows a range of records
+ * to be read from the cache without guessing which offsets exist.
+ *
+ * <p>The cache is bounded by the estimated size of the records held, evicting
+ * the least recently used records first. Counts of hits, misses, and evictions
+ * are kept for metrics.
+ */
+public class RecordCache {
+
+    /**
+     * Estimated size of a cached record excluding its data and headers.
+     */
+    static final long RECORD_OVERHEAD = 256;
+
+    /**
+     * Value of {@linkplain Entry#nextOffset()} when the offset of the following
+     * record is not known.
+     */
+    public static final long UNKNOWN_OFFSET = -1;
+
+    /**
+     * Identifies a single record.
+     */
+    public record Key(String topicId, int partition, long offset) {
+    }
+
+    /**
+     * A cached record.
+     *
+     * @param rec        the decoded record
+     * @param nextOffset the offset following the record, i.e. that of the next
+     *                   record in the partition or the end offset, or
+     *                   {@linkplain #UNKNOWN_OFFSET} when not known
+     * @param size       the estimated size of the record in bytes
+     */
+    public record Entry(ConsumerRecord<RecordData, RecordData> rec, long nextOffset, long size) {
+    }
+
+    private final long maxBytes;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public RecordCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a cached record.
+     *
+     * @return the cached record, or null when not cached
+     */
+    public synchronized Entry get(Key key) {
+        Entry entry = entries.get(key);
+
+        if (entry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Add a decoded record to the cache, evicting the least recently used records
+     * as necessary. Records larger than the cache are not added. An existing
+     * entry for the record is only replaced when the new one knows the offset of
+     * the following record.
+     */
+    public synchronized void put(String topicId, ConsumerRecord<RecordData, RecordData> rec, long nextOffset) {
+        Key key = new Key(topicId, rec.partition(), rec.offset());
+        Entry existing = entries.get(key);
+
+        if (existing != null && (nextOffset == UNKNOWN_OFFSET || existing.nextOffset() != UNKNOWN_OFFSET)) {
+            return;
+        }
+
+        long size = sizeOf(rec);
+
+        if (size > maxBytes) {
+            return;
+        }
+
+        if (existing != null) {
+            entries.remove(key);
+            bytes -= existing.size();
+        }
+
+        var iterator = entries.values().iterator();
+
+        while (bytes + size > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().size();
+            iterator.remove();
+            evictions++;
+        }
+
+        entries.put(key, new Entry(rec, nextOffset, size));
+        bytes += size;
+    }
+
+    /**
+     * Remove every record of the topic, e.g. when the topic has been deleted.
+     */
+    public synchronized void invalidate(String topicId) {
+        var iterator = entries.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+
+            if (entry.getKey().topicId().equals(topicId)) {
+                bytes -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    static long sizeOf(ConsumerRecord<RecordData, RecordData> rec) {
+        long size = RECORD_OVERHEAD + sizeOf(rec.key()) + sizeOf(rec.value());
+
+        for (Header header : rec.headers()) {
+            size += header.key().length() * 2L + (header.value() != null ? header.value().length : 0);
+        }
+
+        return size;
+    }
+
+    static long sizeOf(RecordData data) {
+        if (data == null) {
+            return 0;
+        }
+
+        long size = data.size();
+
+        for (var meta : data.meta.entrySet()) {
+            size += (meta.getKey().length() + (meta.getValue() != null ? meta.getValue().length() : 0)) * 2L;
+        }
+
+        return size;
+    }
+}
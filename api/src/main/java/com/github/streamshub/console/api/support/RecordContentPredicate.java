@@ -0,0 +1,326 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.StreamSupport;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.streamshub.console.api.model.FetchFilter;
+import com.github.streamshub.console.api.support.serdes.RecordData;
+
+/**
+ * Predicate on the content of a record's key, value, or a named header, used to
+ * search a topic. The supported operators are:
+ *
+ * <ul>
+ * <li>{@code contains} - the content includes the operand as a substring
+ * <li>{@code re} - the content contains a match of the operand regular expression
+ * <li>{@code jsonpath} - the content is a JSON document and the value at the path
+ * given by the first operand (e.g. {@code $.customer.ids[0]}) is equal to the
+ * second operand
+ * <li>{@code eq} - the content is equal to the operand, only supported for the
+ * record key
+ * </ul>
+ *
+ * <p>Header filters take the header name as an additional first operand. Because
+ * filter operands are separated by commas, any operands following those
+ * required by the operator are re-joined, allowing commas in the searched text
+ * or expression.
+ *
+ * <p>Content that is not encoded with a schema is matched on the raw record
+ * bytes. Only when a record carries a schema reference is the content decoded
+ * (and then only once per record) before matching. Substring matching on raw
+ * bytes requires no decoding at all.
+ *
+ * <p>Regular expressions are limited to {@value #MAX_PATTERN_LENGTH} characters
+ * and are matched against content that checks the candidate's deadline as it is
+ * read, so that an expression with catastrophic backtracking ends with a
+ * {@link DeadlineExceededException} rather than occupying a search thread
+ * indefinitely.
+ */
+public class RecordContentPredicate implements Predicate<RecordContentPredicate.Candidate> {
+
+    public static final String CONTAINS = "contains";
+    public static final String REGEX = "re";
+    public static final String JSON_PATH = "jsonpath";
+    public static final String EQUALS = "eq";
+    public static final int MAX_PATTERN_LENGTH = 500;
+
+    public enum Target {
+        KEY,
+        VALUE,
+        HEADER
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern JSON_PATH_SEGMENT = Pattern.compile("\\.([^.\\[\\]]+)|\\[(\\d+)\\]|\\['([^']*)'\\]");
+
+    private final Target target;
+    private final String headerName;
+    private final String operator;
+    private final byte[] needle;
+    private final Pattern pattern;
+    private final JsonPointer pointer;
+    private final String expected;
+
+    /**
+     * Create a predicate for the given filter.
+     *
+     * @throws IllegalArgumentException if the operator is not supported or the
+     *                                  operands are missing or invalid
+     */
+    public static RecordContentPredicate of(Target target, FetchFilter filter) {
+        return new RecordContentPredicate(target, filter.getOperator(), filter.getOperands());
+    }
+
+    RecordContentPredicate(Target target, String operator, List<String> operands) {
+        this.target = target;
+        this.operator = operator;
+
+        if (target == Target.HEADER) {
+            requireOperands(operands, 2);
+            this.headerName = operands.get(0);
+            operands = operands.subList(1, operands.size());
+        } else {
+            requireOperands(operands, 1);
+            this.headerName = null;
+        }
+
+        switch (operator) {
+            case CONTAINS:
+                this.needle = String.join(",", operands).getBytes(StandardCharsets.UTF_8);
+                this.pattern = null;
+                this.pointer = null;
+                this.expected = null;
+                break;
+            case REGEX:
+                String regex = String.join(",", operands);
+                if (regex.length() > MAX_PATTERN_LENGTH) {
+                    throw new IllegalArgumentException("Regular expression may not exceed " + MAX_PATTERN_LENGTH + " characters");
+                }
+                this.needle = null;
+                // throws PatternSyntaxException, an IllegalArgumentException
+                this.pattern = Pattern.compile(regex);
+                this.pointer = null;
+                this.expected = null;
+                break;
+            case JSON_PATH:
+                requireOperands(operands, 2);
+                this.needle = null;
+                this.pattern = null;
+                this.pointer = toJsonPointer(operands.get(0));
+                this.expected = String.join(",", operands.subList(1, operands.size()));
+                break;
+            case EQUALS:
+                if (target != Target.KEY) {
+                    throw new IllegalArgumentException("Operator `eq` is only supported for the record key");
+                }
+                this.needle = String.join(",", operands).getBytes(StandardCharsets.UTF_8);
+                this.pattern = null;
+                this.pointer = null;
+                this.expected = null;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operator: " + operator);
+        }
+    }
+
+    private static void requireOperands(List<String> operands, int minimum) {
+        if (operands.size() < minimum) {
+            throw new IllegalArgumentException("At least " + minimum + " operands are required");
+        }
+    }
+
+    /**
+     * Convert a simple JSON path, i.e. consisting only of the root {@code $},
+     * member names, and array indexes, to a JSON pointer.
+     */
+    static JsonPointer toJsonPointer(String path) {
+        if (!path.startsWith("$")) {
+            throw new IllegalArgumentException("JSON path must begin with `$`");
+        }
+
+        StringBuilder pointer = new StringBuilder();
+        var matcher = JSON_PATH_SEGMENT.matcher(path);
+        int position = 1;
+
+        while (position < path.length()) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                throw new IllegalArgumentException("Unsupported JSON path: " + path);
+            }
+
+            String segment = matcher.group(1) != null ? matcher.group(1)
+                    : matcher.group(2) != null ? matcher.group(2)
+                    : matcher.group(3);
+
+            pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+            position = matcher.end();
+        }
+
+        return JsonPointer.compile(pointer.toString());
+    }
+
+    @Override
+    public boolean test(Candidate candidate) {
+        return switch (target) {
+            case KEY -> matches(candidate.keyEncoded() ? data(candidate.key()) : candidate.rec.key(), candidate.deadline);
+            case VALUE -> matches(candidate.valueEncoded() ? data(candidate.value()) : candidate.rec.value(), candidate.deadline);
+            case HEADER -> StreamSupport.stream(candidate.rec.headers().headers(headerName).spliterator(), false)
+                    .map(Header::value)
+                    .anyMatch(value -> matches(value, candidate.deadline));
+        };
+    }
+
+    private static byte[] data(RecordData data) {
+        return data != null ? data.data() : null;
+    }
+
+    boolean matches(byte[] content, Instant deadline) {
+        if (content == null) {
+            return false;
+        }
+
+        return switch (operator) {
+            case CONTAINS -> indexOf(content, needle) >= 0;
+            case EQUALS -> Arrays.equals(content, needle);
+            case REGEX -> pattern.matcher(DeadlineCharSequence.of(new String(content, StandardCharsets.UTF_8), deadline)).find();
+            case JSON_PATH -> matchesJson(content);
+            default -> false;
+        };
+    }
+
+    private boolean matchesJson(byte[] content) {
+        JsonNode node;
+
+        try {
+            node = JSON.readTree(content).at(pointer);
+        } catch (IOException e) {
+            // Not JSON
+            return false;
+        }
+
+        return node.isValueNode() && expected.equals(node.asText());
+    }
+
+    static int indexOf(byte[] content, byte[] target) {
+        if (target.length == 0) {
+            return 0;
+        }
+
+        final byte first = target[0];
+        final int max = content.length - target.length;
+
+        for (int i = 0; i <= max; i++) {
+            if (content[i] == first && matchesAt(content, i, target)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean matchesAt(byte[] content, int offset, byte[] target) {
+        for (int j = 1; j < target.length; j++) {
+            if (content[offset + j] != target[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Thrown when the deadline of a candidate passes while its content is being
+     * matched. The candidate's record has not been fully tested.
+     */
+    public static class DeadlineExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        DeadlineExceededException() {
+            super("Deadline exceeded while matching record content", null, false, false);
+        }
+    }
+
+    /**
+     * Content given to a regular expression matcher, checking the deadline every
+     * {@code CHECK_INTERVAL} characters read. The matcher reads characters
+     * repeatedly when backtracking, so the time spent matching is bounded even
+     * when the content is short.
+     */
+    static final class DeadlineCharSequence implements CharSequence {
+        private static final int CHECK_INTERVAL = 1024;
+
+        private final CharSequence content;
+        private final Instant deadline;
+        private int reads;
+
+        private DeadlineCharSequence(CharSequence content, Instant deadline) {
+            this.content = content;
+            this.deadline = deadline;
+        }
+
+        static CharSequence of(CharSequence content, Instant deadline) {
+            return deadline != null ? new DeadlineCharSequence(content, deadline) : content;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % CHECK_INTERVAL == 0 && !Instant.now().isBefore(deadline)) {
+                throw new DeadlineExceededException();
+            }
+            return content.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return content.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(content.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return content.toString();
+        }
+    }
+
+    /**
+     * A raw record being tested by a search, decoded only when a predicate
+     * requires decoded content or the record is included in the search results.
+     */
+    public static class Candidate extends DecodableRecord {
+        final Instant deadline;
+
+        public Candidate(ConsumerRecord<byte[], byte[]> rec,
+                Deserializer<RecordData> keyDeserializer,
+                Deserializer<RecordData> valueDeserializer) {
+            this(rec, keyDeserializer, valueDeserializer, null);
+        }
+
+        /**
+         * @param deadline time after which matching the content with a regular
+         *                 expression fails with a {@link DeadlineExceededException},
+         *                 or null for no limit
+         */
+        public Candidate(ConsumerRecord<byte[], byte[]> rec,
+                Deserializer<RecordData> keyDeserializer,
+                Deserializer<RecordData> valueDeserializer,
+                Instant deadline) {
+            super(rec, keyDeserializer, valueDeserializer);
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import jakarta.ws.rs.core.MediaType;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import com.github.streamshub.console.api.model.KafkaRecord;
+
+/**
+ * Formats in which a range of records may be exported.
+ *
+ * <ul>
+ * <li>{@code ndjson} - one JSON record (as in the records list response) per line
+ * <li>{@code csv} - one row per record, with a header row naming the columns
+ * <li>{@code binary} - the undecoded records, each written as a sequence of
+ * big-endian, length-prefixed fields (see {@link #writeBinary(DataOutputStream, ConsumerRecord)})
+ * </ul>
+ */
+public enum RecordExportFormat {
+
+    NDJSON("ndjson", MediaType.valueOf("application/x-ndjson"), true),
+    CSV("csv", MediaType.valueOf("text/csv"), true),
+    BINARY("bin", MediaType.APPLICATION_OCTET_STREAM_TYPE, false);
+
+    /**
+     * Record fields that may be exported as CSV columns, in column order.
+     */
+    static final List<String> CSV_FIELDS = List.of(
+            KafkaRecord.Fields.PARTITION,
+            KafkaRecord.Fields.OFFSET,
+            KafkaRecord.Fields.TIMESTAMP,
+            KafkaRecord.Fields.TIMESTAMP_TYPE,
+            KafkaRecord.Fields.HEADERS,
+            KafkaRecord.Fields.KEY,
+            KafkaRecord.Fields.VALUE,
+            KafkaRecord.Fields.SIZE);
+
+    private static final byte[] CSV_DELIMITER = {','};
+    private static final byte[] CSV_LINE_END = {'\r', '\n'};
+    private static final int NULL_LENGTH = -1;
+
+    private final String fileExtension;
+    private final MediaType mediaType;
+    private final boolean decoded;
+
+    RecordExportFormat(String fileExtension, MediaType mediaType, boolean decoded) {
+        this.fileExtension = fileExtension;
+        this.mediaType = mediaType;
+        this.decoded = decoded;
+    }
+
+    public static RecordExportFormat fromValue(String value) {
+        return valueOf(value.toUpperCase());
+    }
+
+    public String value() {
+        return name().toLowerCase();
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Whether the keys and values of the records are decoded for this format.
+     */
+    public boolean decoded() {
+        return decoded;
+    }
+
+    /**
+     * The CSV columns written for the requested record fields.
+     */
+    public static List<String> csvColumns(List<String> fields) {
+        return CSV_FIELDS.stream().filter(fields::contains).toList();
+    }
+
+    public static void writeCsvHeader(OutputStream output, List<String> columns) throws IOException {
+        writeCsvRow(output, columns, Function.identity());
+    }
+
+    /**
+     * Write a record as a CSV row with the given columns. Headers are written as a
+     * JSON object using the given encoder.
+     */
+    public static void writeCsv(OutputStream output,
+            List<String> columns,
+            KafkaRecord rec,
+            Function<Map<String, String>, String> headerEncoder) throws IOException {
+
+        writeCsvRow(output, columns, column -> switch (column) {
+            case KafkaRecord.Fields.PARTITION -> toString(rec.partition());
+            case KafkaRecord.Fields.OFFSET -> toString(rec.offset());
+            case KafkaRecord.Fields.TIMESTAMP -> toString(rec.timestamp());
+            case KafkaRecord.Fields.TIMESTAMP_TYPE -> rec.timestampType();
+            case KafkaRecord.Fields.HEADERS -> rec.headers() != null ? headerEncoder.apply(rec.headers()) : null;
+            case KafkaRecord.Fields.KEY -> rec.key();
+            case KafkaRecord.Fields.VALUE -> rec.value();
+            case KafkaRecord.Fields.SIZE -> toString(rec.size());
+            default -> null;
+        });
+    }
+
+    static void writeCsvRow(OutputStream output, List<String> columns, Function<String, String> values) throws IOException {
+        boolean first = true;
+
+        for (String column : columns) {
+            if (!first) {
+                output.write(CSV_DELIMITER);
+            }
+            first = false;
+
+            String value = values.apply(column);
+
+            if (value != null) {
+                output.write(csvEscape(value).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        output.write(CSV_LINE_END);
+    }
+
+    /**
+     * Quote the value when it contains a delimiter, quote, or line break, doubling
+     * any quotes (RFC 4180).
+     */
+    static String csvEscape(String value) {
+        for (int i = 0, m = value.length(); i < m; i++) {
+            switch (value.charAt(i)) {
+                case ',', '"', '\r', '\n':
+                    return '"' + value.replace("\"", "\"\"") + '"';
+                default:
+                    break;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Write an undecoded record. Each record is written as:
+     *
+     * <pre>
+     * int32  length of the remainder of the record
+     * int32  partition
+     * int64  offset
+     * int64  timestamp (milliseconds since the epoch)
+     * int32  key length, or -1 when null
+     * bytes  key
+     * int32  value length, or -1 when null
+     * bytes  value
+     * int32  header count
+     * header count times:
+     *   int32  header name length
+     *   bytes  header name (UTF-8)
+     *   int32  header value length, or -1 when null
+     *   bytes  header value
+     * </pre>
+     */
+    public static void writeBinary(DataOutputStream output, ConsumerRecord<byte[], byte[]> rec) throws IOException {
+        Header[] headers = rec.headers().toArray();
+        byte[][] headerNames = new byte[headers.length][];
+        int length = 4 + 8 + 8 + sizeOf(rec.key()) + sizeOf(rec.value()) + 4;
+
+        for (int i = 0; i < headers.length; i++) {
+            headerNames[i] = headers[i].key().getBytes(StandardCharsets.UTF_8);
+            length += sizeOf(headerNames[i]) + sizeOf(headers[i].value());
+        }
+
+        output.writeInt(length);
+        output.writeInt(rec.partition());
+        output.writeLong(rec.offset());
+        output.writeLong(rec.timestamp());
+        writeBytes(output, rec.key());
+        writeBytes(output, rec.value());
+        output.writeInt(headers.length);
+
+        for (int i = 0; i < headers.length; i++) {
+            writeBytes(output, headerNames[i]);
+            writeBytes(output, headers[i].value());
+        }
+    }
+
+    static int sizeOf(byte[] bytes) {
+        return 4 + (bytes != null ? bytes.length : 0);
+    }
+
+    static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            output.writeInt(NULL_LENGTH);
+        } else {
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    static String toString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
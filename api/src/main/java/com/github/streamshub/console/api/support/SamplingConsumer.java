@@ -0,0 +1,19 @@
+package com.github.streamshub.console.api.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.inject.Qualifier;
+
+/**
+ * Qualifier for the supplier of pooled raw consumers configured for sampling,
+ * i.e. with a small fetch size per partition, distinguishing it from the
+ * supplier of the general purpose raw consumers of the same type.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE })
+public @interface SamplingConsumer {
+}
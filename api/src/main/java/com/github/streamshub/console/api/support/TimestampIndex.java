@@ -0,0 +1,215 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * Sparse, in-memory index of the offsets found for timestamps in the partitions
+ * of the topics belonging to a single {@linkplain KafkaContext}. The index
+ * answers repeated time-based seeks (e.g. a user scrubbing back and forth
+ * through a topic) without a request to the partition leader.
+ *
+ * <p>Each sample holds a range of timestamps for which the offset of the
+ * earliest record with a timestamp at or after the requested timestamp is known
+ * exactly, i.e. the answer the broker would give. Samples are added from the
+ * answers given by the broker and from the records subsequently consumed in
+ * sequence from that offset. When record timestamps are not in order (e.g.
+ * producer-assigned timestamps), a record only starts a new sample when its
+ * timestamp exceeds that of every earlier record consumed, so the samples remain
+ * exact. Lookups not covered by a sample fall back to the broker.
+ *
+ * <p>Partitions are keyed by topic ID so that the samples of a deleted topic are
+ * never used for a re-created topic with the same name. Samples with offsets
+ * before the beginning of the partition (removed by retention) are discarded.
+ * The number of partitions indexed is limited to {@code maxPartitions}, evicting
+ * the least recently used, and the samples of each partition are thinned to
+ * every other sample once {@code maxSamples} is reached.
+ */
+public class TimestampIndex {
+
+    /**
+     * Minimum number of offsets between the samples taken from the records
+     * consumed.
+     */
+    static final int SAMPLE_STRIDE = 16;
+
+    private final int maxSamples;
+    private final Map<PartitionKey, PartitionIndex> partitions;
+
+    public TimestampIndex(int maxPartitions, int maxSamples) {
+        this.maxSamples = maxSamples;
+        this.partitions = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PartitionKey, PartitionIndex> eldest) {
+                return size() > maxPartitions;
+            }
+        };
+    }
+
+    /**
+     * Find the offset of the earliest record in the partition with a timestamp
+     * at or after the given timestamp, if known.
+     *
+     * @param topicId         the ID of the topic
+     * @param partition       the partition number
+     * @param timestamp       the timestamp searched for, in milliseconds
+     * @param beginningOffset the current beginning offset of the partition
+     * @return the offset, or empty when the offset is not known
+     */
+    public synchronized OptionalLong offsetForTime(String topicId, int partition, long timestamp, long beginningOffset) {
+        PartitionIndex index = partitions.get(new PartitionKey(topicId, partition));
+
+        if (index == null) {
+            return OptionalLong.empty();
+        }
+
+        index.discardBefore(beginningOffset);
+        return index.offsetForTime(timestamp);
+    }
+
+    /**
+     * Add the answer given by the broker for a timestamp search, i.e. the
+     * earliest record with a timestamp at or after {@code timestamp} is at
+     * {@code offset} and has timestamp {@code recordTimestamp}.
+     */
+    public void put(String topicId, int partition, long timestamp, long offset, long recordTimestamp) {
+        put(new PartitionKey(topicId, partition), timestamp, recordTimestamp, offset);
+    }
+
+    /**
+     * Track the records consumed in sequence from the offset of the earliest
+     * record with a timestamp at or after {@code timestamp}, as given by the
+     * broker or by this index.
+     *
+     * @return a tracker to be given each record consumed from the partition
+     */
+    public Tracker track(String topicId, int partition, long timestamp, long offset) {
+        return new Tracker(new PartitionKey(topicId, partition), offset, timestamp);
+    }
+
+    /**
+     * Number of partitions indexed.
+     */
+    public synchronized int size() {
+        return partitions.size();
+    }
+
+    synchronized void put(PartitionKey key, long from, long to, long offset) {
+        if (from > to) {
+            return;
+        }
+
+        partitions.computeIfAbsent(key, k -> new PartitionIndex()).put(from, to, offset, maxSamples);
+    }
+
+    synchronized int sampleCount(String topicId, int partition) {
+        PartitionIndex index = partitions.get(new PartitionKey(topicId, partition));
+        return index != null ? index.samples.size() : 0;
+    }
+
+    record PartitionKey(String topicId, int partition) {
+    }
+
+    record Sample(long to, long offset) {
+    }
+
+    static class PartitionIndex {
+        /**
+         * Samples keyed by the first timestamp of their range
+         */
+        final TreeMap<Long, Sample> samples = new TreeMap<>();
+
+        void put(long from, long to, long offset, int maxSamples) {
+            Sample existing = samples.get(from);
+
+            if (existing != null && existing.to() >= to) {
+                return;
+            }
+
+            samples.put(from, new Sample(to, offset));
+
+            if (samples.size() > maxSamples) {
+                thin();
+            }
+        }
+
+        OptionalLong offsetForTime(long timestamp) {
+            var entry = samples.floorEntry(timestamp);
+
+            if (entry != null && timestamp <= entry.getValue().to()) {
+                return OptionalLong.of(entry.getValue().offset());
+            }
+
+            return OptionalLong.empty();
+        }
+
+        void discardBefore(long beginningOffset) {
+            samples.values().removeIf(sample -> sample.offset() < beginningOffset);
+        }
+
+        private void thin() {
+            Iterator<Sample> cursor = samples.values().iterator();
+            boolean remove = false;
+
+            while (cursor.hasNext()) {
+                cursor.next();
+
+                if (remove) {
+                    cursor.remove();
+                }
+
+                remove = !remove;
+            }
+        }
+    }
+
+    /**
+     * Adds samples to the index for the records consumed in sequence from the
+     * offset found for a timestamp search. Not thread-safe, each tracker is used
+     * by a single consumer.
+     */
+    public class Tracker {
+        private final PartitionKey key;
+        private long lastOffset;
+        private long lastSampleOffset;
+        private long maxTimestamp;
+
+        Tracker(PartitionKey key, long offset, long timestamp) {
+            this.key = key;
+            // Every record before the offset has a timestamp before the one searched for
+            this.lastOffset = offset - 1;
+            this.lastSampleOffset = offset;
+            this.maxTimestamp = timestamp - 1;
+        }
+
+        /**
+         * Observe a record consumed from the partition. Records must be observed in
+         * the order they were consumed, without skipping any.
+         *
+         * @param offset    the record's offset
+         * @param timestamp the record's timestamp
+         */
+        public void observe(long offset, long timestamp) {
+            if (offset <= lastOffset) {
+                return;
+            }
+
+            lastOffset = offset;
+
+            if (timestamp > maxTimestamp) {
+                // This is the earliest record with a timestamp in (maxTimestamp, timestamp]
+                if (offset - lastSampleOffset >= SAMPLE_STRIDE) {
+                    put(key, maxTimestamp + 1, timestamp, offset);
+                    lastSampleOffset = offset;
+                }
+
+                maxTimestamp = timestamp;
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.apache.kafka.clients.admin.TopicListing;
+import org.apache.kafka.common.Uuid;
+import org.jboss.logging.Logger;
+
+/**
+ * Cache of the topic listings of a single {@linkplain KafkaContext}, indexed by
+ * topic name and by topic ID. Listing the topics of a large cluster gives a
+ * metadata response of several megabytes, previously requested each time a
+ * topic ID was converted to its name.
+ *
+ * <p>Once {@linkplain #start() started}, the listings are refreshed in the
+ * background on the given executor every {@code refreshInterval}, delayed by a
+ * random fraction (up to {@code jitter}) of the interval so that the clusters
+ * of the console are not refreshed in step. A snapshot that has not been refreshed within twice the
+ * interval, e.g. because the background refreshes failed, is not used and the
+ * listings are loaded again by the next caller. Concurrent loads are collapsed
+ * into the single load in flight, and a failed load is not cached.
+ *
+ * <p>Topics created or deleted by the console {@linkplain #invalidate()
+ * invalidate} the cache. Topics created or deleted by other clients are only
+ * seen after the next refresh, so callers look up topics missing from the
+ * snapshot directly. Likewise, the ID of a topic deleted by another client
+ * remains mapped to its name until the next refresh, although the name may
+ * already have been given to a new topic.
+ */
+public class TopicMetadataCache implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(TopicMetadataCache.class);
+
+    /**
+     * The topic listings of the cluster at the time they were loaded.
+     */
+    public static class Snapshot {
+        final List<TopicListing> listings;
+        final Map<String, TopicListing> byName;
+        final Map<Uuid, TopicListing> byId;
+        final long loadedAt;
+
+        Snapshot(Collection<TopicListing> listings, long loadedAt) {
+            this.listings = List.copyOf(listings);
+            this.byName = new HashMap<>(listings.size() * 4 / 3 + 1);
+            this.byId = new HashMap<>(listings.size() * 4 / 3 + 1);
+            this.loadedAt = loadedAt;
+
+            for (TopicListing listing : listings) {
+                byName.put(listing.name(), listing);
+                byId.put(listing.topicId(), listing);
+            }
+        }
+
+        public List<TopicListing> listings() {
+            return listings;
+        }
+
+        public Optional<TopicListing> byName(String topicName) {
+            return Optional.ofNullable(byName.get(topicName));
+        }
+
+        public Optional<TopicListing> byId(Uuid topicId) {
+            return Optional.ofNullable(byId.get(topicId));
+        }
+    }
+
+    private final String name;
+    private final Supplier<CompletionStage<Collection<TopicListing>>> loader;
+    private final Duration refreshInterval;
+    private final double jitter;
+    private final LongSupplier nanoTime;
+    private final Executor executor;
+
+    private Snapshot snapshot;
+    private CompletableFuture<Snapshot> loading;
+    private long generation;
+    private CompletableFuture<Void> nextRefresh;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * @param name            name of the cluster, for logging
+     * @param loader          supplies the listings of all topics in the
+     *                        cluster, including internal topics
+     * @param refreshInterval period of the background refresh
+     * @param jitter          maximum fraction of the interval added at random
+     *                        to each refresh delay
+     * @param executor        executor of the background refreshes
+     */
+    public TopicMetadataCache(String name,
+            Supplier<CompletionStage<Collection<TopicListing>>> loader,
+            Duration refreshInterval,
+            double jitter,
+            Executor executor) {
+        this(name, loader, refreshInterval, jitter, executor, System::nanoTime);
+    }
+
+    TopicMetadataCache(String name,
+            Supplier<CompletionStage<Collection<TopicListing>>> loader,
+            Duration refreshInterval,
+            double jitter,
+            Executor executor,
+            LongSupplier nanoTime) {
+        this.name = name;
+        this.loader = loader;
+        this.refreshInterval = refreshInterval;
+        this.jitter = jitter;
+        this.executor = executor;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Start refreshing the listings in the background, beginning with an
+     * initial load.
+     */
+    public synchronized void start() {
+        if (started || closed) {
+            return;
+        }
+
+        started = true;
+        nextRefresh = CompletableFuture.runAsync(this::refreshAndReschedule, executor);
+    }
+
+    /**
+     * Get the current snapshot of the listings, loading them when none is
+     * cached or the snapshot is out of date.
+     */
+    public CompletionStage<Snapshot> snapshot() {
+        synchronized (this) {
+            if (snapshot != null && current(snapshot)) {
+                return CompletableFuture.completedFuture(snapshot);
+            }
+        }
+
+        return load();
+    }
+
+    /**
+     * Replace the cached listings with a complete listing of the cluster's topics
+     * obtained by the caller, e.g. to respond to a request listing the topics.
+     */
+    public void update(Collection<TopicListing> listings) {
+        Snapshot updated = new Snapshot(listings, nanoTime.getAsLong());
+
+        synchronized (this) {
+            snapshot = updated;
+        }
+    }
+
+    /**
+     * Discard the cached listings, e.g. after a topic has been created or
+     * deleted. The next caller loads the listings again, and a load already in
+     * flight is not used to replace the discarded snapshot since it may not
+     * reflect the change.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+        loading = null;
+    }
+
+    /**
+     * Whether a snapshot is cached, regardless of its age.
+     */
+    synchronized boolean cached() {
+        return snapshot != null;
+    }
+
+    @Override
+    public void close() {
+        CompletableFuture<Void> pending;
+
+        synchronized (this) {
+            closed = true;
+            pending = nextRefresh;
+            nextRefresh = null;
+        }
+
+        if (pending != null) {
+            // A refresh not yet started is not run once cancelled
+            pending.cancel(false);
+        }
+    }
+
+    CompletionStage<Snapshot> load() {
+        final CompletableFuture<Snapshot> pending;
+        final long loadGeneration;
+
+        synchronized (this) {
+            if (loading != null) {
+                return loading;
+            }
+
+            pending = new CompletableFuture<>();
+            loading = pending;
+            loadGeneration = generation;
+        }
+
+        final long startedAt = nanoTime.getAsLong();
+        LOGGER.tracef("Loading topic listings of %s", name);
+
+        CompletionStage<Collection<TopicListing>> listings;
+
+        try {
+            listings = loader.get();
+        } catch (RuntimeException e) {
+            listings = CompletableFuture.failedFuture(e);
+        }
+
+        listings.whenComplete((result, error) -> {
+            synchronized (this) {
+                if (loading == pending) {
+                    loading = null;
+                }
+            }
+
+            if (error != null) {
+                pending.completeExceptionally(error);
+                return;
+            }
+
+            Snapshot loaded = new Snapshot(result, startedAt);
+
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    snapshot = loaded;
+                }
+            }
+
+            pending.complete(loaded);
+        });
+
+        return pending;
+    }
+
+    private boolean current(Snapshot cached) {
+        return nanoTime.getAsLong() - cached.loadedAt < refreshInterval.multipliedBy(2).toNanos();
+    }
+
+    private void refreshAndReschedule() {
+        load().whenComplete((result, error) -> {
+            if (error != null) {
+                LOGGER.debugf("Failed to refresh topic listings of %s: %s", name, error.getMessage());
+            }
+
+            synchronized (this) {
+                if (!closed) {
+                    nextRefresh = CompletableFuture.runAsync(this::refreshAndReschedule,
+                            CompletableFuture.delayedExecutor(nextDelay(), TimeUnit.NANOSECONDS, executor));
+                }
+            }
+        });
+    }
+
+    long nextDelay() {
+        long interval = refreshInterval.toNanos();
+        return interval + (long) (interval * jitter * ThreadLocalRandom.current().nextDouble());
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.kafka.common.Uuid;
+
+/**
+ * Cache of the status and number of partitions of the topics belonging to a
+ * single {@linkplain KafkaContext}, giving the summary of a list of topics.
+ * The summary covers every topic matching the filters of the request, although
+ * only the topics of the requested page are returned. Rather than describing
+ * all of the topics for each page, the statuses of topics described by one
+ * request are used by the requests that follow for a short time (the
+ * {@code ttl}).
+ *
+ * <p>Entries are keyed by topic ID, so that the status of a topic deleted and
+ * re-created with the same name is never given for the new topic. Expired
+ * entries are removed each time the cache is accessed.
+ */
+public class TopicStatusCache {
+
+    /**
+     * The status of a topic as given by its partitions.
+     *
+     * @param status        the status of the topic, e.g. {@code FullyReplicated}
+     * @param numPartitions the number of partitions in the topic
+     */
+    public record Status(String status, int numPartitions) {
+    }
+
+    private record Entry(Status status, Instant expiry) {
+    }
+
+    private final Duration ttl;
+    private final Supplier<Instant> clock;
+    private final Map<Uuid, Entry> entries = new HashMap<>();
+
+    public TopicStatusCache(Duration ttl) {
+        this(ttl, Instant::now);
+    }
+
+    TopicStatusCache(Duration ttl, Supplier<Instant> clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the cached statuses of the given topics. Topics not cached, or with an
+     * expired status, are absent from the result.
+     */
+    public synchronized Map<Uuid, Status> get(Collection<Uuid> topicIds) {
+        final Instant now = clock.get();
+        entries.values().removeIf(e -> !now.isBefore(e.expiry()));
+
+        Map<Uuid, Status> result = new HashMap<>(topicIds.size() * 4 / 3 + 1);
+
+        for (Uuid topicId : topicIds) {
+            Entry entry = entries.get(topicId);
+
+            if (entry != null) {
+                result.put(topicId, entry.status());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Cache the status of a topic just described, replacing any cached status.
+     */
+    public synchronized void put(Uuid topicId, Status status) {
+        entries.put(topicId, new Entry(status, clock.get().plus(ttl)));
+    }
+
+    /**
+     * Number of topics cached, including those expired but not yet removed.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
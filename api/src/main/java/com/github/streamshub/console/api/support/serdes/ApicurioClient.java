@@ -1,16 +1,26 @@
 package com.github.streamshub.console.api.support.serdes;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import jakarta.enterprise.inject.spi.CDI;
@@ -21,9 +31,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.github.streamshub.console.config.SchemaRegistryConfig;
 
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
 import io.apicurio.registry.rest.client.impl.ErrorHandler;
 import io.apicurio.rest.client.auth.Auth;
 import io.apicurio.rest.client.error.RestClientErrorHandler;
+import io.apicurio.rest.client.request.Operation;
 import io.apicurio.rest.client.request.Request;
 import io.apicurio.rest.client.spi.ApicurioHttpClient;
 import io.apicurio.rest.client.util.RegistryDateDeserializer;
@@ -39,35 +51,72 @@ import static java.util.Objects.requireNonNull;
  * with awareness of Quarkus TLS registry configuration and removing other
  * unused options for mTLS keystores, headers, etc.
  *
+ * <p>Requests are sent asynchronously, and the lookup of schema content is
+ * available as a {@linkplain CompletionStage} with
+ * {@linkplain #getSchemaContent(ArtifactReference)}. The synchronous
+ * {@linkplain #sendRequest(Request)} used by the Apicurio
+ * {@code RegistryClient} only waits for its own response. In addition:
+ *
+ * <ul>
+ * <li>Concurrent GET requests for the same resource are collapsed into the
+ * single request in flight, each caller reading the shared response body.
+ * <li>The number of requests in flight is limited to
+ * {@code maxConcurrentRequests}, further requests waiting in order for one to
+ * complete.
+ * <li>HTTP/2 is used when the registry supports it, multiplexing requests over
+ * a single connection, falling back to HTTP/1.1 otherwise.
+ * </ul>
+ *
  * @see https://github.com/Apicurio/apicurio-common-rest-client/blob/0868773f61e33d40dcac88608aa111e26ab71bc7/rest-client-jdk/src/main/java/io/apicurio/rest/client/JdkHttpClient.java
  */
 public class ApicurioClient implements ApicurioHttpClient {
 
     public static final String INVALID_EMPTY_HTTP_KEY = "";
+    private static final String DEFAULT_GROUP = "default";
+
     private final HttpClient client;
     private final String endpoint;
     private final Auth auth;
     private final RestClientErrorHandler errorHandler;
+    private final RequestLimiter limiter;
+    private final Map<SharedRequest, CompletableFuture<RawResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Identifies a GET request that may be shared by concurrent callers.
+     */
+    record SharedRequest(URI uri, Map<String, String> headers) {
+    }
+
+    /**
+     * Response with its body fully read, allowing it to be read by each caller
+     * sharing the request.
+     */
+    record RawResponse(int statusCode, byte[] body) {
+        boolean isFailure() {
+            return statusCode / 100 != 2;
+        }
+    }
 
     private static final ThreadLocal<Map<String, String>> HEADERS = ThreadLocal.withInitial(Collections::emptyMap);
 
-    public ApicurioClient(SchemaRegistryConfig config) {
+    public ApicurioClient(SchemaRegistryConfig config, HttpClient.Version version, int maxConcurrentRequests) {
         String url = config.getUrl();
 
         if (!url.endsWith("/")) {
             url += "/";
         }
 
-        final HttpClient.Builder httpClientBuilder = handleConfiguration(config);
+        final HttpClient.Builder httpClientBuilder = handleConfiguration(config, version);
         this.endpoint = url;
         this.auth = null;
         this.client = httpClientBuilder.build();
         this.errorHandler = new ErrorHandler();
+        this.limiter = new RequestLimiter(maxConcurrentRequests);
     }
 
-    private HttpClient.Builder handleConfiguration(SchemaRegistryConfig config) {
+    private HttpClient.Builder handleConfiguration(SchemaRegistryConfig config, HttpClient.Version version) {
         HttpClient.Builder clientBuilder = HttpClient.newBuilder();
-        clientBuilder.version(HttpClient.Version.HTTP_1_1);
+        clientBuilder.version(version);
 
         var tlsConfig = getTlsConfiguration(config.getName());
 
@@ -92,24 +141,40 @@ public class ApicurioClient implements ApicurioHttpClient {
     @Override
     public <T> T sendRequest(Request<T> request) {
         try {
-            requireNonNull(request.getOperation(), "Request operation cannot be null");
-            requireNonNull(request.getResponseType(), "Response type cannot be null");
+            return sendRequestAsync(request).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-            final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(UriUtil.buildURI(endpoint + request.getRequestPath(), request.getQueryParams(), request.getPathParams()));
+    /**
+     * Send a request without waiting for the response.
+     *
+     * @return stage completed with the response body converted to the
+     *         request's response type, or completed exceptionally with the error
+     *         given by the registry's error handler
+     */
+    public <T> CompletionStage<T> sendRequestAsync(Request<T> request) {
+        requireNonNull(request.getOperation(), "Request operation cannot be null");
+        requireNonNull(request.getResponseType(), "Response type cannot be null");
 
-            //Add current request headers
-            HEADERS.get().forEach(requestBuilder::header);
-            HEADERS.remove();
+        final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(UriUtil.buildURI(endpoint + request.getRequestPath(), request.getQueryParams(), request.getPathParams()));
 
-            Map<String, String> headers = request.getHeaders();
-            if (this.auth != null) {
-                //make headers mutable...
-                headers = new HashMap<>(headers);
-                this.auth.apply(headers);
-            }
-            headers.forEach(requestBuilder::header);
+        //Add current request headers, overridden by those of the request itself
+        Map<String, String> headers = new HashMap<>(HEADERS.get());
+        HEADERS.remove();
+        headers.putAll(request.getHeaders());
 
+        if (this.auth != null) {
+            this.auth.apply(headers);
+        }
+        headers.forEach(requestBuilder::header);
+
+        try {
             switch (request.getOperation()) {
                 case GET:
                     requestBuilder.GET();
@@ -130,15 +195,88 @@ public class ApicurioClient implements ApicurioHttpClient {
                 default:
                     throw new IllegalStateException("Operation not allowed");
             }
-
-            return client.sendAsync(requestBuilder.build(), new BodyHandler<>(request.getResponseType(), errorHandler))
-                    .join()
-                    .body()
-                    .get();
-
         } catch (IOException e) {
             throw errorHandler.parseError(e);
         }
+
+        HttpRequest httpRequest = requestBuilder.build();
+        CompletableFuture<RawResponse> response;
+
+        if (request.getOperation() == Operation.GET) {
+            response = sendShared(new SharedRequest(httpRequest.uri(), Map.copyOf(headers)), httpRequest);
+        } else {
+            response = send(httpRequest);
+        }
+
+        return response.thenApply(raw -> BodyHandler.readBody(raw, request.getResponseType(), errorHandler));
+    }
+
+    /**
+     * Retrieve the raw content of the schema identified by the reference, i.e.
+     * by its global ID, content ID, or artifact coordinates. The latest version
+     * of the artifact is retrieved when the reference does not give a version.
+     *
+     * @return stage completed with the schema content, or completed
+     *         exceptionally with the registry's error, e.g. a
+     *         {@linkplain io.apicurio.registry.rest.client.exception.NotFoundException NotFoundException}
+     */
+    public CompletionStage<byte[]> getSchemaContent(ArtifactReference reference) {
+        String path;
+
+        if (reference.getGlobalId() != null && reference.getGlobalId() != 0) {
+            path = "ids/globalIds/" + reference.getGlobalId();
+        } else if (reference.getContentId() != null && reference.getContentId() != 0) {
+            path = "ids/contentIds/" + reference.getContentId();
+        } else if (reference.getArtifactId() != null) {
+            String groupId = reference.getGroupId() != null ? reference.getGroupId() : DEFAULT_GROUP;
+            path = "groups/" + encode(groupId) + "/artifacts/" + encode(reference.getArtifactId());
+
+            if (reference.getVersion() != null) {
+                path += "/versions/" + encode(reference.getVersion());
+            }
+        } else {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Artifact reference has no identifier"));
+        }
+
+        HttpRequest httpRequest = HttpRequest.newBuilder().uri(URI.create(endpoint + path)).GET().build();
+
+        return sendShared(new SharedRequest(httpRequest.uri(), Collections.emptyMap()), httpRequest)
+                .thenApply(raw -> {
+                    if (raw.isFailure()) {
+                        throw errorHandler.handleErrorResponse(new ByteArrayInputStream(raw.body()), raw.statusCode());
+                    }
+                    return raw.body();
+                });
+    }
+
+    private static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private CompletableFuture<RawResponse> sendShared(SharedRequest key, HttpRequest httpRequest) {
+        CompletableFuture<RawResponse> pending = new CompletableFuture<>();
+        CompletableFuture<RawResponse> existing = inFlight.putIfAbsent(key, pending);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        send(httpRequest).whenComplete((response, error) -> {
+            inFlight.remove(key, pending);
+
+            if (error != null) {
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(response);
+            }
+        });
+
+        return pending;
+    }
+
+    private CompletableFuture<RawResponse> send(HttpRequest httpRequest) {
+        return limiter.submit(() -> client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> new RawResponse(response.statusCode(), response.body())));
     }
 
     @Override
@@ -157,64 +295,141 @@ public class ApicurioClient implements ApicurioHttpClient {
     }
 
     /**
-     * From {@code io.apicurio.rest.client.handler.BodyHandler}
+     * Limits the number of requests in flight, starting waiting requests in the
+     * order submitted as earlier requests complete.
+     *
+     * <p>Requests are started by a single thread at a time, in a loop. A request
+     * completing while it is started (e.g. failing immediately) releases its slot
+     * to that loop rather than starting the next request itself, so a long queue
+     * of such requests never deepens the stack.
+     */
+    static class RequestLimiter {
+        private final int maxConcurrent;
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int active = 0;
+        private boolean starting = false;
+
+        RequestLimiter(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+
+            Runnable start = () -> {
+                CompletableFuture<T> running;
+
+                try {
+                    running = task.get();
+                } catch (RuntimeException e) {
+                    running = CompletableFuture.failedFuture(e);
+                }
+
+                running.whenComplete((value, error) -> {
+                    release();
+
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            };
+
+            synchronized (this) {
+                waiting.add(start);
+            }
+
+            startWaiting();
+            return result;
+        }
+
+        private void release() {
+            synchronized (this) {
+                active--;
+            }
+
+            startWaiting();
+        }
+
+        /**
+         * Start waiting requests while below the limit, unless another call is
+         * already doing so, in which case that call starts them.
+         */
+        private void startWaiting() {
+            synchronized (this) {
+                if (starting) {
+                    return;
+                }
+                starting = true;
+            }
+
+            while (true) {
+                Runnable next;
+
+                synchronized (this) {
+                    if (active >= maxConcurrent || waiting.isEmpty()) {
+                        starting = false;
+                        return;
+                    }
+
+                    next = waiting.poll();
+                    active++;
+                }
+
+                next.run();
+            }
+        }
+
+        synchronized int active() {
+            return active;
+        }
+
+        synchronized int waiting() {
+            return waiting.size();
+        }
+    }
+
+    /**
+     * From {@code io.apicurio.rest.client.handler.BodyHandler}, reading a body
+     * already received rather than subscribing to it.
      *
      * @see https://github.com/Apicurio/apicurio-common-rest-client/blob/0868773f61e33d40dcac88608aa111e26ab71bc7/rest-client-jdk/src/main/java/io/apicurio/rest/client/handler/BodyHandler.java
      */
-    private static class BodyHandler<W> implements HttpResponse.BodyHandler<Supplier<W>> {
+    private static class BodyHandler {
 
-        private final TypeReference<W> wClass;
-        private final RestClientErrorHandler errorHandler;
         private static final ObjectMapper MAPPER = new ObjectMapper();
         static {
             SimpleModule module = new SimpleModule("Custom date handler");
             module.addDeserializer(Date.class, new RegistryDateDeserializer());
             MAPPER.registerModule(module);
-        }
-
-        public BodyHandler(TypeReference<W> wClass, RestClientErrorHandler errorHandler) {
-            this.wClass = wClass;
-            this.errorHandler = errorHandler;
             MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         }
 
-        @Override
-        public HttpResponse.BodySubscriber<Supplier<W>> apply(HttpResponse.ResponseInfo responseInfo) {
-            return asJSON(wClass, responseInfo, errorHandler);
-        }
-
-        public static <W> HttpResponse.BodySubscriber<Supplier<W>> asJSON(TypeReference<W> targetType, HttpResponse.ResponseInfo responseInfo, RestClientErrorHandler errorHandler) {
-            HttpResponse.BodySubscriber<InputStream> upstream = HttpResponse.BodySubscribers.ofInputStream();
-            return HttpResponse.BodySubscribers.mapping(
-                    upstream,
-                    inputStream -> toSupplierOfType(inputStream, targetType, responseInfo, errorHandler));
+        private BodyHandler() {
         }
 
         @SuppressWarnings("unchecked")
-        public static <W> Supplier<W> toSupplierOfType(InputStream body, TypeReference<W> targetType, HttpResponse.ResponseInfo responseInfo, RestClientErrorHandler errorHandler) {
-            return () -> {
-                try {
-                    if (isFailure(responseInfo)) {
-                        throw errorHandler.handleErrorResponse(body, responseInfo.statusCode());
+        static <W> W readBody(RawResponse response, TypeReference<W> targetType, RestClientErrorHandler errorHandler) {
+            InputStream body = new ByteArrayInputStream(response.body());
+
+            try {
+                if (response.isFailure()) {
+                    throw errorHandler.handleErrorResponse(body, response.statusCode());
+                } else {
+                    final String typeName = targetType.getType().getTypeName();
+                    if (typeName.contains("InputStream")) {
+                        return (W) body;
+                    } else if (typeName.contains("Void")) {
+                        //Intended null return
+                        return null;
                     } else {
-                        final String typeName = targetType.getType().getTypeName();
-                        if (typeName.contains("InputStream")) {
-                            return (W) body;
-                        } else if (typeName.contains("Void")) {
-                            //Intended null return
-                            return null;
-                        } else {
-                            return MAPPER.readValue(body, targetType);
-                        }
+                        return MAPPER.readValue(body, targetType);
                     }
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
                 }
-            };
-        }
-
-        private static boolean isFailure(HttpResponse.ResponseInfo responseInfo) {
-            return responseInfo.statusCode() / 100 != 2;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
     }
 }
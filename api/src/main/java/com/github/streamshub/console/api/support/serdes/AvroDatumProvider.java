@@ -3,49 +3,191 @@ package com.github.streamshub.console.api.support.serdes;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericDatumWriter;
-import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
 import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
-import org.apache.avro.io.Encoder;
 import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.io.JsonDecoder;
+import org.apache.avro.io.JsonEncoder;
 
 import io.apicurio.registry.serde.avro.DefaultAvroDatumProvider;
 
 /**
  * Provides a reader and writer to convert JSON to and from Avro format using a provided
  * Avro schema.
+ *
+ * <p>The readers, writers, and JSON encoders/decoders of a schema are expensive to
+ * create - each walks the schema, and the JSON encoder and decoder build a grammar
+ * from it - so they are created once per schema and held by a {@linkplain SchemaCodec}
+ * shared by all threads. Up to {@value #MAX_CACHED_SCHEMAS} codecs are cached,
+ * evicting the longest cached first, and a codec already cached is found without
+ * locking. The stateful JSON encoder and decoder of a codec, the output buffer, and
+ * the binary decoder used by {@link AvroDeserializer} are reused by each thread, so
+ * converting a record allocates little more than its result.
  */
 public class AvroDatumProvider extends DefaultAvroDatumProvider<RecordData> {
+
+    static final int MAX_CACHED_SCHEMAS = 256;
+
+    /**
+     * Output buffers grown beyond this size by a large record are not kept for
+     * reuse.
+     */
+    static final int MAX_REUSED_BUFFER = 1024 * 1024;
+
+    /**
+     * Codecs keyed by schema. Avro caches a schema's hash code and compares the
+     * instance first, so lookups of a schema already parsed by the resolver do not
+     * walk the schema.
+     */
+    private static final Map<Schema, SchemaCodec> CODECS = new ConcurrentHashMap<>();
+
+    /**
+     * Schemas of the cached codecs, in the order cached.
+     */
+    private static final Queue<Schema> CODEC_ORDER = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<ThreadBuffers> BUFFERS = ThreadLocal.withInitial(ThreadBuffers::new);
+
+    /**
+     * Output buffer and binary decoder reused by a thread for any schema.
+     */
+    static class ThreadBuffers {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryDecoder decoder;
+
+        BinaryDecoder decoder(byte[] data, int offset, int length) {
+            decoder = DecoderFactory.get().binaryDecoder(data, offset, length, decoder);
+            return decoder;
+        }
+
+        ByteArrayOutputStream output() {
+            if (output.size() > MAX_REUSED_BUFFER) {
+                output = new ByteArrayOutputStream();
+            } else {
+                output.reset();
+            }
+            return output;
+        }
+    }
+
+    /**
+     * Reader, writer, and JSON conversion for a single schema. The reader and
+     * writer are thread-safe, the JSON encoder and decoder are held per thread.
+     */
+    static class SchemaCodec {
+        final Schema schema;
+        final GenericDatumReader<Object> reader;
+        final GenericDatumWriter<Object> writer;
+        private final ThreadLocal<JsonEncoder> jsonEncoder;
+        private final ThreadLocal<JsonDecoder> jsonDecoder;
+
+        SchemaCodec(Schema schema) {
+            this.schema = schema;
+            this.reader = new GenericDatumReader<>(schema);
+            this.writer = new GenericDatumWriter<>(schema);
+            this.jsonEncoder = ThreadLocal.withInitial(() -> {
+                try {
+                    return EncoderFactory.get().jsonEncoder(schema, OutputStream.nullOutputStream());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            this.jsonDecoder = ThreadLocal.withInitial(() -> {
+                try {
+                    return DecoderFactory.get().jsonDecoder(schema, new ByteArrayInputStream(new byte[0]));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        /**
+         * Read a datum from its JSON encoding.
+         */
+        Object fromJson(byte[] json) throws IOException {
+            JsonDecoder decoder = jsonDecoder.get().configure(new ByteArrayInputStream(json));
+            return reader.read(null, decoder);
+        }
+
+        /**
+         * Write a datum in its JSON encoding.
+         */
+        byte[] toJson(Object datum) throws IOException {
+            ByteArrayOutputStream output = BUFFERS.get().output();
+            // Re-configuring gives a new generator, without a separator from the previous datum
+            JsonEncoder encoder = jsonEncoder.get().configure(output);
+            writer.write(datum, encoder);
+            encoder.flush();
+            return output.toByteArray();
+        }
+    }
+
+    static SchemaCodec codec(Schema schema) {
+        SchemaCodec codec = CODECS.get(schema);
+
+        if (codec != null) {
+            return codec;
+        }
+
+        codec = CODECS.computeIfAbsent(schema, s -> {
+            CODEC_ORDER.add(s);
+            return new SchemaCodec(s);
+        });
+
+        while (CODECS.size() > MAX_CACHED_SCHEMAS) {
+            Schema eldest = CODEC_ORDER.poll();
+
+            if (eldest == null) {
+                break;
+            }
+
+            CODECS.remove(eldest);
+        }
+
+        return codec;
+    }
+
+    /**
+     * Binary decoder of the current thread, reading the given data. The decoder
+     * is re-configured by the next call on the same thread.
+     */
+    static BinaryDecoder binaryDecoder(byte[] data, int offset, int length) {
+        return BUFFERS.get().decoder(data, offset, length);
+    }
+
+    static int cachedCodecs() {
+        return CODECS.size();
+    }
+
     @Override
     public DatumWriter<RecordData> createDatumWriter(RecordData data, Schema schema) {
-        GenericDatumWriter<Object> writer = new GenericDatumWriter<>(schema);
+        SchemaCodec codec = codec(schema);
 
         return new DatumWriter<RecordData>() {
             @Override
             public void write(RecordData data, org.apache.avro.io.Encoder out) throws IOException {
-                final DatumReader<GenericRecord> reader = new GenericDatumReader<>(schema);
-                final InputStream dataStream = new ByteArrayInputStream(data.data);
-                final Decoder jsonDecoder = DecoderFactory.get().jsonDecoder(schema, dataStream);
-                final Object datum = reader.read(null, jsonDecoder);
-                writer.write(datum, out);
+                final Object datum = codec.fromJson(data.data);
+                codec.writer.write(datum, out);
 
                 /*
                  * Replace input data with the re-seralized record so response contains
                  * the data as it was sent to Kafka (but in JSON format). For example,
                  * unknown fields will have been dropped.
                  */
-                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-                final Encoder jsonEncoder = EncoderFactory.get().jsonEncoder(schema, buffer);
-                writer.write(datum, jsonEncoder);
-                jsonEncoder.flush();
-                data.data = buffer.toByteArray();
+                data.data = codec.toJson(datum);
             }
 
             @Override
@@ -57,19 +199,12 @@ public class AvroDatumProvider extends DefaultAvroDatumProvider<RecordData> {
 
     @Override
     public DatumReader<RecordData> createDatumReader(Schema schema) {
-        GenericDatumReader<Object> target = new GenericDatumReader<>(schema);
+        SchemaCodec codec = codec(schema);
 
         return new DatumReader<RecordData>() {
             @Override
             public RecordData read(RecordData reuse, Decoder in) throws IOException {
-                final Object datum = target.read(reuse, in);
-                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-                final DatumWriter<Object> writer = new GenericDatumWriter<>(schema);
-                final Encoder jsonEncoder = EncoderFactory.get().jsonEncoder(schema, buffer);
-                writer.write(datum, jsonEncoder);
-                jsonEncoder.flush();
-
-                return new RecordData(buffer.toByteArray());
+                return new RecordData(codec.toJson(codec.reader.read(null, in)));
             }
 
             @Override
@@ -1,27 +1,71 @@
 package com.github.streamshub.console.api.support.serdes;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Map;
 
 import org.apache.avro.Schema;
+import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 
 import io.apicurio.registry.resolver.ParsedSchema;
 import io.apicurio.registry.resolver.SchemaResolver;
+import io.apicurio.registry.serde.avro.AvroEncoding;
 import io.apicurio.registry.serde.avro.AvroKafkaDeserializer;
+import io.apicurio.registry.serde.avro.AvroKafkaSerdeConfig;
+import io.apicurio.registry.serde.avro.AvroSerdeHeaders;
 
 /**
- * Simple subclass of {@link AvroKafkaDeserializer} to make the {@code readData}
- * methods public.
+ * Subclass of {@link AvroKafkaDeserializer} to make the {@code readData}
+ * methods public. Binary data is read by the configured datum provider with a
+ * binary decoder reused by the thread, rather than the new decoder created for
+ * each record by the Apicurio deserializer. Data in the JSON encoding, given by
+ * the record's headers or the configuration, is read by the Apicurio
+ * deserializer.
  */
 class AvroDeserializer extends AvroKafkaDeserializer<RecordData> {
+    private io.apicurio.registry.serde.avro.AvroDatumProvider<RecordData> datumProvider;
+    private AvroEncoding encoding;
+    private AvroSerdeHeaders avroHeaders;
+
     AvroDeserializer(SchemaResolver<Schema, RecordData> schemaResolver) {
         super();
         setSchemaResolver(schemaResolver);
     }
 
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        super.configure(configs, isKey);
+
+        AvroKafkaSerdeConfig config = new AvroKafkaSerdeConfig(configs);
+        encoding = config.getAvroEncoding();
+        datumProvider = newDatumProvider(config);
+        avroHeaders = new AvroSerdeHeaders(isKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    static io.apicurio.registry.serde.avro.AvroDatumProvider<RecordData> newDatumProvider(AvroKafkaSerdeConfig config) {
+        io.apicurio.registry.serde.avro.AvroDatumProvider<RecordData> provider;
+
+        try {
+            provider = (io.apicurio.registry.serde.avro.AvroDatumProvider<RecordData>) config.getAvroDatumProvider()
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+
+        provider.configure(config);
+        return provider;
+    }
+
     @Override
     public RecordData readData(ParsedSchema<Schema> schema, ByteBuffer buffer, int start, int length) {
-        return super.readData(schema, buffer, start, length);
+        if (encoding == AvroEncoding.JSON) {
+            return super.readData(schema, buffer, start, length);
+        }
+
+        return readBinary(datumProvider, schema.getParsedSchema(), buffer, start, length);
     }
 
     @Override
@@ -30,6 +74,29 @@ class AvroDeserializer extends AvroKafkaDeserializer<RecordData> {
             ByteBuffer buffer,
             int start,
             int length) {
-        return super.readData(headers, schema, buffer, start, length);
+        String encodingHeader = headers != null ? avroHeaders.getEncoding(headers) : null;
+
+        if (encoding == AvroEncoding.JSON || AvroEncoding.JSON.name().equals(encodingHeader)) {
+            return super.readData(headers, schema, buffer, start, length);
+        }
+
+        return readBinary(datumProvider, schema.getParsedSchema(), buffer, start, length);
+    }
+
+    /**
+     * Read binary encoded data with the datum provider's reader for the schema
+     * and the binary decoder of the current thread.
+     */
+    static RecordData readBinary(io.apicurio.registry.serde.avro.AvroDatumProvider<RecordData> datumProvider,
+            Schema schema,
+            ByteBuffer buffer,
+            int start,
+            int length) {
+        try {
+            return datumProvider.createDatumReader(schema)
+                    .read(null, AvroDatumProvider.binaryDecoder(buffer.array(), start, length));
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Error deserializing Avro data", e);
+        }
     }
 }
@@ -0,0 +1,56 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.apache.avro.Schema;
+import org.apache.kafka.common.header.Headers;
+
+import io.apicurio.registry.resolver.SchemaLookupResult;
+import io.apicurio.registry.resolver.SchemaResolver;
+import io.apicurio.registry.serde.AbstractKafkaSerializer;
+import io.apicurio.registry.serde.avro.AvroKafkaSerializer;
+
+/**
+ * Writes the JSON given for a record produced with an Avro schema in the Avro
+ * binary encoding. The schema is the one already looked up (and cached) by
+ * {@link MultiformatSerializer} to find the type of the record, so unlike
+ * {@link AbstractKafkaSerializer#serialize(String, Headers, Object)} the
+ * serializer's own resolver does not look up the latest version of the artifact
+ * again for every record. The JSON is converted by the
+ * {@linkplain AvroDatumProvider datum provider}, using the codec cached for the
+ * schema, and is replaced by the JSON of the record as written.
+ *
+ * <p>The schema reference is written to the headers or, without headers,
+ * following the magic byte, as done by {@link ProtobufSerializer} for Protobuf.
+ */
+class AvroSerializer extends AvroKafkaSerializer<RecordData> {
+    AvroSerializer(SchemaResolver<Schema, RecordData> schemaResolver) {
+        super();
+        setSchemaResolver(schemaResolver);
+    }
+
+    public byte[] serialize(Headers headers, RecordData data, SchemaLookupResult<Schema> schema) {
+        // just return null
+        if (data == null) {
+            return null; // NOSONAR
+        }
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            if (headersHandler != null && headers != null) {
+                headersHandler.writeHeaders(headers, schema.toArtifactReference());
+                serializeData(headers, schema.getParsedSchema(), data, out);
+            } else {
+                out.write(MAGIC_BYTE);
+                getIdHandler().writeId(schema.toArtifactReference(), out);
+                serializeData(schema.getParsedSchema(), data, out);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.jboss.logging.Logger;
+
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+
+/**
+ * Cache of schemas resolved by artifact coordinates (group, artifact, and
+ * optional version) for the serialization of records produced with a
+ * {@code schema-gav}. Each value holds the parsed schema, e.g. the Avro
+ * {@code Schema} or the Protobuf file descriptors, so neither the registry
+ * lookup nor the parsing is repeated for every record.
+ *
+ * <p>A reference without a version resolves to the latest version of the
+ * artifact, which may change. Entries therefore expire after {@code ttl}. An
+ * entry used after {@code refreshAfter} is refreshed in the background while
+ * the current value continues to be used, so regularly used schemas never
+ * expire. Entries may also be invalidated explicitly, e.g. when the schema no
+ * longer accepts the data being produced. Failed lookups are not cached. The
+ * number of entries is limited, evicting the least recently used first.
+ */
+public class LatestSchemaCache<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(LatestSchemaCache.class);
+
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+    static final Duration DEFAULT_REFRESH_AFTER = Duration.ofSeconds(45);
+    static final int DEFAULT_MAX_ENTRIES = 256;
+
+    /**
+     * Artifact coordinates, with a null version for the latest version.
+     */
+    record Key(String groupId, String artifactId, String version) {
+        static Key of(ArtifactReference reference) {
+            return new Key(reference.getGroupId(), reference.getArtifactId(), reference.getVersion());
+        }
+    }
+
+    static class Entry<T> {
+        final T value;
+        final long loadedAt;
+        boolean refreshing;
+
+        Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final LongSupplier nanoTime;
+    private final Executor executor;
+    private final Map<Key, Entry<T>> entries;
+
+    /**
+     * @param executor executor of the background refreshes
+     */
+    public LatestSchemaCache(Executor executor) {
+        this(DEFAULT_TTL, DEFAULT_REFRESH_AFTER, DEFAULT_MAX_ENTRIES, System::nanoTime, executor);
+    }
+
+    LatestSchemaCache(Duration ttl, Duration refreshAfter, int maxEntries, LongSupplier nanoTime, Executor executor) {
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.nanoTime = nanoTime;
+        this.executor = executor;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry<T>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the cached value for the reference's coordinates, loading it when not
+     * cached or expired. A value due for refresh is returned and refreshed in the
+     * background.
+     *
+     * @param reference reference giving the artifact coordinates
+     * @param loader    function to resolve and parse the schema, exceptions are
+     *                  thrown to the caller and nothing is cached
+     */
+    public T get(ArtifactReference reference, Function<ArtifactReference, T> loader) {
+        Key key = Key.of(reference);
+        long now = nanoTime.getAsLong();
+        Entry<T> entry;
+        boolean refresh = false;
+
+        synchronized (this) {
+            entry = entries.get(key);
+
+            if (entry != null) {
+                long age = now - entry.loadedAt;
+
+                if (age >= ttlNanos) {
+                    entry = null;
+                } else if (age >= refreshAfterNanos && !entry.refreshing) {
+                    entry.refreshing = true;
+                    refresh = true;
+                }
+            }
+        }
+
+        if (entry == null) {
+            T value = loader.apply(reference);
+            put(key, null, new Entry<>(value, now));
+            return value;
+        }
+
+        if (refresh) {
+            Entry<T> current = entry;
+            executor.execute(() -> refresh(key, current, reference, loader));
+        }
+
+        return entry.value;
+    }
+
+    private void refresh(Key key, Entry<T> current, ArtifactReference reference, Function<ArtifactReference, T> loader) {
+        long now = nanoTime.getAsLong();
+
+        try {
+            put(key, current, new Entry<>(loader.apply(reference), now));
+        } catch (RuntimeException e) {
+            LOGGER.debugf("Failed to refresh schema %s, will retry on next use: %s", key, e.getMessage());
+
+            synchronized (this) {
+                current.refreshing = false;
+            }
+        }
+    }
+
+    /**
+     * Add the entry, unless replacing an entry that has since been replaced or
+     * invalidated.
+     */
+    private synchronized void put(Key key, Entry<T> expected, Entry<T> entry) {
+        if (expected == null || entries.get(key) == expected) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Remove the cached value for the reference's coordinates.
+     */
+    public synchronized void invalidate(ArtifactReference reference) {
+        entries.remove(Key.of(reference));
+    }
+
+    /**
+     * Remove every cached value.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
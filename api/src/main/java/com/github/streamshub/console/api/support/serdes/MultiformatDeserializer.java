@@ -48,8 +48,10 @@ public class MultiformatDeserializer extends AbstractKafkaDeserializer<Object, R
     private static final SchemaLookupResult<Object> NO_SCHEMA_ID = SchemaLookupResult.builder().build();
     private static final SchemaLookupResult<Object> RESOLVER_MISSING = SchemaLookupResult.builder().build();
     private static final SchemaLookupResult<Object> LOOKUP_FAILURE = SchemaLookupResult.builder().build();
+    private static final SchemaLookupResult<Object> LOOKUP_NOT_FOUND = SchemaLookupResult.builder().build();
 
     private final ObjectMapper objectMapper;
+    private final SchemaLookupGuard lookupGuard = new SchemaLookupGuard();
     AvroDeserializer avroDeserializer;
     ProtobufDeserializer protobufDeserializer;
     SchemaParser<Object, RecordData> parser;
@@ -163,11 +165,7 @@ public class MultiformatDeserializer extends AbstractKafkaDeserializer<Object, R
             } else {
                 msg = protobufDeserializer.readData(cast(schema), buffer, start, length);
             }
-            byte[] data = com.google.protobuf.util.JsonFormat.printer()
-                    .omittingInsignificantWhitespace()
-                    .print(msg)
-                    .getBytes();
-            result = new RecordData(data);
+            result = RecordData.ofText(ProtobufJsonPrinter.print(msg));
             result.meta.put("schema-type", ArtifactType.PROTOBUF);
             result.meta.put("schema-id", ArtifactReferences.toSchemaId(schemaResult.toArtifactReference(), objectMapper));
             result.meta.put("schema-name", msg.getDescriptorForType().getFullName());
@@ -190,6 +188,12 @@ public class MultiformatDeserializer extends AbstractKafkaDeserializer<Object, R
                     "%s encoded, but no schema registry is configured"
                         .formatted(isKey() ? "Key" : "Value"),
                     null);
+        } else if (schemaResult == LOOKUP_NOT_FOUND) {
+            result.error = new com.github.streamshub.console.api.model.Error(
+                    "Schema resolution error",
+                    "Schema to decode %s was not found in registry"
+                        .formatted(isKey() ? "Key" : "Value"),
+                    null);
         } else if (schemaResult == LOOKUP_FAILURE) {
             result.error = new com.github.streamshub.console.api.model.Error(
                     "Schema resolution error",
@@ -276,23 +280,29 @@ public class MultiformatDeserializer extends AbstractKafkaDeserializer<Object, R
             return RESOLVER_MISSING;
         }
 
+        return lookupGuard.resolve(artifactReference,
+                this::lookup,
+                failure -> failure == SchemaLookupGuard.Failure.NOT_FOUND ? LOOKUP_NOT_FOUND : LOOKUP_FAILURE);
+    }
+
+    private SchemaLookupResult<Object> lookup(ArtifactReference artifactReference) {
         try {
             return getSchemaResolver().resolveSchemaByArtifactReference(artifactReference);
         } catch (io.apicurio.registry.rest.client.exception.NotFoundException e) {
             LOG.infof("Schema could not be resolved: %s", artifactReference);
-            return LOOKUP_FAILURE;
+            throw e;
         } catch (RuntimeException e) {
             if (LOG.isDebugEnabled()) {
                 /*
-                 * Only log the stack trace at debug level. Schema resolution will be attempted
-                 * for every message consumed and will lead to excessive logging in case of a
-                 * problem.
+                 * Only log the stack trace at debug level. Failed lookups are retried
+                 * with a backoff, but a degraded registry will still lead to repeated
+                 * logging.
                  */
                 LOG.debugf(e, "Exception resolving schema reference: %s", artifactReference);
             } else {
                 LOG.warnf("Exception resolving schema reference: %s ; %s", artifactReference, e.getMessage());
             }
-            return LOOKUP_FAILURE;
+            throw e;
         }
     }
 
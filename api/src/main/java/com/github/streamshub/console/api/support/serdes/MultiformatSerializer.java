@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import jakarta.ws.rs.BadRequestException;
 
@@ -30,7 +31,6 @@ import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.AbstractKafkaSerializer;
 import io.apicurio.registry.serde.SerdeConfig;
 import io.apicurio.registry.serde.avro.AvroKafkaSerdeConfig;
-import io.apicurio.registry.serde.avro.AvroKafkaSerializer;
 import io.apicurio.registry.serde.config.BaseKafkaSerDeConfig;
 import io.apicurio.registry.serde.data.KafkaSerdeMetadata;
 import io.apicurio.registry.serde.data.KafkaSerdeRecord;
@@ -51,18 +51,19 @@ public class MultiformatSerializer extends AbstractKafkaSerializer<Object, Recor
     private static final SchemaLookupResult<Object> EMPTY_RESULT = SchemaLookupResult.builder().build();
 
     final ObjectMapper objectMapper;
-    AvroKafkaSerializer<RecordData> avroSerializer;
+    final LatestSchemaCache<SchemaLookupResult<Object>> schemaCache;
+    AvroSerializer avroSerializer;
     ProtobufSerializer protobufSerializer;
     SchemaParser<Object, RecordData> parser;
 
-    public MultiformatSerializer(RegistryClient client, ObjectMapper objectMapper) {
+    public MultiformatSerializer(RegistryClient client, ObjectMapper objectMapper, Executor executor) {
         super();
         this.objectMapper = objectMapper;
+        this.schemaCache = new LatestSchemaCache<>(executor);
 
         if (client != null) {
             setSchemaResolver(newResolver(client));
-            avroSerializer = new AvroKafkaSerializer<>();
-            avroSerializer.setSchemaResolver(newResolver(client));
+            avroSerializer = new AvroSerializer(newResolver(client));
             protobufSerializer = new ProtobufSerializer(newResolver(client));
         }
     }
@@ -123,7 +124,9 @@ public class MultiformatSerializer extends AbstractKafkaSerializer<Object, Recor
             return null; // NOSONAR - we want to return null and not an empty array
         }
 
-        SchemaLookupResult<Object> schema = resolveSchema(topic, headers, data);
+        KafkaSerdeMetadata resolverMetadata = new KafkaSerdeMetadata(topic, isKey(), headers);
+        var reference = artifactReference(new KafkaSerdeRecord<>(resolverMetadata, data), null);
+        SchemaLookupResult<Object> schema = resolveSchema(reference);
         Object parsedSchema = null;
 
         if (schema != null && schema.getParsedSchema() != null) {
@@ -134,9 +137,11 @@ public class MultiformatSerializer extends AbstractKafkaSerializer<Object, Recor
 
         if (parsedSchema instanceof Schema avroSchema) {
             try {
-                serialized = avroSerializer.serialize(topic, headers, data);
+                serialized = avroSerializer.serialize(headers, data, cast(schema));
                 setSchemaMeta(data, schema, ArtifactType.AVRO, avroSchema.getFullName());
             } catch (Exception e) {
+                // The latest version may have changed since it was cached
+                schemaCache.invalidate(reference);
                 throw new BadRequestException(e.getMessage(), e);
             }
         } else if (parsedSchema instanceof ProtobufSchema protobufSchema) {
@@ -165,6 +170,7 @@ public class MultiformatSerializer extends AbstractKafkaSerializer<Object, Recor
                     .merge(data.dataString(null), builder);
                 msg = builder.build();
             } catch (InvalidProtocolBufferException e) {
+                schemaCache.invalidate(reference);
                 throw new BadRequestException(e.getMessage(), e);
             }
 
@@ -178,18 +184,16 @@ public class MultiformatSerializer extends AbstractKafkaSerializer<Object, Recor
         return serialized;
     }
 
-    SchemaLookupResult<Object> resolveSchema(String topic, Headers headers, RecordData data) {
+    SchemaLookupResult<Object> resolveSchema(ArtifactReference reference) {
         if (getSchemaResolver() == null) {
             return EMPTY_RESULT;
         }
 
-        KafkaSerdeMetadata resolverMetadata = new KafkaSerdeMetadata(topic, isKey(), headers);
-        var reference = artifactReference(new KafkaSerdeRecord<>(resolverMetadata, data), null);
         SchemaLookupResult<Object> schema = null;
 
         if (reference != null) {
             try {
-                schema = getSchemaResolver().resolveSchemaByArtifactReference(reference);
+                schema = schemaCache.get(reference, getSchemaResolver()::resolveSchemaByArtifactReference);
             } catch (Exception e) {
                 schema = EMPTY_RESULT;
             }
@@ -0,0 +1,81 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.MessageOrBuilder;
+import com.google.protobuf.TypeRegistry;
+import com.google.protobuf.util.JsonFormat;
+
+/**
+ * Renders Protobuf messages as compact JSON text for display. The printer for
+ * each message type is configured once, with a type registry holding the
+ * message types of the type's file and its dependencies so that {@code Any}
+ * fields of those types are expanded. Printers are immutable and cached for the
+ * most recently used {@value #MAX_CACHED_DESCRIPTORS} message descriptors.
+ *
+ * <p>Messages are printed into a character buffer reused by each thread and the
+ * text is kept as a string, ready to be sent in a response, rather than encoded
+ * to bytes and decoded again for display.
+ */
+public class ProtobufJsonPrinter {
+
+    static final int MAX_CACHED_DESCRIPTORS = 256;
+
+    /**
+     * Buffers grown beyond this length by a large message are not kept for reuse.
+     */
+    static final int MAX_REUSED_BUFFER = 512 * 1024;
+
+    /**
+     * Printers keyed by message descriptor. Descriptors are compared by identity
+     * and a schema parsed by the resolver always gives the same descriptors.
+     */
+    private static final Map<Descriptor, JsonFormat.Printer> PRINTERS = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Descriptor, JsonFormat.Printer> eldest) {
+            return size() > MAX_CACHED_DESCRIPTORS;
+        }
+    };
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+    private ProtobufJsonPrinter() {
+    }
+
+    static JsonFormat.Printer printer(Descriptor descriptor) {
+        synchronized (PRINTERS) {
+            return PRINTERS.computeIfAbsent(descriptor, ProtobufJsonPrinter::newPrinter);
+        }
+    }
+
+    private static JsonFormat.Printer newPrinter(Descriptor descriptor) {
+        // Adds the types of the descriptor's file and its dependencies
+        TypeRegistry registry = TypeRegistry.newBuilder().add(descriptor).build();
+
+        return JsonFormat.printer()
+                .usingTypeRegistry(registry)
+                .omittingInsignificantWhitespace();
+    }
+
+    /**
+     * Print the message as compact JSON.
+     */
+    public static String print(MessageOrBuilder message) throws IOException {
+        StringBuilder buffer = BUFFER.get();
+
+        if (buffer.capacity() > MAX_REUSED_BUFFER) {
+            buffer = new StringBuilder();
+            BUFFER.set(buffer);
+        } else {
+            buffer.setLength(0);
+        }
+
+        printer(message.getDescriptorForType()).appendTo(message, buffer);
+        return buffer.toString();
+    }
+}
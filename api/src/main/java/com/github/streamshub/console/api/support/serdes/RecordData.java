@@ -1,9 +1,10 @@
 package com.github.streamshub.console.api.support.serdes;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -21,8 +22,17 @@ public class RecordData {
     public static final String BINARY_DATA_MESSAGE = "Binary or non-UTF-8 encoded data cannot be displayed";
     static final int REPLACEMENT_CHARACTER = '\uFFFD';
 
+    private static final ThreadLocal<CharsetDecoder> DECODER = ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT));
+
     public final Map<String, String> meta = new LinkedHashMap<>(1);
     byte[] data;
+    /**
+     * The data as text when rendered as text by the deserializer, e.g. JSON
+     * printed from a Protobuf message. The bytes are only encoded when required.
+     */
+    String text;
     com.github.streamshub.console.api.model.Error error;
 
     public RecordData(byte[] data) {
@@ -34,6 +44,33 @@ public class RecordData {
         this(data != null ? data.getBytes(StandardCharsets.UTF_8) : null);
     }
 
+    /**
+     * Create an instance holding data rendered as text, sent in responses as-is
+     * without a round trip through UTF-8 bytes.
+     */
+    static RecordData ofText(String text) {
+        RecordData result = new RecordData((byte[]) null);
+        result.text = text;
+        return result;
+    }
+
+    public byte[] data() {
+        if (data == null && text != null) {
+            data = text.getBytes(StandardCharsets.UTF_8);
+        }
+        return data;
+    }
+
+    /**
+     * Estimated size in bytes of the data held, without encoding text data.
+     */
+    public long size() {
+        if (data != null) {
+            return data.length + (text != null ? text.length() : 0L);
+        }
+        return text != null ? text.length() : 0L;
+    }
+
     public com.github.streamshub.console.api.model.Error error() {
         return error;
     }
@@ -48,14 +85,42 @@ public class RecordData {
      * @return the record's data bytes as a string
      */
     public String dataString(Integer maxValueLength) {
+        if (text != null) {
+            return truncate(text, maxValueLength);
+        }
         return bytesToString(data, maxValueLength);
     }
 
+    /**
+     * Limit the text to maxValueLength characters, never splitting a surrogate
+     * pair.
+     */
+    static String truncate(String text, Integer maxValueLength) {
+        if (maxValueLength == null || text.length() <= maxValueLength) {
+            return text;
+        }
+
+        int length = maxValueLength;
+
+        if (length > 0 && Character.isHighSurrogate(text.charAt(length - 1))) {
+            length--;
+        }
+
+        return text.substring(0, length);
+    }
+
     /**
      * Convert the given bytes to a string Optionally, the length of the string will
      * be limited to maxValueLength. When invalid characters are detected, the
      * result is replaced with the value of {@link #BINARY_DATA_MESSAGE}.
      *
+     * <p>Leading ASCII bytes are scanned directly, and data that is entirely
+     * ASCII (up to the length limit) is copied to the string without decoding.
+     * Otherwise, the bytes are decoded in a single pass that stops at the first
+     * malformed input or once the length limit is reached. Truncation never
+     * splits a surrogate pair, so the result may be one character shorter than
+     * maxValueLength.
+     *
      * @param bytes          byte array to be converted to a string
      * @param maxValueLength maximum length of the result string
      * @return the record's data bytes as a string
@@ -69,28 +134,69 @@ public class RecordData {
             return "";
         }
 
-        int bufferSize = maxValueLength != null ? Math.min(maxValueLength, bytes.length) : bytes.length;
-        StringBuilder buffer = new StringBuilder(bufferSize);
+        int limit = maxValueLength != null ? maxValueLength : Integer.MAX_VALUE;
+        int asciiLimit = Math.min(limit, bytes.length);
+        int ascii = 0;
+
+        while (ascii < asciiLimit && bytes[ascii] >= 0) {
+            ascii++;
+        }
+
+        if (ascii == asciiLimit) {
+            // Every character (within the limit) is ASCII, no decoding required
+            return new String(bytes, 0, ascii, StandardCharsets.US_ASCII);
+        }
 
-        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
-            int input;
+        if (!isLeadingByte(bytes[ascii])) {
+            // The first non-ASCII byte cannot begin a UTF-8 sequence
+            return BINARY_DATA_MESSAGE;
+        }
 
-            while ((input = reader.read()) > -1) {
-                if (input == REPLACEMENT_CHARACTER || !Character.isDefined(input)) {
-                    return BINARY_DATA_MESSAGE;
-                }
+        return decode(bytes, ascii, Math.min(limit, bytes.length));
+    }
 
-                buffer.append((char) input);
+    /**
+     * Decode the bytes as UTF-8, where the first {@code ascii} bytes are known to
+     * be ASCII. The result holds at most {@code capacity} characters, UTF-8 never
+     * producing more characters than there are bytes.
+     */
+    private static String decode(byte[] bytes, int ascii, int capacity) {
+        CharsetDecoder decoder = DECODER.get().reset();
+        CharBuffer output = CharBuffer.allocate(capacity);
+        CoderResult result = decoder.decode(ByteBuffer.wrap(bytes), output, true);
 
-                if (maxValueLength != null && buffer.length() == maxValueLength) {
-                    break;
-                }
-            }
+        if (result.isError() && output.hasRemaining()) {
+            // Malformed input within the length limit
+            return BINARY_DATA_MESSAGE;
+        }
 
-            return buffer.toString();
-        } catch (IOException e) {
+        if (result.isUnderflow() && decoder.flush(output).isError()) {
             return BINARY_DATA_MESSAGE;
         }
+
+        // On overflow the length limit was reached, surrogate pairs are never split
+        char[] chars = output.array();
+        int length = output.position();
+
+        for (int i = ascii; i < length; i++) {
+            char c = chars[i];
+
+            if (c == REPLACEMENT_CHARACTER || !Character.isDefined(c)) {
+                return BINARY_DATA_MESSAGE;
+            }
+        }
+
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Whether the byte may begin a multi-byte UTF-8 sequence. Continuation bytes
+     * ({@code 0x80-0xBF}), the overlong leading bytes {@code 0xC0} and
+     * {@code 0xC1}, and {@code 0xF5-0xFF} never do.
+     */
+    static boolean isLeadingByte(byte b) {
+        int value = b & 0xFF;
+        return value >= 0xC2 && value <= 0xF4;
     }
 
 }
@@ -0,0 +1,159 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+
+/**
+ * Cache of the content of the schemas retrieved from the configured schema
+ * registries, shared by all requests. Only schemas identified by a global ID,
+ * content ID, or explicit version are cached - their content never changes. A
+ * reference to only a group and artifact resolves to the artifact's latest
+ * version and is never cached.
+ *
+ * <p>Along with the content, each entry holds a strong entity tag derived from
+ * the content's digest. The cache is bounded by the size of the content held,
+ * evicting the least recently used schemas first. Counts of hits, misses, and
+ * evictions are kept for metrics.
+ */
+public class SchemaContentCache {
+
+    /**
+     * Estimated size of a cached schema excluding its content.
+     */
+    static final long ENTRY_OVERHEAD = 256;
+
+    /**
+     * Identifies the content of a schema in a registry.
+     */
+    public record Key(String registryId, Long globalId, Long contentId, String groupId, String artifactId, String version) {
+        public static Key of(String registryId, ArtifactReference reference) {
+            return new Key(
+                    registryId,
+                    nonZero(reference.getGlobalId()),
+                    nonZero(reference.getContentId()),
+                    reference.getGroupId(),
+                    reference.getArtifactId(),
+                    reference.getVersion());
+        }
+
+        private static Long nonZero(Long id) {
+            return id != null && id != 0 ? id : null;
+        }
+
+        /**
+         * Whether the content identified by the key never changes.
+         */
+        public boolean immutable() {
+            return globalId != null || contentId != null || version != null;
+        }
+    }
+
+    /**
+     * A cached schema.
+     *
+     * @param content the raw content of the schema
+     * @param etag    strong entity tag of the content, without quotes
+     */
+    public record Entry(byte[] content, String etag) {
+        public static Entry of(byte[] content) {
+            return new Entry(content, etag(content));
+        }
+
+        long size() {
+            return content.length + ENTRY_OVERHEAD;
+        }
+    }
+
+    private final long maxBytes;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public SchemaContentCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a cached schema.
+     *
+     * @return the cached schema, or null when not cached
+     */
+    public synchronized Entry get(Key key) {
+        Entry entry = entries.get(key);
+
+        if (entry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Add a schema to the cache, evicting the least recently used schemas as
+     * necessary. Schemas that are not immutable or are larger than the cache are
+     * not added.
+     */
+    public synchronized void put(Key key, Entry entry) {
+        long size = entry.size();
+
+        if (!key.immutable() || size > maxBytes) {
+            return;
+        }
+
+        Entry existing = entries.remove(key);
+
+        if (existing != null) {
+            bytes -= existing.size();
+        }
+
+        var iterator = entries.values().iterator();
+
+        while (bytes + size > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().size();
+            iterator.remove();
+            evictions++;
+        }
+
+        entries.put(key, entry);
+        bytes += size;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required of every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+import io.apicurio.registry.rest.client.exception.NotFoundException;
+
+/**
+ * Guards the lookup of schemas from a registry while deserializing records.
+ * Lookup is attempted for every record carrying a schema reference, so without
+ * the guard a topic written with a deleted schema, or a degraded registry,
+ * results in a registry request per record.
+ *
+ * <ul>
+ * <li>Failed lookups are remembered and not attempted again until a backoff
+ * period has passed, doubling with each consecutive failure of the same
+ * reference. A schema not found in the registry is backed off longer than a
+ * transient error. The number of failures remembered is bounded, forgetting
+ * the least recently failed first.
+ * <li>Concurrent lookups of the same reference are collapsed into the single
+ * lookup in flight, the other callers waiting for and sharing its outcome.
+ * </ul>
+ *
+ * Successful lookups are not held, the schema resolver has its own cache.
+ */
+public class SchemaLookupGuard {
+
+    public enum Failure {
+        /**
+         * The registry does not have the schema.
+         */
+        NOT_FOUND,
+        /**
+         * Any other error, e.g. the registry is unavailable or timed out.
+         */
+        ERROR;
+    }
+
+    static final Duration NOT_FOUND_BACKOFF = Duration.ofSeconds(30);
+    static final Duration NOT_FOUND_MAX_BACKOFF = Duration.ofMinutes(15);
+    static final Duration ERROR_BACKOFF = Duration.ofSeconds(1);
+    static final Duration ERROR_MAX_BACKOFF = Duration.ofMinutes(1);
+    static final int MAX_FAILURES = 1000;
+
+    /**
+     * Identifies a schema reference. Zero IDs are the same as absent IDs.
+     */
+    record Key(Long globalId, Long contentId, String groupId, String artifactId, String version) {
+        static Key of(ArtifactReference reference) {
+            return new Key(
+                    nonZero(reference.getGlobalId()),
+                    nonZero(reference.getContentId()),
+                    reference.getGroupId(),
+                    reference.getArtifactId(),
+                    reference.getVersion());
+        }
+
+        private static Long nonZero(Long id) {
+            return id != null && id != 0 ? id : null;
+        }
+    }
+
+    /**
+     * The most recent failure of a reference.
+     *
+     * @param failure  kind of failure
+     * @param attempts number of consecutive failed lookups
+     * @param retryAt  nano time before which the lookup is not attempted again
+     */
+    record FailedLookup(Failure failure, int attempts, long retryAt) {
+    }
+
+    private final LongSupplier nanoTime;
+    private final Map<Key, FailedLookup> failures;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SchemaLookupGuard() {
+        this(System::nanoTime, MAX_FAILURES);
+    }
+
+    SchemaLookupGuard(LongSupplier nanoTime, int maxFailures) {
+        this.nanoTime = nanoTime;
+        this.failures = new LinkedHashMap<>(16, 0.75f, false) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, FailedLookup> eldest) {
+                return size() > maxFailures;
+            }
+        };
+    }
+
+    /**
+     * Look up the schema for a reference, unless a previous lookup of the
+     * reference failed and its backoff has not passed, or join the lookup of the
+     * same reference already in flight.
+     *
+     * @param reference the schema reference
+     * @param lookup    function performing the lookup, throwing a
+     *                  {@linkplain NotFoundException} when the registry does not
+     *                  have the schema
+     * @param onFailure function giving the result of a failed or skipped lookup
+     * @return the result of the lookup, or of {@code onFailure}
+     */
+    public <T> T resolve(ArtifactReference reference,
+            Function<ArtifactReference, T> lookup,
+            Function<Failure, T> onFailure) {
+
+        Key key = Key.of(reference);
+        FailedLookup failed = failure(key);
+
+        if (failed != null && nanoTime.getAsLong() - failed.retryAt() < 0) {
+            return onFailure.apply(failed.failure());
+        }
+
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, pending);
+
+        if (existing != null) {
+            try {
+                return MultiformatDeserializer.cast(existing.join());
+            } catch (CompletionException e) {
+                return onFailure.apply(classify(e.getCause()));
+            }
+        }
+
+        try {
+            T result = lookup.apply(reference);
+            clearFailure(key);
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            Failure failure = recordFailure(key, e);
+            pending.completeExceptionally(e);
+            return onFailure.apply(failure);
+        } catch (Throwable e) {
+            // Not a failure of the registry, but lookups waiting on this one must not wait forever
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    synchronized FailedLookup failure(Key key) {
+        return failures.get(key);
+    }
+
+    synchronized int failures() {
+        return failures.size();
+    }
+
+    private synchronized void clearFailure(Key key) {
+        failures.remove(key);
+    }
+
+    private synchronized Failure recordFailure(Key key, Throwable error) {
+        Failure failure = classify(error);
+        FailedLookup previous = failures.remove(key);
+        int attempts = previous != null && previous.failure() == failure ? previous.attempts() + 1 : 1;
+        long retryAt = nanoTime.getAsLong() + backoff(failure, attempts).toNanos();
+        failures.put(key, new FailedLookup(failure, attempts, retryAt));
+        return failure;
+    }
+
+    static Failure classify(Throwable error) {
+        return error instanceof NotFoundException ? Failure.NOT_FOUND : Failure.ERROR;
+    }
+
+    static Duration backoff(Failure failure, int attempts) {
+        Duration initial = failure == Failure.NOT_FOUND ? NOT_FOUND_BACKOFF : ERROR_BACKOFF;
+        Duration max = failure == Failure.NOT_FOUND ? NOT_FOUND_MAX_BACKOFF : ERROR_MAX_BACKOFF;
+        // Cap the shift, the result exceeds any max backoff long before
+        Duration backoff = initial.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.streamshub.console.api;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.config.ConsoleConfig;
+import com.github.streamshub.console.kafka.systemtest.TestPlainNoK8sProfile;
+import com.github.streamshub.console.kafka.systemtest.deployment.DeploymentManager;
+import com.github.streamshub.console.test.RecordHelper;
+import com.github.streamshub.console.test.TopicHelper;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+import static com.github.streamshub.console.test.TestHelper.whenRequesting;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestHTTPEndpoint(RecordsResource.class)
+@TestProfile(TestPlainNoK8sProfile.class)
+class RecordsExportIT {
+
+    @Inject
+    Config config;
+
+    @Inject
+    ConsoleConfig consoleConfig;
+
+    @DeploymentManager.InjectDeploymentManager
+    DeploymentManager deployments;
+
+    TopicHelper topicUtils;
+    RecordHelper recordUtils;
+    String clusterId;
+
+    @BeforeEach
+    void setup() {
+        URI bootstrapServers = URI.create(deployments.getKafkaContainer().getBootstrapServers());
+        topicUtils = new TopicHelper(bootstrapServers, config, null);
+        topicUtils.deleteAllTopics();
+        recordUtils = new RecordHelper(bootstrapServers, config, null);
+        consoleConfig.clearSecurity();
+        clusterId = consoleConfig.getKafka().getCluster("test-kafka1").get().getId();
+    }
+
+    String createTopic(String topicName, int partitions) {
+        return topicUtils.createTopics(clusterId, List.of(topicName), partitions).get(topicName);
+    }
+
+    void awaitRecords(String topicName, long count) {
+        await().atMost(30, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= count);
+    }
+
+    static List<JsonObject> ndjson(String body) {
+        return body.lines()
+                .map(line -> Json.createReader(new StringReader(line)).readObject().getJsonObject("attributes"))
+                .toList();
+    }
+
+    @Test
+    void testExportAllRecordsAsNdjson() {
+        final String topicName = UUID.randomUUID().toString();
+        String topicId = createTopic(topicName, 2);
+
+        for (int p = 0; p < 2; p++) {
+            final int partition = p;
+            recordUtils.produceRecords(topicName, partition, 10, i -> "key-" + partition + "-" + i, i -> "value-" + partition + "-" + i);
+        }
+
+        awaitRecords(topicName, 20);
+
+        String body = whenRequesting(req -> req
+                .queryParam("export[format]", "ndjson")
+                .get("", clusterId, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .contentType(startsWith("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, is("attachment; filename=\"%s.ndjson\"".formatted(topicId)))
+            .extract()
+            .asString();
+
+        var records = ndjson(body);
+        assertEquals(20, records.size());
+
+        for (int p = 0; p < 2; p++) {
+            final int partition = p;
+            // Each partition is exported in offset order
+            assertEquals(
+                    IntStream.range(0, 10).mapToObj(i -> "value-" + partition + "-" + i).toList(),
+                    records.stream()
+                        .filter(rec -> rec.getInt("partition") == partition)
+                        .map(rec -> rec.getString("value"))
+                        .toList());
+        }
+    }
+
+    @Test
+    void testExportEndsAtEndOffset() {
+        final String topicName = UUID.randomUUID().toString();
+        String topicId = createTopic(topicName, 1);
+        recordUtils.produceRecords(topicName, 0, 20, i -> "key-" + i, i -> "value-" + i);
+        awaitRecords(topicName, 20);
+
+        String body = whenRequesting(req -> req
+                .queryParam("export[format]", "ndjson")
+                .queryParam("filter[offset]", "gte,5")
+                .queryParam("export[endOffset]", 15)
+                .get("", clusterId, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .extract()
+            .asString();
+
+        assertEquals(
+                IntStream.range(5, 15).boxed().toList(),
+                ndjson(body).stream().map(rec -> rec.getInt("offset")).toList());
+    }
+
+    @Test
+    void testExportBetweenTimestamps() {
+        final String topicName = UUID.randomUUID().toString();
+        String topicId = createTopic(topicName, 1);
+        Instant start = Instant.now().minusSeconds(3600);
+
+        for (int i = 0; i < 10; i++) {
+            recordUtils.produceRecord(topicName, 0, start.plusSeconds(i * 60L), Map.of(), "key-" + i, "value-" + i);
+        }
+
+        awaitRecords(topicName, 10);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            // Repeated to export from the offset found in the timestamp index
+            String body = whenRequesting(req -> req
+                    .queryParam("export[format]", "ndjson")
+                    .queryParam("filter[timestamp]", "gte," + start.plusSeconds(150))
+                    .queryParam("export[endTimestamp]", start.plusSeconds(420).toString())
+                    .get("", clusterId, topicId))
+                .assertThat()
+                .statusCode(is(Status.OK.getStatusCode()))
+                .extract()
+                .asString();
+
+            assertEquals(
+                    // The end timestamp is exclusive
+                    List.of("value-3", "value-4", "value-5", "value-6"),
+                    ndjson(body).stream().map(rec -> rec.getString("value")).toList());
+        }
+    }
+
+    @Test
+    void testExportCsvWithHeader() {
+        final String topicName = UUID.randomUUID().toString();
+        String topicId = createTopic(topicName, 1);
+        recordUtils.produceRecords(topicName, 0, 3, i -> "key-" + i, i -> "value-" + i);
+        awaitRecords(topicName, 3);
+
+        String body = whenRequesting(req -> req
+                .queryParam("export[format]", "csv")
+                .queryParam("fields[records]", "offset,key,value")
+                .get("", clusterId, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .contentType(startsWith("text/csv"))
+            .extract()
+            .asString();
+
+        assertEquals(List.of("offset,key,value", "0,key-0,value-0", "1,key-1,value-1", "2,key-2,value-2"), body.lines().toList());
+    }
+}
@@ -2,11 +2,13 @@ package com.github.streamshub.console.api;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -15,6 +17,8 @@ import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import jakarta.inject.Inject;
@@ -64,10 +68,13 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @QuarkusTest
@@ -141,6 +148,40 @@ class RecordsResourceIT {
             .body("errors.code", contains("4041"));
     }
 
+    @Test
+    void testConsumeRecordFromDeletedTopicWithNameReused() {
+        final String topicName = UUID.randomUUID().toString();
+        String deletedTopicId = topicUtils.createTopics(clusterId1, List.of(topicName), 1).get(topicName);
+
+        whenRequesting(req -> req.get("", clusterId1, deletedTopicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()));
+
+        // Deleted by another client, the cached listings may still map the ID to the name
+        topicUtils.deleteAllTopics();
+        await().atMost(30, TimeUnit.SECONDS)
+            .untilAsserted(() -> topicUtils.createTopics(clusterId1, List.of(topicName), 1));
+        recordUtils.produceRecord(topicName, 0, null, Collections.emptyMap(), "the-key", "the-value");
+
+        whenRequesting(req -> req.get("", clusterId1, deletedTopicId))
+            .assertThat()
+            .statusCode(is(Status.NOT_FOUND.getStatusCode()))
+            .body("errors.code", contains("4041"));
+
+        whenRequesting(req -> req
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .body(Json.createObjectBuilder()
+                        .add("data", Json.createObjectBuilder()
+                                .add("type", "records")
+                                .add("attributes", Json.createObjectBuilder()
+                                        .add("value", "TEST")))
+                        .build()
+                        .toString())
+                .post("", clusterId1, deletedTopicId))
+            .assertThat()
+            .statusCode(is(Status.NOT_FOUND.getStatusCode()));
+    }
+
     @Test
     void testConsumeRecordFromInvalidPartition() {
         final String topicName = UUID.randomUUID().toString();
@@ -281,6 +322,141 @@ class RecordsResourceIT {
             .body("data", hasSize(expectedResults));
     }
 
+    @Test
+    void testLookupRecordsByKeyReturnsNewestFirst() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 8);
+
+        for (int i = 0; i < 5; i++) {
+            // Keyed records are assigned partitions by the default partitioner
+            recordUtils.produceRecord(topicName, null, null, "the-key", "the-value-" + i);
+            recordUtils.produceRecord(topicName, null, null, "other-key-" + i, "other-value-" + i);
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 10);
+
+        whenRequesting(req -> req
+                .queryParam("filter[key]", "eq,the-key")
+                .queryParam("page[size]", 3)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data", hasSize(3))
+            .body("data.attributes.value", contains("the-value-4", "the-value-3", "the-value-2"))
+            .body("meta.search.complete", is(false));
+    }
+
+    @Test
+    void testLookupRecordsByKeyAcrossWindows() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1); // single partition
+        // More records follow the match than are read by the first window from the end of the partition
+        final int followingRecords = 2500;
+
+        recordUtils.produceRecord(topicName, null, null, "the-key", "the-value");
+        recordUtils.produceRecords(topicName, 0, followingRecords, i -> "other-key-" + i, i -> "other-value-" + i);
+
+        await().atMost(30, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= followingRecords + 1);
+
+        whenRequesting(req -> req
+                .queryParam("filter[key]", "eq,the-key")
+                .queryParam("page[size]", 1)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data", hasSize(1))
+            .body("data[0].attributes.offset", is(0))
+            .body("data[0].attributes.value", is("the-value"));
+    }
+
+    @Test
+    void testSampleRecordsRepeatableWithSeed() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 2);
+
+        for (int i = 0; i < 200; i++) {
+            recordUtils.produceRecord(topicName, null, null, "the-key-" + i, "the-value-" + i);
+        }
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 200);
+
+        List<Integer> offsets = whenRequesting(req -> req
+                .queryParam("view", "sample")
+                .queryParam("view[points]", 4)
+                .queryParam("view[seed]", 42)
+                .queryParam("page[size]", 20)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.size()", allOf(greaterThan(0), lessThanOrEqualTo(20)))
+            .body("meta.view.seed", is("42"))
+            .extract()
+            .jsonPath()
+            .getList("data.attributes.offset", Integer.class);
+
+        whenRequesting(req -> req
+                .queryParam("view", "sample")
+                .queryParam("view[points]", 4)
+                .queryParam("view[seed]", 42)
+                .queryParam("page[size]", 20)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.offset", is(offsets));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "forty-two", "9223372036854775808" })
+    void testSampleRecordsWithInvalidSeed(String seed) {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1);
+
+        whenRequesting(req -> req
+                .queryParam("view", "sample")
+                .queryParam("view[seed]", seed)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.BAD_REQUEST.getStatusCode()))
+            .body("errors.size()", is(1))
+            .body("errors.source.parameter", contains("view[seed]"))
+            .body("errors.detail", contains("must be a 64-bit signed integer"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "hide, 'k3-1,k1-2'",
+        "flag, ',k3-1,k1-2'",
+    })
+    void testLatestRecordPerKeyView(String tombstones, String expectedValues) {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1); // single partition
+
+        recordUtils.produceRecord(topicName, null, null, "k1", "k1-1");
+        recordUtils.produceRecord(topicName, null, null, "k2", "k2-1");
+        recordUtils.produceRecord(topicName, null, null, "k1", "k1-2");
+        recordUtils.produceRecord(topicName, null, null, "k3", "k3-1");
+        recordUtils.produceRecord(topicName, null, null, "k2", null);
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 5);
+
+        var expected = Arrays.stream(expectedValues.split(",", -1))
+                .map(v -> v.isEmpty() ? null : v)
+                .toArray(String[]::new);
+
+        whenRequesting(req -> req
+                .queryParam("view", "latest")
+                .queryParam("view[tombstones]", tombstones)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.value", contains(expected))
+            .body("meta.view.complete", is(true));
+    }
+
     @ParameterizedTest
     @CsvSource({
         "-1",
@@ -345,6 +521,78 @@ class RecordsResourceIT {
             .body("data.findAll { it }.attributes.value", contains(messageValues.subList(0, resultCount).toArray(String[]::new)));
     }
 
+    @Test
+    void testStreamRecordsAsNdjson() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1);
+        recordUtils.produceRecords(topicName, 0, 10, i -> "the-key-" + i, i -> "the-value-" + i);
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 10);
+
+        String body = whenRequesting(req -> req
+                .header(HttpHeaders.ACCEPT, "application/x-ndjson")
+                .queryParam("filter[partition]", 0)
+                .queryParam("filter[offset]", "gte,2")
+                .queryParam("page[size]", 5)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .contentType(startsWith("application/x-ndjson"))
+            .extract()
+            .asString();
+
+        List<String> values = body.lines()
+                .map(line -> Json.createReader(new StringReader(line)).readObject())
+                .map(rec -> rec.getJsonObject("attributes").getString("value"))
+                .toList();
+
+        assertEquals(IntStream.range(2, 7).mapToObj(i -> "the-value-" + i).toList(), values);
+    }
+
+    @Test
+    void testStreamRecordsAsServerSentEvents() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1);
+        recordUtils.produceRecords(topicName, 0, 10, i -> "the-key-" + i, i -> "the-value-" + i);
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= 10);
+
+        String body = whenRequesting(req -> req
+                .header(HttpHeaders.ACCEPT, MediaType.SERVER_SENT_EVENTS)
+                .queryParam("filter[partition]", 0)
+                .queryParam("filter[offset]", "gte,2")
+                .queryParam("page[size]", 5)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .contentType(startsWith(MediaType.SERVER_SENT_EVENTS))
+            .extract()
+            .asString();
+
+        List<String> values = body.lines()
+                .filter(line -> line.startsWith("data:"))
+                .map(line -> Json.createReader(new StringReader(line.substring("data:".length()).trim())).readObject())
+                .map(rec -> rec.getJsonObject("attributes").getString("value"))
+                .toList();
+
+        assertEquals(IntStream.range(2, 7).mapToObj(i -> "the-value-" + i).toList(), values);
+    }
+
+    @Test
+    void testLiveRecordsRequireServerSentEvents() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1);
+
+        whenRequesting(req -> req
+                .header(HttpHeaders.ACCEPT, "application/x-ndjson")
+                .queryParam("live", true)
+                .get("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.NOT_ACCEPTABLE.getStatusCode()));
+    }
+
     @Test
     void testConsumeRecordsIncludeOnlyHeaders() {
         final String topicName = UUID.randomUUID().toString();
@@ -609,6 +857,44 @@ class RecordsResourceIT {
             .body("errors[0].source.pointer", is("/data/attributes/partition"));
     }
 
+    @Test
+    void testProduceRecordBatchWithPartialFailure() {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1);
+
+        String body = Stream.of(
+                Json.createObjectBuilder()
+                    .add("type", "records")
+                    .add("attributes", Json.createObjectBuilder().add("value", "TEST-1")),
+                Json.createObjectBuilder()
+                    .add("type", "records")
+                    .add("attributes", Json.createObjectBuilder()
+                            .add("partition", 1) // only partition 0 is valid
+                            .add("value", "TEST-2")),
+                Json.createObjectBuilder()
+                    .add("type", "records")
+                    .add("attributes", Json.createObjectBuilder().add("key", "no-value")),
+                Json.createObjectBuilder()
+                    .add("type", "records")
+                    .add("attributes", Json.createObjectBuilder().add("value", "TEST-4")))
+            .map(rec -> rec.build().toString())
+            .collect(Collectors.joining("\n"));
+
+        whenRequesting(req -> req
+                .header(HttpHeaders.CONTENT_TYPE, "application/x-ndjson")
+                .body(body)
+                .post("", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.size()", is(4))
+            .body("data[0].attributes.offset", is(0))
+            .body("data[0].attributes.value", is("TEST-1"))
+            .body("data[1].title", is("Unable to send record"))
+            .body("data[2].title", is("Invalid record"))
+            .body("data[3].attributes.offset", is(1))
+            .body("data[3].attributes.value", is("TEST-4"));
+    }
+
     @Test
     void testProduceRecordWithAvroFormat() {
         var registryClient = kafkaContexts.get(clusterId1).schemaRegistryContext().registryClient();
@@ -0,0 +1,171 @@
+package com.github.streamshub.console.api;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.config.ConsoleConfig;
+import com.github.streamshub.console.kafka.systemtest.TestSearchLimitsProfile;
+import com.github.streamshub.console.kafka.systemtest.deployment.DeploymentManager;
+import com.github.streamshub.console.test.RecordHelper;
+import com.github.streamshub.console.test.TopicHelper;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.path.json.JsonPath;
+
+import static com.github.streamshub.console.test.TestHelper.whenRequesting;
+import static com.github.streamshub.console.kafka.systemtest.TestSearchLimitsProfile.SEARCH_MAX_RECORDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestHTTPEndpoint(RecordsResource.class)
+@TestProfile(TestSearchLimitsProfile.class)
+class RecordsSearchIT {
+
+    @Inject
+    Config config;
+
+    @Inject
+    ConsoleConfig consoleConfig;
+
+    @DeploymentManager.InjectDeploymentManager
+    DeploymentManager deployments;
+
+    TopicHelper topicUtils;
+    RecordHelper recordUtils;
+    String clusterId;
+
+    @BeforeEach
+    void setup() {
+        URI bootstrapServers = URI.create(deployments.getKafkaContainer().getBootstrapServers());
+        topicUtils = new TopicHelper(bootstrapServers, config, null);
+        topicUtils.deleteAllTopics();
+        recordUtils = new RecordHelper(bootstrapServers, config, null);
+        consoleConfig.clearSecurity();
+        clusterId = consoleConfig.getKafka().getCluster("test-kafka1").get().getId();
+    }
+
+    String createTopic(int partitions, int recordsPerPartition) {
+        final String topicName = UUID.randomUUID().toString();
+        var topicIds = topicUtils.createTopics(clusterId, List.of(topicName), partitions);
+
+        for (int p = 0; p < partitions; p++) {
+            final int partition = p;
+            recordUtils.produceRecords(topicName, partition, recordsPerPartition,
+                    i -> "key-" + partition + "-" + i,
+                    i -> "{\"partition\":" + partition + ",\"seq\":" + i + ",\"even\":" + (i % 2 == 0) + "}");
+        }
+
+        await().atMost(30, TimeUnit.SECONDS)
+            .until(() -> topicUtils.getTopicSize(topicName) >= (long) partitions * recordsPerPartition);
+
+        return topicIds.get(topicName);
+    }
+
+    @Test
+    void testSearchRecordsByContent() {
+        String topicId = createTopic(2, 10);
+
+        whenRequesting(req -> req
+                .queryParam("filter[key]", "contains,key-1-")
+                .queryParam("filter[value]", "re,\"seq\":[0-4]")
+                .queryParam("page[size]", 20)
+                .get("", clusterId, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data", hasSize(5))
+            .body("data.attributes.partition", contains(1, 1, 1, 1, 1))
+            .body("data.attributes.offset", containsInAnyOrder(0, 1, 2, 3, 4))
+            .body("meta.search.complete", is(true));
+
+        whenRequesting(req -> req
+                .queryParam("filter[value]", "jsonpath,$.even,true")
+                .queryParam("filter[partition]", 0)
+                .queryParam("page[size]", 20)
+                .get("", clusterId, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data", hasSize(5))
+            .body("data.attributes.offset", containsInAnyOrder(0, 2, 4, 6, 8));
+    }
+
+    @Test
+    void testSearchStopsAtRecordLimit() {
+        String topicId = createTopic(1, SEARCH_MAX_RECORDS * 2);
+
+        whenRequesting(req -> req
+                .queryParam("filter[value]", "contains,\"even\":true")
+                .queryParam("page[size]", SEARCH_MAX_RECORDS * 2)
+                .get("", clusterId, topicId))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data", hasSize(SEARCH_MAX_RECORDS / 2))
+            .body("meta.search.complete", is(false))
+            .body("meta.search.scannedRecords", is(SEARCH_MAX_RECORDS))
+            .body("meta.search.cursor", is(notNullValue()));
+    }
+
+    @Test
+    void testSearchResumedWithoutDuplicates() {
+        final int partitions = 3;
+        final int recordsPerPartition = 40;
+        String topicId = createTopic(partitions, recordsPerPartition);
+        Set<String> found = new HashSet<>();
+        List<String> duplicates = new ArrayList<>();
+        String cursor = null;
+        int requests = 0;
+
+        do {
+            final String resumeCursor = cursor;
+            JsonPath response = whenRequesting(req -> {
+                req.queryParam("filter[value]", "contains,\"even\":true")
+                    .queryParam("page[size]", 7);
+                if (resumeCursor != null) {
+                    req.queryParam("search[cursor]", resumeCursor);
+                }
+                return req.get("", clusterId, topicId);
+            })
+                .assertThat()
+                .statusCode(is(Status.OK.getStatusCode()))
+                .extract()
+                .jsonPath();
+
+            List<Map<String, Object>> attributes = response.getList("data.attributes");
+
+            for (var rec : attributes) {
+                String position = rec.get("partition") + "@" + rec.get("offset");
+
+                if (!found.add(position)) {
+                    duplicates.add(position);
+                }
+            }
+
+            cursor = response.getBoolean("meta.search.complete") ? null : response.getString("meta.search.cursor");
+            requests++;
+        } while (cursor != null && requests < 100);
+
+        assertTrue(duplicates.isEmpty(), () -> "Records returned more than once: " + duplicates);
+        assertEquals(partitions * recordsPerPartition / 2, found.size());
+    }
+}
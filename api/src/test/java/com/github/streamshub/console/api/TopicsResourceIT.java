@@ -10,6 +10,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -107,6 +108,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasKey;
@@ -658,6 +660,122 @@ class TopicsResourceIT {
             .body("data[101].attributes.name", startsWith("000-"));
     }
 
+    @Test
+    void testListTopicsDescribesOnlyRequestedPage() {
+        List<String> topicNames = IntStream.range(0, 5)
+                .mapToObj("%d-"::formatted)
+                .map(prefix -> prefix + UUID.randomUUID().toString())
+                .toList();
+
+        topicUtils.createTopics(clusterId1, topicNames, 1);
+
+        Set<String> configsDescribed = Collections.synchronizedSet(new HashSet<>());
+
+        AdminClientSpy.install(client -> {
+            doAnswer(args -> {
+                Collection<ConfigResource> resources = args.getArgument(0);
+                resources.forEach(resource -> configsDescribed.add(resource.name()));
+                return args.callRealMethod();
+            }).when(client).describeConfigs(anyCollection());
+        });
+
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,configs")
+                .queryParam("sort", "name")
+                .queryParam("page[size]", 2)
+                .get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("meta.page.total", is(5))
+            .body("data.size()", is(2))
+            .body("data.attributes.name", contains(topicNames.get(0), topicNames.get(1)))
+            .body("data.attributes.configs", everyItem(is(notNullValue())));
+
+        assertEquals(Set.of(topicNames.get(0), topicNames.get(1)), configsDescribed);
+    }
+
+    @Test
+    void testListTopicsPageFirstSummarizesAllTopics() {
+        List<String> topicNames = IntStream.range(0, 5)
+                .mapToObj("%d-"::formatted)
+                .map(prefix -> prefix + UUID.randomUUID().toString())
+                .toList();
+
+        topicUtils.createTopics(clusterId1, topicNames, 2);
+
+        Set<String> offsetsListed = Collections.synchronizedSet(new HashSet<>());
+
+        AdminClientSpy.install(client -> {
+            doAnswer(args -> {
+                Map<TopicPartition, ?> request = args.getArgument(0);
+                request.keySet().forEach(partition -> offsetsListed.add(partition.topic()));
+                return args.callRealMethod();
+            }).when(client).listOffsets(anyMap(), any(ListOffsetsOptions.class));
+        });
+
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,status,numPartitions")
+                .queryParam("sort", "-name")
+                .queryParam("page[size]", 2)
+                .get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("meta.page.total", is(5))
+            .body("meta.summary.statuses.FullyReplicated", is(5))
+            .body("meta.summary.totalPartitions", is(10))
+            .body("data.attributes.name", contains(topicNames.get(4), topicNames.get(3)))
+            .body("data.attributes.status", everyItem(is("FullyReplicated")));
+
+        assertEquals(Set.of(topicNames.get(4), topicNames.get(3)), offsetsListed);
+    }
+
+    @Test
+    void testListTopicsPageFirstDescribesOnlyPageWithCachedStatuses() {
+        List<String> topicNames = IntStream.range(0, 5)
+                .mapToObj("%d-"::formatted)
+                .map(prefix -> prefix + UUID.randomUUID().toString())
+                .toList();
+
+        Map<String, String> topicIds = topicUtils.createTopics(clusterId1, topicNames, 2);
+
+        // The statuses of all topics are cached when listing the first page
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,status,numPartitions")
+                .queryParam("sort", "-name")
+                .queryParam("page[size]", 2)
+                .get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("meta.summary.statuses.FullyReplicated", is(5));
+
+        Set<Uuid> topicsDescribed = Collections.synchronizedSet(new HashSet<>());
+
+        AdminClientSpy.install(client -> {
+            doAnswer(args -> {
+                if (args.getArgument(0) instanceof TopicIdCollection request) {
+                    topicsDescribed.addAll(request.topicIds());
+                }
+                return args.callRealMethod();
+            }).when(client).describeTopics(any(TopicCollection.class), any(DescribeTopicsOptions.class));
+        });
+
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,status,numPartitions")
+                .queryParam("sort", "name")
+                .queryParam("page[size]", 2)
+                .get("", clusterId1))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("meta.page.total", is(5))
+            .body("meta.summary.statuses.FullyReplicated", is(5))
+            .body("meta.summary.totalPartitions", is(10))
+            .body("data.attributes.name", contains(topicNames.get(0), topicNames.get(1)));
+
+        assertEquals(
+                Set.of(Uuid.fromString(topicIds.get(topicNames.get(0))), Uuid.fromString(topicIds.get(topicNames.get(1)))),
+                topicsDescribed);
+    }
+
     @Test
     void testListTopicsWithConsumerGroupsLinkage() throws Exception {
         String topic1 = "t1-" + UUID.randomUUID().toString();
@@ -1106,6 +1224,46 @@ class TopicsResourceIT {
             .body("data.attributes.partitions[0].offsets.maxTimestamp.timestamp", is(second.toString()));
     }
 
+    @Test
+    void testDescribeTopicWithRecordCounts() {
+        String topicName = UUID.randomUUID().toString();
+        Map<String, String> topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 2);
+
+        Instant earlier = Instant.now().minus(90, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.MILLIS);
+        topicUtils.produceRecord(topicName, 0, earlier, Collections.emptyMap(), "k1", "v1");
+        topicUtils.produceRecord(topicName, 1, earlier, Collections.emptyMap(), "k2", "v2");
+        topicUtils.produceRecord(topicName, 0, null, Collections.emptyMap(), "k3", "v3");
+
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "name,recordCounts")
+                .queryParam("recordCounts[interval]", "PT1H")
+                .queryParam("recordCounts[buckets]", 3)
+                .get("{topicId}", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.OK.getStatusCode()))
+            .body("data.attributes.name", is(topicName))
+            .body("data.attributes", not(hasKey("partitions")))
+            .body("data.attributes.recordCounts.interval", is("PT1H"))
+            .body("data.attributes.recordCounts.buckets", hasSize(3))
+            .body("data.attributes.recordCounts.buckets.count.sum()", is(3))
+            .body("data.attributes.recordCounts.buckets[2].count", greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    void testDescribeTopicWithBadRecordCountInterval() {
+        String topicName = UUID.randomUUID().toString();
+        Map<String, String> topicIds = topicUtils.createTopics(clusterId1, List.of(topicName), 1);
+
+        whenRequesting(req -> req
+                .queryParam("fields[topics]", "recordCounts")
+                .queryParam("recordCounts[interval]", "PT1S")
+                .get("{topicId}", clusterId1, topicIds.get(topicName)))
+            .assertThat()
+            .statusCode(is(Status.BAD_REQUEST.getStatusCode()))
+            .body("errors.size()", is(1))
+            .body("errors.source.parameter", contains("recordCounts[interval]"));
+    }
+
     @Test
     void testDescribeTopicWithBadOffsetTimestamp() {
         String topicName = UUID.randomUUID().toString();
@@ -0,0 +1,210 @@
+package com.github.streamshub.console.api.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.model.KafkaRecord;
+import com.github.streamshub.console.api.support.KafkaContext;
+import com.github.streamshub.console.api.support.OffsetBoundsCache;
+import com.github.streamshub.console.api.support.TimestampIndex;
+import com.github.streamshub.console.api.support.serdes.MultiformatDeserializer;
+import com.github.streamshub.console.api.support.serdes.RecordData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecordServiceTest {
+
+    static final TopicPartition P0 = new TopicPartition("t1", 0);
+    static final TopicPartition P1 = new TopicPartition("t1", 1);
+    static final TopicPartition P2 = new TopicPartition("t1", 2);
+
+    @Test
+    void testSampleRangesStayWithinPartitions() {
+        var bounds = Map.of(
+                P0, new OffsetBoundsCache.Bounds(100, 1_000),
+                P1, new OffsetBoundsCache.Bounds(0, 5),
+                P2, new OffsetBoundsCache.Bounds(50, 50));
+
+        var ranges = RecordService.sampleRanges(List.of(P0, P1, P2), bounds, 20, 10, new Random(42));
+
+        assertFalse(ranges.containsKey(P2), "empty partition sampled");
+
+        ranges.forEach((p, runs) -> {
+            var b = bounds.get(p);
+            long previousEnd = Long.MIN_VALUE;
+
+            for (var run : runs.entrySet()) {
+                assertTrue(run.getKey() >= b.beginning());
+                assertTrue(run.getValue() <= b.end());
+                assertTrue(run.getKey() < run.getValue());
+                assertTrue(run.getKey() > previousEnd, "overlapping runs not merged");
+                previousEnd = run.getValue();
+            }
+        });
+    }
+
+    @Test
+    void testSampleRangesMergeOverlappingRuns() {
+        var bounds = Map.of(P0, new OffsetBoundsCache.Bounds(0, 15));
+
+        var ranges = RecordService.sampleRanges(List.of(P0), bounds, 10, 10, new Random(7));
+
+        // Any two runs of 10 within 15 offsets overlap
+        assertEquals(1, ranges.get(P0).size());
+    }
+
+    @Test
+    void testSampleRangesRepeatableWithSeed() {
+        var bounds = Map.of(
+                P0, new OffsetBoundsCache.Bounds(0, 1_000_000),
+                P1, new OffsetBoundsCache.Bounds(0, 2_000_000));
+
+        Map<TopicPartition, TreeMap<Long, Long>> first = RecordService.sampleRanges(List.of(P0, P1), bounds, 10, 5, new Random(1234));
+        Map<TopicPartition, TreeMap<Long, Long>> second = RecordService.sampleRanges(List.of(P0, P1), bounds, 10, 5, new Random(1234));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testSampleRangesOfEmptyTopic() {
+        var bounds = Map.of(P0, new OffsetBoundsCache.Bounds(10, 10));
+
+        assertTrue(RecordService.sampleRanges(List.of(P0), bounds, 10, 5, new Random()).isEmpty());
+    }
+
+    static ConsumerRecord<byte[], byte[]> match(TopicPartition partition, long offset, long timestamp) {
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, timestamp, TimestampType.CREATE_TIME,
+                0, 0, new byte[0], new byte[0], new RecordHeaders(), Optional.empty());
+    }
+
+    @Test
+    void testSelectMatchesResumesAfterLastReturned() {
+        var scan = new RecordService.PartitionScan(null, List.of(P0, P1), Map.of(P0, 0L, P1, 0L), Map.of(P0, 10L, P1, 10L), null);
+        // Timestamps of P0 are not in offset order
+        var p0First = match(P0, 3, 20);
+        var p0Second = match(P0, 5, 10);
+        var p1First = match(P1, 1, 15);
+        scan.matches.addAll(List.of(p0First, p1First, p0Second));
+        Map<Integer, Long> nextOffsets = new TreeMap<>();
+
+        var selected = RecordService.selectMatches(List.of(scan), 2, nextOffsets);
+
+        // Offset 5 of P0 may not be returned before offset 3, which would be found again when resumed
+        assertEquals(List.of(p1First, p0First), selected);
+        assertEquals(Map.of(0, 5L), nextOffsets);
+    }
+
+    @Test
+    void testOnlyPageRecordsDecoded() {
+        var consumer = new MockConsumer<byte[], byte[]>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions("t1", List.of(
+                new PartitionInfo("t1", 0, null, null, null),
+                new PartitionInfo("t1", 1, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(P0, 0L, P1, 0L));
+        consumer.updateEndOffsets(Map.of(P0, 10L, P1, 10L));
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i < 10; i++) {
+                for (var p : List.of(P0, P1)) {
+                    // The latest records are consumed, those before the page size from the end are skipped
+                    consumer.addRecord(new ConsumerRecord<>(p.topic(), p.partition(), i, i * 2L + p.partition(),
+                            TimestampType.CREATE_TIME, 1, 1, new byte[] { 'k' }, new byte[] { 'v' }, new RecordHeaders(), Optional.empty()));
+                }
+            }
+        });
+
+        var decoded = new AtomicInteger();
+        var deserializer = mock(MultiformatDeserializer.class);
+        when(deserializer.deserialize(any(String.class), any(Headers.class), any(byte[].class))).thenAnswer(invocation -> {
+            decoded.incrementAndGet();
+            return new RecordData(invocation.<byte[]>getArgument(2));
+        });
+        var registryContext = mock(KafkaContext.SchemaRegistryContext.class);
+        when(registryContext.keyDeserializer()).thenReturn(deserializer);
+        when(registryContext.valueDeserializer()).thenReturn(deserializer);
+        var kafkaContext = mock(KafkaContext.class);
+        when(kafkaContext.schemaRegistryContext()).thenReturn(registryContext);
+        when(kafkaContext.offsetBounds()).thenReturn(new OffsetBoundsCache("test", Duration.ofMinutes(1)));
+
+        var service = new RecordService();
+        service.kafkaContext = kafkaContext;
+        service.pollTimeout = Duration.ofSeconds(5);
+        service.decodeParallelism = 1;
+
+        var page = service.consumeRecords(consumer, "t1", "topic-id", null, null, null, 5, List.of(KafkaRecord.Fields.OFFSET), null);
+
+        // Five records are consumed from each partition, only those of the page are decoded
+        assertEquals(5, page.size());
+        assertEquals(List.of(9L, 9L, 8L, 8L, 7L), page.stream().map(KafkaRecord::offset).toList());
+        assertEquals(page.size() * 2, decoded.get());
+    }
+
+    static ConsumerRecord<byte[], byte[]> exportRecord(TopicPartition p, long offset, long timestamp) {
+        return new ConsumerRecord<>(p.topic(), p.partition(), offset, timestamp,
+                TimestampType.CREATE_TIME, 1, 1, new byte[] { 'k' }, new byte[] { 'v' }, new RecordHeaders(), Optional.empty());
+    }
+
+    @Test
+    void testExportFailsWhenIncompleteAtDeadline() {
+        var consumer = new MockConsumer<byte[], byte[]>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(P0));
+        consumer.seek(P0, 0);
+
+        for (int i = 0; i < 5; i++) {
+            consumer.addRecord(exportRecord(P0, i, i));
+        }
+
+        // The records up to offset 10 are never received
+        var export = new RecordService.ExportIterator(consumer, Map.of(P0, 10L), Instant.now().plusMillis(200));
+
+        assertEquals(5, export.next().size());
+        assertTrue(export.hasNext());
+        assertThrows(TimeoutException.class, export::next);
+    }
+
+    @Test
+    void testExportFromTimestampAddsToIndex() {
+        var consumer = new MockConsumer<byte[], byte[]>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(P0));
+        consumer.seek(P0, 0);
+
+        for (int i = 0; i < 40; i++) {
+            consumer.addRecord(exportRecord(P0, i, 1000 + i * 10L));
+        }
+
+        var index = new TimestampIndex(10, 100);
+        var export = new RecordService.ExportIterator(consumer, Map.of(P0, 40L), Instant.now().plusSeconds(10));
+        export.timestampTrackers = Map.of(P0, index.track("topic-id", 0, 1000, 0));
+        int exported = 0;
+
+        while (export.hasNext()) {
+            exported += export.next().size();
+        }
+
+        assertEquals(40, exported);
+        // Sampled from the records exported, every SAMPLE_STRIDE offsets
+        assertEquals(16, index.offsetForTime("topic-id", 0, 1155, 0).orElseThrow());
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.streamshub.console.api.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicDescribeServiceTest {
+
+    @Test
+    void testLookupRoundsHoldOneLookupPerPartition() {
+        var rounds = TopicDescribeService.lookupRounds(Map.of(
+                0, List.of(0, 1, 2),
+                1, List.of(2),
+                2, List.of(1, 2)));
+
+        // As many requests as the partition having the most lookups, not one per interval
+        assertEquals(List.of(
+                Map.of(0, 0, 1, 2, 2, 1),
+                Map.of(0, 1, 2, 2),
+                Map.of(0, 2)), rounds);
+    }
+
+    @Test
+    void testLookupRoundsEmpty() {
+        assertTrue(TopicDescribeService.lookupRounds(Map.of()).isEmpty());
+    }
+}
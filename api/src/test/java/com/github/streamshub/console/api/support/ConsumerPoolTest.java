@@ -0,0 +1,164 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsumerPoolTest {
+
+    List<MockConsumer<byte[], byte[]>> created;
+    AtomicReference<Instant> now;
+
+    @BeforeEach
+    void setUp() {
+        created = new ArrayList<>();
+        now = new AtomicReference<>(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    ConsumerPool<byte[], byte[]> pool(int maxSize, Duration maxIdle) {
+        return new ConsumerPool<>("test", configs -> {
+            var consumer = new MockConsumer<byte[], byte[]>(OffsetResetStrategy.EARLIEST);
+            created.add(consumer);
+            return consumer;
+        }, maxSize, maxIdle, now::get);
+    }
+
+    static Map<String, Object> credentials(String jaasConfig) {
+        return Map.of(SaslConfigs.SASL_JAAS_CONFIG, jaasConfig);
+    }
+
+    @Test
+    void testConsumerReusedWithAssignmentReset() {
+        var pool = pool(2, Duration.ofMinutes(1));
+        var partition = new TopicPartition("t1", 0);
+
+        try (var lease = pool.borrow(Map.of())) {
+            lease.consumer().assign(List.of(partition));
+        }
+
+        try (var lease = pool.borrow(Map.of())) {
+            assertSame(created.get(0), lease.consumer());
+            assertTrue(lease.consumer().assignment().isEmpty());
+        }
+
+        assertEquals(1, created.size());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void testConsumersKeyedByCredentials() {
+        var pool = pool(4, Duration.ofMinutes(1));
+
+        try (var lease = pool.borrow(credentials("user1"))) {
+            // no-op
+        }
+
+        try (var lease = pool.borrow(credentials("user2"))) {
+            assertNotSame(created.get(0), lease.consumer());
+        }
+
+        try (var lease = pool.borrow(credentials("user1"))) {
+            assertSame(created.get(0), lease.consumer());
+        }
+
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    void testExhaustedPoolCreatesUnpooledConsumer() {
+        var pool = pool(1, Duration.ofMinutes(1));
+
+        try (var lease1 = pool.borrow(Map.of()); var lease2 = pool.borrow(Map.of())) {
+            assertNotSame(lease1.consumer(), lease2.consumer());
+            assertEquals(1, pool.size());
+        }
+
+        assertFalse(created.get(0).closed());
+        assertTrue(created.get(1).closed());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void testIdleConsumerForOtherCredentialsEvictedWhenFull() {
+        var pool = pool(1, Duration.ofMinutes(1));
+
+        try (var lease = pool.borrow(credentials("user1"))) {
+            // no-op
+        }
+
+        try (var lease = pool.borrow(credentials("user2"))) {
+            assertSame(created.get(1), lease.consumer());
+        }
+
+        assertTrue(created.get(0).closed());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void testIdleConsumerExpired() {
+        var pool = pool(2, Duration.ofMinutes(1));
+
+        try (var lease = pool.borrow(Map.of())) {
+            // no-op
+        }
+
+        now.set(now.get().plus(Duration.ofMinutes(1)).plusMillis(1));
+
+        try (var lease = pool.borrow(Map.of())) {
+            assertSame(created.get(1), lease.consumer());
+        }
+
+        assertTrue(created.get(0).closed());
+    }
+
+    @Test
+    void testIdleConsumerRetainedWithinMaxIdle() {
+        var pool = pool(2, Duration.ofMinutes(1));
+
+        try (var lease = pool.borrow(Map.of())) {
+            // no-op
+        }
+
+        now.set(now.get().plus(Duration.ofMinutes(1)));
+
+        try (var lease = pool.borrow(Map.of())) {
+            assertSame(created.get(0), lease.consumer());
+        }
+
+        assertFalse(created.get(0).closed());
+    }
+
+    @Test
+    void testCloseReleasesIdleAndLeasedConsumers() {
+        var pool = pool(2, Duration.ofMinutes(1));
+
+        try (var lease = pool.borrow(Map.of())) {
+            // no-op
+        }
+
+        var lease = pool.borrow(credentials("user1"));
+        pool.close();
+        assertTrue(created.get(0).closed());
+        assertFalse(created.get(1).closed());
+
+        lease.close();
+        assertTrue(created.get(1).closed());
+        assertEquals(0, pool.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatestRecordScansTest {
+
+    static LatestRecordScans.Scan scanWithKeys(LatestRecordScans scans, String topicId, int keys) {
+        var scan = scans.start(topicId, Map.of(0, 100L, 1, 100L));
+
+        for (long k = 1; k <= keys; k++) {
+            scan.firstSeen(LongHashSet.mix(k));
+        }
+
+        return scan;
+    }
+
+    @Test
+    void testScanResumedOnce() {
+        var scans = new LatestRecordScans(16, 1 << 20, Duration.ofMinutes(5));
+        var scan = scanWithKeys(scans, "t1", 10);
+        String token = scans.save(scan);
+
+        assertNull(scans.take(token, "t2"));
+        assertSame(scan, scans.take(token, "t1"));
+        assertNull(scans.take(token, "t1"));
+        assertEquals(0, scans.bytes());
+    }
+
+    @Test
+    void testScansEvictedBeyondMaxBytes() {
+        var scans = new LatestRecordScans(16, 64 * 1024, Duration.ofMinutes(5));
+        // 1500 keys are held in a table of 4096 slots, 32 KiB
+        String first = scans.save(scanWithKeys(scans, "t1", 1500));
+        String second = scans.save(scanWithKeys(scans, "t1", 1500));
+        assertEquals(64 * 1024, scans.bytes());
+
+        String third = scans.save(scanWithKeys(scans, "t1", 1500));
+
+        assertEquals(64 * 1024, scans.bytes());
+        assertEquals(2, scans.size());
+        assertNull(scans.take(first, "t1"));
+        assertNotNull(scans.take(second, "t1"));
+        assertNotNull(scans.take(third, "t1"));
+        assertEquals(0, scans.bytes());
+    }
+
+    @Test
+    void testScanKeysLimitedByMaxBytes() {
+        var scans = new LatestRecordScans(16, 32 * 100, Duration.ofMinutes(5));
+        var scan = scanWithKeys(scans, "t1", 100);
+
+        assertTrue(scan.full());
+
+        // Keys of the next partition are tracked separately
+        scan.nextPartition();
+        assertFalse(scan.full());
+        assertTrue(scan.firstSeen(LongHashSet.mix(1L)));
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InvalidPartitionsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveTailHubTest {
+
+    static final String TOPIC = "t1";
+    static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    List<MockConsumer<String, String>> created;
+
+    @BeforeEach
+    void setUp() {
+        created = new ArrayList<>();
+    }
+
+    LiveTailHub<String, String> hub(int bufferSize) {
+        return hub(bufferSize, 10);
+    }
+
+    LiveTailHub<String, String> hub(int bufferSize, int maxTails) {
+        return new LiveTailHub<>("test", configs -> {
+            var consumer = new MockConsumer<String, String>(OffsetResetStrategy.LATEST);
+            Node node = new Node(0, "localhost", 9092);
+            consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, node, null, null)));
+            consumer.updateEndOffsets(Map.of(PARTITION, 10L));
+            created.add(consumer);
+            return consumer;
+        }, bufferSize, maxTails);
+    }
+
+    static void addRecord(MockConsumer<String, String> consumer, long offset) {
+        consumer.schedulePollTask(() -> consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, offset, "k" + offset, "v" + offset)));
+    }
+
+    static List<ConsumerRecord<String, String>> takeAll(LiveTailHub.Subscription<String, String> subscription, int count) throws Exception {
+        List<ConsumerRecord<String, String>> received = new ArrayList<>();
+
+        while (received.size() < count) {
+            subscription.available().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            received.addAll(subscription.take());
+        }
+
+        return received;
+    }
+
+    @Test
+    void testSubscribersShareConsumer() throws Exception {
+        var hub = hub(10);
+
+        try (var sub1 = hub.subscribe(Map.of(), TOPIC, null); var sub2 = hub.subscribe(Map.of(), TOPIC, null)) {
+            assertEquals(1, created.size());
+            assertEquals(1, hub.size());
+
+            addRecord(created.get(0), 10);
+            addRecord(created.get(0), 11);
+
+            assertEquals(List.of(10L, 11L), takeAll(sub1, 2).stream().map(ConsumerRecord::offset).toList());
+            assertEquals(List.of(10L, 11L), takeAll(sub2, 2).stream().map(ConsumerRecord::offset).toList());
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> created.get(0).closed());
+        assertEquals(0, hub.size());
+    }
+
+    @Test
+    void testTailsLimited() throws Exception {
+        var hub = hub(10, 1);
+
+        try (var sub1 = hub.subscribe(Map.of(), TOPIC, null); var sub2 = hub.subscribe(Map.of(), TOPIC, null)) {
+            // A second subscription shares the tail held, a tail of the partition would exceed the limit
+            assertThrows(ServiceUnavailableException.class, () -> hub.subscribe(Map.of(), TOPIC, 0));
+            assertEquals(1, created.size());
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> hub.size() == 0);
+
+        try (var sub = hub.subscribe(Map.of(), TOPIC, 0)) {
+            assertEquals(2, created.size());
+        }
+
+        hub.close();
+    }
+
+    @Test
+    void testSlowSubscriberDropsOldest() throws Exception {
+        var hub = hub(1);
+
+        try (var sub = hub.subscribe(Map.of(), TOPIC, 0)) {
+            sub.offer(new ConsumerRecord<>(TOPIC, 0, 10, "k", "v"));
+            sub.offer(new ConsumerRecord<>(TOPIC, 0, 11, "k", "v"));
+
+            assertEquals(11L, takeAll(sub, 1).get(0).offset());
+            assertEquals(1, sub.takeDropped());
+            assertEquals(0, sub.takeDropped());
+        }
+    }
+
+    @Test
+    void testAvailableCompletesWhenRecordOffered() throws Exception {
+        var hub = hub(10);
+
+        try (var sub = hub.subscribe(Map.of(), TOPIC, 0)) {
+            var available = sub.available().toCompletableFuture();
+            assertFalse(available.isDone());
+            assertTrue(sub.take().isEmpty());
+
+            sub.offer(new ConsumerRecord<>(TOPIC, 0, 10, "k", "v"));
+
+            assertTrue(available.isDone());
+            assertTrue(sub.available().toCompletableFuture().isDone());
+            assertEquals(10L, sub.take().get(0).offset());
+        }
+    }
+
+    @Test
+    void testClosedHubFailsSubscriptions() throws Exception {
+        var hub = hub(10);
+        var sub = hub.subscribe(Map.of(), TOPIC, 0);
+        var available = sub.available().toCompletableFuture();
+
+        hub.close();
+
+        available.get(5, TimeUnit.SECONDS);
+        assertThrows(CompletionException.class, sub::take);
+        sub.close();
+    }
+
+    @Test
+    void testStoppedTailNotStarted() {
+        var hub = hub(10);
+        var tail = new LiveTailHub.Tail<>(hub, new LiveTailHub.TailKey("", TOPIC, null));
+
+        // The last subscription was closed before the tail was started
+        tail.stop();
+
+        assertThrows(IllegalStateException.class, () -> tail.start(Map.of()));
+        assertTrue(created.isEmpty());
+    }
+
+    @Test
+    void testInvalidPartitionRejected() {
+        var hub = hub(10);
+
+        assertThrows(InvalidPartitionsException.class, () -> hub.subscribe(Map.of(), TOPIC, 3));
+        assertTrue(created.get(0).closed());
+        assertEquals(0, hub.size());
+    }
+}
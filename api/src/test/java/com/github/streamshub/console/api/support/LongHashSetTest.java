@@ -0,0 +1,98 @@
+package com.github.streamshub.console.api.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    @Test
+    void testAddAndContains() {
+        var set = new LongHashSet();
+
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertTrue(set.contains(42L));
+        assertFalse(set.contains(43L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void testZeroIsHeld() {
+        var set = new LongHashSet();
+
+        assertFalse(set.contains(0L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void testGrowsAndMatchesHashSet() {
+        var set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        var random = new Random(1234);
+
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextInt(50_000) * 0x1_0000_0000L; // low bits all zero
+            assertEquals(expected.add(value), set.add(value));
+        }
+
+        assertEquals(expected.size(), set.size());
+        expected.forEach(value -> assertTrue(set.contains(value)));
+        assertTrue(set.tableBytes() <= LongHashSet.tableSize(expected.size()) * 2L * 8L);
+    }
+
+    @Test
+    void testMaxSize() {
+        var set = new LongHashSet(0, 100);
+
+        for (long i = 1; i <= 100; i++) {
+            assertFalse(set.full());
+            assertTrue(set.add(i));
+        }
+
+        assertTrue(set.full());
+        // Values held may still be added
+        assertFalse(set.add(1L));
+        assertThrows(IllegalStateException.class, () -> set.add(101L));
+        assertFalse(set.contains(101L));
+        assertEquals(100, set.size());
+        assertTrue(set.tableBytes() <= 32L * 100);
+    }
+
+    @Test
+    void testClear() {
+        var set = new LongHashSet();
+
+        for (long i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+
+        set.clear();
+
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(999L));
+        assertEquals(LongHashSet.tableSize(0) * 8L, set.tableBytes());
+    }
+
+    @Test
+    void testHashDistinguishesKeys() {
+        long h1 = LongHashSet.hash("order-1".getBytes(StandardCharsets.UTF_8));
+        long h2 = LongHashSet.hash("order-2".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(h1, LongHashSet.hash("order-1".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(h1, h2);
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.OffsetBoundsCache.Bounds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffsetBoundsCacheTest {
+
+    static final String ID1 = "id1";
+    static final TopicPartition P0 = new TopicPartition("t1", 0);
+    static final TopicPartition P1 = new TopicPartition("t1", 1);
+
+    static Function<Collection<TopicPartition>, Map<TopicPartition, Bounds>> loader(AtomicInteger loads, long end) {
+        return partitions -> {
+            loads.incrementAndGet();
+            return partitions.stream().collect(Collectors.toMap(Function.identity(), p -> new Bounds(0, end)));
+        };
+    }
+
+    @Test
+    void testBoundsCachedUntilExpiry() throws InterruptedException {
+        var cache = new OffsetBoundsCache("test", Duration.ofMillis(200));
+        var loads = new AtomicInteger();
+
+        assertEquals(Map.of(P0, new Bounds(0, 10)), cache.get(ID1, List.of(P0), loader(loads, 10)));
+        assertEquals(Map.of(P0, new Bounds(0, 10)), cache.get(ID1, List.of(P0), loader(loads, 20)));
+        assertEquals(1, loads.get());
+
+        Thread.sleep(250);
+
+        assertEquals(Map.of(P0, new Bounds(0, 20)), cache.get(ID1, List.of(P0), loader(loads, 20)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testOnlyMissingPartitionsLoaded() {
+        var cache = new OffsetBoundsCache("test", Duration.ofMinutes(1));
+        cache.get(ID1, List.of(P0), loader(new AtomicInteger(), 10));
+
+        var result = cache.get(ID1, List.of(P0, P1), partitions -> {
+            assertEquals(List.of(P1), List.copyOf(partitions));
+            return Map.of(P1, new Bounds(5, 15));
+        });
+
+        assertEquals(Map.of(P0, new Bounds(0, 10), P1, new Bounds(5, 15)), result);
+    }
+
+    @Test
+    void testConcurrentLoadsCoalesced() throws Exception {
+        var cache = new OffsetBoundsCache("test", Duration.ofMinutes(1));
+        var loads = new AtomicInteger();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var first = CompletableFuture.supplyAsync(() -> cache.get(ID1, List.of(P0), partitions -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader(loads, 10).apply(partitions);
+        }));
+
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        var second = CompletableFuture.supplyAsync(() -> cache.get(ID1, List.of(P0), loader(loads, 20)));
+        release.countDown();
+
+        assertEquals(Map.of(P0, new Bounds(0, 10)), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Map.of(P0, new Bounds(0, 10)), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFailedLoadNotCached() {
+        var cache = new OffsetBoundsCache("test", Duration.ofMinutes(1));
+        var loads = new AtomicInteger();
+
+        assertThrows(TimeoutException.class, () -> cache.get(ID1, List.of(P0), partitions -> {
+            throw new TimeoutException("timed out");
+        }));
+        assertEquals(0, cache.size());
+
+        assertEquals(Map.of(P0, new Bounds(0, 10)), cache.get(ID1, List.of(P0), loader(loads, 10)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testObservedEndAdvancesBounds() {
+        var cache = new OffsetBoundsCache("test", Duration.ofMinutes(1));
+        var loads = new AtomicInteger();
+        cache.get(ID1, List.of(P0), loader(loads, 10));
+
+        cache.observeEnd(ID1, P0, 15);
+        cache.observeEnd(ID1, P0, 12);
+        // Not cached, ignored
+        cache.observeEnd(ID1, P1, 100);
+
+        assertEquals(Map.of(P0, new Bounds(0, 15)), cache.get(ID1, List.of(P0), loader(loads, 10)));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testBoundsKeyedByTopicId() {
+        var cache = new OffsetBoundsCache("test", Duration.ofMinutes(1));
+        var loads = new AtomicInteger();
+        cache.get(ID1, List.of(P0), loader(loads, 10));
+
+        // Topic deleted and re-created with the same name
+        assertEquals(Map.of(P0, new Bounds(0, 3)), cache.get("id2", List.of(P0), loader(loads, 3)));
+        cache.observeEnd("id2", P0, 5);
+
+        assertEquals(Map.of(P0, new Bounds(0, 10)), cache.get(ID1, List.of(P0), loader(loads, 20)));
+        assertEquals(Map.of(P0, new Bounds(0, 5)), cache.get("id2", List.of(P0), loader(loads, 20)));
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares selecting a page of records with {@linkplain PartitionMerge} to the
+ * {@linkplain SizeLimitedSortedSet} previously used by the record service. Each
+ * partition contributes up to {@code limit} records, delivered in poll-sized
+ * batches as the consumer would.
+ *
+ * <p>Run with the test classpath, e.g.
+ *
+ * <pre>
+ * mvn -pl api test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp api/target/test-classes:api/target/classes:$(cat api/target/cp.txt) org.openjdk.jmh.Main PartitionMergeBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionMergeBenchmark {
+
+    static final String TOPIC = "t1";
+    static final int POLL_SIZE = 500;
+
+    static final Comparator<ConsumerRecord<String, String>> ORDER = Comparator
+            .<ConsumerRecord<String, String>>comparingLong(ConsumerRecord::timestamp)
+            .thenComparingInt(ConsumerRecord::partition)
+            .thenComparingLong(ConsumerRecord::offset);
+
+    @Param({ "10", "200" })
+    int partitions;
+
+    @Param({ "20", "100", "1000" })
+    int limit;
+
+    /**
+     * `true` for the "latest" records, where each partition's records arrive in
+     * the reverse of the result order
+     */
+    @Param({ "false", "true" })
+    boolean latest;
+
+    List<List<ConsumerRecord<String, String>>> polls;
+    Comparator<ConsumerRecord<String, String>> order;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        List<List<ConsumerRecord<String, String>>> partitionRecords = new ArrayList<>();
+
+        for (int p = 0; p < partitions; p++) {
+            List<ConsumerRecord<String, String>> records = new ArrayList<>(limit);
+            long timestamp = random.nextInt(10_000);
+
+            for (long offset = 0; offset < limit; offset++) {
+                timestamp += 1 + random.nextInt(100);
+                records.add(new ConsumerRecord<>(TOPIC, p, offset, timestamp, TimestampType.CREATE_TIME, 0, 0, null, null,
+                        new RecordHeaders(), Optional.empty()));
+            }
+
+            partitionRecords.add(records);
+        }
+
+        // Interleave partitions into poll batches of up to POLL_SIZE records
+        polls = new ArrayList<>();
+        List<ConsumerRecord<String, String>> poll = new ArrayList<>(POLL_SIZE);
+        int perPartition = Math.max(1, POLL_SIZE / partitions);
+
+        for (int start = 0; start < limit; start += perPartition) {
+            for (var records : partitionRecords) {
+                for (var rec : records.subList(start, Math.min(start + perPartition, limit))) {
+                    poll.add(rec);
+
+                    if (poll.size() == POLL_SIZE) {
+                        polls.add(poll);
+                        poll = new ArrayList<>(POLL_SIZE);
+                    }
+                }
+            }
+        }
+
+        if (!poll.isEmpty()) {
+            polls.add(poll);
+        }
+
+        order = latest ? ORDER.reversed() : ORDER;
+    }
+
+    @Benchmark
+    public List<ConsumerRecord<String, String>> sizeLimitedSortedSet() {
+        var limitSet = new SizeLimitedSortedSet<>(order, limit);
+
+        for (var poll : polls) {
+            limitSet.addAll(poll);
+        }
+
+        return new ArrayList<>(limitSet);
+    }
+
+    @Benchmark
+    public List<ConsumerRecord<String, String>> partitionMerge() {
+        var merge = new PartitionMerge<ConsumerRecord<String, String>>(order, limit);
+
+        for (var poll : polls) {
+            int start = 0;
+
+            // Records of each partition are contiguous within a poll
+            for (int i = 1; i <= poll.size(); i++) {
+                if (i == poll.size() || poll.get(i).partition() != poll.get(start).partition()) {
+                    merge.addAll(new TopicPartition(TOPIC, poll.get(start).partition()), poll.subList(start, i));
+                    start = i;
+                }
+            }
+
+            merge.trim();
+        }
+
+        return merge.result();
+    }
+}
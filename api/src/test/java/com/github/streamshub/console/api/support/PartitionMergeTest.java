@@ -0,0 +1,125 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionMergeTest {
+
+    static final String TOPIC = "t1";
+
+    static final Comparator<ConsumerRecord<String, String>> ORDER = Comparator
+            .<ConsumerRecord<String, String>>comparingLong(ConsumerRecord::timestamp)
+            .thenComparingInt(ConsumerRecord::partition)
+            .thenComparingLong(ConsumerRecord::offset);
+
+    static ConsumerRecord<String, String> record(int partition, long offset, long timestamp) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, timestamp, TimestampType.CREATE_TIME, 0, 0, null, null,
+                new RecordHeaders(), Optional.empty());
+    }
+
+    static List<List<ConsumerRecord<String, String>>> partitions(int partitionCount, int recordsPerPartition, long jitter, long seed) {
+        Random random = new Random(seed);
+        List<List<ConsumerRecord<String, String>>> partitions = new ArrayList<>();
+
+        for (int p = 0; p < partitionCount; p++) {
+            List<ConsumerRecord<String, String>> records = new ArrayList<>();
+            long timestamp = random.nextInt(1000);
+
+            for (long offset = 0; offset < recordsPerPartition; offset++) {
+                timestamp += 1 + random.nextInt(100);
+                long ts = jitter > 0 ? timestamp + random.nextLong(jitter) : timestamp;
+                records.add(record(p, offset, ts));
+            }
+
+            partitions.add(records);
+        }
+
+        return partitions;
+    }
+
+    static List<ConsumerRecord<String, String>> expected(List<List<ConsumerRecord<String, String>>> partitions,
+            Comparator<ConsumerRecord<String, String>> order, int limit) {
+        return partitions.stream()
+                .flatMap(List::stream)
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 10, 5, 0",
+        "20, 50, 10, 0",
+        "20, 50, 10, 500",
+        "200, 100, 100, 0",
+        "5, 3, 100, 0",
+    })
+    void testMergeMatchesFullSort(int partitionCount, int recordsPerPartition, int limit, long jitter) {
+        var partitions = partitions(partitionCount, recordsPerPartition, jitter, 42);
+
+        for (var order : List.of(ORDER, ORDER.reversed())) {
+            var merge = new PartitionMerge<ConsumerRecord<String, String>>(order, limit);
+
+            // Deliver in batches of 7 records per partition, interleaved
+            for (int start = 0; start < recordsPerPartition; start += 7) {
+                for (var records : partitions) {
+                    var batch = records.subList(start, Math.min(start + 7, records.size()));
+                    merge.addAll(new TopicPartition(TOPIC, batch.get(0).partition()), batch);
+                }
+                merge.trim();
+            }
+
+            assertEquals(expected(partitions, order, limit), merge.result());
+        }
+    }
+
+    @Test
+    void testRetainedSizeBoundedByLimit() {
+        int limit = 100;
+        var partitions = partitions(200, limit, 0, 7);
+        var merge = new PartitionMerge<ConsumerRecord<String, String>>(ORDER, limit);
+
+        for (var records : partitions) {
+            merge.addAll(new TopicPartition(TOPIC, records.get(0).partition()), records);
+            merge.trim();
+            assertTrue(merge.size() <= limit, () -> "Retained " + merge.size());
+        }
+
+        assertEquals(expected(partitions, ORDER, limit), merge.result());
+    }
+
+    @Test
+    void testPartitionCompletedBeyondThreshold() {
+        var merge = new PartitionMerge<ConsumerRecord<String, String>>(ORDER, 3);
+        var p0 = new TopicPartition(TOPIC, 0);
+        var p1 = new TopicPartition(TOPIC, 1);
+
+        merge.addAll(p0, List.of(record(0, 0, 10), record(0, 1, 20), record(0, 2, 30)));
+        merge.addAll(p1, List.of(record(1, 0, 15)));
+
+        // p0 holds the 3rd record (the threshold), later records from p0 cannot be included
+        assertEquals(Set.of(p0), merge.trim());
+        assertEquals(3, merge.size());
+
+        merge.addAll(p1, List.of(record(1, 1, 25)));
+
+        // p1's new record is beyond the threshold
+        assertEquals(Set.of(p1), merge.trim());
+        assertEquals(List.of(10L, 15L, 20L), merge.result().stream().map(ConsumerRecord::timestamp).toList());
+    }
+}
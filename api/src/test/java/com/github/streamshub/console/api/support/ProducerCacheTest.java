@@ -0,0 +1,195 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProducerCacheTest {
+
+    List<MockProducer<byte[], byte[]>> created;
+    AtomicReference<Instant> now;
+
+    @BeforeEach
+    void setUp() {
+        created = new CopyOnWriteArrayList<>();
+        now = new AtomicReference<>(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    MockProducer<byte[], byte[]> create(Map<String, Object> configs) {
+        var producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        created.add(producer);
+        return producer;
+    }
+
+    ProducerCache<byte[], byte[]> cache(int maxSize, Duration maxIdle) {
+        return new ProducerCache<>("test", this::create, maxSize, maxIdle, now::get);
+    }
+
+    static Map<String, Object> credentials(String jaasConfig) {
+        return Map.of(SaslConfigs.SASL_JAAS_CONFIG, jaasConfig);
+    }
+
+    void advance(Duration duration) {
+        now.set(now.get().plus(duration));
+    }
+
+    @Test
+    void testProducerReusedPerCredentials() {
+        var cache = cache(4, Duration.ofMinutes(1));
+        Producer<byte[], byte[]> user1;
+        Producer<byte[], byte[]> user2;
+
+        try (var lease1 = cache.acquire(credentials("user1")); var lease2 = cache.acquire(credentials("user2"))) {
+            user1 = lease1.producer();
+            user2 = lease2.producer();
+            assertNotSame(user1, user2);
+        }
+
+        try (var lease1 = cache.acquire(credentials("user1")); var lease2 = cache.acquire(credentials("user2"))) {
+            assertSame(user1, lease1.producer());
+            assertSame(user2, lease2.producer());
+        }
+
+        assertEquals(2, created.size());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testConcurrentAcquiresCreateSingleProducer() throws Exception {
+        var creating = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        var cache = new ProducerCache<byte[], byte[]>("test", configs -> {
+            creating.countDown();
+            try {
+                proceed.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return create(configs);
+        }, 2, Duration.ofMinutes(1), now::get);
+
+        var first = CompletableFuture.supplyAsync(() -> cache.acquire(Map.of()));
+        assertTrue(creating.await(10, TimeUnit.SECONDS));
+        var second = CompletableFuture.supplyAsync(() -> cache.acquire(Map.of()));
+        proceed.countDown();
+
+        try (var lease1 = first.get(10, TimeUnit.SECONDS); var lease2 = second.get(10, TimeUnit.SECONDS)) {
+            assertSame(lease1.producer(), lease2.producer());
+        }
+
+        assertEquals(1, created.size());
+    }
+
+    @Test
+    void testFailedCreationNotCached() {
+        var fail = new AtomicBoolean(true);
+        var cache = new ProducerCache<byte[], byte[]>("test", configs -> {
+            if (fail.getAndSet(false)) {
+                throw new KafkaException("EXPECTED");
+            }
+            return create(configs);
+        }, 1, Duration.ofMinutes(1), now::get);
+
+        assertThrows(KafkaException.class, () -> cache.acquire(Map.of()));
+        assertEquals(0, cache.size());
+
+        try (var lease = cache.acquire(Map.of())) {
+            assertSame(created.get(0), lease.producer());
+        }
+    }
+
+    @Test
+    void testLeasedProducerNotEvicted() {
+        var cache = cache(1, Duration.ofMinutes(1));
+
+        try (var lease1 = cache.acquire(credentials("user1"))) {
+            advance(Duration.ofMinutes(5));
+
+            try (var lease2 = cache.acquire(credentials("user2"))) {
+                // The cache is full with a producer in use, the second is not cached
+                assertSame(created.get(1), lease2.producer());
+                assertEquals(1, cache.size());
+            }
+
+            assertFalse(created.get(0).closed());
+            assertTrue(created.get(1).closed());
+        }
+
+        assertFalse(created.get(0).closed());
+    }
+
+    @Test
+    void testIdleProducerClosedOnEviction() {
+        var cache = cache(1, Duration.ofMinutes(1));
+
+        try (var lease = cache.acquire(credentials("user1"))) {
+            // no-op
+        }
+
+        try (var lease = cache.acquire(credentials("user2"))) {
+            assertSame(created.get(1), lease.producer());
+        }
+
+        assertTrue(created.get(0).closed());
+        assertFalse(created.get(1).closed());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testIdleProducerClosedOnExpiry() {
+        var cache = cache(2, Duration.ofMinutes(1));
+
+        try (var lease = cache.acquire(Map.of())) {
+            // no-op
+        }
+
+        advance(Duration.ofMinutes(1));
+
+        try (var lease = cache.acquire(Map.of())) {
+            assertSame(created.get(0), lease.producer());
+        }
+
+        advance(Duration.ofMinutes(1).plusMillis(1));
+
+        try (var lease = cache.acquire(Map.of())) {
+            assertSame(created.get(1), lease.producer());
+        }
+
+        assertTrue(created.get(0).closed());
+    }
+
+    @Test
+    void testCloseWaitsForLeases() {
+        var cache = cache(2, Duration.ofMinutes(1));
+        var lease = cache.acquire(Map.of());
+
+        cache.close();
+        assertFalse(created.get(0).closed());
+
+        lease.close();
+        assertTrue(created.get(0).closed());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.streamshub.console.api.support;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.RecordCache.Key;
+import com.github.streamshub.console.api.support.serdes.RecordData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RecordCacheTest {
+
+    static ConsumerRecord<RecordData, RecordData> record(int partition, long offset, int valueSize) {
+        return new ConsumerRecord<>("t1", partition, offset, null, new RecordData(new byte[valueSize]));
+    }
+
+    static long size(int valueSize) {
+        return RecordCache.sizeOf(record(0, 0, valueSize));
+    }
+
+    @Test
+    void testGetCountsHitsAndMisses() {
+        var cache = new RecordCache(1024 * 1024);
+        var rec = record(0, 5, 10);
+        cache.put("topic-1", rec, 6);
+
+        var entry = cache.get(new Key("topic-1", 0, 5));
+        assertNotNull(entry);
+        assertSame(rec, entry.rec());
+        assertEquals(6, entry.nextOffset());
+        assertNull(cache.get(new Key("topic-1", 0, 6)));
+        // A re-created topic has a different ID
+        assertNull(cache.get(new Key("topic-2", 0, 5)));
+
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() {
+        var cache = new RecordCache(size(100) * 3);
+
+        cache.put("topic-1", record(0, 0, 100), 1);
+        cache.put("topic-1", record(0, 1, 100), 2);
+        cache.put("topic-1", record(0, 2, 100), 3);
+        // Use offset 0, offset 1 becomes least recently used
+        cache.get(new Key("topic-1", 0, 0));
+        cache.put("topic-1", record(0, 3, 100), 4);
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals(size(100) * 3, cache.bytes());
+        assertNull(cache.get(new Key("topic-1", 0, 1)));
+        assertNotNull(cache.get(new Key("topic-1", 0, 0)));
+    }
+
+    @Test
+    void testRecordLargerThanCacheNotAdded() {
+        var cache = new RecordCache(size(100));
+        cache.put("topic-1", record(0, 0, 101), 1);
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.bytes());
+    }
+
+    @Test
+    void testKnownNextOffsetReplacesUnknown() {
+        var cache = new RecordCache(1024 * 1024);
+        cache.put("topic-1", record(0, 0, 10), RecordCache.UNKNOWN_OFFSET);
+        cache.put("topic-1", record(0, 0, 10), 1);
+        cache.put("topic-1", record(0, 0, 10), RecordCache.UNKNOWN_OFFSET);
+
+        assertEquals(1, cache.get(new Key("topic-1", 0, 0)).nextOffset());
+        assertEquals(1, cache.size());
+        assertEquals(size(10), cache.bytes());
+    }
+
+    @Test
+    void testInvalidateTopic() {
+        var cache = new RecordCache(1024 * 1024);
+        cache.put("topic-1", record(0, 0, 10), 1);
+        cache.put("topic-1", record(1, 0, 10), 1);
+        cache.put("topic-2", record(0, 0, 10), 1);
+
+        cache.invalidate("topic-1");
+
+        assertEquals(1, cache.size());
+        assertEquals(size(10), cache.bytes());
+        assertNotNull(cache.get(new Key("topic-2", 0, 0)));
+    }
+}
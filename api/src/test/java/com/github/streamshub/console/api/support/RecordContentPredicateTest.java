@@ -0,0 +1,127 @@
+package com.github.streamshub.console.api.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.github.streamshub.console.api.support.RecordContentPredicate.Candidate;
+import com.github.streamshub.console.api.support.RecordContentPredicate.DeadlineExceededException;
+import com.github.streamshub.console.api.support.RecordContentPredicate.Target;
+import com.github.streamshub.console.api.support.serdes.RecordData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordContentPredicateTest {
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static Candidate candidate(byte[] key, byte[] value, Map<String, String> headers, AtomicInteger decodeCount) {
+        var rec = new ConsumerRecord<>("t1", 0, 0L, key, value);
+        headers.forEach((k, v) -> rec.headers().add(k, bytes(v)));
+
+        Deserializer<RecordData> deserializer = (topic, data) -> {
+            decodeCount.incrementAndGet();
+            // "Decoding" drops the leading magic byte
+            return data != null ? new RecordData(Arrays.copyOfRange(data, 1, data.length)) : null;
+        };
+
+        return new Candidate(rec, deserializer, deserializer);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'hello world', 'world', 6",
+        "'hello world', 'hello', 0",
+        "'hello world', 'worlds', -1",
+        "'abc', '', 0",
+        "'', 'a', -1",
+    })
+    void testIndexOf(String content, String target, int expected) {
+        assertEquals(expected, RecordContentPredicate.indexOf(bytes(content), bytes(target)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'$', ''",
+        "'$.a', '/a'",
+        "'$.a.b[2]', '/a/b/2'",
+        "'$[0].c', '/0/c'",
+        "'$[''x/y'']', '/x~1y'",
+    })
+    void testToJsonPointer(String path, String expected) {
+        assertEquals(expected, RecordContentPredicate.toJsonPointer(path).toString());
+    }
+
+    @Test
+    void testInvalidFilters() {
+        assertThrows(IllegalArgumentException.class, () -> new RecordContentPredicate(Target.VALUE, "eq", List.of("x")));
+        assertThrows(IllegalArgumentException.class, () -> new RecordContentPredicate(Target.VALUE, "re", List.of("[")));
+        assertThrows(IllegalArgumentException.class, () -> new RecordContentPredicate(Target.VALUE, "jsonpath", List.of("a", "b")));
+        assertThrows(IllegalArgumentException.class, () -> new RecordContentPredicate(Target.HEADER, "contains", List.of("h")));
+        String longRegex = "a".repeat(RecordContentPredicate.MAX_PATTERN_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> new RecordContentPredicate(Target.VALUE, "re", List.of(longRegex)));
+    }
+
+    @Test
+    void testRegexMatchingEndsAtDeadline() {
+        // Catastrophic backtracking, runs for far longer than any test timeout
+        var predicate = new RecordContentPredicate(Target.VALUE, "re", List.of("^(a+)+$"));
+        var rec = new ConsumerRecord<>("t1", 0, 0L, bytes("k"), bytes("a".repeat(64) + "!"));
+        Deserializer<RecordData> deserializer = (topic, data) -> new RecordData(data);
+        var candidate = new Candidate(rec, deserializer, deserializer, Instant.now());
+
+        assertThrows(DeadlineExceededException.class, () -> predicate.test(candidate));
+    }
+
+    @Test
+    void testRawContentMatchedWithoutDecoding() {
+        var decodeCount = new AtomicInteger();
+        var candidate = candidate(bytes("key-1"), bytes("{\"a\":{\"b\":[1,\"x,y\"]}}"), Map.of("h1", "one two"), decodeCount);
+
+        assertTrue(new RecordContentPredicate(Target.KEY, "contains", List.of("y-1")).test(candidate));
+        assertTrue(new RecordContentPredicate(Target.VALUE, "re", List.of("\"b\":\\[\\d")).test(candidate));
+        assertTrue(new RecordContentPredicate(Target.VALUE, "jsonpath", List.of("$.a.b[1]", "x", "y")).test(candidate));
+        assertFalse(new RecordContentPredicate(Target.VALUE, "jsonpath", List.of("$.a.b[0]", "2")).test(candidate));
+        assertTrue(new RecordContentPredicate(Target.HEADER, "contains", List.of("h1", "two")).test(candidate));
+        assertFalse(new RecordContentPredicate(Target.HEADER, "contains", List.of("h2", "two")).test(candidate));
+        assertEquals(0, decodeCount.get());
+    }
+
+    @Test
+    void testEncodedContentDecodedOnce() {
+        var decodeCount = new AtomicInteger();
+        byte[] value = bytes("_{\"id\":\"abc\"}");
+        value[0] = 0;
+        var candidate = candidate(null, value, Map.of(), decodeCount);
+
+        assertTrue(new RecordContentPredicate(Target.VALUE, "jsonpath", List.of("$.id", "abc")).test(candidate));
+        assertTrue(new RecordContentPredicate(Target.VALUE, "contains", List.of("abc")).test(candidate));
+        assertFalse(new RecordContentPredicate(Target.KEY, "contains", List.of("abc")).test(candidate));
+        assertEquals(1, decodeCount.get());
+    }
+
+    @Test
+    void testKeyEquals() {
+        var decodeCount = new AtomicInteger();
+        var candidate = candidate(bytes("order,42"), bytes("v"), Map.of(), decodeCount);
+
+        assertTrue(new RecordContentPredicate(Target.KEY, "eq", List.of("order", "42")).test(candidate));
+        assertFalse(new RecordContentPredicate(Target.KEY, "eq", List.of("order")).test(candidate));
+        assertThrows(IllegalArgumentException.class, () -> new RecordContentPredicate(Target.HEADER, "eq", List.of("h", "x")));
+        assertEquals(0, decodeCount.get());
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.streamshub.console.api.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.github.streamshub.console.api.model.KafkaRecord;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RecordExportFormatTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "plain|plain",
+        "a,b|\"a,b\"",
+        "say \"hi\"|\"say \"\"hi\"\"\"",
+    })
+    void testCsvEscape(String value, String expected) {
+        assertEquals(expected, RecordExportFormat.csvEscape(value));
+    }
+
+    @Test
+    void testCsvColumnsFollowFieldOrder() {
+        var columns = RecordExportFormat.csvColumns(List.of(
+                KafkaRecord.Fields.VALUE,
+                KafkaRecord.Fields.VALUE_SCHEMA,
+                KafkaRecord.Fields.PARTITION,
+                KafkaRecord.Fields.OFFSET));
+
+        assertEquals(List.of(KafkaRecord.Fields.PARTITION, KafkaRecord.Fields.OFFSET, KafkaRecord.Fields.VALUE), columns);
+    }
+
+    @Test
+    void testWriteCsv() throws IOException {
+        var columns = List.of(
+                KafkaRecord.Fields.PARTITION,
+                KafkaRecord.Fields.OFFSET,
+                KafkaRecord.Fields.TIMESTAMP,
+                KafkaRecord.Fields.HEADERS,
+                KafkaRecord.Fields.KEY,
+                KafkaRecord.Fields.VALUE);
+        var rec = new KafkaRecord("t1", 2, Instant.parse("2024-01-01T00:00:00Z"), Map.of("h", "v"), null, "{\"a\":1,\"b\":2}", null);
+        rec.offset(10L);
+
+        var output = new ByteArrayOutputStream();
+        RecordExportFormat.writeCsvHeader(output, columns);
+        RecordExportFormat.writeCsv(output, columns, rec, headers -> "{\"h\":\"v\"}");
+
+        assertEquals("""
+                partition,offset,timestamp,headers,key,value\r
+                2,10,2024-01-01T00:00:00Z,"{""h"":""v""}",,"{""a"":1,""b"":2}"\r
+                """, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteBinary() throws IOException {
+        var headers = new RecordHeaders();
+        headers.add("h1", "v1".getBytes(StandardCharsets.UTF_8));
+        headers.add("h2", null);
+        var rec = new ConsumerRecord<>("t1", 3, 42L, 1000L, TimestampType.CREATE_TIME, 0, 5,
+                (byte[]) null, "value".getBytes(StandardCharsets.UTF_8), headers, Optional.empty());
+
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+        RecordExportFormat.writeBinary(output, rec);
+        output.flush();
+
+        var input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(bytes.size() - 4, input.readInt());
+        assertEquals(3, input.readInt());
+        assertEquals(42L, input.readLong());
+        assertEquals(1000L, input.readLong());
+        assertEquals(-1, input.readInt());
+        assertEquals(5, input.readInt());
+        assertArrayEquals("value".getBytes(StandardCharsets.UTF_8), input.readNBytes(5));
+        assertEquals(2, input.readInt());
+        assertEquals(2, input.readInt());
+        assertArrayEquals("h1".getBytes(StandardCharsets.UTF_8), input.readNBytes(2));
+        assertEquals(2, input.readInt());
+        assertArrayEquals("v1".getBytes(StandardCharsets.UTF_8), input.readNBytes(2));
+        assertEquals(2, input.readInt());
+        assertArrayEquals("h2".getBytes(StandardCharsets.UTF_8), input.readNBytes(2));
+        assertEquals(-1, input.readInt());
+        assertEquals(0, input.available());
+    }
+}
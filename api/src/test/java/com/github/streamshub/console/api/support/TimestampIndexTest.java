@@ -0,0 +1,89 @@
+package com.github.streamshub.console.api.support;
+
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimestampIndexTest {
+
+    static final String TOPIC_ID = "topic-1";
+
+    @Test
+    void testBrokerAnswerCoversTimestampRange() {
+        var index = new TimestampIndex(10, 100);
+        // Earliest record at or after t=1000 is offset 50 with timestamp 1200
+        index.put(TOPIC_ID, 0, 1000, 50, 1200);
+
+        assertEquals(OptionalLong.of(50), index.offsetForTime(TOPIC_ID, 0, 1000, 0));
+        assertEquals(OptionalLong.of(50), index.offsetForTime(TOPIC_ID, 0, 1100, 0));
+        assertEquals(OptionalLong.of(50), index.offsetForTime(TOPIC_ID, 0, 1200, 0));
+        assertEquals(OptionalLong.empty(), index.offsetForTime(TOPIC_ID, 0, 999, 0));
+        assertEquals(OptionalLong.empty(), index.offsetForTime(TOPIC_ID, 0, 1201, 0));
+        // Other partitions and topics (e.g. a re-created topic) are not affected
+        assertEquals(OptionalLong.empty(), index.offsetForTime(TOPIC_ID, 1, 1100, 0));
+        assertEquals(OptionalLong.empty(), index.offsetForTime("topic-2", 0, 1100, 0));
+    }
+
+    @Test
+    void testConsumedRecordsAddSamples() {
+        var index = new TimestampIndex(10, 100);
+        var tracker = index.track(TOPIC_ID, 0, 1000, 0);
+
+        for (long offset = 0; offset < 100; offset++) {
+            tracker.observe(offset, 1000 + offset * 10);
+        }
+
+        assertTrue(index.sampleCount(TOPIC_ID, 0) > 0);
+        assertTrue(index.sampleCount(TOPIC_ID, 0) <= 100 / TimestampIndex.SAMPLE_STRIDE);
+
+        // Offset 16 is the earliest record with a timestamp in (1150, 1160]
+        assertEquals(OptionalLong.of(16), index.offsetForTime(TOPIC_ID, 0, 1151, 0));
+        assertEquals(OptionalLong.of(16), index.offsetForTime(TOPIC_ID, 0, 1160, 0));
+    }
+
+    @Test
+    void testOutOfOrderTimestampsOnlySampledAtNewMaximum() {
+        var index = new TimestampIndex(10, 100);
+        var tracker = index.track(TOPIC_ID, 0, 1000, 0);
+
+        tracker.observe(0, 5000);
+        for (long offset = 1; offset < 40; offset++) {
+            // Earlier than the first record, never the answer for t > 1000
+            tracker.observe(offset, 2000);
+        }
+        tracker.observe(40, 6000);
+
+        assertEquals(OptionalLong.empty(), index.offsetForTime(TOPIC_ID, 0, 2000, 0));
+        assertEquals(OptionalLong.of(40), index.offsetForTime(TOPIC_ID, 0, 5001, 0));
+        assertEquals(OptionalLong.of(40), index.offsetForTime(TOPIC_ID, 0, 6000, 0));
+    }
+
+    @Test
+    void testSamplesBeforeBeginningOffsetDiscarded() {
+        var index = new TimestampIndex(10, 100);
+        index.put(TOPIC_ID, 0, 1000, 50, 1200);
+
+        assertEquals(OptionalLong.empty(), index.offsetForTime(TOPIC_ID, 0, 1100, 60));
+        assertEquals(0, index.sampleCount(TOPIC_ID, 0));
+    }
+
+    @Test
+    void testSamplesAndPartitionsBounded() {
+        var index = new TimestampIndex(2, 8);
+
+        for (int i = 0; i < 20; i++) {
+            index.put(TOPIC_ID, 0, i * 100L, i, i * 100L + 50);
+        }
+
+        assertTrue(index.sampleCount(TOPIC_ID, 0) <= 8);
+
+        index.put(TOPIC_ID, 1, 0, 0, 10);
+        index.put(TOPIC_ID, 2, 0, 0, 10);
+
+        assertEquals(2, index.size());
+        assertEquals(0, index.sampleCount(TOPIC_ID, 0));
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.kafka.clients.admin.TopicListing;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.TopicMetadataCache.Snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicMetadataCacheTest {
+
+    static final Duration INTERVAL = Duration.ofSeconds(30);
+    static final TopicListing T1 = new TopicListing("t1", Uuid.randomUuid(), false);
+    static final TopicListing T2 = new TopicListing("t2", Uuid.randomUuid(), false);
+
+    final AtomicLong clock = new AtomicLong();
+    final AtomicInteger loads = new AtomicInteger();
+    final AtomicReference<CompletableFuture<Collection<TopicListing>>> nextLoad = new AtomicReference<>();
+
+    final TopicMetadataCache cache = new TopicMetadataCache("test", this::load, INTERVAL, 0.2, Runnable::run, clock::get);
+
+    CompletionStage<Collection<TopicListing>> load() {
+        loads.incrementAndGet();
+        return nextLoad.get();
+    }
+
+    CompletableFuture<Collection<TopicListing>> respondWith(TopicListing... listings) {
+        var response = CompletableFuture.<Collection<TopicListing>>completedFuture(List.of(listings));
+        nextLoad.set(response);
+        return response;
+    }
+
+    static Snapshot join(CompletionStage<Snapshot> snapshot) throws Exception {
+        return snapshot.toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testSnapshotIndexedByNameAndId() throws Exception {
+        respondWith(T1, T2);
+        Snapshot snapshot = join(cache.snapshot());
+
+        assertEquals(List.of(T1, T2), snapshot.listings());
+        assertEquals("t2", snapshot.byId(T2.topicId()).map(TopicListing::name).orElseThrow());
+        assertEquals(T1.topicId(), snapshot.byName("t1").map(TopicListing::topicId).orElseThrow());
+        assertTrue(snapshot.byId(Uuid.randomUuid()).isEmpty());
+        assertTrue(snapshot.byName("t3").isEmpty());
+    }
+
+    @Test
+    void testSnapshotReusedUntilOutOfDate() throws Exception {
+        respondWith(T1);
+        Snapshot first = join(cache.snapshot());
+
+        clock.addAndGet(INTERVAL.toNanos());
+        assertSame(first, join(cache.snapshot()));
+        assertEquals(1, loads.get());
+
+        // Not refreshed within twice the interval
+        clock.addAndGet(INTERVAL.toNanos());
+        respondWith(T1, T2);
+        assertEquals(2, join(cache.snapshot()).listings().size());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testConcurrentLoadsCollapsed() throws Exception {
+        var response = new CompletableFuture<Collection<TopicListing>>();
+        nextLoad.set(response);
+
+        var first = cache.snapshot();
+        var second = cache.snapshot();
+        response.complete(List.of(T1));
+
+        assertSame(join(first), join(second));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFailedLoadNotCached() throws Exception {
+        nextLoad.set(CompletableFuture.failedFuture(new TimeoutException("EXPECTED")));
+        var failed = cache.snapshot().toCompletableFuture();
+
+        assertThrows(Exception.class, () -> failed.get(10, TimeUnit.SECONDS));
+        assertFalse(cache.cached());
+
+        respondWith(T1);
+        assertEquals(List.of(T1), join(cache.snapshot()).listings());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidatedLoadInFlightNotCached() throws Exception {
+        var response = new CompletableFuture<Collection<TopicListing>>();
+        nextLoad.set(response);
+        var stale = cache.snapshot();
+
+        // e.g. a topic created while the listings were loading
+        cache.invalidate();
+        response.complete(List.of(T1));
+        assertEquals(List.of(T1), join(stale).listings());
+        assertFalse(cache.cached());
+
+        respondWith(T1, T2);
+        assertEquals(List.of(T1, T2), join(cache.snapshot()).listings());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testUpdateReplacesSnapshot() throws Exception {
+        respondWith(T1);
+        join(cache.snapshot());
+
+        cache.update(List.of(T1, T2));
+
+        assertTrue(join(cache.snapshot()).byName("t2").isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testRefreshDelayWithinJitter() {
+        for (int i = 0; i < 100; i++) {
+            long delay = cache.nextDelay();
+            assertTrue(delay >= INTERVAL.toNanos());
+            assertTrue(delay <= INTERVAL.toNanos() * 12 / 10);
+        }
+    }
+
+    @Test
+    void testBackgroundRefresh() throws Exception {
+        respondWith(T1);
+        var refreshed = new TopicMetadataCache("test", this::load, Duration.ofMillis(50), 0.2, ForkJoinPool.commonPool());
+
+        try {
+            refreshed.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+            while (loads.get() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(loads.get() >= 3);
+            assertTrue(refreshed.cached());
+        } finally {
+            refreshed.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.streamshub.console.api.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.kafka.common.Uuid;
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.TopicStatusCache.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopicStatusCacheTest {
+
+    static final Uuid ID1 = Uuid.randomUuid();
+    static final Uuid ID2 = Uuid.randomUuid();
+    static final Status FULLY_REPLICATED = new Status("FullyReplicated", 3);
+    static final Status UNDER_REPLICATED = new Status("UnderReplicated", 3);
+
+    final AtomicReference<Instant> clock = new AtomicReference<>(Instant.EPOCH);
+    final TopicStatusCache cache = new TopicStatusCache(Duration.ofSeconds(30), clock::get);
+
+    @Test
+    void testOnlyCachedTopicsReturned() {
+        cache.put(ID1, FULLY_REPLICATED);
+
+        assertEquals(Map.of(ID1, FULLY_REPLICATED), cache.get(List.of(ID1, ID2)));
+    }
+
+    @Test
+    void testStatusesExpire() {
+        cache.put(ID1, FULLY_REPLICATED);
+        clock.set(Instant.EPOCH.plusSeconds(20));
+        cache.put(ID2, FULLY_REPLICATED);
+
+        clock.set(Instant.EPOCH.plusSeconds(30));
+        assertEquals(Map.of(ID2, FULLY_REPLICATED), cache.get(List.of(ID1, ID2)));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testPutReplacesStatus() {
+        cache.put(ID1, FULLY_REPLICATED);
+        clock.set(Instant.EPOCH.plusSeconds(20));
+        cache.put(ID1, UNDER_REPLICATED);
+
+        clock.set(Instant.EPOCH.plusSeconds(40));
+        assertEquals(Map.of(ID1, UNDER_REPLICATED), cache.get(List.of(ID1)));
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApicurioClientTest {
+
+    @Test
+    void testRequestLimiterQueuesBeyondLimit() {
+        var limiter = new ApicurioClient.RequestLimiter(2);
+        List<CompletableFuture<Integer>> requests = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            var request = new CompletableFuture<Integer>();
+            requests.add(request);
+            results.add(limiter.submit(() -> request));
+        }
+
+        assertEquals(2, limiter.active());
+        assertEquals(2, limiter.waiting());
+
+        requests.get(0).complete(0);
+        assertTrue(results.get(0).isDone());
+        // The next waiting request starts in its place
+        assertEquals(2, limiter.active());
+        assertEquals(1, limiter.waiting());
+
+        requests.get(1).completeExceptionally(new IllegalStateException());
+        assertTrue(results.get(1).isCompletedExceptionally());
+        assertEquals(0, limiter.waiting());
+
+        requests.get(2).complete(2);
+        requests.get(3).complete(3);
+        assertEquals(0, limiter.active());
+        assertEquals(3, results.get(3).join());
+    }
+
+    @Test
+    void testRequestLimiterReleasesFailedStart() {
+        var limiter = new ApicurioClient.RequestLimiter(1);
+
+        CompletableFuture<Integer> failed = limiter.submit(() -> {
+            throw new IllegalStateException("not started");
+        });
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, limiter.active());
+
+        var next = limiter.submit(() -> CompletableFuture.completedFuture(1));
+        assertFalse(next.isCompletedExceptionally());
+        assertEquals(1, next.join());
+    }
+
+    @Test
+    void testRequestLimiterStartsImmediateCompletionsWithoutRecursion() {
+        var limiter = new ApicurioClient.RequestLimiter(1);
+        var blocker = new CompletableFuture<Integer>();
+        var first = limiter.submit(() -> blocker);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            results.add(limiter.submit(() -> {
+                depths.add(Thread.currentThread().getStackTrace().length);
+                return CompletableFuture.completedFuture(1);
+            }));
+        }
+
+        assertEquals(10_000, limiter.waiting());
+        blocker.complete(0);
+
+        assertEquals(0, first.join());
+        assertTrue(results.stream().allMatch(r -> r.join() == 1));
+        assertEquals(0, limiter.active());
+        // Each waiting request is started from the same frame, not by the one before
+        assertEquals(depths.get(0), depths.get(depths.size() - 1));
+    }
+}
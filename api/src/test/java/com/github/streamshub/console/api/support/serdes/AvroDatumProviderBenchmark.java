@@ -0,0 +1,183 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.Encoder;
+import org.apache.avro.io.EncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares decoding Avro records to JSON with the cached codecs of
+ * {@linkplain AvroDatumProvider} to the previous implementation, which created a
+ * reader, writer, and decoder/encoder for every record. The provider's reader is
+ * measured both with the binary decoder reused by {@linkplain AvroDeserializer}
+ * and with a new decoder per record, as created by the Apicurio deserializer.
+ *
+ * <p>Run with the test classpath, e.g.
+ *
+ * <pre>
+ * mvn -pl api test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp api/target/test-classes:api/target/classes:$(cat api/target/cp.txt) org.openjdk.jmh.Main AvroDatumProviderBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroDatumProviderBenchmark {
+
+    static final int RECORDS = 10_000;
+
+    static final Schema SCHEMA = new Schema.Parser().parse("""
+            {
+              "type": "record",
+              "name": "Order",
+              "namespace": "console.avro",
+              "fields": [
+                { "name": "id", "type": "string" },
+                { "name": "quantity", "type": "int" },
+                { "name": "note", "type": [ "null", "string" ], "default": null },
+                { "name": "customer", "type": {
+                  "type": "record",
+                  "name": "Customer",
+                  "fields": [
+                    { "name": "name", "type": "string" },
+                    { "name": "tier", "type": { "type": "enum", "name": "Tier", "symbols": [ "BRONZE", "SILVER", "GOLD" ] } },
+                    { "name": "address", "type": {
+                      "type": "record",
+                      "name": "Address",
+                      "fields": [
+                        { "name": "street", "type": "string" },
+                        { "name": "city", "type": "string" }
+                      ]
+                    } }
+                  ]
+                } },
+                { "name": "lines", "type": { "type": "array", "items": {
+                  "type": "record",
+                  "name": "Line",
+                  "fields": [
+                    { "name": "sku", "type": "string" },
+                    { "name": "price", "type": "double" }
+                  ]
+                } } },
+                { "name": "attributes", "type": { "type": "map", "values": "string" } }
+              ]
+            }
+            """);
+
+    byte[][] records;
+    AvroDatumProvider provider;
+    DatumReader<RecordData> reader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        records = encode(SCHEMA, RECORDS, new Random(0));
+        provider = new AvroDatumProvider();
+        reader = provider.createDatumReader(SCHEMA);
+    }
+
+    static byte[][] encode(Schema schema, int count, Random random) throws IOException {
+        Schema customerSchema = schema.getField("customer").schema();
+        Schema addressSchema = customerSchema.getField("address").schema();
+        Schema lineSchema = schema.getField("lines").schema().getElementType();
+        Schema tierSchema = customerSchema.getField("tier").schema();
+        DatumWriter<Object> writer = new GenericDatumWriter<>(schema);
+        byte[][] result = new byte[count][];
+        BinaryEncoder encoder = null;
+
+        for (int i = 0; i < count; i++) {
+            GenericRecord address = new GenericData.Record(addressSchema);
+            address.put("street", i + " Main Street");
+            address.put("city", "City " + random.nextInt(100));
+
+            GenericRecord customer = new GenericData.Record(customerSchema);
+            customer.put("name", "Customer " + random.nextInt(1000));
+            customer.put("tier", new GenericData.EnumSymbol(tierSchema, tierSchema.getEnumSymbols().get(random.nextInt(3))));
+            customer.put("address", address);
+
+            GenericRecord line = new GenericData.Record(lineSchema);
+            line.put("sku", "sku-" + random.nextInt(10_000));
+            line.put("price", random.nextDouble() * 100);
+
+            GenericRecord order = new GenericData.Record(schema);
+            order.put("id", "order-" + i);
+            order.put("quantity", random.nextInt(10));
+            order.put("note", i % 2 == 0 ? null : "note " + i);
+            order.put("customer", customer);
+            order.put("lines", List.of(line, line));
+            order.put("attributes", Map.of("channel", "web"));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            encoder = EncoderFactory.get().binaryEncoder(out, encoder);
+            writer.write(order, encoder);
+            encoder.flush();
+            result[i] = out.toByteArray();
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void uncachedDecode(Blackhole blackhole) throws IOException {
+        for (byte[] data : records) {
+            // Previous implementation, with a new reader, writer, decoder, and encoder per record
+            GenericDatumReader<Object> target = new GenericDatumReader<>(SCHEMA);
+            Object datum = target.read(null, DecoderFactory.get().binaryDecoder(data, 0, data.length, null));
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DatumWriter<Object> writer = new GenericDatumWriter<>(SCHEMA);
+            Encoder jsonEncoder = EncoderFactory.get().jsonEncoder(SCHEMA, buffer);
+            writer.write(datum, jsonEncoder);
+            jsonEncoder.flush();
+            blackhole.consume(new RecordData(buffer.toByteArray()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void providerDecode(Blackhole blackhole) throws IOException {
+        for (byte[] data : records) {
+            // Provider reader with a new binary decoder per record, as done by AvroKafkaDeserializer
+            blackhole.consume(reader.read(null, DecoderFactory.get().binaryDecoder(data, 0, data.length, null)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void deserializerDecode(Blackhole blackhole) {
+        for (byte[] data : records) {
+            // Provider reader with the binary decoder reused by the thread, as done by AvroDeserializer
+            blackhole.consume(AvroDeserializer.readBinary(provider, SCHEMA, ByteBuffer.wrap(data), 0, data.length));
+        }
+    }
+}
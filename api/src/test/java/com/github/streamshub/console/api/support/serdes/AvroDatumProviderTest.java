@@ -0,0 +1,96 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.Encoder;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvroDatumProviderTest {
+
+    static final Schema SCHEMA = AvroDatumProviderBenchmark.SCHEMA;
+
+    @Test
+    void testCodecCachedPerSchema() {
+        var codec = AvroDatumProvider.codec(SCHEMA);
+
+        assertSame(codec, AvroDatumProvider.codec(SCHEMA));
+        // Equal schema parsed separately
+        assertSame(codec, AvroDatumProvider.codec(new Schema.Parser().parse(SCHEMA.toString())));
+    }
+
+    @Test
+    void testReusedCodecMatchesNewReader() throws IOException {
+        byte[][] records = AvroDatumProviderBenchmark.encode(SCHEMA, 50, new Random(1));
+        var reader = new AvroDatumProvider().createDatumReader(SCHEMA);
+
+        for (byte[] data : records) {
+            // Previous implementation, with a new reader and encoder per record
+            Object datum = new GenericDatumReader<>(SCHEMA).read(null, DecoderFactory.get().binaryDecoder(data, null));
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            Encoder jsonEncoder = EncoderFactory.get().jsonEncoder(SCHEMA, json);
+            new GenericDatumWriter<>(SCHEMA).write(datum, jsonEncoder);
+            jsonEncoder.flush();
+
+            String actual = new String(reader.read(null, DecoderFactory.get().binaryDecoder(data, null)).data, StandardCharsets.UTF_8);
+            assertEquals(json.toString(StandardCharsets.UTF_8), actual);
+        }
+    }
+
+    @Test
+    void testReusedDecoderMatchesNewDecoder() throws IOException {
+        var provider = new AvroDatumProvider();
+        var reader = provider.createDatumReader(SCHEMA);
+
+        for (byte[] data : AvroDatumProviderBenchmark.encode(SCHEMA, 50, new Random(3))) {
+            // Record at an offset within the buffer, following a header
+            byte[] framed = new byte[data.length + 5];
+            System.arraycopy(data, 0, framed, 5, data.length);
+
+            String expected = new String(reader.read(null, DecoderFactory.get().binaryDecoder(data, null)).data, StandardCharsets.UTF_8);
+            String actual = new String(AvroDeserializer.readBinary(provider, SCHEMA, ByteBuffer.wrap(framed), 5, data.length).data, StandardCharsets.UTF_8);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testCodecsBounded() {
+        for (int i = 0; i < AvroDatumProvider.MAX_CACHED_SCHEMAS + 10; i++) {
+            AvroDatumProvider.codec(Schema.createFixed("Fixed" + i, null, "test", 4));
+        }
+
+        assertTrue(AvroDatumProvider.cachedCodecs() <= AvroDatumProvider.MAX_CACHED_SCHEMAS);
+    }
+
+    @Test
+    void testWriterRoundTripsJson() throws IOException {
+        var writer = new AvroDatumProvider().createDatumWriter(null, SCHEMA);
+        var codec = AvroDatumProvider.codec(SCHEMA);
+
+        for (byte[] data : AvroDatumProviderBenchmark.encode(SCHEMA, 10, new Random(2))) {
+            byte[] json = codec.toJson(codec.reader.read(null, DecoderFactory.get().binaryDecoder(data, null)));
+            RecordData input = new RecordData(json);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+            writer.write(input, encoder);
+            encoder.flush();
+
+            assertEquals(new String(json, StandardCharsets.UTF_8), new String(input.data, StandardCharsets.UTF_8));
+            assertEquals(new String(data, StandardCharsets.ISO_8859_1), new String(out.toByteArray(), StandardCharsets.ISO_8859_1));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LatestSchemaCacheTest {
+
+    static final ArtifactReference LATEST = ArtifactReference.builder().groupId("g1").artifactId("a1").build();
+    static final ArtifactReference VERSION_1 = ArtifactReference.builder().groupId("g1").artifactId("a1").version("1").build();
+
+    final AtomicLong clock = new AtomicLong();
+    final AtomicInteger loads = new AtomicInteger();
+    final List<Runnable> background = new ArrayList<>();
+    final LatestSchemaCache<String> cache = new LatestSchemaCache<>(
+            Duration.ofSeconds(60),
+            Duration.ofSeconds(45),
+            2,
+            clock::get,
+            background::add);
+
+    String load(ArtifactReference reference) {
+        return reference.getArtifactId() + ":" + reference.getVersion() + ":" + loads.incrementAndGet();
+    }
+
+    void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void testCachedUntilExpiry() {
+        assertEquals("a1:null:1", cache.get(LATEST, this::load));
+        advance(Duration.ofSeconds(30));
+        assertEquals("a1:null:1", cache.get(LATEST, this::load));
+        // Explicit version is cached separately
+        assertEquals("a1:1:2", cache.get(VERSION_1, this::load));
+
+        advance(Duration.ofSeconds(40));
+        // Expired without having been used since refreshAfter, loaded again in the foreground
+        assertEquals("a1:null:3", cache.get(LATEST, this::load));
+        assertEquals(0, background.size());
+    }
+
+    @Test
+    void testRefreshedInBackground() {
+        cache.get(LATEST, this::load);
+        advance(Duration.ofSeconds(50));
+
+        // Current value returned, a single refresh scheduled
+        assertEquals("a1:null:1", cache.get(LATEST, this::load));
+        assertEquals("a1:null:1", cache.get(LATEST, this::load));
+        assertEquals(1, background.size());
+
+        background.remove(0).run();
+        assertEquals("a1:null:2", cache.get(LATEST, this::load));
+
+        // The refreshed value is valid for a full period from its load
+        advance(Duration.ofSeconds(40));
+        assertEquals("a1:null:2", cache.get(LATEST, this::load));
+        assertEquals(0, background.size());
+    }
+
+    @Test
+    void testFailedRefreshRetried() {
+        cache.get(LATEST, this::load);
+        advance(Duration.ofSeconds(50));
+
+        assertEquals("a1:null:1", cache.get(LATEST, ref -> {
+            throw new IllegalStateException("registry unavailable");
+        }));
+        background.remove(0).run();
+
+        // Failure keeps the current value, the next use schedules another refresh
+        assertEquals("a1:null:1", cache.get(LATEST, this::load));
+        assertEquals(1, background.size());
+    }
+
+    @Test
+    void testInvalidate() {
+        cache.get(LATEST, this::load);
+        advance(Duration.ofSeconds(50));
+        cache.get(LATEST, this::load);
+
+        cache.invalidate(LATEST);
+        assertEquals("a1:null:2", cache.get(LATEST, this::load));
+
+        // The refresh scheduled before the invalidation does not replace the new value
+        background.remove(0).run();
+        assertEquals("a1:null:2", cache.get(LATEST, this::load));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLoadFailureNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(LATEST, ref -> {
+            throw new IllegalStateException("registry unavailable");
+        }));
+        assertEquals(0, cache.size());
+        assertEquals("a1:null:1", cache.get(LATEST, this::load));
+    }
+
+    @Test
+    void testSizeBounded() {
+        cache.get(LATEST, this::load);
+        cache.get(VERSION_1, this::load);
+        cache.get(ArtifactReference.builder().groupId("g1").artifactId("a2").build(), this::load);
+
+        assertEquals(2, cache.size());
+    }
+}
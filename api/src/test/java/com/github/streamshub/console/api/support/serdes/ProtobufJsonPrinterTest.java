@@ -0,0 +1,35 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import com.google.protobuf.util.JsonFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ProtobufJsonPrinterTest {
+
+    @Test
+    void testPrinterCachedPerDescriptor() {
+        var printer = ProtobufJsonPrinter.printer(Struct.getDescriptor());
+        assertSame(printer, ProtobufJsonPrinter.printer(Struct.getDescriptor()));
+    }
+
+    @Test
+    void testPrintMatchesDefaultPrinter() throws IOException {
+        Struct message = Struct.newBuilder()
+                .putFields("name", Value.newBuilder().setStringValue("é").build())
+                .putFields("count", Value.newBuilder().setNumberValue(3).build())
+                .build();
+
+        String expected = JsonFormat.printer().omittingInsignificantWhitespace().print(message);
+
+        // Repeated to reuse the thread's buffer
+        assertEquals(expected, ProtobufJsonPrinter.print(message));
+        assertEquals(expected, ProtobufJsonPrinter.print(message));
+    }
+}
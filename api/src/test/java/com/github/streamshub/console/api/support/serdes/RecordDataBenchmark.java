@@ -0,0 +1,129 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@linkplain RecordData#bytesToString(byte[], Integer)} to the
+ * previous implementation, which read the bytes one character at a time using
+ * an {@linkplain InputStreamReader}.
+ *
+ * <p>Run with the test classpath, e.g.
+ *
+ * <pre>
+ * mvn -pl api test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp api/target/test-classes:api/target/classes:$(cat api/target/cp.txt) org.openjdk.jmh.Main RecordDataBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordDataBenchmark {
+
+    @Param({ "ascii", "multibyte", "binary" })
+    String content;
+
+    @Param({ "32", "16384" })
+    int size;
+
+    /**
+     * Maximum value length, zero for no limit
+     */
+    @Param({ "0", "100" })
+    int maxValueLength;
+
+    byte[] data;
+    Integer limit;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+
+        data = switch (content) {
+            case "ascii" -> text(random, "abcdefghijklmnopqrstuvwxyz {}\":,0123456789");
+            case "multibyte" -> text(random, "abcdéèçàüößñ日本語€😀");
+            default -> {
+                byte[] bytes = new byte[size];
+                random.nextBytes(bytes);
+                yield bytes;
+            }
+        };
+
+        limit = maxValueLength > 0 ? maxValueLength : null;
+    }
+
+    byte[] text(Random random, String alphabet) {
+        int[] codePoints = alphabet.codePoints().toArray();
+        StringBuilder builder = new StringBuilder(size);
+
+        while (builder.length() < size) {
+            builder.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+        }
+
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String readerBytesToString() {
+        return readerBytesToString(data, limit);
+    }
+
+    @Benchmark
+    public String bytesToString() {
+        return RecordData.bytesToString(data, limit);
+    }
+
+    static String readerBytesToString(byte[] bytes, Integer maxValueLength) {
+        if (bytes == null) {
+            return null;
+        }
+
+        if (bytes.length == 0) {
+            return "";
+        }
+
+        int bufferSize = maxValueLength != null ? Math.min(maxValueLength, bytes.length) : bytes.length;
+        StringBuilder buffer = new StringBuilder(bufferSize);
+
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            int input;
+
+            while ((input = reader.read()) > -1) {
+                if (input == RecordData.REPLACEMENT_CHARACTER || !Character.isDefined(input)) {
+                    return RecordData.BINARY_DATA_MESSAGE;
+                }
+
+                buffer.append((char) input);
+
+                if (maxValueLength != null && buffer.length() == maxValueLength) {
+                    break;
+                }
+            }
+
+            return buffer.toString();
+        } catch (IOException e) {
+            return RecordData.BINARY_DATA_MESSAGE;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RecordDataTest {
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "hello,       , hello",
+        "hello,      1, h",
+        "hello,      5, hello",
+        "hello,     10, hello",
+        "héllo,   , héllo",
+        "héllo,  2, hé",
+        "héllo,  1, h",
+        "日本, 1, 日",
+    })
+    void testBytesToString(String input, Integer maxValueLength, String expected) {
+        assertEquals(expected, RecordData.bytesToString(bytes(input), maxValueLength));
+    }
+
+    @Test
+    void testBytesToStringNullAndEmpty() {
+        assertNull(RecordData.bytesToString(null, null));
+        assertEquals("", RecordData.bytesToString(new byte[0], 5));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "  , a😀b",
+        "1,  a",
+        // Truncated before the surrogate pair rather than splitting it
+        "2,  a",
+        "3,  a😀",
+        "4,  a😀b",
+    })
+    void testBytesToStringDoesNotSplitSurrogatePair(Integer maxValueLength, String expected) {
+        assertEquals(expected, RecordData.bytesToString(bytes("a😀b"), maxValueLength));
+    }
+
+    @Test
+    void testBytesToStringBinary() {
+        // Invalid leading byte
+        assertEquals(RecordData.BINARY_DATA_MESSAGE, RecordData.bytesToString(bytes(1, 2, 0xFF, 3), null));
+        // Continuation byte without a leading byte
+        assertEquals(RecordData.BINARY_DATA_MESSAGE, RecordData.bytesToString(bytes('a', 0x80), null));
+        // Incomplete trailing sequence
+        assertEquals(RecordData.BINARY_DATA_MESSAGE, RecordData.bytesToString(bytes('a', 0xC3), null));
+        // Malformed sequence after a valid multi-byte character
+        assertEquals(RecordData.BINARY_DATA_MESSAGE, RecordData.bytesToString(bytes(0xC3, 0xA9, 0xC3, 0x28), null));
+        // Encoded replacement character
+        assertEquals(RecordData.BINARY_DATA_MESSAGE, RecordData.bytesToString(bytes("x�"), null));
+    }
+
+    @Test
+    void testBytesToStringInvalidBeyondLengthLimit() {
+        assertEquals("a", RecordData.bytesToString(bytes('a', 0xC3), 1));
+        assertEquals("é", RecordData.bytesToString(bytes(0xC3, 0xA9, 0xFF), 1));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "  , a😀b",
+        "1,  a",
+        "2,  a",
+        "3,  a😀",
+        "10, a😀b",
+    })
+    void testTextDataString(Integer maxValueLength, String expected) {
+        var data = RecordData.ofText("a😀b");
+        assertEquals(expected, data.dataString(maxValueLength));
+        assertEquals(expected, RecordData.bytesToString(data.data(), maxValueLength));
+    }
+
+    @Test
+    void testTextDataEncodedOnDemand() {
+        var data = RecordData.ofText("{\"name\":\"é\"}");
+        assertNull(data.data);
+        assertEquals(12, data.size());
+        assertArrayEquals(bytes("{\"name\":\"é\"}"), data.data());
+    }
+}
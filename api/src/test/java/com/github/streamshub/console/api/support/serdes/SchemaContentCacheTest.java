@@ -0,0 +1,87 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.serdes.SchemaContentCache.Entry;
+import com.github.streamshub.console.api.support.serdes.SchemaContentCache.Key;
+
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaContentCacheTest {
+
+    static Key globalId(long globalId) {
+        return Key.of("registry1", ArtifactReference.builder().globalId(globalId).build());
+    }
+
+    static Entry entry(int size) {
+        return Entry.of(new byte[size]);
+    }
+
+    @Test
+    void testGetCountsHitsAndMisses() {
+        var cache = new SchemaContentCache(1024 * 1024);
+        cache.put(globalId(1), entry(10));
+
+        assertNotNull(cache.get(globalId(1)));
+        assertNull(cache.get(globalId(2)));
+        // Same ID in a different registry
+        assertNull(cache.get(Key.of("registry2", ArtifactReference.builder().globalId(1L).build())));
+
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void testLatestArtifactNotCached() {
+        var cache = new SchemaContentCache(1024 * 1024);
+        var latest = Key.of("registry1", ArtifactReference.builder().groupId("g1").artifactId("a1").build());
+        var versioned = Key.of("registry1", ArtifactReference.builder().groupId("g1").artifactId("a1").version("2").build());
+
+        assertFalse(latest.immutable());
+        assertTrue(versioned.immutable());
+
+        cache.put(latest, entry(10));
+        cache.put(versioned, entry(10));
+
+        assertNull(cache.get(latest));
+        assertNotNull(cache.get(versioned));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() {
+        long entrySize = 100 + SchemaContentCache.ENTRY_OVERHEAD;
+        var cache = new SchemaContentCache(entrySize * 3);
+
+        cache.put(globalId(1), entry(100));
+        cache.put(globalId(2), entry(100));
+        cache.put(globalId(3), entry(100));
+        // Use 1, 2 becomes least recently used
+        cache.get(globalId(1));
+        cache.put(globalId(4), entry(100));
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals(entrySize * 3, cache.bytes());
+        assertNull(cache.get(globalId(2)));
+        assertNotNull(cache.get(globalId(1)));
+    }
+
+    @Test
+    void testEntityTagFollowsContent() {
+        var e1 = Entry.of("{\"type\":\"string\"}".getBytes(StandardCharsets.UTF_8));
+        var e2 = Entry.of("{\"type\":\"string\"}".getBytes(StandardCharsets.UTF_8));
+        var e3 = Entry.of("{\"type\":\"int\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(e1.etag(), e2.etag());
+        assertNotEquals(e1.etag(), e3.etag());
+    }
+}
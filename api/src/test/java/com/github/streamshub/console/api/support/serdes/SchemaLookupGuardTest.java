@@ -0,0 +1,158 @@
+package com.github.streamshub.console.api.support.serdes;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.streamshub.console.api.support.serdes.SchemaLookupGuard.Failure;
+
+import io.apicurio.registry.resolver.strategy.ArtifactReference;
+import io.apicurio.registry.rest.client.exception.NotFoundException;
+import io.apicurio.registry.rest.v2.beans.Error;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaLookupGuardTest {
+
+    static final ArtifactReference REF1 = ArtifactReference.builder().globalId(1L).build();
+    static final ArtifactReference REF2 = ArtifactReference.builder().globalId(2L).build();
+
+    final AtomicLong clock = new AtomicLong();
+    final AtomicInteger lookups = new AtomicInteger();
+    final SchemaLookupGuard guard = new SchemaLookupGuard(clock::get, 10);
+
+    String notFound(ArtifactReference reference) {
+        lookups.incrementAndGet();
+        throw new NotFoundException(new Error());
+    }
+
+    String unavailable(ArtifactReference reference) {
+        lookups.incrementAndGet();
+        throw new IllegalStateException("registry unavailable");
+    }
+
+    String found(ArtifactReference reference) {
+        lookups.incrementAndGet();
+        return "schema-" + reference.getGlobalId();
+    }
+
+    void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void testNotFoundBackedOff() {
+        assertEquals("NOT_FOUND", guard.resolve(REF1, this::notFound, Failure::name));
+        assertEquals("NOT_FOUND", guard.resolve(REF1, this::notFound, Failure::name));
+        assertEquals(1, lookups.get());
+
+        // Other references are unaffected
+        assertEquals("schema-2", guard.resolve(REF2, this::found, Failure::name));
+
+        advance(SchemaLookupGuard.NOT_FOUND_BACKOFF);
+        assertEquals("schema-1", guard.resolve(REF1, this::found, Failure::name));
+        assertEquals(3, lookups.get());
+        assertEquals(0, guard.failures());
+    }
+
+    @Test
+    void testErrorBackoffGrowsExponentially() {
+        guard.resolve(REF1, this::unavailable, Failure::name);
+        advance(SchemaLookupGuard.ERROR_BACKOFF);
+        assertEquals("ERROR", guard.resolve(REF1, this::unavailable, Failure::name));
+        assertEquals(2, lookups.get());
+
+        // Second failure doubles the backoff
+        advance(SchemaLookupGuard.ERROR_BACKOFF);
+        guard.resolve(REF1, this::unavailable, Failure::name);
+        assertEquals(2, lookups.get());
+
+        advance(SchemaLookupGuard.ERROR_BACKOFF);
+        guard.resolve(REF1, this::unavailable, Failure::name);
+        assertEquals(3, lookups.get());
+    }
+
+    @Test
+    void testBackoffLimits() {
+        assertEquals(SchemaLookupGuard.ERROR_BACKOFF, SchemaLookupGuard.backoff(Failure.ERROR, 1));
+        assertEquals(SchemaLookupGuard.ERROR_MAX_BACKOFF, SchemaLookupGuard.backoff(Failure.ERROR, 100));
+        assertEquals(SchemaLookupGuard.NOT_FOUND_BACKOFF.multipliedBy(2), SchemaLookupGuard.backoff(Failure.NOT_FOUND, 2));
+        assertEquals(SchemaLookupGuard.NOT_FOUND_MAX_BACKOFF, SchemaLookupGuard.backoff(Failure.NOT_FOUND, 100));
+    }
+
+    @Test
+    void testFailuresBounded() {
+        for (long i = 1; i <= 20; i++) {
+            guard.resolve(ArtifactReference.builder().globalId(i).build(), this::notFound, Failure::name);
+        }
+
+        assertEquals(10, guard.failures());
+    }
+
+    @Test
+    void testConcurrentLookupsCollapsed() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var first = CompletableFuture.supplyAsync(() -> guard.resolve(REF1, ref -> {
+            started.countDown();
+            await(release);
+            return found(ref);
+        }, Failure::name));
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        var second = CompletableFuture.supplyAsync(() -> guard.resolve(REF1, this::found, Failure::name));
+        // Give the second lookup time to join the one in flight
+        Thread.sleep(200);
+        release.countDown();
+
+        assertEquals("schema-1", first.get(10, TimeUnit.SECONDS));
+        assertEquals("schema-1", second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void testConcurrentLookupsReleasedWhenLookupThrowsError() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var first = CompletableFuture.supplyAsync(() -> guard.resolve(REF1, ref -> {
+            started.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }, Failure::name));
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        var second = CompletableFuture.supplyAsync(() -> guard.resolve(REF1, this::found, Failure::name));
+        // Give the second lookup time to join the one in flight
+        Thread.sleep(200);
+        release.countDown();
+
+        var thrown = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, thrown.getCause());
+        assertEquals("ERROR", second.get(10, TimeUnit.SECONDS));
+
+        // Not recorded as a failure of the registry
+        assertEquals(0, guard.failures());
+        assertEquals("schema-1", guard.resolve(REF1, this::found, Failure::name));
+    }
+
+    static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.streamshub.console.kafka.systemtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+/**
+ * Same as profile {@linkplain TestPlainNoK8sProfile}, but with record searches
+ * limited to {@value #SEARCH_MAX_RECORDS} records so that tests may exhaust the
+ * search limits without producing large topics.
+ */
+public class TestSearchLimitsProfile extends TestPlainNoK8sProfile implements QuarkusTestProfile {
+
+    public static final int SEARCH_MAX_RECORDS = 50;
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        Map<String, String> overrides = new HashMap<>(super.getConfigOverrides());
+        overrides.put("console.topics.records.search.max-records", Integer.toString(SEARCH_MAX_RECORDS));
+        overrides.put("console.topics.records.search.parallelism", "2");
+        return overrides;
+    }
+}
@@ -5,6 +5,7 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
@@ -52,6 +53,32 @@ public class RecordHelper {
         produceRecord(producerConfig, topicName, null, timestamp, headers, key, value);
     }
 
+    /**
+     * Produce {@code count} records to the topic using a single producer, e.g. to
+     * fill a partition with more records than is practical one at a time.
+     */
+    public void produceRecords(String topicName, Integer partition, int count, IntFunction<String> key, IntFunction<String> value) {
+        try (Producer<String, String> producer = new KafkaProducer<>(producerConfig)) {
+            CompletableFuture<?>[] pending = new CompletableFuture<?>[count];
+
+            for (int i = 0; i < count; i++) {
+                CompletableFuture<Void> promise = new CompletableFuture<>();
+                pending[i] = promise;
+
+                producer.send(new ProducerRecord<>(topicName, partition, key.apply(i), value.apply(i)), (metadata, error) -> {
+                    if (error != null) {
+                        promise.completeExceptionally(error);
+                    } else {
+                        promise.complete(null);
+                    }
+                });
+            }
+
+            CompletableFuture.allOf(pending).join();
+            log.infof("Records sent: { topic=%s, count=%d }", topicName, count);
+        }
+    }
+
     static <K, V> void produceRecord(Properties config, String topicName, Integer partition, Instant timestamp, Map<String, Object> headers, K key, V value) {
         try (Producer<K, V> producer = new KafkaProducer<>(config)) {
             Long timestampMs = timestamp != null ? timestamp.toEpochMilli() : null;